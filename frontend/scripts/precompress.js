@@ -0,0 +1,49 @@
+// Writes .gz and .br next to every compressible file in build/ so the backend can serve them
+// as-is (Spring's EncodedResourceResolver picks the variant from Accept-Encoding).
+// Runs automatically after `npm run build` (postbuild).
+const fs = require('fs');
+const path = require('path');
+const zlib = require('zlib');
+
+const BUILD_DIR = path.join(__dirname, '..', 'build');
+const EXTENSIONS = new Set(['.html', '.js', '.css', '.json', '.svg', '.txt', '.map', '.ico']);
+const MIN_SIZE = 1024; // Smaller files gain nothing once headers are counted
+
+function walk(dir) {
+  return fs.readdirSync(dir, { withFileTypes: true }).flatMap((entry) => {
+    const full = path.join(dir, entry.name);
+    return entry.isDirectory() ? walk(full) : [full];
+  });
+}
+
+let original = 0;
+let gzipped = 0;
+let brotli = 0;
+for (const file of walk(BUILD_DIR)) {
+  if (!EXTENSIONS.has(path.extname(file))) {
+    continue;
+  }
+  const content = fs.readFileSync(file);
+  if (content.length < MIN_SIZE) {
+    continue;
+  }
+  const gz = zlib.gzipSync(content, { level: 9 });
+  const br = zlib.brotliCompressSync(content, {
+    params: {
+      [zlib.constants.BROTLI_PARAM_QUALITY]: 11,
+      [zlib.constants.BROTLI_PARAM_SIZE_HINT]: content.length,
+    },
+  });
+  // Only keep variants that are actually smaller
+  if (gz.length < content.length) {
+    fs.writeFileSync(file + '.gz', gz);
+  }
+  if (br.length < content.length) {
+    fs.writeFileSync(file + '.br', br);
+  }
+  original += content.length;
+  gzipped += Math.min(gz.length, content.length);
+  brotli += Math.min(br.length, content.length);
+}
+
+console.log(`Precompressed build: ${original} bytes, gzip ${gzipped}, brotli ${brotli}`);
@@ -63,7 +63,7 @@ const GameList = () => {
         // Initialize selectedGamePicks with existing picks
         const initialPicks = {};
         data.forEach(pick => {
-          initialPicks[pick.game.id] = pick.pickedTeam;
+          initialPicks[pick.gameId] = pick.pickedTeam;
         });
         setSelectedGamePicks(initialPicks);
       }
@@ -346,7 +346,7 @@ const GameList = () => {
           </thead>
           <tbody>
             {filteredGames.map(game => {
-              const userPickForGame = userPicks.find(pick => pick.game.id === game.id);
+              const userPickForGame = userPicks.find(pick => pick.gameId === game.id);
               const hasPicked = !!userPickForGame;
               const isLockedByTime = isGameLocked(game.kickoffTime);
               const isLocked = isLockedByTime;
@@ -0,0 +1,112 @@
+#!/bin/bash
+
+# Native image smoke test: boots the GraalVM binary against in-memory H2 with the bundled 2025 schedule,
+# checks the main endpoints answer and reports startup time and memory.
+#
+#   port_ms    launch until /ping answers
+#   ready_ms   launch until /health/readiness answers 200 (schedule import and warmup done)
+#   rss_mb     resident set size once ready, and after a round of requests
+#   peak_mb    peak RSS (VmHWM)
+#
+# Usage (from the repository root, with a GraalVM JDK on the path):
+#   scripts/native-smoke.sh
+#   SKIP_BUILD=1 WEEK=3 scripts/native-smoke.sh
+#
+# The binary must be built for the h2 profile (-Daot.profiles=h2), which this script does unless SKIP_BUILD=1.
+
+set -e
+
+WEEK=${WEEK:-1}
+PORT=${PORT:-18090}
+SKIP_BUILD=${SKIP_BUILD:-0}
+SCHEDULE_FILE=${SCHEDULE_FILE:-scripts/nfl-schedule-2025.json}
+BINARY=target/pickem
+LOG=target/native-smoke.log
+
+if [ ! -f pom.xml ]; then
+    echo "Run this script from the repository root"
+    exit 1
+fi
+
+if [ "$SKIP_BUILD" != "1" ]; then
+    if ! command -v native-image >/dev/null 2>&1; then
+        echo "native-image not found: install a GraalVM JDK 17+ and put it on the path"
+        exit 1
+    fi
+    echo "Building native image for the h2 profile..."
+    if [ -x ./mvnw ]; then MVN=./mvnw; else MVN=mvn; fi
+    $MVN -q -B -Pnative -DskipTests -Daot.profiles=h2 native:compile
+fi
+
+if [ ! -x "$BINARY" ]; then
+    echo "$BINARY not found"
+    exit 1
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+wait_for() {
+    local url=$1 deadline=$(( $(date +%s) + 60 ))
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$url")" = "200" ]; do
+        if ! kill -0 "$PID" 2>/dev/null || [ "$(date +%s)" -ge "$deadline" ]; then
+            echo "No answer from $url, see $LOG"
+            return 1
+        fi
+        sleep 0.02
+    done
+}
+
+check() {
+    # check NAME URL [PATTERN]: expect 200 and, if given, PATTERN in the body
+    local body status
+    body=$(curl -s -w '\n%{http_code}' "$2")
+    status=$(echo "$body" | tail -n 1)
+    if [ "$status" != "200" ] || { [ -n "$3" ] && ! echo "$body" | grep -q "$3"; }; then
+        echo "FAIL $1: $2 answered $status"
+        FAILED=1
+    else
+        echo "ok   $1"
+    fi
+}
+
+rss_mb() {
+    echo $(( $(ps -o rss= -p "$PID") / 1024 ))
+}
+
+SCHEDULE_PATH=$(cd "$(dirname "$SCHEDULE_FILE")" && pwd)/$(basename "$SCHEDULE_FILE")
+START=$(now_ms)
+NFL_SCHEDULE_FILE="$SCHEDULE_PATH" "$BINARY" --spring.profiles.active=h2 --server.port="$PORT" > "$LOG" 2>&1 &
+PID=$!
+trap 'kill $PID 2>/dev/null || true' EXIT
+
+wait_for "http://localhost:$PORT/ping"
+PORT_MS=$(( $(now_ms) - START ))
+wait_for "http://localhost:$PORT/health/readiness"
+READY_MS=$(( $(now_ms) - START ))
+READY_RSS=$(rss_mb)
+
+FAILED=0
+check "games for week $WEEK" "http://localhost:$PORT/api/games/week/$WEEK" '"homeTeam"'
+check "current week" "http://localhost:$PORT/api/games/currentWeek"
+check "health" "http://localhost:$PORT/health" '"status"'
+check "readiness probe" "http://localhost:$PORT/actuator/health/readiness" '"UP"'
+check "prometheus" "http://localhost:$PORT/actuator/prometheus" 'jvm_'
+check "index page" "http://localhost:$PORT/"
+
+for i in $(seq 1 50); do
+    curl -s -o /dev/null "http://localhost:$PORT/api/games/week/$WEEK"
+done
+LOADED_RSS=$(rss_mb)
+PEAK_MB=$(( $(awk '/VmHWM/ { print $2 }' "/proc/$PID/status") / 1024 ))
+STARTED=$(grep -o 'Started PickemApplication in [0-9.]*' "$LOG" | awk '{ print $4 }')
+
+echo ""
+echo "port open:   ${PORT_MS} ms (Spring reports ${STARTED} s)"
+echo "ready:       ${READY_MS} ms"
+echo "rss ready:   ${READY_RSS} MB"
+echo "rss loaded:  ${LOADED_RSS} MB after 50 requests"
+echo "peak rss:    ${PEAK_MB} MB"
+
+exit $FAILED
@@ -0,0 +1,116 @@
+#!/bin/bash
+
+# Startup benchmark: baseline fat jar vs the fast-start build (Spring AOT, AppCDS archive)
+#
+# For each mode the app is started RUNS times against in-memory H2 and the script records:
+#   port_ms      launch until /ping answers (port open)
+#   started_s    "Started PickemApplication in X seconds" from the log
+#   first_ms     latency of the first GET /api/games/week/{WEEK} right after the port opens
+#   ready_ms     launch until /health/readiness answers 200 (schedule import and warmup done)
+#   warm_ms      latency of GET /api/games/week/{WEEK} once ready
+#   rss_mb       resident set size once ready
+# and prints the median of each.
+#
+# Usage (from the repository root):
+#   scripts/startup-benchmark.sh
+#   RUNS=10 WEEK=3 SKIP_BUILD=1 scripts/startup-benchmark.sh
+#
+# Results: target/startup-benchmark/results.txt, logs per run next to it
+
+set -e
+
+RUNS=${RUNS:-5}
+WEEK=${WEEK:-1}
+PORT=${PORT:-18080}
+SKIP_BUILD=${SKIP_BUILD:-0}
+SCHEDULE_FILE=${SCHEDULE_FILE:-scripts/nfl-schedule-2025.json}
+JAR_NAME=pickem-0.0.1-SNAPSHOT.jar
+OUT_DIR=target/startup-benchmark
+
+if [ ! -f pom.xml ]; then
+    echo "Run this script from the repository root"
+    exit 1
+fi
+
+if [ "$SKIP_BUILD" != "1" ]; then
+    echo "Building fast-start artifacts for the h2 profile..."
+    if [ -x ./mvnw ]; then MVN=./mvnw; else MVN=mvn; fi
+    $MVN -q -B -Pfast-start -DskipTests -Daot.profiles=h2 package
+fi
+
+mkdir -p "$OUT_DIR"
+SCHEDULE_PATH=$(cd "$(dirname "$SCHEDULE_FILE")" && pwd)/$(basename "$SCHEDULE_FILE")
+
+now_ms() {
+    date +%s%3N
+}
+
+wait_for() {
+    # wait_for URL PID: poll until URL answers 200, fail if the process died or after 180s
+    local url=$1 pid=$2 deadline=$(( $(date +%s) + 180 ))
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "$url")" = "200" ]; do
+        if ! kill -0 "$pid" 2>/dev/null || [ "$(date +%s)" -ge "$deadline" ]; then
+            return 1
+        fi
+        sleep 0.05
+    done
+}
+
+request_ms() {
+    curl -s -o /dev/null -w '%{time_total}' "http://localhost:$PORT/api/games/week/$WEEK" | awk '{ printf "%d", $1 * 1000 }'
+}
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+run_mode() {
+    local mode=$1 dir=$2
+    shift 2
+    local results="$OUT_DIR/$mode.tsv"
+    : > "$results"
+
+    for run in $(seq 1 "$RUNS"); do
+        local log="$OUT_DIR/$mode-$run.log"
+        local start=$(now_ms)
+        (cd "$dir" && exec env NFL_SCHEDULE_FILE="$SCHEDULE_PATH" java "$@" -Dspring.profiles.active=h2 \
+            -jar "$JAR_NAME" --server.port="$PORT") > "$log" 2>&1 &
+        local pid=$!
+
+        if ! wait_for "http://localhost:$PORT/ping" "$pid"; then
+            echo "$mode run $run did not start, see $log"
+            kill "$pid" 2>/dev/null || true
+            exit 1
+        fi
+        local port_ms=$(( $(now_ms) - start ))
+        local first_ms=$(request_ms)
+
+        wait_for "http://localhost:$PORT/health/readiness" "$pid"
+        local ready_ms=$(( $(now_ms) - start ))
+        local warm_ms=$(request_ms)
+        local rss_mb=$(( $(ps -o rss= -p "$pid") / 1024 ))
+        local started_s=$(grep -o 'Started PickemApplication in [0-9.]*' "$log" | awk '{ print $4 }')
+
+        kill "$pid"
+        wait "$pid" 2>/dev/null || true
+
+        printf '%s\t%s\t%s\t%s\t%s\t%s\n' "$port_ms" "$started_s" "$first_ms" "$ready_ms" "$warm_ms" "$rss_mb" >> "$results"
+        echo "$mode run $run: port ${port_ms}ms, started ${started_s}s, first request ${first_ms}ms, ready ${ready_ms}ms, warm request ${warm_ms}ms, rss ${rss_mb}MB"
+    done
+
+    local row="$mode"
+    for column in 1 2 3 4 5 6; do
+        row="$row\t$(cut -f "$column" "$results" | median)"
+    done
+    printf "$row\n" >> "$OUT_DIR/results.txt"
+}
+
+printf 'mode\tport_ms\tstarted_s\tfirst_ms\tready_ms\twarm_ms\trss_mb\n' > "$OUT_DIR/results.txt"
+
+run_mode baseline target
+run_mode aot target/fast-start -Dspring.aot.enabled=true
+run_mode cds-aot target/fast-start -XX:SharedArchiveFile=application.jsa -Xlog:cds=off -Dspring.aot.enabled=true
+
+echo ""
+echo "Medians over $RUNS runs (week $WEEK):"
+awk -F '\t' '{ printf "%-10s %9s %10s %9s %9s %8s %7s\n", $1, $2, $3, $4, $5, $6, $7 }' "$OUT_DIR/results.txt"
@@ -0,0 +1,61 @@
+#!/bin/bash
+
+# Static asset benchmark: bytes on the wire and latency for the SPA shell and its main bundles,
+# uncompressed (what the app served before precompression) vs gzip vs brotli, plus a revalidation
+# of the shell with its ETag.
+#
+# Usage: start the app with a frontend build in src/main/resources/static (./build-frontend.sh), then
+#   scripts/static-assets-benchmark.sh
+#   BASE_URL=https://your-app.railway.app REQUESTS=100 scripts/static-assets-benchmark.sh
+#
+# Results: target/static-assets-benchmark.txt
+
+set -e
+
+BASE_URL=${BASE_URL:-http://localhost:8080}
+REQUESTS=${REQUESTS:-50}
+OUT=target/static-assets-benchmark.txt
+
+mkdir -p "$(dirname "$OUT")"
+
+SHELL_HTML=$(curl -s "$BASE_URL/")
+JS=$(echo "$SHELL_HTML" | grep -o '/static/js/main\.[A-Za-z0-9]*\.js' | head -n 1)
+CSS=$(echo "$SHELL_HTML" | grep -o '/static/css/main\.[A-Za-z0-9]*\.css' | head -n 1)
+if [ -z "$JS" ]; then
+    echo "No /static/js/main.*.js referenced by $BASE_URL/ - is the frontend build on the classpath?"
+    exit 1
+fi
+
+median() {
+    sort -n | awk '{ v[NR] = $1 } END { if (NR % 2) print v[(NR + 1) / 2]; else print (v[NR / 2] + v[NR / 2 + 1]) / 2 }'
+}
+
+measure() {
+    # measure PATH ENCODING [extra curl args...]: prints "bytes status median_ms"
+    local path=$1 encoding=$2
+    shift 2
+    local samples bytes status
+    samples=$(for i in $(seq 1 "$REQUESTS"); do
+        curl -s -o /dev/null -H "Accept-Encoding: $encoding" "$@" \
+            -w '%{size_download} %{http_code} %{time_total}\n' "$BASE_URL$path"
+    done)
+    bytes=$(echo "$samples" | head -n 1 | awk '{ print $1 }')
+    status=$(echo "$samples" | head -n 1 | awk '{ print $2 }')
+    echo "$bytes $status $(echo "$samples" | awk '{ printf "%.2f\n", $3 * 1000 }' | median)"
+}
+
+printf '%-40s %-9s %6s %9s %10s\n' "path" "encoding" "status" "bytes" "median_ms" | tee "$OUT"
+for path in / "$JS" "$CSS"; do
+    [ -z "$path" ] && continue
+    for encoding in identity gzip br; do
+        read -r bytes status ms <<< "$(measure "$path" "$encoding")"
+        printf '%-40s %-9s %6s %9s %10s\n' "$path" "$encoding" "$status" "$bytes" "$ms" | tee -a "$OUT"
+    done
+done
+
+ETAG=$(curl -s -D - -o /dev/null -H 'Accept-Encoding: br' "$BASE_URL/" | awk -F': ' 'tolower($1) == "etag" { print $2 }' | tr -d '\r')
+read -r bytes status ms <<< "$(measure / br -H "If-None-Match: $ETAG")"
+printf '%-40s %-9s %6s %9s %10s\n' "/ (If-None-Match)" "br" "$status" "$bytes" "$ms" | tee -a "$OUT"
+
+echo ""
+echo "Fingerprinted assets are sent with: $(curl -s -D - -o /dev/null "$BASE_URL$JS" | awk -F': ' 'tolower($1) == "cache-control" { print $2 }' | tr -d '\r')"
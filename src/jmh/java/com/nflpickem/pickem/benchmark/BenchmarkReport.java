@@ -0,0 +1,105 @@
+package com.nflpickem.pickem.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares two JMH JSON result files and prints the change per benchmark.
+ * Exits with status 1 when any benchmark regressed by more than the threshold percentage.
+ *
+ * Usage: BenchmarkReport baseline.json current.json [thresholdPercent]
+ */
+public class BenchmarkReport {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkReport <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        Map<String, Result> baseline = load(new File(args[0]));
+        Map<String, Result> current = load(new File(args[1]));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-75s %14s %14s %9s%n", "Benchmark", "Baseline", "Current", "Change");
+        for (Map.Entry<String, Result> entry : new TreeMap<>(current).entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-75s %14s %14s %9s%n",
+                    entry.getKey(), "-", format(now), "new");
+                continue;
+            }
+
+            // Positive change means slower for time modes and faster for throughput
+            double change = (now.score - before.score) / before.score * 100.0;
+            double regression = now.higherIsBetter() ? -change : change;
+            boolean regressed = regression > threshold;
+            if (regressed) {
+                regressions++;
+            }
+            System.out.printf(Locale.ROOT, "%-75s %14s %14s %+8.1f%%%s%n",
+                entry.getKey(), format(before), format(now), change, regressed ? "  REGRESSION" : "");
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf(Locale.ROOT, "%-75s %14s %14s %9s%n", missing, format(baseline.get(missing)), "-", "missing");
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%n%d benchmark(s) regressed by more than %.1f%%%n", regressions, threshold);
+        if (regressions > 0) {
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, Result> load(File file) throws IOException {
+        JsonNode root = new ObjectMapper().readTree(file);
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (JsonNode run : root) {
+            StringBuilder key = new StringBuilder(shortName(run.path("benchmark").asText()));
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+                key.append(" [");
+                while (fields.hasNext()) {
+                    Map.Entry<String, JsonNode> field = fields.next();
+                    key.append(field.getKey()).append('=').append(field.getValue().asText());
+                    if (fields.hasNext()) {
+                        key.append(", ");
+                    }
+                }
+                key.append(']');
+            }
+            JsonNode metric = run.path("primaryMetric");
+            results.put(key.toString(), new Result(
+                run.path("mode").asText(), metric.path("score").asDouble(), metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private static String shortName(String benchmark) {
+        int method = benchmark.lastIndexOf('.');
+        int type = benchmark.lastIndexOf('.', method - 1);
+        return type >= 0 ? benchmark.substring(type + 1) : benchmark;
+    }
+
+    private static String format(Result result) {
+        return String.format(Locale.ROOT, "%.3f %s", result.score, result.unit);
+    }
+
+    private record Result(String mode, double score, String unit) {
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.nflpickem.pickem.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import com.nflpickem.pickem.monitoring.PickemMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Shared setup for the benchmarks
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Raise the log level to WARN and discard System.out so the forked JVM's console output stays readable.
+     * The println strings are still built, so their cost remains part of the measurement.
+     */
+    public static void quietOutput() {
+        ((Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    public static PickemMetrics metrics() {
+        return new PickemMetrics(new SimpleMeterRegistry(), 8);
+    }
+}
@@ -0,0 +1,125 @@
+package com.nflpickem.pickem.benchmark;
+
+import com.nflpickem.pickem.dto.RevealedPickRow;
+import com.nflpickem.pickem.dto.ScoredPickRow;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Repository stand-ins backed by a SeasonFixture, so the benchmarks measure the service code rather than the database.
+ * Only the finder methods the benchmarked services call are implemented; anything else throws.
+ */
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static GameRepository games(SeasonFixture fixture) {
+        Map<Integer, List<Game>> byWeek = fixture.getGames().stream().collect(Collectors.groupingBy(Game::getWeek));
+        return proxy(GameRepository.class, (method, args) -> switch (method) {
+            case "findAll" -> fixture.getGames();
+            case "findByWeek" -> byWeek.getOrDefault((Integer) args[0], List.of());
+            case "findById" -> fixture.getGames().stream().filter(g -> g.getId().equals(args[0])).findFirst();
+            case "findByHomeTeamAndAwayTeam" -> fixture.getGames().stream()
+                .filter(g -> g.getHomeTeam().equals(args[0]) && g.getAwayTeam().equals(args[1]))
+                .findFirst();
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    public static PickRepository picks(SeasonFixture fixture) {
+        Map<Long, List<Pick>> byGame = fixture.getPicks().stream().collect(Collectors.groupingBy(p -> p.getGame().getId()));
+        return proxy(PickRepository.class, (method, args) -> switch (method) {
+            case "findAll", "findAllForLeaderboard", "findByLeague" -> fixture.getPicks();
+            case "findByGameWeek", "findByLeagueAndGameWeek" -> fixture.getPicks().stream()
+                .filter(p -> p.getGame().getWeek().equals(args[args.length - 1]))
+                .collect(Collectors.toList());
+            case "findByLeagueIdAndGameIdIn" -> fixture.getPicks().stream()
+                .filter(p -> p.getLeague() != null && p.getLeague().getId().equals(args[0]))
+                .filter(p -> ((Collection<?>) args[1]).contains(p.getGame().getId()))
+                .collect(Collectors.toList());
+            case "findRevealedRowsForLeague" -> fixture.getPicks().stream()
+                .filter(p -> p.getLeague() != null && p.getLeague().getId().equals(args[0]))
+                .filter(p -> ((Collection<?>) args[1]).contains(p.getGame().getId()))
+                .map(p -> new RevealedPickRow(p.getGame().getId(), p.getGame().getHomeTeam(), p.getLeague().getId(),
+                    p.getUser().getId(), p.getUser().getUsername(), p.getUser().getName(), p.getPickedTeam()))
+                .collect(Collectors.toList());
+            case "findScoredRowsByLeague" -> fixture.getPicks().stream()
+                .filter(p -> p.getLeague() != null && p.getLeague().getId().equals(args[0]))
+                .map(InMemoryRepositories::scoredRow)
+                .collect(Collectors.toList());
+            case "findScoredRowsByLeagueAndWeek" -> fixture.getPicks().stream()
+                .filter(p -> p.getLeague() != null && p.getLeague().getId().equals(args[0]))
+                .filter(p -> p.getGame().getWeek().equals(args[1]))
+                .map(InMemoryRepositories::scoredRow)
+                .collect(Collectors.toList());
+            case "findByGame", "findByGameAndLeague" -> byGame.getOrDefault(((Game) args[0]).getId(), List.of());
+            case "findByUserAndGameAndLeague" -> byGame.getOrDefault(((Game) args[1]).getId(), List.of()).stream()
+                .filter(p -> p.getUser().getId().equals(((User) args[0]).getId()))
+                .findFirst()
+                .orElse(null);
+            case "findByUserAndGame" -> byGame.getOrDefault(((Game) args[1]).getId(), List.of()).stream()
+                .filter(p -> p.getUser().getId().equals(((User) args[0]).getId()))
+                .collect(Collectors.toList());
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    public static LeagueRepository leagues(SeasonFixture fixture) {
+        League league = fixture.getLeague();
+        return proxy(LeagueRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Objects.equals(args[0], league.getId()) ? Optional.of(league) : Optional.empty();
+            case "existsById" -> Objects.equals(args[0], league.getId());
+            case "findMemberCount" -> Objects.equals(args[0], league.getId())
+                ? Optional.of((long) league.getMembers().size()) : Optional.empty();
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    public static UserRepository users(SeasonFixture fixture) {
+        Map<Long, User> byId = fixture.getUsers().stream().collect(Collectors.toMap(User::getId, Function.identity()));
+        return proxy(UserRepository.class, (method, args) -> switch (method) {
+            case "findById" -> Optional.ofNullable(byId.get((Long) args[0]));
+            default -> throw new UnsupportedOperationException(method);
+        });
+    }
+
+    private static ScoredPickRow scoredRow(Pick pick) {
+        Game game = pick.getGame();
+        return new ScoredPickRow(game.getId(), game.getWeek(), game.getHomeTeam(), game.getAwayTeam(), game.getWinningTeam(),
+            game.isScored(), pick.getUser().getId(), pick.getUser().getUsername(), pick.getUser().getName(), pick.getPickedTeam());
+    }
+
+    private interface Handler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        Object instance = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (self, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> self == args[0];
+                    case "hashCode" -> System.identityHashCode(self);
+                    default -> type.getSimpleName() + "(in-memory)";
+                };
+            }
+            return handler.handle(method.getName(), args);
+        });
+        return type.cast(instance);
+    }
+}
@@ -0,0 +1,129 @@
+package com.nflpickem.pickem.benchmark;
+
+import com.nflpickem.pickem.model.BettingOdds;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic in-memory season used by the benchmarks: one league, every member picks every game,
+ * and every game in the season is scored.
+ */
+public class SeasonFixture {
+
+    public static final int GAMES_PER_WEEK = 16;
+
+    public static final String[] TEAMS = {
+        "Arizona Cardinals", "Atlanta Falcons", "Baltimore Ravens", "Buffalo Bills",
+        "Carolina Panthers", "Chicago Bears", "Cincinnati Bengals", "Cleveland Browns",
+        "Dallas Cowboys", "Denver Broncos", "Detroit Lions", "Green Bay Packers",
+        "Houston Texans", "Indianapolis Colts", "Jacksonville Jaguars", "Kansas City Chiefs",
+        "Las Vegas Raiders", "Los Angeles Chargers", "Los Angeles Rams", "Miami Dolphins",
+        "Minnesota Vikings", "New England Patriots", "New Orleans Saints", "New York Giants",
+        "New York Jets", "Philadelphia Eagles", "Pittsburgh Steelers", "San Francisco 49ers",
+        "Seattle Seahawks", "Tampa Bay Buccaneers", "Tennessee Titans", "Washington Commanders"
+    };
+
+    private static final Instant SEASON_START = Instant.parse("2025-09-04T00:20:00Z");
+    private static final String[] SPORTSBOOKS = {"fanduel", "draftkings", "betmgm"};
+
+    private final League league;
+    private final List<User> users = new ArrayList<>();
+    private final List<Game> games = new ArrayList<>();
+    private final List<Pick> picks = new ArrayList<>();
+    private final Map<Long, List<BettingOdds>> oddsByGame = new HashMap<>();
+
+    public SeasonFixture(int leagueSize, int weeks) {
+        Random random = new Random(42);
+
+        for (long i = 1; i <= leagueSize; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setUsername("player" + i);
+            user.setName("Player " + i);
+            user.setPassword("$2a$10$benchmarkbenchmarkbenchmarkbenchmarkbenchmarkbenchm");
+            users.add(user);
+        }
+
+        league = new League();
+        league.setId(1L);
+        league.setName("Benchmark League");
+        league.setJoinCode("BENCH1");
+        league.setAdmin(users.get(0));
+        users.forEach(league::addMember);
+
+        long gameId = 1;
+        long pickId = 1;
+        long oddsId = 1;
+        for (int week = 1; week <= weeks; week++) {
+            Instant weekStart = SEASON_START.plus(Duration.ofDays(7L * (week - 1)));
+            for (int slot = 0; slot < GAMES_PER_WEEK; slot++) {
+                Game game = new Game();
+                game.setId(gameId++);
+                game.setWeek(week);
+                // Rotate the pairings so each week has a different schedule
+                game.setHomeTeam(TEAMS[(2 * slot + week) % TEAMS.length]);
+                game.setAwayTeam(TEAMS[(2 * slot + 1 + week) % TEAMS.length]);
+                game.setKickoffTime(weekStart.plus(Duration.ofHours(slot == 0 ? 0 : 65 + slot / 5 * 3)));
+                game.setWinningTeam(random.nextBoolean() ? game.getHomeTeam() : game.getAwayTeam());
+                game.setScored(true);
+                games.add(game);
+
+                List<BettingOdds> odds = new ArrayList<>();
+                for (String sportsbook : SPORTSBOOKS) {
+                    BettingOdds bettingOdds = new BettingOdds(game, sportsbook);
+                    bettingOdds.setId(oddsId++);
+                    bettingOdds.setOddsType("american");
+                    bettingOdds.setSpread(Math.round(random.nextGaussian() * 12) / 2.0);
+                    bettingOdds.setSpreadTeam(game.getHomeTeam());
+                    bettingOdds.setTotal(38.5 + random.nextInt(16));
+                    bettingOdds.setHomeTeamOdds(-110.0 - random.nextInt(200));
+                    bettingOdds.setAwayTeamOdds(100.0 + random.nextInt(200));
+                    bettingOdds.setLastUpdated(weekStart);
+                    odds.add(bettingOdds);
+                }
+                oddsByGame.put(game.getId(), odds);
+
+                for (User user : users) {
+                    Pick pick = new Pick();
+                    pick.setId(pickId++);
+                    pick.setUser(user);
+                    pick.setGame(game);
+                    pick.setLeague(league);
+                    pick.setPickedTeam(random.nextInt(100) < 60 ? game.getHomeTeam() : game.getAwayTeam());
+                    pick.setCorrect(pick.getPickedTeam().equals(game.getWinningTeam()));
+                    picks.add(pick);
+                }
+            }
+        }
+    }
+
+    public League getLeague() {
+        return league;
+    }
+
+    public List<User> getUsers() {
+        return users;
+    }
+
+    public List<Game> getGames() {
+        return games;
+    }
+
+    public List<Pick> getPicks() {
+        return picks;
+    }
+
+    public List<BettingOdds> getOdds(Game game) {
+        return oddsByGame.getOrDefault(game.getId(), List.of());
+    }
+}
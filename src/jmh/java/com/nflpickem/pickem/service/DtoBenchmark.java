@@ -0,0 +1,112 @@
+package com.nflpickem.pickem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nflpickem.pickem.benchmark.BenchmarkSupport;
+import com.nflpickem.pickem.benchmark.InMemoryRepositories;
+import com.nflpickem.pickem.benchmark.SeasonFixture;
+import com.nflpickem.pickem.dto.GameWithOddsDto;
+import com.nflpickem.pickem.dto.PickComparisonDto;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.util.NflSeasonCalendar;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assembly and JSON serialization of the per-week response DTOs, using the same ObjectMapper defaults
+ * Spring Boot applies to controller responses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class DtoBenchmark {
+
+    private static final int WEEK = 1;
+
+    @Param({"10", "50", "200"})
+    public int leagueSize;
+
+    private ObjectMapper objectMapper;
+    private PickService pickService;
+    private SeasonFixture fixture;
+    private List<Game> weekGames;
+    private Long userId;
+    private Long leagueId;
+    private List<GameWithOddsDto> gamesWithOdds;
+    private List<PickComparisonDto> comparison;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietOutput();
+        fixture = new SeasonFixture(leagueSize, 1);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        GameService gameService = new GameService(InMemoryRepositories.games(fixture), null, null, null, new NflSeasonCalendar(""));
+        PickRepository picks = InMemoryRepositories.picks(fixture);
+        // Write-behind off: nothing pending, reads come straight from the repositories
+        PickWriteBuffer writeBuffer = new PickWriteBuffer(null, null, null, null, Clock.systemUTC(),
+            new SimpleMeterRegistry(), false, "unused", 0);
+        pickService = new PickService(
+            picks,
+            gameService,
+            InMemoryRepositories.users(fixture),
+            InMemoryRepositories.leagues(fixture),
+            null,
+            BenchmarkSupport.metrics(),
+            null,
+            writeBuffer,
+            new KickoffPickSnapshots(picks, writeBuffer, null, Clock.systemUTC(), 5, 20000),
+            null,
+            null);
+
+        weekGames = gameService.getGamesByWeek(WEEK);
+        userId = fixture.getUsers().get(0).getId();
+        leagueId = fixture.getLeague().getId();
+        gamesWithOdds = gamesWithOdds();
+        comparison = pickService.getPickComparison(userId, WEEK, leagueId);
+    }
+
+    @Benchmark
+    public List<GameWithOddsDto> gameWithOddsAssembly() {
+        return gamesWithOdds();
+    }
+
+    @Benchmark
+    public String gameWithOddsSerialization() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(gamesWithOdds);
+    }
+
+    @Benchmark
+    public List<PickComparisonDto> pickComparisonAssembly() {
+        return pickService.getPickComparison(userId, WEEK, leagueId);
+    }
+
+    @Benchmark
+    public String pickComparisonSerialization() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(comparison);
+    }
+
+    private List<GameWithOddsDto> gamesWithOdds() {
+        List<GameWithOddsDto> result = new ArrayList<>(weekGames.size());
+        for (Game game : weekGames) {
+            result.add(new GameWithOddsDto(game, fixture.getOdds(game)));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,91 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.benchmark.BenchmarkSupport;
+import com.nflpickem.pickem.benchmark.InMemoryRepositories;
+import com.nflpickem.pickem.benchmark.SeasonFixture;
+import com.nflpickem.pickem.dto.PlayerScore;
+import com.nflpickem.pickem.dto.ScoredPickRow;
+import com.nflpickem.pickem.dto.WeeklyWinsDto;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.Pick;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leaderboard aggregation over an in-memory season of fully scored picks, object by object and in bits
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int leagueSize;
+
+    @Param({"1", "9", "18"})
+    public int weeks;
+
+    private LeaderboardService leaderboardService;
+    private List<Pick> seasonPicks;
+    private List<ScoredPickRow> seasonRows;
+    private Collection<LeagueWeekBits> seasonBits;
+    private LeagueWeekBits firstWeek;
+    private Game firstGame;
+    private Long leagueId;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietOutput();
+        SeasonFixture fixture = new SeasonFixture(leagueSize, weeks);
+        leaderboardService = new LeaderboardService(
+            InMemoryRepositories.picks(fixture),
+            InMemoryRepositories.games(fixture),
+            InMemoryRepositories.leagues(fixture),
+            BenchmarkSupport.metrics());
+        seasonPicks = fixture.getPicks();
+        leagueId = fixture.getLeague().getId();
+        seasonRows = InMemoryRepositories.picks(fixture).findScoredRowsByLeague(leagueId);
+        Map<Integer, LeagueWeekBits> byWeek = LeagueWeekBits.byWeek(seasonRows);
+        seasonBits = byWeek.values();
+        firstWeek = byWeek.get(1);
+        firstGame = fixture.getGames().get(0);
+    }
+
+    @Benchmark
+    public List<PlayerScore> calculateLeaderboard() {
+        return leaderboardService.calculateLeaderboard(seasonPicks);
+    }
+
+    @Benchmark
+    public List<PlayerScore> bitsLeaderboard() {
+        return LeagueWeekBits.leaderboard(seasonBits);
+    }
+
+    @Benchmark
+    public List<PlayerScore> bitsLeaderboardFromRows() {
+        return LeagueWeekBits.leaderboard(LeagueWeekBits.byWeek(seasonRows).values());
+    }
+
+    @Benchmark
+    public List<PlayerScore> bitsWhatIfFirstGame() {
+        return firstWeek.withWinner(firstGame.getId(), firstGame.getAwayTeam()).leaderboard();
+    }
+
+    @Benchmark
+    public List<WeeklyWinsDto> getWeeklyWins() {
+        return leaderboardService.getWeeklyWins(leagueId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.nflpickem.pickem.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nflpickem.pickem.benchmark.BenchmarkSupport;
+import com.nflpickem.pickem.benchmark.SeasonFixture;
+import com.nflpickem.pickem.dto.LeagueMemberRow;
+import com.nflpickem.pickem.dto.LeagueResponse;
+import com.nflpickem.pickem.dto.PickSummary;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialized size and cost of the pick list and league read responses, as full entities (what the endpoints
+ * used to return) and as the flat projections they return now. The projection benchmarks include building
+ * the DTOs from the rows the projection queries would return. Payload sizes are printed once per trial;
+ * run with -prof gc for the allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class ReadPayloadBenchmark {
+
+    @Param({"200"})
+    public int leagueSize;
+
+    @Param({"18"})
+    public int weeks;
+
+    private ObjectMapper objectMapper;
+    private League league;
+    private List<Pick> userPicks;
+    private List<LeagueMemberRow> memberRows;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        BenchmarkSupport.quietOutput();
+        SeasonFixture fixture = new SeasonFixture(leagueSize, weeks);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        league = fixture.getLeague();
+
+        User user = fixture.getUsers().get(0);
+        userPicks = new ArrayList<>();
+        for (Pick pick : fixture.getPicks()) {
+            if (pick.getUser() == user) {
+                userPicks.add(pick);
+            }
+        }
+
+        User admin = league.getAdmin();
+        memberRows = new ArrayList<>();
+        for (User member : fixture.getUsers()) {
+            memberRows.add(new LeagueMemberRow(league.getId(), league.getName(), league.getJoinCode(),
+                admin.getId(), admin.getUsername(), admin.getName(),
+                member.getId(), member.getUsername(), member.getName()));
+        }
+
+        System.err.printf("%n[payload] leagueSize=%d weeks=%d: user picks %,d -> %,d bytes, league list %,d -> %,d bytes, "
+                + "league details %,d -> %,d bytes%n", leagueSize, weeks,
+            userPicksEntities().length, userPicksProjection().length,
+            leagueListEntities().length, leagueListProjection().length,
+            leagueDetailsEntities().length, leagueDetailsProjection().length);
+    }
+
+    @Benchmark
+    public byte[] userPicksEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(userPicks);
+    }
+
+    @Benchmark
+    public byte[] userPicksProjection() throws JsonProcessingException {
+        List<PickSummary> summaries = new ArrayList<>(userPicks.size());
+        for (Pick pick : userPicks) {
+            summaries.add(new PickSummary(pick.getId(), pick.getGame().getId(), pick.getGame().getWeek(),
+                pick.getLeague().getId(), pick.getPickedTeam(), pick.isCorrect(), pick.getScoredAt()));
+        }
+        return objectMapper.writeValueAsBytes(summaries);
+    }
+
+    @Benchmark
+    public byte[] leagueListEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(List.of(new LeagueResponse(league)));
+    }
+
+    @Benchmark
+    public byte[] leagueListProjection() throws JsonProcessingException {
+        User admin = league.getAdmin();
+        return objectMapper.writeValueAsBytes(List.of(new LeagueResponse(league.getId(), league.getName(),
+            league.getJoinCode(), admin.getId(), admin.getUsername(), admin.getName())));
+    }
+
+    @Benchmark
+    public byte[] leagueDetailsEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new LeagueResponse(league));
+    }
+
+    @Benchmark
+    public byte[] leagueDetailsProjection() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(LeagueResponse.fromRows(memberRows));
+    }
+}
@@ -0,0 +1,82 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.benchmark.BenchmarkSupport;
+import com.nflpickem.pickem.benchmark.InMemoryRepositories;
+import com.nflpickem.pickem.benchmark.SeasonFixture;
+import com.nflpickem.pickem.model.Game;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Matching Odds API score responses to stored games. The fuzzy path scans every game in the season,
+ * so findMatchingGame is parameterized by season length.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class TeamMatchingBenchmark {
+
+    @Param({"1", "9", "18"})
+    public int weeks;
+
+    private GameScoreService gameScoreService;
+    private GameScoreService.ScoreApiResponse exactResponse;
+    private GameScoreService.ScoreApiResponse fuzzyResponse;
+    private GameScoreService.ScoreApiResponse unmatchedResponse;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietOutput();
+        SeasonFixture fixture = new SeasonFixture(1, weeks);
+        gameScoreService = new GameScoreService(InMemoryRepositories.games(fixture), null, Clock.systemDefaultZone());
+
+        Game last = fixture.getGames().get(fixture.getGames().size() - 1);
+        exactResponse = response(last.getHomeTeam(), last.getAwayTeam());
+        // Suffix variations force the fuzzy scan over the whole season
+        fuzzyResponse = response(last.getHomeTeam() + " Football Club", last.getAwayTeam() + " Football Team");
+        unmatchedResponse = response("London Monarchs", "Frankfurt Galaxy");
+    }
+
+    @Benchmark
+    public void fuzzyTeamMatch(Blackhole blackhole) {
+        blackhole.consume(gameScoreService.fuzzyTeamMatch("Kansas City Chiefs", "Kansas City Chiefs"));
+        blackhole.consume(gameScoreService.fuzzyTeamMatch("Washington Commanders", "Washington Football Team"));
+        blackhole.consume(gameScoreService.fuzzyTeamMatch("New York Giants", "New York Jets"));
+        blackhole.consume(gameScoreService.fuzzyTeamMatch("Green Bay Packers", "Chicago Bears"));
+    }
+
+    @Benchmark
+    public Game findMatchingGameExact() {
+        return gameScoreService.findMatchingGame(exactResponse);
+    }
+
+    @Benchmark
+    public Game findMatchingGameFuzzy() {
+        return gameScoreService.findMatchingGame(fuzzyResponse);
+    }
+
+    @Benchmark
+    public Game findMatchingGameUnmatched() {
+        return gameScoreService.findMatchingGame(unmatchedResponse);
+    }
+
+    private static GameScoreService.ScoreApiResponse response(String homeTeam, String awayTeam) {
+        GameScoreService.ScoreApiResponse response = new GameScoreService.ScoreApiResponse();
+        response.home_team = homeTeam;
+        response.away_team = awayTeam;
+        response.completed = "true";
+        return response;
+    }
+}
@@ -0,0 +1,42 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.benchmark.BenchmarkSupport;
+import com.nflpickem.pickem.util.NflSeasonCalendar;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Week number derivation for an Odds API commence_time, which runs once per odds row during ingestion
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+public class WeekCalculationBenchmark {
+
+    @Param({"2025-09-05T00:20:00Z", "2025-11-09T18:00:00Z", "2026-01-04T21:25:00Z", "2025-08-10T00:00:00Z"})
+    public String commenceTime;
+
+    private OddsService oddsService;
+
+    @Setup
+    public void setUp() {
+        BenchmarkSupport.quietOutput();
+        oddsService = new OddsService(null, null, null, Clock.systemDefaultZone(), null, null, null, new NflSeasonCalendar(""));
+    }
+
+    @Benchmark
+    public Integer determineWeekFromGameTime() {
+        return oddsService.determineWeekFromGameTime(commenceTime);
+    }
+}
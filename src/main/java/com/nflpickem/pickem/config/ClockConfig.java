@@ -0,0 +1,20 @@
+package com.nflpickem.pickem.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+public class ClockConfig {
+
+    /**
+     * Time source for kickoff locks and the scoring window. Load tests replace it with a
+     * virtual clock to replay a game day. Uses the system zone so LocalDate.now(clock)
+     * behaves exactly like LocalDate.now().
+     */
+    @Bean
+    public Clock clock() {
+        return Clock.systemDefaultZone();
+    }
+}
@@ -1,9 +1,13 @@
 package com.nflpickem.pickem.config;
 
+import com.nflpickem.pickem.monitoring.QueryTimingListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
 
 import javax.sql.DataSource;
 import com.zaxxer.hikari.HikariDataSource;
@@ -32,6 +36,7 @@ public class DatabaseConfig {
 
     @Bean
     @Primary
+    @Profile("!h2")
     public DataSource dataSource() {
         HikariDataSource dataSource = new HikariDataSource();
         
@@ -68,9 +73,35 @@ public class DatabaseConfig {
         }
         
         dataSource.setDriverClassName("org.postgresql.Driver");
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", "true"); // Send JDBC batches as multi-row inserts
+        dataSource.setPoolName("pickem"); // Tags the hikaricp.* pool metrics
         dataSource.setMaximumPoolSize(10);
         dataSource.setMinimumIdle(5);
         
-        return dataSource;
+        return withQueryTiming(dataSource);
+    }
+
+    /**
+     * In-memory H2 database for local runs and tests, configured from spring.datasource.*
+     */
+    @Bean
+    @Primary
+    @Profile("h2")
+    public DataSource h2DataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .build();
+        dataSource.setPoolName("pickem");
+        return withQueryTiming(dataSource);
+    }
+
+    /**
+     * Wrap the pool so every statement is counted and timed for the Server-Timing header
+     */
+    private DataSource withQueryTiming(HikariDataSource dataSource) {
+        return ProxyDataSourceBuilder.create(dataSource)
+            .name("pickem")
+            .listener(new QueryTimingListener())
+            .build();
     }
 }
@@ -0,0 +1,26 @@
+package com.nflpickem.pickem.config;
+
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+/**
+ * Which database the app runs on, for the few native statements that differ. DatabaseConfig switches
+ * to H2 on the h2 profile, so the profile decides here too.
+ */
+@Component
+public class DatabasePlatform {
+
+    private final boolean h2;
+
+    public DatabasePlatform(Environment environment) {
+        this.h2 = environment.acceptsProfiles(Profiles.of("h2"));
+    }
+
+    /**
+     * True on H2, where upserts use MERGE ... KEY instead of PostgreSQL's ON CONFLICT ... DO UPDATE
+     */
+    public boolean isH2() {
+        return h2;
+    }
+}
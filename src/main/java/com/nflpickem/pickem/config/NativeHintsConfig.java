@@ -0,0 +1,138 @@
+package com.nflpickem.pickem.config;
+
+import com.nflpickem.pickem.dto.LeagueMemberRow;
+import com.nflpickem.pickem.dto.LeagueResponse;
+import com.nflpickem.pickem.dto.PickCountRow;
+import com.nflpickem.pickem.dto.PickDistributionDto;
+import com.nflpickem.pickem.dto.PickSummary;
+import com.nflpickem.pickem.dto.RevealedPickRow;
+import com.nflpickem.pickem.dto.ScoredPickRow;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.resilience.CircuitBreaker;
+import com.nflpickem.pickem.service.GameScoreService;
+import com.nflpickem.pickem.service.OddsCleanupService;
+import com.nflpickem.pickem.service.OddsRefreshPlanner;
+import com.nflpickem.pickem.service.OddsService;
+import com.nflpickem.pickem.service.StartupWarmupService;
+import jakarta.persistence.Entity;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.util.ClassUtils;
+
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the GraalVM native image (mvn -Pnative native:compile). Spring AOT
+ * already covers beans, repositories and controller signatures; this adds what it cannot see: types
+ * Jackson binds from the Odds API and the schedule file, records and enums put into Map responses,
+ * classpath files read at runtime and the JDBC proxies behind query timing. On the JVM these hints are
+ * ignored.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.PickemRuntimeHints.class)
+@RegisterReflectionForBinding({
+    OddsCleanupService.CleanupResult.class,
+    OddsRefreshPlanner.RefreshPlan.class,
+    StartupWarmupService.Phase.class,
+    CircuitBreaker.State.class
+})
+public class NativeHintsConfig {
+
+    static class PickemRuntimeHints implements RuntimeHintsRegistrar {
+
+        // Built by Hibernate from JPQL constructor expressions in the repositories
+        private static final Class<?>[] PROJECTIONS = {PickSummary.class, LeagueMemberRow.class, LeagueResponse.class,
+            RevealedPickRow.class, PickCountRow.class, PickDistributionDto.class,
+            ScoredPickRow.class};
+
+        // datasource-proxy (DatabaseConfig.withQueryTiming) wraps each of these in a JDK proxy that also
+        // implements ProxyJdbcObject, listed first as the factory does
+        private static final Class<?>[] JDBC_PROXIES = {
+            Connection.class,
+            Statement.class,
+            PreparedStatement.class,
+            CallableStatement.class,
+            ResultSet.class
+        };
+
+        // Odds API responses map onto public fields, which binding hints alone do not expose
+        private static final Class<?>[] API_BINDINGS = {
+            OddsService.OddsApiResponse.class,
+            OddsService.Bookmaker.class,
+            OddsService.Market.class,
+            OddsService.Market.Outcome.class,
+            GameScoreService.ScoreApiResponse.class,
+            GameScoreService.ScoreEntry.class
+        };
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            // Entities are built by Hibernate and also serialized straight into API responses
+            for (Class<?> entity : entities(classLoader)) {
+                hints.reflection().registerType(entity,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS);
+            }
+            for (Class<?> projection : PROJECTIONS) {
+                hints.reflection().registerType(projection,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            for (Class<?> binding : API_BINDINGS) {
+                hints.reflection().registerType(binding,
+                    MemberCategory.PUBLIC_FIELDS,
+                    MemberCategory.DECLARED_FIELDS,
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            }
+            // NFL_SCHEDULE_FILE rows (a private record in the scraper)
+            hints.reflection().registerType(
+                TypeReference.of("com.nflpickem.pickem.util.NflScheduleScraper$ScheduleFileEntry"),
+                MemberCategory.DECLARED_FIELDS,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_DECLARED_METHODS);
+
+            for (Class<?> jdbcType : JDBC_PROXIES) {
+                hints.proxies().registerJdkProxy(ProxyJdbcObject.class, jdbcType);
+            }
+
+            // Jsoup 1.17 keeps its entity tables in code and needs no resources or reflection. The schedule
+            // page is fetched over HTTPS and decoded in the page's charset, which the native profile's
+            // build arguments (--enable-url-protocols, -H:+AddAllCharsets) provide.
+
+            // React build served by the static resource handler and by HealthController's root()
+            hints.resources().registerPattern("static/**");
+            // Recorded responses for the fake-odds profile
+            hints.resources().registerPattern("fakeodds/*.json");
+        }
+
+        /**
+         * Every @Entity in the model package, found when the hints are built so a new entity cannot be missed
+         */
+        static List<Class<?>> entities(ClassLoader classLoader) {
+            ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+            scanner.addIncludeFilter(new AnnotationTypeFilter(Entity.class));
+            List<Class<?>> entities = new ArrayList<>();
+            for (BeanDefinition candidate : scanner.findCandidateComponents(Game.class.getPackageName())) {
+                entities.add(ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+            }
+            return entities;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.nflpickem.pickem.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * One pick per user, game and league, enforced by the database so concurrent submissions cannot create
+ * duplicates. JPA cannot declare these indexes (the PostgreSQL one for picks outside a league is partial),
+ * so they are created after Hibernate has updated the schema and before the other runners. If an existing
+ * database already holds duplicates, the newest pick of each is kept and the index created again.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class PickUniqueIndexes implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PickUniqueIndexes.class);
+
+    // PostgreSQL treats nulls as distinct, so picks outside a league need their own partial index
+    private static final List<String> POSTGRES_INDEXES = List.of(
+        "CREATE UNIQUE INDEX IF NOT EXISTS uk_pick_user_game_league ON pick (user_id, game_id, league_id)",
+        "CREATE UNIQUE INDEX IF NOT EXISTS uk_pick_user_game_no_league ON pick (user_id, game_id) WHERE league_id IS NULL"
+    );
+
+    // H2 has no partial indexes but can compare nulls as equal
+    private static final List<String> H2_INDEXES = List.of(
+        "CREATE UNIQUE NULLS NOT DISTINCT INDEX IF NOT EXISTS uk_pick_user_game_league ON pick (user_id, game_id, league_id)"
+    );
+
+    // GROUP BY puts null leagues in one group on both databases
+    private static final String DELETE_DUPLICATES =
+        "DELETE FROM pick WHERE id NOT IN (SELECT MAX(id) FROM pick GROUP BY user_id, game_id, league_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    public PickUniqueIndexes(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            createIndexes();
+        } catch (DataIntegrityViolationException e) {
+            int deleted = jdbcTemplate.update(DELETE_DUPLICATES);
+            logger.warn("Deleted {} duplicate picks before creating the pick unique indexes", deleted);
+            createIndexes();
+        }
+    }
+
+    private void createIndexes() {
+        for (String statement : databasePlatform.isH2() ? H2_INDEXES : POSTGRES_INDEXES) {
+            jdbcTemplate.execute(statement);
+        }
+    }
+}
@@ -30,7 +30,8 @@ public class SecurityConfig {
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
             .httpBasic(basic -> basic.disable()) // Disable HTTP Basic authentication
             .authorizeHttpRequests(authorize -> authorize
-                .requestMatchers("/", "/ping", "/health", "/actuator/health", "/actuator/info").permitAll() // Health checks always accessible
+                .requestMatchers("/", "/ping", "/health", "/health/**", "/actuator/health", "/actuator/health/**", "/actuator/info").permitAll() // Health checks always accessible
+                .requestMatchers("/actuator/prometheus").permitAll() // Prometheus scrape endpoint
                 .requestMatchers("/static/**", "/static/js/**", "/static/css/**", "/static/media/**").permitAll() // Static assets
                 .requestMatchers("/register", "/login", "/games", "/leaderboard", "/leagues/**", "/my-leagues", "/account").permitAll() // React routes
                 .requestMatchers("/api/auth/**", "/api/games/**", "/api/picks/**", "/api/leagues/**", "/api/leaderboard/**", "/api/user/**", "/api/admin/**", "/api/odds/**").permitAll()
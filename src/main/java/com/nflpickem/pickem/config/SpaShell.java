@@ -0,0 +1,181 @@
+package com.nflpickem.pickem.config;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * The React app's index.html, held in memory. It is read once, with its gzip and brotli variants
+ * (from the precompressed build, or gzipped here when the build has none), and served with an
+ * ETag and Cache-Control: no-cache so browsers revalidate the shell cheaply while the fingerprinted
+ * /static/** files it references stay cached for a year. When the file lives on disk (running from
+ * target/classes or an IDE) a changed file is picked up again; inside a jar it never changes.
+ */
+@Component
+public class SpaShell {
+
+    private static final String INDEX = "static/index.html";
+    private static final MediaType TEXT_HTML_UTF8 = new MediaType(MediaType.TEXT_HTML, StandardCharsets.UTF_8);
+    private static final long RELOAD_CHECK_MILLIS = 1000;
+    private static final long SAME_BUILD_MILLIS = 2000;
+
+    private final Resource index = new ClassPathResource(INDEX);
+    private final Resource indexGzip = new ClassPathResource(INDEX + ".gz");
+    private final Resource indexBrotli = new ClassPathResource(INDEX + ".br");
+    private volatile Shell shell;
+    private volatile long lastCheck;
+
+    /**
+     * Whether a frontend build is on the classpath
+     */
+    public boolean isAvailable() {
+        return current() != null;
+    }
+
+    /**
+     * index.html in the best encoding the client accepts, or 304 when its ETag still matches
+     */
+    public ResponseEntity<byte[]> response(String acceptEncoding, String ifNoneMatch) {
+        Shell current = current();
+        if (current == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+        String encoding = negotiate(acceptEncoding, current);
+        byte[] body = switch (encoding) {
+            case "br" -> current.brotli();
+            case "gzip" -> current.gzip();
+            default -> current.identity();
+        };
+        String etag = "identity".equals(encoding) ? "\"" + current.hash() + "\"" : "\"" + current.hash() + "-" + encoding + "\"";
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_HTML_UTF8);
+        headers.setCacheControl(CacheControl.noCache());
+        headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        headers.setETag(etag);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(current.hash()) || ifNoneMatch.trim().equals("*"))) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+        if (!"identity".equals(encoding)) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        headers.setContentLength(body.length);
+        return new ResponseEntity<>(body, headers, HttpStatus.OK);
+    }
+
+    private Shell current() {
+        Shell loaded = shell;
+        if (loaded == null) {
+            return reload();
+        }
+        if (loaded.file() != null) {
+            long now = System.currentTimeMillis();
+            if (now - lastCheck >= RELOAD_CHECK_MILLIS) {
+                lastCheck = now;
+                if (loaded.file().lastModified() != loaded.lastModified()) {
+                    return reload();
+                }
+            }
+        }
+        return loaded;
+    }
+
+    private synchronized Shell reload() {
+        try {
+            if (!index.exists()) {
+                return null;
+            }
+            byte[] identity = read(index);
+            File file = index.isFile() ? index.getFile() : null;
+            long lastModified = file != null ? file.lastModified() : 0;
+            // A precompressed variant is only trusted if it is at least as new as index.html
+            byte[] gzip = isFresh(indexGzip, lastModified) ? read(indexGzip) : gzip(identity);
+            byte[] brotli = isFresh(indexBrotli, lastModified) ? read(indexBrotli) : null;
+            Shell loaded = new Shell(identity, gzip, brotli, DigestUtils.md5DigestAsHex(identity), file, lastModified);
+            shell = loaded;
+            lastCheck = System.currentTimeMillis();
+            return loaded;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + INDEX, e);
+        }
+    }
+
+    private static boolean isFresh(Resource variant, long indexLastModified) throws IOException {
+        if (!variant.exists()) {
+            return false;
+        }
+        // Files copied in the same build land within moments of each other, in any order
+        return !variant.isFile() || variant.getFile().lastModified() >= indexLastModified - SAME_BUILD_MILLIS;
+    }
+
+    private static byte[] read(Resource resource) throws IOException {
+        try (var in = resource.getInputStream()) {
+            return in.readAllBytes();
+        }
+    }
+
+    private static byte[] gzip(byte[] content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * br over gzip over identity, skipping codings the client refuses with q=0
+     */
+    static String negotiate(String acceptEncoding, Shell shell) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return "identity";
+        }
+        boolean brotli = false;
+        boolean gzip = false;
+        for (String part : acceptEncoding.toLowerCase(Locale.ROOT).split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            boolean refused = false;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim();
+                if (param.startsWith("q=")) {
+                    try {
+                        refused = Double.parseDouble(param.substring(2)) <= 0;
+                    } catch (NumberFormatException e) {
+                        refused = true;
+                    }
+                }
+            }
+            if (refused) {
+                continue;
+            }
+            if (coding.equals("br") || coding.equals("*")) {
+                brotli = true;
+            }
+            if (coding.equals("gzip") || coding.equals("*")) {
+                gzip = true;
+            }
+        }
+        if (brotli && shell.brotli() != null) {
+            return "br";
+        }
+        return gzip ? "gzip" : "identity";
+    }
+
+    record Shell(byte[] identity, byte[] gzip, byte[] brotli, String hash, File file, long lastModified) {
+    }
+}
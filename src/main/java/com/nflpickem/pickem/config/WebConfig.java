@@ -1,24 +1,33 @@
 package com.nflpickem.pickem.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve React static assets with proper MIME types
+        // Serve React static assets with proper MIME types. The build fingerprints every file under
+        // /static (main.<hash>.js), so a file never changes once published and can be cached for a year.
+        // EncodedResourceResolver serves the .br/.gz files written by the frontend's postbuild step
+        // according to Accept-Encoding.
         registry.addResourceHandler("/static/**")
                 .addResourceLocations("classpath:/static/static/")
-                .setCachePeriod(3600)
-                .resourceChain(true);
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
 
-        // Serve other static assets
+        // Serve other static assets (favicon, manifest, ...); index.html itself is served by SpaShell
         registry.addResourceHandler("/**")
                 .addResourceLocations("classpath:/static/")
                 .setCachePeriod(3600)
-                .resourceChain(true);
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
     }
 }
@@ -1,10 +1,21 @@
 package com.nflpickem.pickem.controller;
 
+import com.nflpickem.pickem.monitoring.FlightRecorderService;
 import com.nflpickem.pickem.service.OddsService;
+import com.nflpickem.pickem.service.PickDistributionCounters;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -16,6 +27,15 @@ public class AdminController {
     @Autowired
     private OddsService oddsService;
     
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+    
+    @Autowired
+    private PickDistributionCounters pickDistributionCounters;
+    
+    @Value("${JFR_ADMIN_TOKEN:}")
+    private String jfrAdminToken;
+    
     /**
      * Trigger odds update for current week
      */
@@ -120,4 +140,130 @@ public class AdminController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
+    
+    /**
+     * Recount a league's pick distribution for a week from its picks
+     */
+    @PostMapping("/pick-distribution/{leagueId}/{week}/rebuild")
+    public ResponseEntity<Map<String, Object>> rebuildPickDistribution(@PathVariable Long leagueId, @PathVariable Integer week) {
+        try {
+            pickDistributionCounters.rebuild(leagueId, week);
+            
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", true);
+            response.put("message", "Rebuilt pick distribution for league " + leagueId + ", week " + week);
+            return ResponseEntity.ok(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to rebuild pick distribution: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+    
+    /**
+     * Start a bounded continuous flight recording
+     */
+    @PostMapping("/jfr/start")
+    public ResponseEntity<Map<String, Object>> startFlightRecording(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token,
+            @RequestParam(required = false) Long maxAgeMinutes,
+            @RequestParam(required = false) Long maxSizeMb,
+            @RequestParam(required = false) Long durationMinutes) {
+        if (!isJfrTokenValid(token)) {
+            return jfrForbidden();
+        }
+        try {
+            Map<String, Object> response = flightRecorderService.start(maxAgeMinutes, maxSizeMb, durationMinutes);
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to start flight recording: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+    
+    /**
+     * Stop the running flight recording
+     */
+    @PostMapping("/jfr/stop")
+    public ResponseEntity<Map<String, Object>> stopFlightRecording(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        if (!isJfrTokenValid(token)) {
+            return jfrForbidden();
+        }
+        try {
+            Map<String, Object> response = flightRecorderService.stop();
+            response.put("success", true);
+            return ResponseEntity.ok(response);
+        } catch (IllegalStateException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("success", false);
+            response.put("message", "Failed to stop flight recording: " + e.getMessage());
+            return ResponseEntity.internalServerError().body(response);
+        }
+    }
+    
+    /**
+     * Get flight recording status
+     */
+    @GetMapping("/jfr/status")
+    public ResponseEntity<Map<String, Object>> getFlightRecordingStatus(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        if (!isJfrTokenValid(token)) {
+            return jfrForbidden();
+        }
+        return ResponseEntity.ok(flightRecorderService.status());
+    }
+    
+    /**
+     * Download the flight recording as a .jfr file (a running recording is snapshotted)
+     */
+    @GetMapping("/jfr/download")
+    public ResponseEntity<Resource> downloadFlightRecording(
+            @RequestHeader(value = "X-Admin-Token", required = false) String token) {
+        if (!isJfrTokenValid(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        try {
+            Path file = flightRecorderService.dumpForDownload();
+            return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(new FileSystemResource(file));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+    
+    /**
+     * Recordings expose stack traces and timings, so these endpoints require JFR_ADMIN_TOKEN to be set and sent
+     */
+    private boolean isJfrTokenValid(String token) {
+        return jfrAdminToken != null && !jfrAdminToken.isEmpty() && token != null
+            && MessageDigest.isEqual(jfrAdminToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private ResponseEntity<Map<String, Object>> jfrForbidden() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", jfrAdminToken == null || jfrAdminToken.isEmpty()
+            ? "Flight recording is disabled - set JFR_ADMIN_TOKEN to enable it"
+            : "Invalid or missing X-Admin-Token header");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
 }
@@ -1,22 +1,38 @@
 package com.nflpickem.pickem.controller;
 
+import com.nflpickem.pickem.config.SpaShell;
+import com.nflpickem.pickem.resilience.OddsApiHealthIndicator;
+import com.nflpickem.pickem.service.StartupWarmupService;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.LivenessState;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.core.io.ClassPathResource;
-import org.springframework.http.MediaType;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestController
 public class HealthController {
 
+    private final OddsApiHealthIndicator oddsApiHealthIndicator;
+    private final StartupWarmupService startupWarmupService;
+    private final ApplicationAvailability applicationAvailability;
+    private final SpaShell spaShell;
+
+    public HealthController(OddsApiHealthIndicator oddsApiHealthIndicator, StartupWarmupService startupWarmupService,
+                            ApplicationAvailability applicationAvailability, SpaShell spaShell) {
+        this.oddsApiHealthIndicator = oddsApiHealthIndicator;
+        this.startupWarmupService = startupWarmupService;
+        this.applicationAvailability = applicationAvailability;
+        this.spaShell = spaShell;
+    }
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, Object>> health() {
         Map<String, Object> response = new HashMap<>();
@@ -27,23 +43,45 @@ public class HealthController {
         response.put("environment", System.getenv("SPRING_PROFILES_ACTIVE"));
         response.put("port", System.getenv("PORT"));
         response.put("database_url_set", System.getenv("DATABASE_URL") != null);
+        response.put("odds_api", oddsApiHealthIndicator.details());
+        response.put("startup", startupWarmupService.details());
         System.out.println("Health check accessed at: " + System.currentTimeMillis());
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Liveness: the process is up and not broken. Never waits for the startup warmup.
+     */
+    @GetMapping("/health/liveness")
+    public ResponseEntity<Map<String, Object>> liveness() {
+        LivenessState state = applicationAvailability.getLivenessState();
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", state == LivenessState.CORRECT ? "UP" : "DOWN");
+        return ResponseEntity.status(state == LivenessState.CORRECT ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+            .body(response);
+    }
+
+    /**
+     * Readiness: 503 until the app accepts traffic and the schedule import and warmup are done, so the
+     * platform only routes requests here once caches are warm. This is the Railway health check.
+     */
+    @GetMapping("/health/readiness")
+    public ResponseEntity<Map<String, Object>> readiness() {
+        boolean ready = applicationAvailability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC
+            && startupWarmupService.isReady();
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", ready ? "UP" : "OUT_OF_SERVICE");
+        response.put("startup", startupWarmupService.details());
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
     @GetMapping("/")
-    public ResponseEntity<String> root() {
-        try {
-            // Try to serve the React app's index.html
-            ClassPathResource resource = new ClassPathResource("static/index.html");
-            String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.TEXT_HTML);
-            
-            System.out.println("Serving React app at: " + System.currentTimeMillis());
-            return new ResponseEntity<>(content, headers, HttpStatus.OK);
-        } catch (IOException e) {
+    public ResponseEntity<?> root(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (spaShell.isAvailable()) {
+            // Serve the React app's index.html from memory
+            return spaShell.response(acceptEncoding, ifNoneMatch);
+        } else {
             // Fallback to API response if React app isn't built
             Map<String, Object> response = new HashMap<>();
             response.put("message", "NFL Pick'em Backend API");
@@ -6,11 +6,14 @@ import com.nflpickem.pickem.service.LeaderboardService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/leaderboard")
@@ -42,6 +45,22 @@ public class LeaderboardController {
         }
     }
 
+    /**
+     * The league's weekly standings if the given games (game id to winning team) ended that way
+     */
+    @PostMapping("/weekly/{weekNum}/what-if")
+    public ResponseEntity<List<PlayerScore>> getWhatIfLeaderboard(@PathVariable Integer weekNum, @RequestParam Long leagueId,
+                                                                  @RequestBody Map<Long, String> winners) {
+        try {
+            if (weekNum == null || weekNum < 1) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(leaderboardService.getWhatIfLeaderboard(weekNum, leagueId, winners));
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
     @GetMapping("/weekly-wins")
     public ResponseEntity<List<WeeklyWinsDto>> getWeeklyWins(@RequestParam Long leagueId) {
         try {
@@ -13,8 +13,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/leagues")
@@ -50,13 +48,28 @@ public class LeagueController {
             }
             
             League league = leagueService.joinLeague(request.getJoinCode(), currentUser.getId());
-            LeagueResponse leagueResponse = new LeagueResponse(league);
+            LeagueResponse leagueResponse = leagueService.getLeagueResponse(league.getId()).orElseThrow();
             return new ResponseEntity<>(leagueResponse, HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(Map.of("message", e.getMessage()), HttpStatus.BAD_REQUEST);
         }
     }
 
+    @PostMapping("/{id}/leave")
+    public ResponseEntity<?> leaveLeague(@PathVariable Long id) {
+        try {
+            User currentUser = AuthContext.getCurrentUser();
+            if (currentUser == null) {
+                return new ResponseEntity<>(Map.of("message", "User not authenticated"), HttpStatus.UNAUTHORIZED);
+            }
+
+            leagueService.leaveLeague(id, currentUser.getId());
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(Map.of("message", e.getMessage()), HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<LeagueResponse>> getLeaguesByUserId(@PathVariable Long userId) {
         try {
@@ -64,11 +77,7 @@ public class LeagueController {
                 return ResponseEntity.badRequest().build();
             }
             
-            List<League> leagues = leagueService.getLeaguesByUserId(userId);
-            List<LeagueResponse> leagueResponses = leagues.stream()
-                .map(LeagueResponse::new)
-                .collect(Collectors.toList());
-            return ResponseEntity.ok(leagueResponses);
+            return ResponseEntity.ok(leagueService.getLeaguesByUserId(userId));
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().build();
         }
@@ -81,9 +90,9 @@ public class LeagueController {
                 return ResponseEntity.badRequest().build();
             }
             
-            Optional<League> league = leagueService.getLeagueById(id);
-            return league.map(l -> ResponseEntity.ok(new LeagueResponse(l)))
-                         .orElseGet(() -> ResponseEntity.notFound().build());
+            return leagueService.getLeagueResponse(id)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
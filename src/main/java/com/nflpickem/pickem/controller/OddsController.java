@@ -1,8 +1,13 @@
 package com.nflpickem.pickem.controller;
 
 import com.nflpickem.pickem.model.BettingOdds;
+import com.nflpickem.pickem.resilience.OddsApiUnavailableException;
+import com.nflpickem.pickem.service.OddsCleanupService;
+import com.nflpickem.pickem.service.OddsRefreshPlanner;
 import com.nflpickem.pickem.service.OddsService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -18,6 +23,9 @@ public class OddsController {
     @Autowired
     private OddsService oddsService;
     
+    @Autowired
+    private OddsRefreshPlanner oddsRefreshPlanner;
+    
     /**
      * Get odds for a specific week
      */
@@ -64,6 +72,8 @@ public class OddsController {
             response.put("success", false);
             response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
+        } catch (OddsApiUnavailableException e) {
+            return oddsApiUnavailable(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -92,6 +102,8 @@ public class OddsController {
             response.put("success", false);
             response.put("message", e.getMessage());
             return ResponseEntity.badRequest().body(response);
+        } catch (OddsApiUnavailableException e) {
+            return oddsApiUnavailable(e);
         } catch (Exception e) {
             Map<String, Object> response = new HashMap<>();
             response.put("success", false);
@@ -122,16 +134,27 @@ public class OddsController {
     }
     
     /**
-     * Clean up stale odds
+     * Current odds refresh plan: interval, next refresh and projected quota burn for the month
+     */
+    @GetMapping("/refresh-plan")
+    public ResponseEntity<OddsRefreshPlanner.RefreshPlan> getRefreshPlan() {
+        return ResponseEntity.ok(oddsRefreshPlanner.plan());
+    }
+    
+    /**
+     * Clean up stale odds; dryRun=true only reports how many rows would be deleted
      */
     @PostMapping("/cleanup")
-    public ResponseEntity<Map<String, Object>> cleanupStaleOdds() {
+    public ResponseEntity<Map<String, Object>> cleanupStaleOdds(@RequestParam(defaultValue = "false") boolean dryRun) {
         try {
-            oddsService.cleanupStaleOdds();
+            OddsCleanupService.CleanupResult result = oddsService.cleanupStaleOdds(dryRun);
             
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Successfully cleaned up stale odds");
+            response.put("message", dryRun
+                ? result.staleRows() + " stale odds rows would be deleted"
+                : "Successfully cleaned up " + result.deletedRows() + " stale odds rows");
+            response.put("result", result);
             
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -141,4 +164,16 @@ public class OddsController {
             return ResponseEntity.internalServerError().body(response);
         }
     }
+    
+    /**
+     * 503 with Retry-After when the Odds API is behind an open circuit breaker; stored odds are untouched
+     */
+    private ResponseEntity<Map<String, Object>> oddsApiUnavailable(OddsApiUnavailableException e) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", false);
+        response.put("message", "Odds API temporarily unavailable, serving stored odds: " + e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, e.getRetryAfter().toSeconds())))
+            .body(response);
+    }
 }
@@ -4,7 +4,7 @@ import com.nflpickem.pickem.dto.PickRequest;
 import com.nflpickem.pickem.dto.ErrorResponse;
 import com.nflpickem.pickem.dto.PickComparisonDto;
 import com.nflpickem.pickem.dto.BulkPickRequest;
-import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.dto.PickSummary;
 import com.nflpickem.pickem.service.PickService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -30,8 +30,8 @@ public class PickController {
                    pickRequest.getUserId(), pickRequest.getGameId(), pickRequest.getPickedTeam(), pickRequest.getLeagueId());
         
         try {
-            Pick submittedPick = pickService.submitPick(pickRequest.getUserId(), pickRequest.getGameId(), pickRequest.getPickedTeam(), pickRequest.getLeagueId());
-            logger.info("Pick submitted successfully: {}", submittedPick.getId());
+            PickSummary submittedPick = pickService.submitPick(pickRequest.getUserId(), pickRequest.getGameId(), pickRequest.getPickedTeam(), pickRequest.getLeagueId());
+            logger.info("Pick submitted successfully: {}", submittedPick.id());
             return new ResponseEntity<>(submittedPick, HttpStatus.CREATED);
         } catch (RuntimeException e) {
             logger.error("Error submitting pick: {}", e.getMessage(), e);
@@ -41,7 +41,7 @@ public class PickController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Pick>> getPicksByUser(@PathVariable Long userId, @RequestParam Long leagueId) {
+    public ResponseEntity<List<PickSummary>> getPicksByUser(@PathVariable Long userId, @RequestParam Long leagueId) {
         return ResponseEntity.ok(pickService.getPicksByUser(userId, leagueId));
     }
 
@@ -60,13 +60,24 @@ public class PickController {
         }
     }
 
+    @GetMapping("/distribution/{week}")
+    public ResponseEntity<Object> getPickDistribution(@PathVariable Integer week, @RequestParam Long leagueId) {
+        try {
+            return ResponseEntity.ok(pickService.getPickDistribution(week, leagueId));
+        } catch (RuntimeException e) {
+            logger.error("Error getting pick distribution: {}", e.getMessage(), e);
+            ErrorResponse errorResponse = new ErrorResponse(e.getMessage(), HttpStatus.BAD_REQUEST.value(), System.currentTimeMillis());
+            return new ResponseEntity<>(errorResponse, HttpStatus.BAD_REQUEST);
+        }
+    }
+
     @PostMapping("/submit-bulk")
     public ResponseEntity<Object> submitBulkPicks(@RequestBody BulkPickRequest bulkRequest) {
         logger.info("Received bulk pick submission request: userId={}, leagueId={}, picksCount={}", 
                    bulkRequest.getUserId(), bulkRequest.getLeagueId(), bulkRequest.getPicks().size());
         
         try {
-            List<Pick> submittedPicks = pickService.submitBulkPicks(bulkRequest);
+            List<PickSummary> submittedPicks = pickService.submitBulkPicks(bulkRequest);
             logger.info("Bulk picks submitted successfully: {} picks", submittedPicks.size());
             return new ResponseEntity<>(submittedPicks, HttpStatus.CREATED);
         } catch (RuntimeException e) {
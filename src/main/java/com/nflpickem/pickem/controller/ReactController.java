@@ -1,32 +1,29 @@
 package com.nflpickem.pickem.controller;
 
-import org.springframework.core.io.ClassPathResource;
+import com.nflpickem.pickem.config.SpaShell;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-
 @RestController
 public class ReactController {
 
+    private final SpaShell spaShell;
+
+    public ReactController(SpaShell spaShell) {
+        this.spaShell = spaShell;
+    }
+
     // Catch-all for React routes (except API routes)
     @GetMapping(value = {"/register", "/login", "/games", "/leaderboard", "/leagues/**", "/my-leagues", "/account"})
-    public ResponseEntity<String> serveReactApp() {
-        try {
-            ClassPathResource resource = new ClassPathResource("static/index.html");
-            String content = new String(resource.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
-            
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.TEXT_HTML);
-            
-            return new ResponseEntity<>(content, headers, HttpStatus.OK);
-        } catch (IOException e) {
+    public ResponseEntity<?> serveReactApp(@RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                           @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (!spaShell.isAvailable()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("React app not found");
         }
+        return spaShell.response(acceptEncoding, ifNoneMatch);
     }
 }
@@ -0,0 +1,23 @@
+package com.nflpickem.pickem.datagen;
+
+import com.nflpickem.pickem.PickemApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Command-line entry point for SeasonDataGenerator: starts the application without the web server,
+ * generates the data set and exits. Settings are passed as arguments, e.g.
+ * --spring.profiles.active=h2 --DATAGEN_USERS=20000 --DATAGEN_LEAGUES=800
+ */
+public class DataGeneratorCli {
+
+    public static void main(String[] args) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(PickemApplication.class)
+            .profiles("datagen")
+            .web(WebApplicationType.NONE)
+            .run(args);
+        System.exit(SpringApplication.exit(context));
+    }
+}
@@ -0,0 +1,519 @@
+package com.nflpickem.pickem.datagen;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Populates the database with a synthetic season for load tests and benchmarks: users, leagues, memberships,
+ * an 18-week schedule, odds and picks with a favorite bias, late changes and missing picks.
+ * Rows are written with JDBC batch inserts rather than JPA so millions of picks load quickly.
+ * Runs on startup with the "datagen" profile, or from the command line via DataGeneratorCli.
+ */
+@Component
+@Profile("datagen")
+public class SeasonDataGenerator implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeasonDataGenerator.class);
+
+    private static final ZoneId EASTERN = ZoneId.of("America/New_York");
+
+    static final String[] TEAMS = {
+        "Arizona Cardinals", "Atlanta Falcons", "Baltimore Ravens", "Buffalo Bills",
+        "Carolina Panthers", "Chicago Bears", "Cincinnati Bengals", "Cleveland Browns",
+        "Dallas Cowboys", "Denver Broncos", "Detroit Lions", "Green Bay Packers",
+        "Houston Texans", "Indianapolis Colts", "Jacksonville Jaguars", "Kansas City Chiefs",
+        "Las Vegas Raiders", "Los Angeles Chargers", "Los Angeles Rams", "Miami Dolphins",
+        "Minnesota Vikings", "New England Patriots", "New Orleans Saints", "New York Giants",
+        "New York Jets", "Philadelphia Eagles", "Pittsburgh Steelers", "San Francisco 49ers",
+        "Seattle Seahawks", "Tampa Bay Buccaneers", "Tennessee Titans", "Washington Commanders"
+    };
+
+    private static final String[] SPORTSBOOKS = {"fanduel", "draftkings", "betmgm", "caesars"};
+
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "Robert", "Patricia", "John", "Jennifer", "Michael", "Linda", "David", "Elizabeth",
+        "William", "Barbara", "Richard", "Susan", "Joseph", "Jessica", "Thomas", "Sarah", "Chris", "Karen",
+        "Daniel", "Lisa", "Matthew", "Nancy", "Anthony", "Sandra", "Mark", "Ashley", "Steven", "Emily"
+    };
+
+    private static final String[] LAST_NAMES = {
+        "Smith", "Johnson", "Williams", "Brown", "Jones", "Garcia", "Miller", "Davis", "Rodriguez", "Martinez",
+        "Hernandez", "Lopez", "Gonzalez", "Wilson", "Anderson", "Thomas", "Taylor", "Moore", "Jackson", "Martin"
+    };
+
+    private static final int[] PICK_COLUMN_TYPES = {
+        Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR, Types.BOOLEAN, Types.TIMESTAMP
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${DATAGEN_USERS:1000}")
+    private int userCount;
+
+    @Value("${DATAGEN_LEAGUES:50}")
+    private int leagueCount;
+
+    @Value("${DATAGEN_MAX_LEAGUES_PER_USER:3}")
+    private int maxLeaguesPerUser;
+
+    @Value("${NFL_SEASON_WEEKS:18}")
+    private int weeks;
+
+    @Value("${DATAGEN_SCORED_WEEKS:9}")
+    private int scoredWeeks;
+
+    @Value("${DATAGEN_SEASON_START:}")
+    private String seasonStart;
+
+    @Value("${DATAGEN_ODDS_MOVES:6}")
+    private int oddsMoves;
+
+    @Value("${DATAGEN_FAVORITE_BIAS:0.25}")
+    private double favoriteBias;
+
+    @Value("${DATAGEN_LATE_CHANGE_RATE:0.08}")
+    private double lateChangeRate;
+
+    @Value("${DATAGEN_MISSING_PICK_RATE:0.05}")
+    private double missingPickRate;
+
+    @Value("${DATAGEN_BATCH_SIZE:5000}")
+    private int batchSize;
+
+    @Value("${DATAGEN_SEED:42}")
+    private long seed;
+
+    @Value("${DATAGEN_PASSWORD:password}")
+    private String password;
+
+    @Value("${DATAGEN_PREFIX:datagen}")
+    private String prefix;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public SeasonDataGenerator(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        generate();
+    }
+
+    /**
+     * Generate the full data set; does nothing if users with the configured prefix already exist
+     */
+    public Summary generate() {
+        Integer existing = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM app_user WHERE username LIKE ?", Integer.class, prefix + "_%");
+        if (existing != null && existing > 0) {
+            logger.warn("Found {} existing '{}_' users, skipping data generation", existing, prefix);
+            return null;
+        }
+
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        Summary summary = new Summary();
+
+        List<Long> userIds = insertUsers(random, summary);
+        Map<Long, List<Long>> membersByLeague = insertLeagues(random, userIds, summary);
+        List<GeneratedGame> games = loadOrInsertSchedule(random, summary);
+        insertOdds(random, games, summary);
+        insertPicks(random, membersByLeague, games, summary);
+
+        summary.elapsed = Duration.ofNanos(System.nanoTime() - started);
+        logger.info("Generated synthetic season in {} ms: {}", summary.elapsed.toMillis(), summary);
+        return summary;
+    }
+
+    private List<Long> insertUsers(Random random, Summary summary) {
+        // BCrypt is deliberately slow, so every generated user shares one hash
+        String passwordHash = new BCryptPasswordEncoder().encode(password);
+
+        List<Object[]> rows = new ArrayList<>(userCount);
+        for (int i = 1; i <= userCount; i++) {
+            String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+            rows.add(new Object[]{prefix + "_" + i, passwordHash, name});
+        }
+        batchInsert("INSERT INTO app_user (username, password, name) VALUES (?, ?, ?)", rows);
+        summary.users = rows.size();
+
+        return jdbcTemplate.queryForList(
+            "SELECT id FROM app_user WHERE username LIKE ? ORDER BY id", Long.class, prefix + "_%");
+    }
+
+    private Map<Long, List<Long>> insertLeagues(Random random, List<Long> userIds, Summary summary) {
+        String codePrefix = prefix.toUpperCase().replaceAll("[^A-Z0-9]", "");
+        List<Object[]> leagueRows = new ArrayList<>(leagueCount);
+        for (int i = 1; i <= leagueCount; i++) {
+            leagueRows.add(new Object[]{"Synthetic League " + i, codePrefix + i, userIds.get(random.nextInt(userIds.size()))});
+        }
+        batchInsert("INSERT INTO league (name, join_code, admin_user_id) VALUES (?, ?, ?)", leagueRows);
+        summary.leagues = leagueRows.size();
+
+        // Every league starts with its admin as a member
+        Map<Long, Set<Long>> members = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, admin_user_id FROM league WHERE join_code LIKE ? ORDER BY id",
+            rs -> {
+                Set<Long> leagueMembers = new LinkedHashSet<>();
+                leagueMembers.add(rs.getLong("admin_user_id"));
+                members.put(rs.getLong("id"), leagueMembers);
+            }, codePrefix + "%");
+        List<Long> leagueIds = new ArrayList<>(members.keySet());
+        for (Long userId : userIds) {
+            // Most players are in one league; a geometric tail plays in several
+            int leagues = 1;
+            while (leagues < maxLeaguesPerUser && random.nextDouble() < 0.35) {
+                leagues++;
+            }
+            for (int i = 0; i < leagues; i++) {
+                // Squaring skews membership toward the first leagues so league sizes are uneven
+                double skew = random.nextDouble();
+                Long leagueId = leagueIds.get((int) (skew * skew * leagueIds.size()));
+                members.get(leagueId).add(userId);
+            }
+        }
+
+        List<Object[]> memberRows = new ArrayList<>();
+        Map<Long, List<Long>> membersByLeague = new LinkedHashMap<>();
+        for (Map.Entry<Long, Set<Long>> entry : members.entrySet()) {
+            membersByLeague.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            for (Long userId : entry.getValue()) {
+                memberRows.add(new Object[]{entry.getKey(), userId});
+            }
+        }
+        batchInsert("INSERT INTO league_members (league_id, user_id) VALUES (?, ?)", memberRows);
+        summary.memberships = memberRows.size();
+        return membersByLeague;
+    }
+
+    /**
+     * Reuse an imported schedule when one exists, otherwise generate one
+     */
+    private List<GeneratedGame> loadOrInsertSchedule(Random random, Summary summary) {
+        Map<String, Double> ratings = new HashMap<>();
+        for (String team : TEAMS) {
+            ratings.put(team, random.nextGaussian() * 5.0);
+        }
+
+        Integer existingGames = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM game", Integer.class);
+        if (existingGames == null || existingGames == 0) {
+            insertSchedule(random, summary);
+        } else {
+            logger.info("Using the {} existing games as the schedule", existingGames);
+        }
+
+        List<GeneratedGame> games = jdbcTemplate.query(
+            "SELECT id, week, home_team, away_team, kickoff_time, winning_team, scored FROM game ORDER BY week, kickoff_time",
+            (rs, rowNum) -> {
+                GeneratedGame game = new GeneratedGame();
+                game.id = rs.getLong("id");
+                game.week = rs.getInt("week");
+                game.homeTeam = rs.getString("home_team");
+                game.awayTeam = rs.getString("away_team");
+                OffsetDateTime kickoff = rs.getObject("kickoff_time", OffsetDateTime.class);
+                game.kickoff = kickoff != null ? kickoff.toInstant() : null;
+                game.winningTeam = rs.getString("winning_team");
+                game.scored = rs.getBoolean("scored");
+                return game;
+            });
+        for (GeneratedGame game : games) {
+            // Home field is worth about two points
+            double homeEdge = ratings.getOrDefault(game.homeTeam, 0.0) - ratings.getOrDefault(game.awayTeam, 0.0) + 2.0;
+            game.openingSpread = roundToHalf(-homeEdge + random.nextGaussian() * 1.5);
+        }
+        summary.games = games.size();
+        return games;
+    }
+
+    private void insertSchedule(Random random, Summary summary) {
+        LocalDate firstThursday = firstThursday();
+        Set<String> usedMatchups = new HashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (int week = 1; week <= weeks; week++) {
+            // Weeks 5-14 have two or four teams on bye
+            int byes = week >= 5 && week <= 14 ? 2 * (1 + random.nextInt(2)) : 0;
+            List<String[]> matchups = weekMatchups(random, usedMatchups, (TEAMS.length - byes) / 2);
+
+            LocalDate thursday = firstThursday.plusWeeks(week - 1);
+            for (int slot = 0; slot < matchups.size(); slot++) {
+                String home = matchups.get(slot)[0];
+                String away = matchups.get(slot)[1];
+                Instant kickoff = kickoffForSlot(thursday, slot, matchups.size());
+                boolean scored = week <= scoredWeeks;
+                String winner = null;
+                if (scored) {
+                    winner = random.nextDouble() < 0.57 ? home : away;
+                }
+                rows.add(new Object[]{week, home, away, kickoff.atOffset(ZoneOffset.UTC), winner, scored});
+            }
+        }
+        batchInsert("INSERT INTO game (week, home_team, away_team, kickoff_time, winning_team, scored) VALUES (?, ?, ?, ?, ?, ?)", rows);
+        summary.generatedSchedule = true;
+    }
+
+    /**
+     * Pair up teams for one week without repeating a home/away matchup from earlier weeks, as in a real
+     * schedule; score matching looks games up by (home, away) alone
+     */
+    private List<String[]> weekMatchups(Random random, Set<String> usedMatchups, int gameCount) {
+        for (int attempt = 0; attempt < 1000; attempt++) {
+            List<String> teams = new ArrayList<>(List.of(TEAMS));
+            Collections.shuffle(teams, random);
+            List<String[]> matchups = new ArrayList<>(gameCount);
+            for (int slot = 0; slot < gameCount; slot++) {
+                String home = teams.get(2 * slot);
+                String away = teams.get(2 * slot + 1);
+                if (usedMatchups.contains(home + "|" + away)) {
+                    String swap = home;
+                    home = away;
+                    away = swap;
+                }
+                if (usedMatchups.contains(home + "|" + away)) {
+                    break;
+                }
+                matchups.add(new String[]{home, away});
+            }
+            if (matchups.size() == gameCount) {
+                matchups.forEach(matchup -> usedMatchups.add(matchup[0] + "|" + matchup[1]));
+                return matchups;
+            }
+        }
+        throw new IllegalStateException("Could not build a schedule without repeated matchups");
+    }
+
+    /**
+     * Thursday night, then the Sunday early, late and night windows, then Monday night
+     */
+    private Instant kickoffForSlot(LocalDate thursday, int slot, int gameCount) {
+        LocalDate sunday = thursday.plusDays(3);
+        LocalDateTime kickoff;
+        if (slot == 0) {
+            kickoff = thursday.atTime(20, 15);
+        } else if (slot == gameCount - 1) {
+            kickoff = sunday.plusDays(1).atTime(20, 15);
+        } else if (slot == gameCount - 2) {
+            kickoff = sunday.atTime(20, 20);
+        } else if (slot <= (gameCount - 3) * 2 / 3) {
+            kickoff = sunday.atTime(13, 0);
+        } else {
+            kickoff = sunday.atTime(slot % 2 == 0 ? LocalTime.of(16, 5) : LocalTime.of(16, 25));
+        }
+        return kickoff.atZone(EASTERN).toInstant();
+    }
+
+    /**
+     * Configured season start, or a start that makes the week after the scored weeks the current one
+     */
+    private LocalDate firstThursday() {
+        if (seasonStart != null && !seasonStart.isBlank()) {
+            return LocalDate.parse(seasonStart);
+        }
+        LocalDate currentThursday = LocalDate.now(EASTERN).with(TemporalAdjusters.previousOrSame(DayOfWeek.THURSDAY));
+        return currentThursday.minusWeeks(scoredWeeks);
+    }
+
+    /**
+     * Simulate line movement per sportsbook through the week. The schema keeps one row per
+     * (game, sportsbook, type), so the closing line of each book is what gets stored.
+     */
+    private void insertOdds(Random random, List<GeneratedGame> games, Summary summary) {
+        Set<Long> gamesWithOdds = new HashSet<>(jdbcTemplate.queryForList("SELECT DISTINCT game_id FROM betting_odds", Long.class));
+        List<Object[]> rows = new ArrayList<>();
+        Instant now = Instant.now();
+        for (GeneratedGame game : games) {
+            Instant kickoff = game.kickoff != null ? game.kickoff : now;
+            double consensus = game.openingSpread;
+            for (int move = 0; move < oddsMoves; move++) {
+                if (random.nextDouble() < 0.4) {
+                    consensus += random.nextBoolean() ? 0.5 : -0.5;
+                }
+            }
+            game.closingSpread = consensus;
+            if (gamesWithOdds.contains(game.id)) {
+                continue;
+            }
+
+            for (String sportsbook : SPORTSBOOKS) {
+                double spread = consensus + (random.nextDouble() < 0.2 ? (random.nextBoolean() ? 0.5 : -0.5) : 0.0);
+                double homeMoneyline = moneyline(-spread);
+                double awayMoneyline = moneyline(spread);
+                double total = roundToHalf(44.5 + random.nextGaussian() * 4.0);
+                // Books stop moving the line at kickoff; future games were last refreshed within the past day
+                Instant lastUpdated = kickoff.isBefore(now)
+                    ? kickoff.minus(Duration.ofMinutes(5 + random.nextInt(120)))
+                    : now.minus(Duration.ofMinutes(random.nextInt(24 * 60)));
+                rows.add(new Object[]{game.id, sportsbook, "american", spread, game.homeTeam, total,
+                    homeMoneyline, awayMoneyline, lastUpdated.atOffset(ZoneOffset.UTC)});
+            }
+        }
+        batchInsert("INSERT INTO betting_odds (game_id, sportsbook, odds_type, spread, spread_team, total, home_team_odds, away_team_odds, last_updated) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        summary.oddsRows = rows.size();
+    }
+
+    /**
+     * Picks for every league member on every game up to the current week. Players favor the opening favorite,
+     * a share of picks are changed late toward the closing favorite, and some players skip games or whole weeks.
+     */
+    private void insertPicks(Random random, Map<Long, List<Long>> membersByLeague, List<GeneratedGame> games, Summary summary) {
+        int pickableWeeks = Math.min(weeks, scoredWeeks + 1);
+        Map<Integer, List<GeneratedGame>> gamesByWeek = new HashMap<>();
+        for (GeneratedGame game : games) {
+            if (game.week <= pickableWeeks) {
+                gamesByWeek.computeIfAbsent(game.week, w -> new ArrayList<>()).add(game);
+            }
+        }
+
+        String sql = "INSERT INTO pick (user_id, game_id, league_id, picked_team, correct, scored_at) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> buffer = new ArrayList<>(batchSize);
+        for (Map.Entry<Long, List<Long>> league : membersByLeague.entrySet()) {
+            for (Long userId : league.getValue()) {
+                for (Map.Entry<Integer, List<GeneratedGame>> week : gamesByWeek.entrySet()) {
+                    // A share of missing picks comes from players sitting out an entire week
+                    if (random.nextDouble() < missingPickRate / 3) {
+                        summary.missingPicks += week.getValue().size();
+                        continue;
+                    }
+                    for (GeneratedGame game : week.getValue()) {
+                        if (random.nextDouble() < missingPickRate * 2 / 3) {
+                            summary.missingPicks++;
+                            continue;
+                        }
+                        String picked = pickTeam(random, game, game.openingSpread);
+                        if (random.nextDouble() < lateChangeRate) {
+                            String changed = pickTeam(random, game, game.closingSpread);
+                            if (!changed.equals(picked)) {
+                                summary.lateChanges++;
+                            }
+                            picked = changed;
+                        }
+                        boolean scored = game.scored && game.winningTeam != null;
+                        LocalDateTime scoredAt = scored && game.kickoff != null
+                            ? LocalDateTime.ofInstant(game.kickoff.plus(Duration.ofMinutes(210)), ZoneOffset.UTC)
+                            : null;
+                        buffer.add(new Object[]{userId, game.id, league.getKey(), picked, scored && picked.equals(game.winningTeam), scoredAt});
+                        if (buffer.size() >= batchSize) {
+                            summary.picks += flush(sql, buffer);
+                            if (summary.picks % (batchSize * 100L) == 0) {
+                                logger.info("Inserted {} picks", summary.picks);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        summary.picks += flush(sql, buffer);
+    }
+
+    /**
+     * Choose a side, leaning toward the favorite more as the spread grows
+     */
+    private String pickTeam(Random random, GeneratedGame game, double homeSpread) {
+        double strength = Math.min(1.0, Math.abs(homeSpread) / 7.0);
+        double favoriteProbability = 0.5 + favoriteBias * (0.4 + 0.6 * strength);
+        boolean homeFavored = homeSpread <= 0;
+        boolean pickFavorite = random.nextDouble() < favoriteProbability;
+        return homeFavored == pickFavorite ? game.homeTeam : game.awayTeam;
+    }
+
+    private int flush(String sql, List<Object[]> buffer) {
+        if (buffer.isEmpty()) {
+            return 0;
+        }
+        // One commit per batch, and explicit types spare a parameter metadata lookup for every null scored_at
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, buffer, PICK_COLUMN_TYPES));
+        int written = buffer.size();
+        buffer.clear();
+        return written;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += batchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(rows.size(), from + batchSize));
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(sql, batch));
+        }
+    }
+
+    /**
+     * Approximate American moneyline for a point spread (negative spread = favorite)
+     */
+    private static double moneyline(double spread) {
+        double winProbability = 1.0 / (1.0 + Math.exp(spread / 6.0));
+        if (winProbability >= 0.5) {
+            return Math.round(-100.0 * winProbability / (1.0 - winProbability));
+        }
+        return Math.round(100.0 * (1.0 - winProbability) / winProbability);
+    }
+
+    private static double roundToHalf(double value) {
+        return Math.round(value * 2.0) / 2.0;
+    }
+
+    private static class GeneratedGame {
+        long id;
+        int week;
+        String homeTeam;
+        String awayTeam;
+        Instant kickoff;
+        String winningTeam;
+        boolean scored;
+        double openingSpread;
+        double closingSpread;
+    }
+
+    /**
+     * Row counts written by a generator run
+     */
+    public static class Summary {
+        public int users;
+        public int leagues;
+        public int memberships;
+        public int games;
+        public boolean generatedSchedule;
+        public int oddsRows;
+        public long picks;
+        public long missingPicks;
+        public long lateChanges;
+        public Duration elapsed;
+
+        @Override
+        public String toString() {
+            return String.format("users=%d, leagues=%d, memberships=%d, games=%d%s, oddsRows=%d, picks=%d, missingPicks=%d, lateChanges=%d",
+                users, leagues, memberships, games, generatedSchedule ? " (generated)" : " (existing)",
+                oddsRows, picks, missingPicks, lateChanges);
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.nflpickem.pickem.dto;
+
+/**
+ * One row of the league detail query: the league and admin columns repeated for every member
+ */
+public record LeagueMemberRow(Long leagueId, String name, String joinCode,
+                              Long adminId, String adminUsername, String adminName,
+                              Long memberId, String memberUsername, String memberName) {
+}
@@ -1,19 +1,25 @@
 package com.nflpickem.pickem.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.nflpickem.pickem.model.League;
-import com.nflpickem.pickem.model.User;
 import lombok.Data;
 
-import java.util.Set;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.stream.Collectors;
 
+/**
+ * League as returned by the API. members is only filled in for a single league; the league lists leave it out.
+ */
 @Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class LeagueResponse {
     private Long id;
     private String name;
     private String joinCode;
     private UserResponse admin;
-    private Set<UserResponse> members;
+    private List<UserResponse> members;
 
     public LeagueResponse(League league) {
         this.id = league.getId();
@@ -27,7 +33,39 @@ public class LeagueResponse {
         if (league.getMembers() != null) {
             this.members = league.getMembers().stream()
                 .map(UserResponse::new)
-                .collect(Collectors.toSet());
+                .sorted(Comparator.comparing(UserResponse::getId))
+                .collect(Collectors.toList());
         }
     }
+
+    /**
+     * Used by the projection queries in LeagueRepository
+     */
+    public LeagueResponse(Long id, String name, String joinCode, Long adminId, String adminUsername, String adminName) {
+        this.id = id;
+        this.name = name;
+        this.joinCode = joinCode;
+        if (adminId != null) {
+            this.admin = new UserResponse(adminId, adminUsername, adminName);
+        }
+    }
+
+    /**
+     * Assemble a league with its members from the rows of LeagueRepository.findMemberRows, or null when there are none
+     */
+    public static LeagueResponse fromRows(List<LeagueMemberRow> rows) {
+        if (rows.isEmpty()) {
+            return null;
+        }
+        LeagueMemberRow first = rows.get(0);
+        LeagueResponse response = new LeagueResponse(first.leagueId(), first.name(), first.joinCode(),
+            first.adminId(), first.adminUsername(), first.adminName());
+        response.members = new ArrayList<>(rows.size());
+        for (LeagueMemberRow row : rows) {
+            if (row.memberId() != null) {
+                response.members.add(new UserResponse(row.memberId(), row.memberUsername(), row.memberName()));
+            }
+        }
+        return response;
+    }
 }
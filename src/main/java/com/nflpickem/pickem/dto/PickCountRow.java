@@ -0,0 +1,7 @@
+package com.nflpickem.pickem.dto;
+
+/**
+ * A league's pick counts for one game, counted from the picks, for rebuilding the pick distribution counters
+ */
+public record PickCountRow(Long gameId, Long homePicks, Long totalPicks) {
+}
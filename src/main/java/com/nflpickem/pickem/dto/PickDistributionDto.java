@@ -0,0 +1,8 @@
+package com.nflpickem.pickem.dto;
+
+/**
+ * How a league picked one game
+ */
+public record PickDistributionDto(Long gameId, String homeTeam, String awayTeam, long homePicks, long awayPicks,
+                                  long totalPicks) {
+}
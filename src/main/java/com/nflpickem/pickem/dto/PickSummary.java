@@ -0,0 +1,22 @@
+package com.nflpickem.pickem.dto;
+
+import com.nflpickem.pickem.model.Pick;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat view of one pick for the pick list endpoints. Built straight from a JPQL constructor expression, so
+ * the user, game and league entities are never loaded.
+ */
+public record PickSummary(Long id, Long gameId, Integer week, Long leagueId, String pickedTeam,
+                          boolean correct, LocalDateTime scoredAt) {
+
+    /**
+     * Summary of a pick that was just saved, for the submit responses
+     */
+    public static PickSummary of(Pick pick) {
+        return new PickSummary(pick.getId(), pick.getGame().getId(), pick.getGame().getWeek(),
+            pick.getLeague() != null ? pick.getLeague().getId() : null, pick.getPickedTeam(), pick.isCorrect(),
+            pick.getScoredAt());
+    }
+}
@@ -0,0 +1,8 @@
+package com.nflpickem.pickem.dto;
+
+/**
+ * One league pick of a game that has kicked off, with who made it, for the kickoff pick snapshots
+ */
+public record RevealedPickRow(Long gameId, String homeTeam, Long leagueId, Long userId, String username, String name,
+                              String pickedTeam) {
+}
@@ -0,0 +1,8 @@
+package com.nflpickem.pickem.dto;
+
+/**
+ * One league pick with its game's result and who made it, for scoring a league in bits (LeagueWeekBits)
+ */
+public record ScoredPickRow(Long gameId, Integer week, String homeTeam, String awayTeam, String winningTeam, boolean scored,
+                            Long userId, String username, String name, String pickedTeam) {
+}
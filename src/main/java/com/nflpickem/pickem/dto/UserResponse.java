@@ -14,4 +14,10 @@ public class UserResponse {
         this.username = user.getUsername();
         this.name = user.getName();
     }
+
+    public UserResponse(Long id, String username, String name) {
+        this.id = id;
+        this.username = username;
+        this.name = name;
+    }
 }
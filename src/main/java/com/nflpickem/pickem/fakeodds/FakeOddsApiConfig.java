@@ -0,0 +1,71 @@
+package com.nflpickem.pickem.fakeodds;
+
+import com.nflpickem.pickem.repository.GameRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Runs FakeOddsApiServer next to the app under the fake-odds profile; application-fake-odds.properties
+ * points ODDS_API_BASE_URL at it. Serves the recorded fixtures replayed from FAKE_ODDS_REPLAY_START, or with
+ * FAKE_ODDS_SOURCE=games the games already in the database.
+ */
+@Configuration
+@Profile("fake-odds")
+public class FakeOddsApiConfig {
+
+    @Value("${FAKE_ODDS_PORT:8089}")
+    private int port;
+
+    @Value("${FAKE_ODDS_SOURCE:fixtures}")
+    private String source;
+
+    @Value("${FAKE_ODDS_REPLAY_START:2024-09-08T16:30:00Z}")
+    private String replayStart;
+
+    @Value("${FAKE_ODDS_LATENCY_MS:0}")
+    private long latencyMs;
+
+    @Value("${FAKE_ODDS_LATENCY_JITTER_MS:0}")
+    private long latencyJitterMs;
+
+    @Value("${FAKE_ODDS_BODY_DELAY_MS:0}")
+    private long bodyDelayMs;
+
+    @Value("${FAKE_ODDS_RATE_LIMIT_RATE:0}")
+    private double rateLimitRate;
+
+    @Value("${FAKE_ODDS_SERVER_ERROR_RATE:0}")
+    private double serverErrorRate;
+
+    @Value("${FAKE_ODDS_PAYLOAD_SCALE:1}")
+    private int payloadScale;
+
+    @Value("${FAKE_ODDS_QUOTA:500}")
+    private long quota;
+
+    @Bean(destroyMethod = "close")
+    public FakeOddsApiServer fakeOddsApiServer(Clock clock, GameRepository gameRepository) throws IOException {
+        FakeOddsApiSettings settings = new FakeOddsApiSettings()
+            .latency(Duration.ofMillis(latencyMs), Duration.ofMillis(latencyJitterMs))
+            .bodyDelay(Duration.ofMillis(bodyDelayMs))
+            .rateLimitRate(rateLimitRate)
+            .serverErrorRate(serverErrorRate)
+            .payloadScale(payloadScale)
+            .quota(quota);
+
+        FakeOddsApiServer server;
+        if ("games".equalsIgnoreCase(source)) {
+            server = new FakeOddsApiServer(clock, FakeOddsEvent.fromGames(gameRepository::findAll), settings);
+        } else {
+            server = new FakeOddsApiServer(clock, FakeOddsFixtures.replay(clock, Instant.parse(replayStart)), settings);
+        }
+        return server.start(port);
+    }
+}
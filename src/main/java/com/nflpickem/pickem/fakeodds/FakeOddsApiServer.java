@@ -0,0 +1,415 @@
+package com.nflpickem.pickem.fakeodds;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.nflpickem.pickem.model.Game;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for The Odds API serving /sports/americanfootball_nfl/odds and /scores, so ingestion and
+ * scoring can be exercised without spending quota. Responses are derived from a list of events and a clock:
+ * games progress from upcoming to live to completed as the clock moves past their kickoff. Latency, 429/5xx
+ * responses, quota exhaustion and response size are controlled through {@link FakeOddsApiSettings}, either
+ * directly or with GET /_fake/settings?latencyMs=..&amp;bodyDelayMs=..&amp;rateLimitRate=..&amp;failStatus=..&amp;failCount=..
+ */
+public class FakeOddsApiServer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeOddsApiServer.class);
+
+    static final String SPORT_PATH = "/sports/americanfootball_nfl";
+    static final String SETTINGS_PATH = "/_fake/settings";
+    static final Duration GAME_LENGTH = Duration.ofMinutes(195);
+    // Bytes written between pauses when a body delay is set
+    private static final int BODY_CHUNK = 64;
+
+    private final Clock clock;
+    private final Supplier<List<FakeOddsEvent>> events;
+    private final FakeOddsApiSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong creditsUsed = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public FakeOddsApiServer(Clock clock, Supplier<List<FakeOddsEvent>> events, FakeOddsApiSettings settings) {
+        this.clock = clock;
+        this.events = events;
+        this.settings = settings;
+    }
+
+    /**
+     * Server whose events are the stored games, with final scores derived from the game ids
+     */
+    public static FakeOddsApiServer forGames(Clock clock, Supplier<List<Game>> games) {
+        return new FakeOddsApiServer(clock, FakeOddsEvent.fromGames(games), new FakeOddsApiSettings());
+    }
+
+    /**
+     * Start listening on the loopback interface; port 0 picks a free port
+     */
+    public FakeOddsApiServer start(int port) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext(SPORT_PATH + "/odds", exchange -> respond(exchange, oddsCost(exchange.getRequestURI()),
+            () -> odds(exchange.getRequestURI())));
+        server.createContext(SPORT_PATH + "/scores", exchange -> respond(exchange, scoresCost(exchange.getRequestURI()),
+            () -> scores(exchange.getRequestURI())));
+        server.createContext(SETTINGS_PATH, this::updateSettings);
+        executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.start();
+        logger.info("Fake Odds API listening on {}", getBaseUrl());
+        return this;
+    }
+
+    /**
+     * Value for ODDS_API_BASE_URL
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public FakeOddsApiSettings getSettings() {
+        return settings;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getCreditsUsed() {
+        return creditsUsed.get();
+    }
+
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Bookmaker lines for every game that has not kicked off yet. Recorded lines are filtered by the
+     * bookmakers and markets parameters like the real API; events without recordings get FanDuel spreads.
+     */
+    List<Map<String, Object>> odds(URI uri) {
+        Instant now = clock.instant();
+        Set<String> bookmakerKeys = listParameter(uri, "bookmakers");
+        Set<String> marketKeys = listParameter(uri, "markets");
+        int scale = settings.getPayloadScale();
+
+        List<Map<String, Object>> body = new ArrayList<>();
+        for (FakeOddsEvent event : events.get()) {
+            if (!event.kickoff().isAfter(now)) {
+                continue;
+            }
+            List<Map<String, Object>> bookmakers = event.bookmakers() != null
+                ? recordedBookmakers(event, bookmakerKeys, marketKeys)
+                : List.of(syntheticSpreads(event, now));
+            Map<String, Object> item = event(event);
+            item.put("bookmakers", scale > 1 ? scale(bookmakers, scale) : bookmakers);
+            body.add(item);
+        }
+        return body;
+    }
+
+    /**
+     * Live and completed games from the last daysFrom days (default: live and upcoming only)
+     */
+    List<Map<String, Object>> scores(URI uri) {
+        Instant now = clock.instant();
+        Integer daysFrom = intParameter(uri, "daysFrom");
+        Instant earliest = daysFrom != null ? now.minus(Duration.ofDays(daysFrom)) : now.minus(GAME_LENGTH);
+        Instant latest = now.plus(Duration.ofDays(1));
+
+        List<Map<String, Object>> body = new ArrayList<>();
+        for (FakeOddsEvent event : events.get()) {
+            Instant kickoff = event.kickoff();
+            if (kickoff.isBefore(earliest) || kickoff.isAfter(latest)) {
+                continue;
+            }
+            Map<String, Object> item = event(event);
+            boolean started = !now.isBefore(kickoff);
+            boolean completed = !now.isBefore(kickoff.plus(GAME_LENGTH));
+            item.put("completed", completed);
+            if (started) {
+                // Scores climb linearly toward the final score while the game is live
+                double progress = completed ? 1.0
+                    : Math.min(1.0, Duration.between(kickoff, now).toSeconds() / (double) GAME_LENGTH.toSeconds());
+                item.put("scores", List.of(
+                    Map.of("name", event.homeTeam(), "score", String.valueOf((int) (event.homeScore() * progress))),
+                    Map.of("name", event.awayTeam(), "score", String.valueOf((int) (event.awayScore() * progress)))));
+                item.put("last_update", now.toString());
+            } else {
+                item.put("scores", null);
+                item.put("last_update", null);
+            }
+            body.add(item);
+        }
+        return body;
+    }
+
+    private Map<String, Object> event(FakeOddsEvent event) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("id", event.id());
+        item.put("sport_key", "americanfootball_nfl");
+        item.put("sport_title", "NFL");
+        item.put("commence_time", event.kickoff().toString());
+        item.put("home_team", event.homeTeam());
+        item.put("away_team", event.awayTeam());
+        return item;
+    }
+
+    private static List<Map<String, Object>> recordedBookmakers(FakeOddsEvent event, Set<String> bookmakerKeys,
+                                                               Set<String> marketKeys) {
+        List<Map<String, Object>> bookmakers = new ArrayList<>();
+        for (Map<String, Object> bookmaker : event.bookmakers()) {
+            if (bookmakerKeys != null && !bookmakerKeys.contains(bookmaker.get("key"))) {
+                continue;
+            }
+            List<?> markets = ((List<?>) bookmaker.get("markets")).stream()
+                .filter(market -> marketKeys == null || marketKeys.contains(((Map<?, ?>) market).get("key")))
+                .collect(Collectors.toList());
+            if (!markets.isEmpty()) {
+                Map<String, Object> copy = new LinkedHashMap<>(bookmaker);
+                copy.put("markets", markets);
+                bookmakers.add(copy);
+            }
+        }
+        return bookmakers;
+    }
+
+    private static Map<String, Object> syntheticSpreads(FakeOddsEvent event, Instant now) {
+        // The line leans toward the eventual winner, as real closing lines usually do
+        double homePoint = -(event.homeScore() - event.awayScore()) / 2 - 0.5;
+        return Map.of(
+            "key", "fanduel",
+            "title", "FanDuel",
+            "last_update", now.toString(),
+            "markets", List.of(Map.of(
+                "key", "spreads",
+                "last_update", now.toString(),
+                "outcomes", List.of(
+                    outcome(event.homeTeam(), homePoint),
+                    outcome(event.awayTeam(), -homePoint)))));
+    }
+
+    /**
+     * The bookmakers followed by scale - 1 renamed copies, so events stay unique while the payload grows
+     */
+    private static List<Map<String, Object>> scale(List<Map<String, Object>> bookmakers, int scale) {
+        List<Map<String, Object>> scaled = new ArrayList<>(bookmakers);
+        for (int copy = 2; copy <= scale; copy++) {
+            for (Map<String, Object> bookmaker : bookmakers) {
+                Map<String, Object> renamed = new LinkedHashMap<>(bookmaker);
+                renamed.put("key", bookmaker.get("key") + "_" + copy);
+                renamed.put("title", bookmaker.get("title") + " " + copy);
+                scaled.add(renamed);
+            }
+        }
+        return scaled;
+    }
+
+    private static Map<String, Object> outcome(String team, double point) {
+        Map<String, Object> outcome = new HashMap<>();
+        outcome.put("name", team);
+        outcome.put("price", -110);
+        outcome.put("point", point);
+        return outcome;
+    }
+
+    /**
+     * Usage cost as the real API counts it: one credit per market per region
+     */
+    private static int oddsCost(URI uri) {
+        Set<String> markets = listParameter(uri, "markets");
+        Set<String> regions = listParameter(uri, "regions");
+        return (markets != null ? markets.size() : 1) * (regions != null ? regions.size() : 1);
+    }
+
+    /**
+     * Scores cost one credit, or two when historical games are requested with daysFrom
+     */
+    private static int scoresCost(URI uri) {
+        return intParameter(uri, "daysFrom") != null ? 2 : 1;
+    }
+
+    private static Set<String> listParameter(URI uri, String name) {
+        String value = parameters(uri).get(name);
+        return value == null || value.isBlank() ? null : Set.copyOf(Arrays.asList(value.split(",")));
+    }
+
+    private static Integer intParameter(URI uri, String name) {
+        String value = parameters(uri).get(name);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parameters(URI uri) {
+        Map<String, String> parameters = new HashMap<>();
+        String query = uri.getRawQuery();
+        if (query == null) {
+            return parameters;
+        }
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                parameters.put(pair.substring(0, eq), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    private void updateSettings(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = parameters(exchange.getRequestURI());
+        int status = 200;
+        Object body;
+        try {
+            if (parameters.containsKey("reset")) {
+                settings.reset();
+            }
+            if (parameters.containsKey("latencyMs") || parameters.containsKey("latencyJitterMs")) {
+                settings.latency(Duration.ofMillis(Long.parseLong(parameters.getOrDefault("latencyMs", "0"))),
+                    Duration.ofMillis(Long.parseLong(parameters.getOrDefault("latencyJitterMs", "0"))));
+            }
+            if (parameters.containsKey("bodyDelayMs")) {
+                settings.bodyDelay(Duration.ofMillis(Long.parseLong(parameters.get("bodyDelayMs"))));
+            }
+            if (parameters.containsKey("rateLimitRate")) {
+                settings.rateLimitRate(Double.parseDouble(parameters.get("rateLimitRate")));
+            }
+            if (parameters.containsKey("serverErrorRate")) {
+                settings.serverErrorRate(Double.parseDouble(parameters.get("serverErrorRate")));
+            }
+            if (parameters.containsKey("payloadScale")) {
+                settings.payloadScale(Integer.parseInt(parameters.get("payloadScale")));
+            }
+            if (parameters.containsKey("quota")) {
+                settings.quota(Long.parseLong(parameters.get("quota")));
+                creditsUsed.set(0);
+            }
+            if (parameters.containsKey("failStatus")) {
+                settings.failNext(Integer.parseInt(parameters.get("failStatus")),
+                    Integer.parseInt(parameters.getOrDefault("failCount", "1")));
+            }
+            body = settings.describe();
+        } catch (NumberFormatException e) {
+            status = 400;
+            body = Map.of("message", "Invalid setting: " + e.getMessage());
+        }
+        send(exchange, status, objectMapper.writeValueAsBytes(body));
+    }
+
+    private void respond(HttpExchange exchange, int cost, Supplier<Object> body) throws IOException {
+        requests.incrementAndGet();
+        try (exchange) {
+            Duration latency = settings.nextLatency();
+            if (!latency.isZero()) {
+                try {
+                    Thread.sleep(latency.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+
+            int status = settings.nextFailure();
+            int charged = 0;
+            byte[] bytes;
+            if (status == 429) {
+                bytes = error("Your app is making too many requests too quickly. Please slow down your request frequency.",
+                    "EXCEEDED_FREQ_LIMIT");
+            } else if (status != 0) {
+                bytes = error("Service temporarily unavailable", "SERVICE_UNAVAILABLE");
+            } else if (creditsUsed.get() + cost > settings.getQuota()) {
+                status = 401;
+                bytes = error("Usage quota has been reached.", "OUT_OF_USAGE_CREDITS");
+            } else {
+                try {
+                    bytes = objectMapper.writeValueAsBytes(body.get());
+                    status = 200;
+                    charged = cost;
+                    creditsUsed.addAndGet(cost);
+                } catch (RuntimeException e) {
+                    logger.warn("Fake Odds API failed to build a response for {}", exchange.getRequestURI().getPath(), e);
+                    status = 500;
+                    bytes = error("Internal error", "INTERNAL_ERROR");
+                }
+            }
+
+            long used = creditsUsed.get();
+            exchange.getResponseHeaders().set("x-requests-remaining", String.valueOf(Math.max(0, settings.getQuota() - used)));
+            exchange.getResponseHeaders().set("x-requests-used", String.valueOf(used));
+            exchange.getResponseHeaders().set("x-requests-last", String.valueOf(charged));
+            send(exchange, status, bytes, settings.getBodyDelay());
+        }
+    }
+
+    private byte[] error(String message, String errorCode) throws IOException {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("message", message);
+        body.put("error_code", errorCode);
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] bytes) throws IOException {
+        send(exchange, status, bytes, Duration.ZERO);
+    }
+
+    /**
+     * Send the body in chunks with a pause between them, or all at once without a delay
+     */
+    private static void send(HttpExchange exchange, int status, byte[] bytes, Duration chunkDelay) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (chunkDelay.isZero()) {
+                out.write(bytes);
+                return;
+            }
+            out.flush();
+            for (int offset = 0; offset < bytes.length; offset += BODY_CHUNK) {
+                try {
+                    Thread.sleep(chunkDelay.toMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                out.write(bytes, offset, Math.min(BODY_CHUNK, bytes.length - offset));
+                out.flush();
+            }
+        }
+    }
+}
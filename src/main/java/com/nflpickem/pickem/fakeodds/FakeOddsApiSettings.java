@@ -0,0 +1,151 @@
+package com.nflpickem.pickem.fakeodds;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Fault and load knobs for FakeOddsApiServer. Thread-safe and adjustable while the server is running,
+ * from test code or through the server's /_fake/settings endpoint.
+ */
+public class FakeOddsApiSettings {
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration latencyJitter = Duration.ZERO;
+    private volatile Duration bodyDelay = Duration.ZERO;
+    private volatile double rateLimitRate;
+    private volatile double serverErrorRate;
+    private volatile int payloadScale = 1;
+    private volatile long quota = 500;
+
+    private int forcedStatus;
+    private int forcedRemaining;
+    private final Random random;
+
+    public FakeOddsApiSettings() {
+        this(42);
+    }
+
+    public FakeOddsApiSettings(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Fixed delay before every response, plus a uniformly random extra of up to jitter
+     */
+    public FakeOddsApiSettings latency(Duration latency, Duration jitter) {
+        this.latency = latency;
+        this.latencyJitter = jitter;
+        return this;
+    }
+
+    /**
+     * Pause between each chunk of a response body after the headers are sent, for a body that trickles in
+     */
+    public FakeOddsApiSettings bodyDelay(Duration delay) {
+        this.bodyDelay = delay;
+        return this;
+    }
+
+    /**
+     * Share of requests answered with 429 EXCEEDED_FREQ_LIMIT
+     */
+    public FakeOddsApiSettings rateLimitRate(double rate) {
+        this.rateLimitRate = rate;
+        return this;
+    }
+
+    /**
+     * Share of requests answered with 503
+     */
+    public FakeOddsApiSettings serverErrorRate(double rate) {
+        this.serverErrorRate = rate;
+        return this;
+    }
+
+    /**
+     * Multiplies the bookmakers per event, to test ingestion against large responses
+     */
+    public FakeOddsApiSettings payloadScale(int scale) {
+        this.payloadScale = Math.max(1, scale);
+        return this;
+    }
+
+    /**
+     * Request credits available before every call fails with 401 OUT_OF_USAGE_CREDITS
+     */
+    public FakeOddsApiSettings quota(long quota) {
+        this.quota = quota;
+        return this;
+    }
+
+    /**
+     * Answer the next count requests with the given status, regardless of the random rates
+     */
+    public synchronized FakeOddsApiSettings failNext(int status, int count) {
+        this.forcedStatus = status;
+        this.forcedRemaining = count;
+        return this;
+    }
+
+    public synchronized FakeOddsApiSettings reset() {
+        latency = Duration.ZERO;
+        latencyJitter = Duration.ZERO;
+        bodyDelay = Duration.ZERO;
+        rateLimitRate = 0;
+        serverErrorRate = 0;
+        payloadScale = 1;
+        forcedRemaining = 0;
+        return this;
+    }
+
+    public Duration getBodyDelay() {
+        return bodyDelay;
+    }
+
+    public int getPayloadScale() {
+        return payloadScale;
+    }
+
+    public long getQuota() {
+        return quota;
+    }
+
+    /**
+     * Status to fail this request with, or 0 to serve it normally
+     */
+    synchronized int nextFailure() {
+        if (forcedRemaining > 0) {
+            forcedRemaining--;
+            return forcedStatus;
+        }
+        double roll = random.nextDouble();
+        if (roll < rateLimitRate) {
+            return 429;
+        }
+        if (roll < rateLimitRate + serverErrorRate) {
+            return 503;
+        }
+        return 0;
+    }
+
+    synchronized Duration nextLatency() {
+        long jitterMillis = latencyJitter.toMillis();
+        return jitterMillis > 0 ? latency.plusMillis((long) (random.nextDouble() * jitterMillis)) : latency;
+    }
+
+    synchronized Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("latencyMs", latency.toMillis());
+        settings.put("latencyJitterMs", latencyJitter.toMillis());
+        settings.put("bodyDelayMs", bodyDelay.toMillis());
+        settings.put("rateLimitRate", rateLimitRate);
+        settings.put("serverErrorRate", serverErrorRate);
+        settings.put("payloadScale", payloadScale);
+        settings.put("quota", quota);
+        settings.put("forcedStatus", forcedRemaining > 0 ? forcedStatus : null);
+        settings.put("forcedRemaining", forcedRemaining);
+        return settings;
+    }
+}
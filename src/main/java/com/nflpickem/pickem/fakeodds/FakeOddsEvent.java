@@ -0,0 +1,52 @@
+package com.nflpickem.pickem.fakeodds;
+
+import com.nflpickem.pickem.model.Game;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * One game as the fake Odds API sees it: teams, kickoff, the final score it will progress toward,
+ * and optionally the recorded bookmakers block to serve for it
+ *
+ * @param bookmakers Odds API "bookmakers" array for the event, or null to synthesize FanDuel spreads
+ */
+public record FakeOddsEvent(String id, String homeTeam, String awayTeam, Instant kickoff,
+                            int homeScore, int awayScore, List<Map<String, Object>> bookmakers) {
+
+    public FakeOddsEvent withKickoff(Instant newKickoff) {
+        return new FakeOddsEvent(id, homeTeam, awayTeam, newKickoff, homeScore, awayScore, bookmakers);
+    }
+
+    /**
+     * Events for the scheduled games, re-read on every call so newly imported games show up
+     */
+    public static Supplier<List<FakeOddsEvent>> fromGames(Supplier<List<Game>> games) {
+        return () -> games.get().stream()
+            .filter(game -> game.getKickoffTime() != null)
+            .map(FakeOddsEvent::fromGame)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Event for a stored game. The final score is derived from the game id so repeated runs agree, and a
+     * winner already stored on the game always ends up ahead.
+     */
+    public static FakeOddsEvent fromGame(Game game) {
+        long seed = game.getId() != null ? game.getId() : (game.getHomeTeam() + game.getAwayTeam()).hashCode();
+        int first = 10 + (int) Math.floorMod(seed * 7919, 25L);
+        int second = 10 + (int) Math.floorMod(seed * 104729, 25L);
+        if (first == second) {
+            first += 3;
+        }
+        String winner = game.getWinningTeam();
+        boolean homeWins = winner != null ? winner.equals(game.getHomeTeam()) : first > second;
+        int winning = Math.max(first, second);
+        int losing = Math.min(first, second);
+        return new FakeOddsEvent("game-" + game.getId(), game.getHomeTeam(), game.getAwayTeam(), game.getKickoffTime(),
+            homeWins ? winning : losing, homeWins ? losing : winning, null);
+    }
+}
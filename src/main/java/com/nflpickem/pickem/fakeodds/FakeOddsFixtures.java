@@ -0,0 +1,91 @@
+package com.nflpickem.pickem.fakeodds;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.core.io.ClassPathResource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Recorded Odds API responses (2024 week 1) used as the fake server's game list. fakeodds/odds.json is an
+ * /odds response with FanDuel and DraftKings markets; fakeodds/scores.json is the /scores response after
+ * every game finished and supplies the final scores.
+ */
+public final class FakeOddsFixtures {
+
+    /**
+     * Thirty minutes before the Sunday early kickoffs, after the Thursday and Friday games have finished
+     */
+    public static final Instant DEFAULT_REPLAY_START = Instant.parse("2024-09-08T16:30:00Z");
+
+    private static final String ODDS_FIXTURE = "fakeodds/odds.json";
+    private static final String SCORES_FIXTURE = "fakeodds/scores.json";
+
+    private FakeOddsFixtures() {
+    }
+
+    /**
+     * The recorded events as they were recorded
+     */
+    public static List<FakeOddsEvent> load() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<Map<String, Object>> odds = read(objectMapper, ODDS_FIXTURE);
+        List<Map<String, Object>> scores = read(objectMapper, SCORES_FIXTURE);
+
+        Map<String, Map<String, Integer>> finalScores = new HashMap<>();
+        for (Map<String, Object> score : scores) {
+            Map<String, Integer> byTeam = new HashMap<>();
+            for (Object entry : (List<?>) score.get("scores")) {
+                Map<?, ?> teamScore = (Map<?, ?>) entry;
+                byTeam.put((String) teamScore.get("name"), Integer.parseInt((String) teamScore.get("score")));
+            }
+            finalScores.put((String) score.get("id"), byTeam);
+        }
+
+        List<FakeOddsEvent> events = new ArrayList<>();
+        for (Map<String, Object> event : odds) {
+            String id = (String) event.get("id");
+            String homeTeam = (String) event.get("home_team");
+            String awayTeam = (String) event.get("away_team");
+            Map<String, Integer> finals = finalScores.getOrDefault(id, Map.of());
+            @SuppressWarnings("unchecked")
+            List<Map<String, Object>> bookmakers = (List<Map<String, Object>>) event.get("bookmakers");
+            events.add(new FakeOddsEvent(id, homeTeam, awayTeam, Instant.parse((String) event.get("commence_time")),
+                finals.getOrDefault(homeTeam, 0), finals.getOrDefault(awayTeam, 0), bookmakers));
+        }
+        return events;
+    }
+
+    /**
+     * The recorded events shifted so that replayStart in recorded time lines up with the clock's current
+     * time when this is called; afterwards the games progress with the clock
+     */
+    public static Supplier<List<FakeOddsEvent>> replay(Clock clock, Instant replayStart) {
+        Duration offset = Duration.between(replayStart, clock.instant());
+        List<FakeOddsEvent> shifted = new ArrayList<>();
+        for (FakeOddsEvent event : load()) {
+            shifted.add(event.withKickoff(event.kickoff().plus(offset)));
+        }
+        List<FakeOddsEvent> events = List.copyOf(shifted);
+        return () -> events;
+    }
+
+    private static List<Map<String, Object>> read(ObjectMapper objectMapper, String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return objectMapper.readValue(in, new TypeReference<>() {
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read fixture " + path, e);
+        }
+    }
+}
@@ -1,21 +1,29 @@
 package com.nflpickem.pickem.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 import java.time.Instant;
 
 @Entity
 @Table(uniqueConstraints = {
     @UniqueConstraint(columnNames = {"game_id", "sportsbook", "oddsType"})
 })
-@Data
+@NamedEntityGraph(name = BettingOdds.GAME_GRAPH, attributeNodes = @NamedAttributeNode("game"))
+@Getter
+@Setter
+@ToString
 public class BettingOdds {
+    public static final String GAME_GRAPH = "BettingOdds.game";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id", nullable = false)
+    @ToString.Exclude
     private Game game;
     
     private String sportsbook;
@@ -37,4 +45,21 @@ public class BettingOdds {
         this.game = game;
         this.sportsbook = sportsbook;
     }
+
+    // Odds parsed from an API response have no id yet and equal only themselves until they are stored
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BettingOdds other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return BettingOdds.class.hashCode();
+    }
 }
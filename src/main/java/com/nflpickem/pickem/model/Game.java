@@ -6,13 +6,17 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import jakarta.persistence.UniqueConstraint;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.Instant; // Use Instant for timezone-aware timestamps
 import java.time.LocalDateTime;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 @Table(uniqueConstraints = {
     @UniqueConstraint(columnNames = {"week", "homeTeam", "awayTeam"})
 })
@@ -26,4 +30,21 @@ public class Game {
     private Instant kickoffTime; // Change to Instant
     private String winningTeam;
     private boolean scored;
-} 
\ No newline at end of file
+
+    // Picks and odds hold games as lazy proxies; comparing getId() lets such a proxy equal the loaded Game
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Game other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Game.class.hashCode();
+    }
+}
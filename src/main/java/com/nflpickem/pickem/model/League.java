@@ -1,13 +1,18 @@
 package com.nflpickem.pickem.model;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
 public class League {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -15,16 +20,22 @@ public class League {
     private String name;
     private String joinCode;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "admin_user_id")
+    @ToString.Exclude
     private User admin;
 
+    // Member sets of up to 25 leagues in the persistence context are loaded together. The primary key
+    // (league_id, user_id) serves membership checks; the user_id index serves a user's league list.
     @ManyToMany
     @JoinTable(
         name = "league_members",
         joinColumns = @JoinColumn(name = "league_id"),
-        inverseJoinColumns = @JoinColumn(name = "user_id")
+        inverseJoinColumns = @JoinColumn(name = "user_id"),
+        indexes = @Index(name = "idx_league_members_user", columnList = "user_id")
     )
+    @BatchSize(size = 25)
+    @ToString.Exclude
     private Set<User> members = new HashSet<>();
 
     public void addMember(User user) {
@@ -34,4 +45,21 @@ public class League {
     public void removeMember(User user) {
         this.members.remove(user);
     }
-} 
\ No newline at end of file
+
+    // A pick's league is a lazy proxy, so the id is read through getId() rather than the other's field
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof League other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return League.class.hashCode();
+    }
+}
@@ -1,35 +1,80 @@
 package com.nflpickem.pickem.model;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.JoinColumn;
-import lombok.Data;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
+/**
+ * All associations are lazy. Queries that need them name the fetch plan for their use case:
+ * Pick.scoring loads only the pick rows (the scorer already holds the game), Pick.leaderboard adds the user
+ * and Pick.comparison adds the user and the game.
+ */
 @Entity
-@Data
+@NamedEntityGraph(name = Pick.SCORING_GRAPH)
+@NamedEntityGraph(name = Pick.LEADERBOARD_GRAPH, attributeNodes = @NamedAttributeNode("user"))
+@NamedEntityGraph(name = Pick.COMPARISON_GRAPH, attributeNodes = {
+    @NamedAttributeNode("user"),
+    @NamedAttributeNode("game")
+})
+@Getter
+@Setter
+@ToString
 public class Pick {
+    public static final String SCORING_GRAPH = "Pick.scoring";
+    public static final String LEADERBOARD_GRAPH = "Pick.leaderboard";
+    public static final String COMPARISON_GRAPH = "Pick.comparison";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
+    @ToString.Exclude
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "game_id")
+    @ToString.Exclude
     private Game game;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "league_id")
+    @ToString.Exclude
     private League league;
 
     private String pickedTeam;
     private boolean correct;
     private LocalDateTime scoredAt;
-} 
\ No newline at end of file
+
+    /**
+     * Entities are equal when they have the same id. The hash code ignores the id so it does not change when the
+     * entity is saved, and instanceof (rather than getClass) lets a Hibernate proxy equal the entity it stands for.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Pick other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Pick.class.hashCode();
+    }
+}
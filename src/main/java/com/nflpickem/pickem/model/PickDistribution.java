@@ -0,0 +1,33 @@
+package com.nflpickem.pickem.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * How a league picked one game: home and away pick counts, kept by PickDistributionCounters. League and game
+ * are plain ids rather than associations, so the counters never hold up deleting either.
+ */
+@Entity
+@Table(uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"leagueId", "gameId"})
+})
+@Getter
+@Setter
+@ToString
+public class PickDistribution {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long leagueId;
+
+    @Column(nullable = false)
+    private Long gameId;
+
+    private long homePicks;
+    private long awayPicks;
+}
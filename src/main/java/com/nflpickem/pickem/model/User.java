@@ -5,16 +5,41 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
 
+// Lazy pick.user and league.admin references are initialized up to 50 at a time
 @Entity
-@Data
+@Getter
+@Setter
+@ToString
+@BatchSize(size = 50)
 @Table(name = "app_user")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     private String username;
+    @ToString.Exclude
     private String password;
     private String name;
-} 
\ No newline at end of file
+
+    // Users are added to League.members, a HashSet, before and after they are saved, so the hash ignores the id
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof User other)) {
+            return false;
+        }
+        return id != null && id.equals(other.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return User.class.hashCode();
+    }
+}
@@ -0,0 +1,29 @@
+package com.nflpickem.pickem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one bulk pick submission
+ */
+@Name("com.nflpickem.BulkPickSubmission")
+@Label("Bulk Pick Submission")
+@Category({"NFL Pickem", "Picks"})
+@Description("Validating and saving a user's picks for a week")
+public class BulkPickSubmissionEvent extends Event {
+
+    @Label("League Id")
+    public long leagueId;
+
+    @Label("League Size")
+    public int leagueSize;
+
+    @Label("Picks")
+    public int picks;
+
+    @Label("Outcome")
+    public String outcome;
+}
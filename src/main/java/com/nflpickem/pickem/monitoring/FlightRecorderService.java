@@ -0,0 +1,139 @@
+package com.nflpickem.pickem.monitoring;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Controls a single bounded JFR recording so production can be profiled without attaching a profiler.
+ * Age, size and duration are capped by configuration regardless of what the caller asks for.
+ */
+@Component
+public class FlightRecorderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    @Value("${JFR_SETTINGS:profile}")
+    private String settings;
+
+    @Value("${JFR_MAX_AGE_MINUTES:30}")
+    private long maxAgeMinutesLimit;
+
+    @Value("${JFR_MAX_SIZE_MB:100}")
+    private long maxSizeMbLimit;
+
+    @Value("${JFR_MAX_DURATION_MINUTES:120}")
+    private long maxDurationMinutesLimit;
+
+    private Recording recording;
+    private Path lastDump;
+
+    /**
+     * Start a continuous recording; fails if one is already running
+     */
+    public synchronized Map<String, Object> start(Long maxAgeMinutes, Long maxSizeMb, Long durationMinutes) throws IOException, ParseException {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A flight recording is already running");
+        }
+        closeRecording();
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings));
+        newRecording.setName("pickem-" + Instant.now().getEpochSecond());
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(Duration.ofMinutes(bounded(maxAgeMinutes, maxAgeMinutesLimit)));
+        newRecording.setMaxSize(bounded(maxSizeMb, maxSizeMbLimit) * 1024 * 1024);
+        newRecording.setDuration(Duration.ofMinutes(bounded(durationMinutes, maxDurationMinutesLimit)));
+        newRecording.enable(ScoringRunEvent.class);
+        newRecording.enable(OddsIngestionEvent.class);
+        newRecording.enable(LeaderboardEvent.class);
+        newRecording.enable(BulkPickSubmissionEvent.class);
+        newRecording.start();
+        recording = newRecording;
+
+        logger.info("Started flight recording {} (settings={}, maxAge={}, maxSize={} bytes, duration={})",
+            recording.getName(), settings, recording.getMaxAge(), recording.getMaxSize(), recording.getDuration());
+        return status();
+    }
+
+    /**
+     * Stop the running recording and keep its contents for download
+     */
+    public synchronized Map<String, Object> stop() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording has been started");
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        lastDump = dump();
+        logger.info("Stopped flight recording {}, dumped to {}", recording.getName(), lastDump);
+        return status();
+    }
+
+    /**
+     * Dump the recording to a temporary .jfr file; a running recording is snapshotted without stopping it
+     */
+    public synchronized Path dumpForDownload() throws IOException {
+        if (recording == null) {
+            throw new IllegalStateException("No flight recording has been started");
+        }
+        if (recording.getState() == RecordingState.RUNNING || lastDump == null || !Files.exists(lastDump)) {
+            lastDump = dump();
+        }
+        return lastDump;
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new HashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("name", recording.getName());
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime() != null ? recording.getStartTime().toString() : null);
+        status.put("maxAgeMinutes", recording.getMaxAge() != null ? recording.getMaxAge().toMinutes() : null);
+        status.put("maxSizeBytes", recording.getMaxSize());
+        status.put("durationMinutes", recording.getDuration() != null ? recording.getDuration().toMinutes() : null);
+        status.put("recordedBytes", recording.getSize());
+        return status;
+    }
+
+    @PreDestroy
+    public synchronized void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    private Path dump() throws IOException {
+        if (lastDump != null) {
+            Files.deleteIfExists(lastDump);
+        }
+        Path file = Files.createTempFile(recording.getName() + "-", ".jfr");
+        recording.dump(file);
+        return file;
+    }
+
+    private long bounded(Long requested, long limit) {
+        if (requested == null || requested <= 0) {
+            return limit;
+        }
+        return Math.min(requested, limit);
+    }
+}
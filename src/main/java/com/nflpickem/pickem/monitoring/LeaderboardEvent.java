@@ -0,0 +1,37 @@
+package com.nflpickem.pickem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one leaderboard computation
+ */
+@Name("com.nflpickem.Leaderboard")
+@Label("Leaderboard Computation")
+@Category({"NFL Pickem", "Leaderboard"})
+@Description("Loading picks and ranking players")
+public class LeaderboardEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("League Id")
+    public long leagueId;
+
+    @Label("League Members")
+    @Description("Members of the league, or -1 for computations across all leagues")
+    public int leagueMembers;
+
+    @Label("Week")
+    @Description("Week number, or -1 for season-wide computations")
+    public int week;
+
+    @Label("Pick Rows")
+    public int pickRows;
+
+    @Label("Players")
+    public int players;
+}
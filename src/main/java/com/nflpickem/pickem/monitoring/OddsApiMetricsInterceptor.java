@@ -0,0 +1,62 @@
+package com.nflpickem.pickem.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Records latency and status codes for calls to The Odds API.
+ * The request URI carries the API key in its query string, so only the endpoint name
+ * (odds, scores, other) is used as a tag.
+ */
+public class OddsApiMetricsInterceptor implements ClientHttpRequestInterceptor {
+
+    public static final String ODDS_API_REQUESTS = "pickem.odds.api.requests";
+    public static final String ODDS_API_QUOTA_REMAINING = "pickem.odds.api.quota.remaining";
+
+    private final MeterRegistry registry;
+    private final OddsApiQuota quota;
+
+    public OddsApiMetricsInterceptor(MeterRegistry registry, OddsApiQuota quota) {
+        this.registry = registry;
+        this.quota = quota;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        Timer.Sample sample = Timer.start(registry);
+        String status = "IO_ERROR";
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            status = String.valueOf(response.getStatusCode().value());
+            quota.record(response.getHeaders().getFirst("x-requests-remaining"),
+                response.getHeaders().getFirst("x-requests-used"),
+                response.getHeaders().getFirst("x-requests-last"));
+            return response;
+        } finally {
+            long nanos = sample.stop(Timer.builder(ODDS_API_REQUESTS)
+                .tag("endpoint", endpoint(request.getURI().getPath()))
+                .tag("status", status)
+                .register(registry));
+            RequestTimings.recordOutbound(nanos);
+        }
+    }
+
+    static String endpoint(String path) {
+        if (path == null) {
+            return "other";
+        }
+        if (path.contains("/scores")) {
+            return "scores";
+        }
+        if (path.contains("/odds")) {
+            return "odds";
+        }
+        return "other";
+    }
+}
@@ -0,0 +1,84 @@
+package com.nflpickem.pickem.monitoring;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+/**
+ * Usage credits of The Odds API as reported in the x-requests-* response headers. The API reports
+ * usage for the whole billing period, so the headers are authoritative; when it has not answered yet
+ * this month, credits are counted locally from x-requests-last instead.
+ */
+@Component
+public class OddsApiQuota {
+
+    private final Clock clock;
+    private long remaining = -1;
+    private long used = -1;
+    private Instant reportedAt;
+    private YearMonth countedMonth;
+    private long countedThisMonth;
+
+    public OddsApiQuota(MeterRegistry registry, Clock clock) {
+        this.clock = clock;
+        Gauge.builder(OddsApiMetricsInterceptor.ODDS_API_QUOTA_REMAINING, this, OddsApiQuota::getRemaining)
+            .register(registry);
+    }
+
+    /**
+     * Record one response's headers; any of them may be null
+     */
+    public synchronized void record(String remainingHeader, String usedHeader, String lastHeader) {
+        Instant now = clock.instant();
+        YearMonth month = YearMonth.from(now.atZone(ZoneOffset.UTC));
+        if (!month.equals(countedMonth)) {
+            countedMonth = month;
+            countedThisMonth = 0;
+        }
+        Long last = parse(lastHeader);
+        countedThisMonth += last != null ? last : 1;
+
+        Long reportedRemaining = parse(remainingHeader);
+        Long reportedUsed = parse(usedHeader);
+        if (reportedRemaining != null || reportedUsed != null) {
+            remaining = reportedRemaining != null ? reportedRemaining : remaining;
+            used = reportedUsed != null ? reportedUsed : used;
+            reportedAt = now;
+        }
+    }
+
+    /**
+     * Credits left as last reported by the API, or -1 if it never reported
+     */
+    public synchronized long getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Credits used this month: the API's figure if it reported this month, otherwise the local count
+     */
+    public synchronized long getUsedThisMonth() {
+        YearMonth month = YearMonth.from(clock.instant().atZone(ZoneOffset.UTC));
+        if (reportedAt != null && used >= 0 && YearMonth.from(reportedAt.atZone(ZoneOffset.UTC)).equals(month)) {
+            return used;
+        }
+        return month.equals(countedMonth) ? countedThisMonth : 0;
+    }
+
+    private static Long parse(String header) {
+        if (header == null) {
+            return null;
+        }
+        try {
+            return (long) Double.parseDouble(header);
+        } catch (NumberFormatException e) {
+            // The headers are informational only
+            return null;
+        }
+    }
+}
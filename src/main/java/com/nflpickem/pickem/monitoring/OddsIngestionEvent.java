@@ -0,0 +1,32 @@
+package com.nflpickem.pickem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one odds ingestion batch (fetch, game matching and upserts)
+ */
+@Name("com.nflpickem.OddsIngestion")
+@Label("Odds Ingestion")
+@Category({"NFL Pickem", "Odds"})
+@Description("Fetching odds from The Odds API and storing them")
+public class OddsIngestionEvent extends Event {
+
+    @Label("Week")
+    @Description("Requested week, or -1 for all available odds")
+    public int week;
+
+    @Label("Odds Rows")
+    @Description("Rows returned by the API")
+    public int oddsRows;
+
+    @Label("Changed Rows")
+    @Description("Rows whose values changed and were written")
+    public int changedRows;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,79 @@
+package com.nflpickem.pickem.monitoring;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Central place for the application's own Micrometer timers.
+ * All tags are kept low-cardinality: league ids are reduced to a small number of buckets
+ * and every timer carries an outcome tag instead of exception messages.
+ */
+@Component
+public class PickemMetrics {
+
+    public static final String PICK_SUBMISSION = "pickem.picks.submit";
+    public static final String LEADERBOARD = "pickem.leaderboard";
+    public static final String SCORING_RUN = "pickem.scoring.run";
+
+    private final MeterRegistry registry;
+    private final int leagueBuckets;
+
+    public PickemMetrics(MeterRegistry registry, @Value("${METRICS_LEAGUE_BUCKETS:8}") int leagueBuckets) {
+        this.registry = registry;
+        this.leagueBuckets = Math.max(1, leagueBuckets);
+    }
+
+    /**
+     * Time a single or bulk pick submission
+     */
+    public <T> T recordPickSubmission(String mode, Long leagueId, Supplier<T> work) {
+        return time(PICK_SUBMISSION, Tags.of("mode", mode, "league.bucket", leagueBucket(leagueId)), work);
+    }
+
+    /**
+     * Time a leaderboard computation
+     */
+    public <T> T recordLeaderboard(String method, Long leagueId, Supplier<T> work) {
+        return time(LEADERBOARD, Tags.of("method", method, "league.bucket", leagueBucket(leagueId)), work);
+    }
+
+    /**
+     * Time a scoring run against The Odds API
+     */
+    public void recordScoringRun(Runnable work) {
+        time(SCORING_RUN, Tags.empty(), () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Map a league id onto a fixed set of buckets so the tag never grows with the number of leagues
+     */
+    public String leagueBucket(Long leagueId) {
+        if (leagueId == null) {
+            return "none";
+        }
+        return String.valueOf(Math.floorMod(leagueId, (long) leagueBuckets));
+    }
+
+    private <T> T time(String name, Tags tags, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "error";
+        try {
+            T result = work.get();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(Timer.builder(name)
+                .tags(tags)
+                .tag("outcome", outcome)
+                .register(registry));
+        }
+    }
+}
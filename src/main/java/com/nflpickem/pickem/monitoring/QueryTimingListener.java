@@ -0,0 +1,30 @@
+package com.nflpickem.pickem.monitoring;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * datasource-proxy listener that adds every executed statement to the current RequestTimings scope
+ */
+public class QueryTimingListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "pickem.startNanos";
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (RequestTimings.current() != null) {
+            execInfo.addCustomValue(START_NANOS, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start != null) {
+            RequestTimings.recordQuery(Math.max(1, queryInfoList.size()), System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.nflpickem.pickem.monitoring;
+
+/**
+ * Per-thread accumulator for JDBC and outbound HTTP time spent while serving a request.
+ * The ServerTimingFilter opens a scope for every API request; tests can open their own
+ * scope around a MockMvc call to assert on the number of statements an endpoint issues:
+ *
+ * <pre>
+ * RequestTimings timings = RequestTimings.start();
+ * try {
+ *     mockMvc.perform(get("/api/games/week/1"));
+ * } finally {
+ *     RequestTimings.end();
+ * }
+ * assertThat(timings.getQueryCount()).isLessThanOrEqualTo(3);
+ * </pre>
+ *
+ * Scopes nest: starting a scope while one is already active returns the active one, so
+ * a test scope is not replaced by the filter's.
+ */
+public final class RequestTimings {
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private int depth;
+    private int queryCount;
+    private long dbNanos;
+    private int outboundCount;
+    private long outboundNanos;
+
+    private RequestTimings() {
+    }
+
+    /**
+     * Open (or join) the scope for the current thread
+     */
+    public static RequestTimings start() {
+        RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            timings = new RequestTimings();
+            CURRENT.set(timings);
+        }
+        timings.depth++;
+        return timings;
+    }
+
+    /**
+     * Leave the scope; the outermost call detaches it from the thread
+     */
+    public static void end() {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null && --timings.depth <= 0) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * The active scope, or null when the current thread is not serving a tracked request
+     */
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    static void recordQuery(int statements, long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.queryCount += statements;
+            timings.dbNanos += nanos;
+        }
+    }
+
+    static void recordOutbound(long nanos) {
+        RequestTimings timings = CURRENT.get();
+        if (timings != null) {
+            timings.outboundCount++;
+            timings.outboundNanos += nanos;
+        }
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public double getDbMillis() {
+        return dbNanos / 1_000_000.0;
+    }
+
+    public int getOutboundCount() {
+        return outboundCount;
+    }
+
+    public double getOutboundMillis() {
+        return outboundNanos / 1_000_000.0;
+    }
+
+    public double getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000.0;
+    }
+}
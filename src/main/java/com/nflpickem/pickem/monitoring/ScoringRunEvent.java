@@ -0,0 +1,26 @@
+package com.nflpickem.pickem.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event covering one scoring run against The Odds API
+ */
+@Name("com.nflpickem.ScoringRun")
+@Label("Scoring Run")
+@Category({"NFL Pickem", "Scoring"})
+@Description("Fetching final scores and grading picks")
+public class ScoringRunEvent extends Event {
+
+    @Label("Games Scored")
+    public int gamesScored;
+
+    @Label("Picks Scored")
+    public int picksScored;
+
+    @Label("Outcome")
+    public String outcome;
+}
@@ -0,0 +1,98 @@
+package com.nflpickem.pickem.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Adds a Server-Timing header with database time, statement count and outbound Odds API time
+ * to every API response, and logs requests that run more statements than the configured budget.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    public static final String HEADER = "Server-Timing";
+    public static final String QUERIES_PER_REQUEST = "pickem.http.request.queries";
+
+    private final MeterRegistry registry;
+
+    @Value("${QUERY_BUDGET_PER_REQUEST:25}")
+    private int queryBudget;
+
+    public ServerTimingFilter(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.start();
+        // The body streams straight through; a response that commits while it is written (larger than the
+        // buffer, flushed, an error or redirect) gets the header with what was measured up to then
+        OnCommittedResponseWrapper wrapper = new OnCommittedResponseWrapper(response) {
+            @Override
+            protected void onResponseCommitted() {
+                response.setHeader(HEADER, format(timings));
+            }
+        };
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            RequestTimings.end();
+            if (!response.isCommitted()) {
+                response.setHeader(HEADER, format(timings));
+            }
+            record(request, timings);
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestTimings timings) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder(QUERIES_PER_REQUEST)
+            .tag("method", request.getMethod())
+            .tag("uri", uri)
+            .serviceLevelObjectives(1, 2, 5, 10, 25, 50, 100, 250)
+            .register(registry)
+            .record(timings.getQueryCount());
+
+        if (timings.getQueryCount() > queryBudget) {
+            logger.warn("Query budget exceeded: {} {} ran {} statements (budget {}), db={}ms, total={}ms",
+                request.getMethod(), request.getRequestURI(), timings.getQueryCount(), queryBudget,
+                String.format(Locale.ROOT, "%.1f", timings.getDbMillis()),
+                String.format(Locale.ROOT, "%.1f", timings.getElapsedMillis()));
+        }
+    }
+
+    static String format(RequestTimings timings) {
+        return String.format(Locale.ROOT,
+            "db;dur=%.1f;desc=\"%d queries\", ext;dur=%.1f;desc=\"%d Odds API calls\", app;dur=%.1f",
+            timings.getDbMillis(), timings.getQueryCount(),
+            timings.getOutboundMillis(), timings.getOutboundCount(),
+            timings.getElapsedMillis());
+    }
+}
@@ -0,0 +1,26 @@
+package com.nflpickem.pickem.monitoring;
+
+import com.nflpickem.pickem.service.StartupWarmupService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the startup warmup as the "warmup" health component. It is part of the readiness group, so
+ * /actuator/health/readiness answers 503 until the schedule import and cache warmup are done.
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final StartupWarmupService startupWarmupService;
+
+    public WarmupHealthIndicator(StartupWarmupService startupWarmupService) {
+        this.startupWarmupService = startupWarmupService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = startupWarmupService.isReady() ? Health.up() : Health.outOfService();
+        return builder.withDetails(startupWarmupService.details()).build();
+    }
+}
@@ -2,6 +2,7 @@ package com.nflpickem.pickem.repository;
 
 import com.nflpickem.pickem.model.BettingOdds;
 import com.nflpickem.pickem.model.Game;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -9,6 +10,7 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,14 +21,30 @@ public interface BettingOddsRepository extends JpaRepository<BettingOdds, Long>
     
     List<BettingOdds> findByGameId(Long gameId);
     
+    List<BettingOdds> findByGameIdIn(Collection<Long> gameIds);
+    
     Optional<BettingOdds> findByGameAndSportsbook(Game game, String sportsbook);
     
+    @EntityGraph(BettingOdds.GAME_GRAPH)
     @Query("SELECT bo FROM BettingOdds bo WHERE bo.game.week = :week")
     List<BettingOdds> findByWeek(@Param("week") Integer week);
     
+    @EntityGraph(BettingOdds.GAME_GRAPH)
     @Query("SELECT bo FROM BettingOdds bo WHERE bo.game.week = :week AND bo.sportsbook = :sportsbook")
     List<BettingOdds> findByWeekAndSportsbook(@Param("week") Integer week, @Param("sportsbook") String sportsbook);
     
+    /**
+     * Most recent refresh of any odds row in the week, or null if the week has no odds
+     */
+    @Query("SELECT MAX(bo.lastUpdated) FROM BettingOdds bo WHERE bo.game.week = :week")
+    Instant findLatestUpdateForWeek(@Param("week") Integer week);
+    
+    /**
+     * Most recent refresh of any odds row of a game that has not kicked off, the games a refresh writes
+     */
+    @Query("SELECT MAX(bo.lastUpdated) FROM BettingOdds bo WHERE bo.game.kickoffTime IS NULL OR bo.game.kickoffTime > :now")
+    Instant findLatestUpdateForOpenGames(@Param("now") Instant now);
+    
     @Query("SELECT bo FROM BettingOdds bo WHERE bo.lastUpdated < :cutoffTime")
     List<BettingOdds> findStaleOdds(@Param("cutoffTime") java.time.Instant cutoffTime);
     
@@ -58,4 +76,31 @@ public interface BettingOddsRepository extends JpaRepository<BettingOdds, Long>
                    @Param("homeTeamOdds") Double homeTeamOdds,
                    @Param("awayTeamOdds") Double awayTeamOdds,
                    @Param("lastUpdated") Instant lastUpdated);
+    
+    /**
+     * H2 counterpart of upsertOdds (H2 has no ON CONFLICT ... DO UPDATE)
+     */
+    @Modifying
+    @Query(value = """
+        MERGE INTO betting_odds (game_id, sportsbook, odds_type, spread, spread_team, total, home_team_odds, away_team_odds, last_updated)
+        KEY (game_id, sportsbook, odds_type)
+        VALUES (:gameId, :sportsbook, :oddsType, :spread, :spreadTeam, :total, :homeTeamOdds, :awayTeamOdds, :lastUpdated)
+        """, nativeQuery = true)
+    void mergeOdds(@Param("gameId") Long gameId, 
+                  @Param("sportsbook") String sportsbook,
+                  @Param("oddsType") String oddsType,
+                  @Param("spread") Double spread,
+                  @Param("spreadTeam") String spreadTeam,
+                  @Param("total") Double total,
+                  @Param("homeTeamOdds") Double homeTeamOdds,
+                  @Param("awayTeamOdds") Double awayTeamOdds,
+                  @Param("lastUpdated") Instant lastUpdated);
+    
+    /**
+     * Freshness heartbeat for rows a refresh found unchanged: bumps lastUpdated only where it is older
+     * than staleBefore, so most refreshes write nothing
+     */
+    @Modifying
+    @Query("UPDATE BettingOdds bo SET bo.lastUpdated = :now WHERE bo.game.id IN :gameIds AND bo.lastUpdated < :staleBefore")
+    int touchOdds(@Param("gameIds") Collection<Long> gameIds, @Param("now") Instant now, @Param("staleBefore") Instant staleBefore);
 }
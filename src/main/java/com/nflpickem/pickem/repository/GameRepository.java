@@ -7,12 +7,14 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface GameRepository extends JpaRepository<Game, Long> {
     List<Game> findByWeek(Integer week);
+    List<Game> findByWeekIn(Collection<Integer> weeks);
     List<Game> findByScoredFalseAndKickoffTimeBefore(Instant dateTime);
     List<Game> findByScoredFalseAndKickoffTimeBetween(Instant startTime, Instant endTime);
     
@@ -25,6 +27,17 @@ public interface GameRepository extends JpaRepository<Game, Long> {
     // Find games within a time range (for game day detection)
     List<Game> findByKickoffTimeBetween(Instant startTime, Instant endTime);
     
+    // Next game that is still open for picks (refresh planning)
+    Optional<Game> findFirstByKickoffTimeAfterOrderByKickoffTimeAsc(Instant after);
+    
+    // Upcoming kickoff times only, without loading the games (refresh planning)
+    @Query("SELECT g.kickoffTime FROM Game g WHERE g.kickoffTime > :after ORDER BY g.kickoffTime")
+    List<Instant> findKickoffTimesAfter(@Param("after") Instant after);
+    
+    // Week of a game without loading it (kickoff lock table lookups)
+    @Query("SELECT g.week FROM Game g WHERE g.id = :id")
+    Optional<Integer> findWeekById(@Param("id") Long id);
+    
     // Find games with similar teams and time (within 2 hours)
     @Query("SELECT g FROM Game g WHERE g.week = :week AND " +
            "((g.homeTeam = :homeTeam AND g.awayTeam = :awayTeam) OR " +
@@ -1,12 +1,62 @@
 package com.nflpickem.pickem.repository;
 
+import com.nflpickem.pickem.dto.LeagueMemberRow;
+import com.nflpickem.pickem.dto.LeagueResponse;
 import com.nflpickem.pickem.model.League;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface LeagueRepository extends JpaRepository<League, Long> {
     Optional<League> findByJoinCode(String joinCode);
-} 
\ No newline at end of file
+
+    /**
+     * The league, its admin and every member in one query, one row per member (a single row with null
+     * member columns for a league without members)
+     */
+    @Query("SELECT new com.nflpickem.pickem.dto.LeagueMemberRow(l.id, l.name, l.joinCode, a.id, a.username, a.name, " +
+           "m.id, m.username, m.name) " +
+           "FROM League l LEFT JOIN l.admin a LEFT JOIN l.members m WHERE l.id = :leagueId ORDER BY m.id")
+    List<LeagueMemberRow> findMemberRows(@Param("leagueId") Long leagueId);
+
+    /**
+     * Leagues the user belongs to, without their member lists
+     */
+    @Query("SELECT new com.nflpickem.pickem.dto.LeagueResponse(l.id, l.name, l.joinCode, a.id, a.username, a.name) " +
+           "FROM League l JOIN l.members m LEFT JOIN l.admin a WHERE m.id = :userId ORDER BY l.id")
+    List<LeagueResponse> findSummariesByMember(@Param("userId") Long userId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM league_members WHERE league_id = :leagueId AND user_id = :userId)",
+           nativeQuery = true)
+    boolean existsMembership(@Param("leagueId") Long leagueId, @Param("userId") Long userId);
+
+    @Query(value = "SELECT league_id FROM league_members WHERE user_id = :userId", nativeQuery = true)
+    List<Long> findLeagueIdsByMemberId(@Param("userId") Long userId);
+
+    /**
+     * How many members the league has, or empty if there is no such league
+     */
+    @Query("SELECT COUNT(m) FROM League l LEFT JOIN l.members m WHERE l.id = :leagueId GROUP BY l.id")
+    Optional<Long> findMemberCount(@Param("leagueId") Long leagueId);
+
+    /**
+     * Add a member without loading the league's member set. Fails on the join table's primary key if the
+     * user is already a member.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO league_members (league_id, user_id) VALUES (:leagueId, :userId)", nativeQuery = true)
+    int insertMember(@Param("leagueId") Long leagueId, @Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM league_members WHERE league_id = :leagueId AND user_id = :userId", nativeQuery = true)
+    int deleteMember(@Param("leagueId") Long leagueId, @Param("userId") Long userId);
+}
@@ -0,0 +1,16 @@
+package com.nflpickem.pickem.repository;
+
+import com.nflpickem.pickem.model.PickDistribution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface PickDistributionRepository extends JpaRepository<PickDistribution, Long> {
+
+    List<PickDistribution> findByLeagueIdAndGameIdIn(Long leagueId, Collection<Long> gameIds);
+
+    List<PickDistribution> findByLeagueId(Long leagueId);
+}
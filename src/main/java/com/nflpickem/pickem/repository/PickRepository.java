@@ -1,21 +1,128 @@
 package com.nflpickem.pickem.repository;
 
+import com.nflpickem.pickem.dto.PickCountRow;
+import com.nflpickem.pickem.dto.PickSummary;
+import com.nflpickem.pickem.dto.RevealedPickRow;
+import com.nflpickem.pickem.dto.ScoredPickRow;
 import com.nflpickem.pickem.model.Game;
 import com.nflpickem.pickem.model.Pick;
 import com.nflpickem.pickem.model.User;
 import com.nflpickem.pickem.model.League;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PickRepository extends JpaRepository<Pick, Long> {
     List<Pick> findByUser(User user);
+    @EntityGraph(Pick.SCORING_GRAPH)
     List<Pick> findByGame(Game game);
     List<Pick> findByUserAndGame(User user, Game game);
     Pick findByUserAndGameAndLeague(User user, Game game, League league);
     List<Pick> findByUserAndLeague(User user, League league);
     List<Pick> findByGameAndLeague(Game game, League league);
+    @EntityGraph(Pick.LEADERBOARD_GRAPH)
     List<Pick> findByLeague(League league);
-} 
\ No newline at end of file
+
+    @EntityGraph(Pick.LEADERBOARD_GRAPH)
+    @Query("SELECT p FROM Pick p")
+    List<Pick> findAllForLeaderboard();
+
+    @EntityGraph(Pick.COMPARISON_GRAPH)
+    List<Pick> findByLeagueAndGameWeek(League league, Integer week);
+
+    @EntityGraph(Pick.COMPARISON_GRAPH)
+    List<Pick> findByGameWeek(Integer week);
+
+    @Query("SELECT new com.nflpickem.pickem.dto.PickSummary(p.id, g.id, g.week, p.league.id, p.pickedTeam, p.correct, p.scoredAt) " +
+           "FROM Pick p JOIN p.game g WHERE p.user.id = :userId AND p.league.id = :leagueId ORDER BY g.week, g.kickoffTime, g.id")
+    List<PickSummary> findSummariesByUserAndLeague(@Param("userId") Long userId, @Param("leagueId") Long leagueId);
+
+    @Query("SELECT new com.nflpickem.pickem.dto.PickSummary(p.id, g.id, g.week, p.league.id, p.pickedTeam, p.correct, p.scoredAt) " +
+           "FROM Pick p JOIN p.game g WHERE p.user.id = :userId ORDER BY g.week, g.kickoffTime, g.id")
+    List<PickSummary> findSummariesByUser(@Param("userId") Long userId);
+
+    // Picks of a league for some of a week's games, with users and games (comparison of games not yet revealed)
+    @EntityGraph(Pick.COMPARISON_GRAPH)
+    List<Pick> findByLeagueIdAndGameIdIn(Long leagueId, Collection<Long> gameIds);
+
+    // League picks of games that have kicked off, for the kickoff pick snapshots
+    @Query("SELECT new com.nflpickem.pickem.dto.RevealedPickRow(g.id, g.homeTeam, p.league.id, u.id, u.username, u.name, p.pickedTeam) " +
+           "FROM Pick p JOIN p.game g JOIN p.user u WHERE g.id IN :gameIds AND p.league IS NOT NULL")
+    List<RevealedPickRow> findRevealedRows(@Param("gameIds") Collection<Long> gameIds);
+
+    @Query("SELECT new com.nflpickem.pickem.dto.RevealedPickRow(g.id, g.homeTeam, p.league.id, u.id, u.username, u.name, p.pickedTeam) " +
+           "FROM Pick p JOIN p.game g JOIN p.user u WHERE p.league.id = :leagueId AND g.id IN :gameIds")
+    List<RevealedPickRow> findRevealedRowsForLeague(@Param("leagueId") Long leagueId, @Param("gameIds") Collection<Long> gameIds);
+
+    @Query("SELECT new com.nflpickem.pickem.dto.PickSummary(p.id, g.id, g.week, p.league.id, p.pickedTeam, p.correct, p.scoredAt) " +
+           "FROM Pick p JOIN p.game g WHERE p.user.id = :userId AND p.league.id = :leagueId AND g.id IN :gameIds")
+    List<PickSummary> findSummariesByUserAndLeagueAndGameIds(@Param("userId") Long userId, @Param("leagueId") Long leagueId,
+                                                             @Param("gameIds") Collection<Long> gameIds);
+
+    @Query("SELECT new com.nflpickem.pickem.dto.PickCountRow(g.id, SUM(CASE WHEN p.pickedTeam = g.homeTeam THEN 1L ELSE 0L END), COUNT(p)) " +
+           "FROM Pick p JOIN p.game g WHERE p.league.id = :leagueId AND g.week = :week GROUP BY g.id")
+    List<PickCountRow> countPicksByGame(@Param("leagueId") Long leagueId, @Param("week") Integer week);
+
+    @Query("SELECT new com.nflpickem.pickem.dto.ScoredPickRow(g.id, g.week, g.homeTeam, g.awayTeam, g.winningTeam, g.scored, " +
+           "u.id, u.username, u.name, p.pickedTeam) FROM Pick p JOIN p.game g JOIN p.user u WHERE p.league.id = :leagueId")
+    List<ScoredPickRow> findScoredRowsByLeague(@Param("leagueId") Long leagueId);
+
+    @Query("SELECT new com.nflpickem.pickem.dto.ScoredPickRow(g.id, g.week, g.homeTeam, g.awayTeam, g.winningTeam, g.scored, " +
+           "u.id, u.username, u.name, p.pickedTeam) FROM Pick p JOIN p.game g JOIN p.user u WHERE p.league.id = :leagueId AND g.week = :week")
+    List<ScoredPickRow> findScoredRowsByLeagueAndWeek(@Param("leagueId") Long leagueId, @Param("week") Integer week);
+
+    /**
+     * Create or change the user's pick for a game in a league in one statement, returning the pick id.
+     * Relies on the unique index uk_pick_user_game_league (see PickUniqueIndexes). A changed pick is unscored.
+     */
+    @Transactional
+    @Query(value = """
+        INSERT INTO pick (user_id, game_id, league_id, picked_team, correct)
+        VALUES (:userId, :gameId, :leagueId, :pickedTeam, false)
+        ON CONFLICT (user_id, game_id, league_id)
+        DO UPDATE SET picked_team = EXCLUDED.picked_team, correct = false, scored_at = NULL
+        RETURNING id
+        """, nativeQuery = true)
+    Long upsertLeaguePick(@Param("userId") Long userId, @Param("gameId") Long gameId,
+                          @Param("leagueId") Long leagueId, @Param("pickedTeam") String pickedTeam);
+
+    /**
+     * upsertLeaguePick for a pick outside any league, against the partial index uk_pick_user_game_no_league
+     */
+    @Transactional
+    @Query(value = """
+        INSERT INTO pick (user_id, game_id, picked_team, correct)
+        VALUES (:userId, :gameId, :pickedTeam, false)
+        ON CONFLICT (user_id, game_id) WHERE league_id IS NULL
+        DO UPDATE SET picked_team = EXCLUDED.picked_team, correct = false, scored_at = NULL
+        RETURNING id
+        """, nativeQuery = true)
+    Long upsertPickWithoutLeague(@Param("userId") Long userId, @Param("gameId") Long gameId,
+                                 @Param("pickedTeam") String pickedTeam);
+
+    /**
+     * H2 counterpart of the two upserts (H2 has no ON CONFLICT ... DO UPDATE). leagueId may be null; the H2
+     * index treats nulls as equal, so a concurrent duplicate fails on it instead of inserting a second row.
+     */
+    @Transactional
+    @Query(value = """
+        SELECT id FROM FINAL TABLE (
+            MERGE INTO pick p
+            USING (VALUES (CAST(:userId AS BIGINT), CAST(:gameId AS BIGINT), CAST(:leagueId AS BIGINT),
+                           CAST(:pickedTeam AS VARCHAR(255)))) s (user_id, game_id, league_id, picked_team)
+            ON p.user_id = s.user_id AND p.game_id = s.game_id AND p.league_id IS NOT DISTINCT FROM s.league_id
+            WHEN MATCHED THEN UPDATE SET picked_team = s.picked_team, correct = FALSE, scored_at = NULL
+            WHEN NOT MATCHED THEN INSERT (user_id, game_id, league_id, picked_team, correct)
+                VALUES (s.user_id, s.game_id, s.league_id, s.picked_team, FALSE)
+        )
+        """, nativeQuery = true)
+    Long mergePick(@Param("userId") Long userId, @Param("gameId") Long gameId,
+                   @Param("leagueId") Long leagueId, @Param("pickedTeam") String pickedTeam);
+}
@@ -0,0 +1,174 @@
+package com.nflpickem.pickem.resilience;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Count-based circuit breaker. Opens when at least failureRateThreshold of the last windowSize calls failed
+ * (once minimumCalls have been seen), rejects calls while open, and after openDuration lets a single probe
+ * through in HALF_OPEN: success closes the breaker, failure opens it again.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    private final String name;
+    private final Clock clock;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final Duration openDuration;
+    private final boolean[] window;
+
+    private State state = State.CLOSED;
+    private int calls;
+    private int failures;
+    private int next;
+    private Instant openedAt;
+    private boolean probeInFlight;
+    private BiConsumer<State, State> transitionListener = (from, to) -> { };
+
+    public CircuitBreaker(String name, Clock clock, int windowSize, int minimumCalls,
+                          double failureRateThreshold, Duration openDuration) {
+        this.name = name;
+        this.clock = clock;
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDuration = openDuration;
+        this.window = new boolean[this.windowSize];
+    }
+
+    /**
+     * Called with (from, to) on every state change, while holding the breaker's lock
+     */
+    public void onTransition(BiConsumer<State, State> listener) {
+        this.transitionListener = listener;
+    }
+
+    /**
+     * Whether a call may go ahead. In HALF_OPEN only one probe is admitted until it reports back.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            transition(State.HALF_OPEN);
+        }
+        switch (state) {
+            case CLOSED:
+                return true;
+            case HALF_OPEN:
+                if (probeInFlight) {
+                    return false;
+                }
+                probeInFlight = true;
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            resetWindow();
+            transition(State.CLOSED);
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && calls >= minimumCalls && failureRate() >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Give back a permission whose call ended without telling us anything about the remote side
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            probeInFlight = false;
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && !clock.instant().isBefore(openedAt.plus(openDuration))) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return calls == 0 ? 0.0 : failures / (double) calls;
+    }
+
+    /**
+     * When the breaker last opened, or null if it never has
+     */
+    public synchronized Instant getOpenedAt() {
+        return openedAt;
+    }
+
+    /**
+     * How long until an open breaker admits a probe; zero unless OPEN
+     */
+    public synchronized Duration getRemainingOpenDuration() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        Duration remaining = Duration.between(clock.instant(), openedAt.plus(openDuration));
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (calls == windowSize) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void open() {
+        openedAt = clock.instant();
+        resetWindow();
+        transition(State.OPEN);
+    }
+
+    private void resetWindow() {
+        calls = 0;
+        failures = 0;
+        next = 0;
+        Arrays.fill(window, false);
+    }
+
+    private void transition(State to) {
+        State from = state;
+        state = to;
+        if (from != to) {
+            transitionListener.accept(from, to);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.nflpickem.pickem.resilience;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Most recent successful response from an upstream call, kept so it can be served while the upstream is
+ * failing. Immutable once taken; replaced atomically by the next success.
+ */
+public class LastGoodSnapshot<T> {
+
+    private record Entry<T>(T value, Instant fetchedAt) {
+    }
+
+    private volatile Entry<T> entry;
+
+    public void update(T value, Instant fetchedAt) {
+        entry = new Entry<>(value, fetchedAt);
+    }
+
+    /**
+     * The snapshot, if one exists and is no older than maxAge at now
+     */
+    public Optional<T> get(Instant now, Duration maxAge) {
+        Entry<T> current = entry;
+        if (current == null || current.fetchedAt().plus(maxAge).isBefore(now)) {
+            return Optional.empty();
+        }
+        return Optional.of(current.value());
+    }
+
+    /**
+     * When the snapshot was taken, or null if there is none
+     */
+    public Instant getFetchedAt() {
+        Entry<T> current = entry;
+        return current != null ? current.fetchedAt() : null;
+    }
+}
@@ -0,0 +1,233 @@
+package com.nflpickem.pickem.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bulkhead and circuit breaker in front of every call to The Odds API. At most maxConcurrent calls run at
+ * once and a caller waits at most bulkheadWait for a slot, so admin endpoints cannot pile up behind a slow
+ * upstream. Timeouts, 5xx, 429 and 401 (quota exhausted) count as failures; rejected calls fail fast with
+ * {@link OddsApiUnavailableException}.
+ * <p>
+ * A call lasts until its response is closed, not just until the headers arrive: the slot is held and the
+ * outcome reported to the breaker once the body has been read, so a body that stalls counts as a failure.
+ * Each call also has an overall deadline. The socket read timeout starts over with every read, so a body
+ * that trickles in would otherwise never time out; reads past the deadline fail instead (one read can still
+ * block for up to the read timeout).
+ */
+public class OddsApiGuardInterceptor implements ClientHttpRequestInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(OddsApiGuardInterceptor.class);
+
+    public static final String CIRCUIT_STATE = "pickem.odds.api.circuit.state";
+    public static final String CIRCUIT_TRANSITIONS = "pickem.odds.api.circuit.transitions";
+    public static final String REJECTED = "pickem.odds.api.rejected";
+    public static final String BULKHEAD_AVAILABLE = "pickem.odds.api.bulkhead.available";
+
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Duration bulkheadWait;
+    private final Duration callTimeout;
+    private final Counter rejectedOpen;
+    private final Counter rejectedBulkhead;
+
+    public OddsApiGuardInterceptor(CircuitBreaker circuitBreaker, int maxConcurrent, Duration bulkheadWait,
+                                   Duration callTimeout, MeterRegistry registry) {
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = new Semaphore(Math.max(1, maxConcurrent));
+        this.bulkheadWait = bulkheadWait;
+        this.callTimeout = callTimeout;
+        this.rejectedOpen = Counter.builder(REJECTED).tag("reason", "circuit_open").register(registry);
+        this.rejectedBulkhead = Counter.builder(REJECTED).tag("reason", "bulkhead_full").register(registry);
+
+        Gauge.builder(CIRCUIT_STATE, circuitBreaker, breaker -> breaker.getState().ordinal())
+            .description("0 = closed, 1 = half-open, 2 = open")
+            .register(registry);
+        Gauge.builder(BULKHEAD_AVAILABLE, bulkhead, Semaphore::availablePermits).register(registry);
+        circuitBreaker.onTransition((from, to) -> {
+            logger.warn("Odds API circuit breaker {} -> {}", from, to);
+            registry.counter(CIRCUIT_TRANSITIONS, "to", to.name().toLowerCase()).increment();
+        });
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!acquireBulkhead()) {
+            rejectedBulkhead.increment();
+            throw new OddsApiUnavailableException("Odds API bulkhead full; too many calls in flight", bulkheadWait);
+        }
+        boolean handedOver = false;
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                rejectedOpen.increment();
+                throw new OddsApiUnavailableException("Odds API circuit breaker is " + circuitBreaker.getState(),
+                    circuitBreaker.getRemainingOpenDuration());
+            }
+            long deadline = System.nanoTime() + callTimeout.toNanos();
+            ClientHttpResponse response;
+            boolean failed;
+            try {
+                response = execution.execute(request, body);
+                failed = isFailure(response.getStatusCode().value());
+            } catch (IOException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            } catch (RuntimeException e) {
+                circuitBreaker.release();
+                throw e;
+            }
+            // From here the response gives back the slot and reports to the breaker when it is closed
+            GuardedResponse guarded = new GuardedResponse(response, deadline, failed);
+            handedOver = true;
+            guarded.checkDeadline();
+            return guarded;
+        } finally {
+            if (!handedOver) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    static boolean isFailure(int status) {
+        return status >= 500 || status == 429 || status == 401;
+    }
+
+    private boolean acquireBulkhead() {
+        try {
+            return bulkhead.tryAcquire(bulkheadWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * The response of an admitted call. Reads fail once the call's deadline has passed, and closing it settles
+     * the call: a failed status or a failed read is a breaker failure, anything else a success.
+     */
+    private class GuardedResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse response;
+        private final long deadline;
+        private final AtomicBoolean settled = new AtomicBoolean();
+        private volatile boolean failed;
+        private volatile InputStream body;
+
+        GuardedResponse(ClientHttpResponse response, long deadline, boolean failed) {
+            this.response = response;
+            this.deadline = deadline;
+            this.failed = failed;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public synchronized InputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterInputStream(response.getBody()) {
+                    @Override
+                    public int read() throws IOException {
+                        checkDeadline();
+                        try {
+                            return super.read();
+                        } catch (IOException e) {
+                            failed = true;
+                            throw e;
+                        }
+                    }
+
+                    @Override
+                    public int read(byte[] buffer, int offset, int length) throws IOException {
+                        checkDeadline();
+                        try {
+                            return super.read(buffer, offset, length);
+                        } catch (IOException e) {
+                            failed = true;
+                            throw e;
+                        }
+                    }
+                };
+            }
+            return body;
+        }
+
+        @Override
+        public void close() {
+            try {
+                if (failed && body != null) {
+                    // Closing the stream first keeps the delegate from draining the rest of a slow body
+                    closeQuietly(body);
+                }
+                response.close();
+            } finally {
+                settle();
+            }
+        }
+
+        private void closeQuietly(InputStream stream) {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                logger.debug("Could not close a failed Odds API response body", e);
+            }
+        }
+
+        void checkDeadline() throws IOException {
+            if (System.nanoTime() - deadline > 0) {
+                failed = true;
+                close();
+                throw new SocketTimeoutException("Odds API call exceeded its " + callTimeout.toMillis() + " ms deadline");
+            }
+        }
+
+        private void settle() {
+            if (!settled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                if (failed) {
+                    circuitBreaker.onFailure();
+                } else {
+                    circuitBreaker.onSuccess();
+                }
+            } finally {
+                bulkhead.release();
+            }
+        }
+    }
+}
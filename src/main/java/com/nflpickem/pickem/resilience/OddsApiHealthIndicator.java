@@ -0,0 +1,49 @@
+package com.nflpickem.pickem.resilience;
+
+import com.nflpickem.pickem.service.GameScoreService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Reports the Odds API circuit breaker as the "oddsApi" health component. An open breaker is DEGRADED
+ * rather than DOWN: picks and leaderboards keep working on stored data, so the app stays in rotation.
+ */
+@Component
+public class OddsApiHealthIndicator implements HealthIndicator {
+
+    public static final Status DEGRADED = new Status("DEGRADED", "Odds API calls are short-circuited");
+
+    private final CircuitBreaker oddsApiCircuitBreaker;
+    private final GameScoreService gameScoreService;
+
+    public OddsApiHealthIndicator(CircuitBreaker oddsApiCircuitBreaker, GameScoreService gameScoreService) {
+        this.oddsApiCircuitBreaker = oddsApiCircuitBreaker;
+        this.gameScoreService = gameScoreService;
+    }
+
+    @Override
+    public Health health() {
+        Map<String, Object> details = details();
+        Health.Builder builder = oddsApiCircuitBreaker.getState() == CircuitBreaker.State.CLOSED
+            ? Health.up() : Health.status(DEGRADED);
+        return builder.withDetails(details).build();
+    }
+
+    /**
+     * Breaker state and last good scores snapshot, also shown by /health
+     */
+    public Map<String, Object> details() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("circuitBreaker", oddsApiCircuitBreaker.getState().name());
+        details.put("failureRate", oddsApiCircuitBreaker.failureRate());
+        details.put("openedAt", oddsApiCircuitBreaker.getOpenedAt());
+        details.put("retryInSeconds", oddsApiCircuitBreaker.getRemainingOpenDuration().toSeconds());
+        details.put("lastGoodScoresAt", gameScoreService.getLastGoodScoresAt());
+        return details;
+    }
+}
@@ -0,0 +1,25 @@
+package com.nflpickem.pickem.resilience;
+
+import org.springframework.web.client.RestClientException;
+
+import java.time.Duration;
+
+/**
+ * A call to The Odds API was not attempted: the circuit breaker is open or the bulkhead is full
+ */
+public class OddsApiUnavailableException extends RestClientException {
+
+    private final Duration retryAfter;
+
+    public OddsApiUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Rough time until a call may be admitted again
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,10 @@
+package com.nflpickem.pickem.service;
+
+import java.util.Set;
+
+/**
+ * Published when games are created or their kickoff, teams or week may have changed, so KickoffLockTable
+ * can drop the affected weeks. Scores are not part of the schedule and do not publish this.
+ */
+public record GameScheduleChangedEvent(Set<Long> gameIds, Set<Integer> weeks) {
+}
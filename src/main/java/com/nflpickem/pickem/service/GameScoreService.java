@@ -2,6 +2,8 @@ package com.nflpickem.pickem.service;
 
 import com.nflpickem.pickem.model.Game;
 import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.resilience.LastGoodSnapshot;
+import com.nflpickem.pickem.resilience.OddsApiUnavailableException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -12,6 +14,8 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -22,6 +26,7 @@ public class GameScoreService {
     
     private final GameRepository gameRepository;
     private final RestTemplate restTemplate;
+    private final Clock clock;
     
     @Value("${ODDS_API_KEY:}")
     private String oddsApiKey;
@@ -29,23 +34,61 @@ public class GameScoreService {
     @Value("${ODDS_API_BASE_URL}")
     private String oddsApiBaseUrl;
     
-    public GameScoreService(GameRepository gameRepository) {
+    @Value("${ODDS_API_STALE_MAX_AGE_MINUTES:360}")
+    private long staleMaxAgeMinutes;
+    
+    private final LastGoodSnapshot<ScoreApiResponse[]> lastGoodScores = new LastGoodSnapshot<>();
+    
+    // Widest daysFrom the API accepted last time; 0 means only the parameterless call worked
+    private volatile int acceptedDaysFrom = 3;
+    
+    public GameScoreService(GameRepository gameRepository, RestTemplate oddsApiRestTemplate, Clock clock) {
         this.gameRepository = gameRepository;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = oddsApiRestTemplate;
+        this.clock = clock;
     }
     
     /**
-     * Fetch live scores from The Odds API for completed games
+     * Fetch live scores from The Odds API for completed games. When the call fails or the circuit
+     * breaker is open, the last good response is processed again instead, as long as it is younger
+     * than ODDS_API_STALE_MAX_AGE_MINUTES: completed results do not change, so re-applying them is safe.
      */
     public List<GameScoreResult> fetchLiveScores() {
         if (oddsApiKey == null || oddsApiKey.trim().isEmpty()) {
             throw new IllegalStateException("ODDS_API_KEY is not configured");
         }
         
-        // Try different daysFrom values (3, 2, 1) in case of API restrictions
+        ScoreApiResponse[] responses;
+        try {
+            responses = fetchScoreResponses();
+        } catch (RuntimeException e) {
+            Optional<ScoreApiResponse[]> stale = lastGoodScores.get(Instant.now(clock), Duration.ofMinutes(staleMaxAgeMinutes));
+            if (stale.isEmpty()) {
+                throw e;
+            }
+            System.err.println("Odds API unavailable (" + e.getMessage() + "), using scores fetched at " + lastGoodScores.getFetchedAt());
+            return processScoreResponse(stale.get());
+        }
+        lastGoodScores.update(responses, Instant.now(clock));
+        return processScoreResponse(responses);
+    }
+    
+    /**
+     * When the last good scores response was fetched, or null if there is none yet
+     */
+    public Instant getLastGoodScoresAt() {
+        return lastGoodScores.getFetchedAt();
+    }
+    
+    private ScoreApiResponse[] fetchScoreResponses() {
+        // Try different daysFrom values (3, 2, 1) in case of API restrictions, starting from the
+        // widest one the API accepted last time so a normal run costs a single call
         int[] daysToTry = {3, 2, 1};
         
         for (int daysFrom : daysToTry) {
+            if (daysFrom > acceptedDaysFrom) {
+                continue;
+            }
             try {
                 String url = String.format("%s/sports/americanfootball_nfl/scores/?apiKey=%s&daysFrom=%d&dateFormat=iso", 
                     oddsApiBaseUrl, oddsApiKey, daysFrom);
@@ -60,17 +103,10 @@ public class GameScoreService {
                     url, HttpMethod.GET, entity, ScoreApiResponse[].class);
                 
                 if (response.getBody() != null) {
+                    acceptedDaysFrom = daysFrom;
+                    // A narrower window cannot contain more games, so an empty answer is final
                     System.out.println("API returned " + response.getBody().length + " games (daysFrom=" + daysFrom + ")");
-                    
-                    if (response.getBody().length == 0) {
-                        System.out.println("No games returned from API with daysFrom=" + daysFrom);
-                        continue; // Try next daysFrom value
-                    }
-                    
-                    // Log summary of API results
-                    System.out.println("API returned " + response.getBody().length + " games (daysFrom=" + daysFrom + ")");
-                    
-                    return processScoreResponse(response.getBody());
+                    return response.getBody();
                 }
                 
             } catch (HttpClientErrorException e) {
@@ -81,6 +117,8 @@ public class GameScoreService {
                     System.err.println("Error fetching scores from API: " + e.getStatusCode() + " - " + e.getResponseBodyAsString());
                     throw new RuntimeException("Failed to fetch scores from API: " + e.getMessage());
                 }
+            } catch (OddsApiUnavailableException e) {
+                throw e;
             } catch (ResourceAccessException e) {
                 System.err.println("Network error fetching scores: " + e.getMessage());
                 throw new RuntimeException("Network error fetching scores: " + e.getMessage());
@@ -105,16 +143,19 @@ public class GameScoreService {
                 url, HttpMethod.GET, entity, ScoreApiResponse[].class);
             
             if (response.getBody() != null) {
+                acceptedDaysFrom = 0;
                 System.out.println("API returned " + response.getBody().length + " games (live/upcoming only)");
-                return processScoreResponse(response.getBody());
+                return response.getBody();
             }
             
+        } catch (OddsApiUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             System.err.println("Final attempt failed: " + e.getMessage());
             throw new RuntimeException("Failed to fetch scores from API after all attempts: " + e.getMessage());
         }
         
-        return new ArrayList<>();
+        return new ScoreApiResponse[0];
     }
     
     /**
@@ -159,7 +200,7 @@ public class GameScoreService {
     /**
      * Find matching game in database
      */
-    private Game findMatchingGame(ScoreApiResponse response) {
+    Game findMatchingGame(ScoreApiResponse response) {
         System.out.println("Looking for match: " + response.away_team + " @ " + response.home_team);
         
         // Try exact match first
@@ -195,7 +236,7 @@ public class GameScoreService {
     /**
      * Check if two team names match with fuzzy logic
      */
-    private boolean fuzzyTeamMatch(String team1, String team2) {
+    boolean fuzzyTeamMatch(String team1, String team2) {
         if (team1 == null || team2 == null) return false;
         
         String normalized1 = team1.toLowerCase().trim();
@@ -421,7 +462,7 @@ public class GameScoreService {
      * Check if it's a game day (Thursday, Sunday, or Monday during NFL season)
      */
     public boolean isGameDay() {
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
         int dayOfWeek = today.getDayOfWeek().getValue(); // 1=Monday, 7=Sunday
         
         // NFL games are typically on Thursday (4), Sunday (7), and Monday (1)
@@ -438,7 +479,7 @@ public class GameScoreService {
         }
         
         // Get the earliest game time for today
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
         Instant startOfDay = today.atStartOfDay(ZoneId.of("America/New_York")).toInstant();
         Instant endOfDay = today.plusDays(1).atStartOfDay(ZoneId.of("America/New_York")).toInstant();
         
@@ -481,7 +522,7 @@ public class GameScoreService {
         // Continue fetching until 4 hours after the last game (to account for overtime, delays, etc.)
         Instant fetchEndTime = latestGame.plus(java.time.Duration.ofHours(4));
         
-        Instant now = Instant.now();
+        Instant now = Instant.now(clock);
         boolean shouldFetch = now.isAfter(fetchStartTime) && now.isBefore(fetchEndTime);
         
         if (shouldFetch) {
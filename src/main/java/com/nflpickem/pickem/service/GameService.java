@@ -4,52 +4,75 @@ import com.nflpickem.pickem.model.BettingOdds;
 import com.nflpickem.pickem.model.Game;
 import com.nflpickem.pickem.repository.BettingOddsRepository;
 import com.nflpickem.pickem.repository.GameRepository;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import com.nflpickem.pickem.util.NflScheduleScraper;
+import com.nflpickem.pickem.util.NflSeasonCalendar;
 
 import java.io.IOException;
-import java.time.DayOfWeek;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Service
 public class GameService {
     private final GameRepository gameRepository;
     private final BettingOddsRepository bettingOddsRepository;
     private final NflScheduleScraper nflScheduleScraper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NflSeasonCalendar seasonCalendar;
     
     @Value("${ENABLE_NFL_SCRAPING:false}")
     private boolean enableNflScraping;
     
     @Value("${NFL_SEASON_WEEKS:18}")
     private int nflSeasonWeeks;
+    
+    @Value("${NFL_SCHEDULE_FILE:}")
+    private String nflScheduleFile;
 
-    public GameService(GameRepository gameRepository, BettingOddsRepository bettingOddsRepository, NflScheduleScraper nflScheduleScraper) {
+    public GameService(GameRepository gameRepository, BettingOddsRepository bettingOddsRepository, NflScheduleScraper nflScheduleScraper,
+                       ApplicationEventPublisher eventPublisher, NflSeasonCalendar seasonCalendar) {
         this.gameRepository = gameRepository;
         this.bettingOddsRepository = bettingOddsRepository;
         this.nflScheduleScraper = nflScheduleScraper;
+        this.eventPublisher = eventPublisher;
+        this.seasonCalendar = seasonCalendar;
     }
 
-    @PostConstruct
-    public void init() {
+    /**
+     * Import the season when there are no games yet. Runs in the background after startup (StartupWarmupService),
+     * so a slow scrape never holds up the port.
+     */
+    public void importScheduleIfEmpty() {
         if (gameRepository.count() == 0) {
-            if (enableNflScraping) {
+            if (!nflScheduleFile.isBlank()) {
+                try {
+                    ImportResult result = importSeason(nflScheduleScraper.readScheduleFile(Path.of(nflScheduleFile)));
+                    System.out.println("Imported " + result.inserted() + " games from " + nflScheduleFile);
+                } catch (IOException e) {
+                    System.err.println("Error reading NFL schedule file " + nflScheduleFile + ": " + e.getMessage());
+                }
+            } else if (enableNflScraping) {
                 try {
                     int currentYear = LocalDate.now().getYear();
-                    // Scrape all regular season weeks (configurable via NFL_SEASON_WEEKS)
-                    for (int week = 1; week <= nflSeasonWeeks; week++) {
-                        List<Game> games = nflScheduleScraper.scrapeGames(currentYear, week);
-                        gameRepository.saveAll(games);
-                        System.out.println("Scraped and saved " + games.size() + " games for Week " + week + " of " + currentYear + " from Pro-Football-Reference.com");
-                    }
+                    // One fetch for the whole season, then one batch upsert
+                    ImportResult result = importSeason(nflScheduleScraper.scrapeSeason(currentYear));
+                    System.out.println("Scraped and saved " + result.inserted() + " games for " + result.weeks() + " weeks of " + currentYear + " from Pro-Football-Reference.com");
                 } catch (IOException e) {
                     System.err.println("Error scraping NFL schedule: " + e.getMessage());
-                    System.err.println("This is expected in Railway deployment. You can manually add games via API or set ENABLE_NFL_SCRAPING=true");
+                    System.err.println("This is expected in Railway deployment. You can manually add games via API, set NFL_SCHEDULE_FILE or set ENABLE_NFL_SCRAPING=true");
                 }
             } else {
                 System.out.println("NFL schedule scraping is disabled. Set ENABLE_NFL_SCRAPING=true to enable automatic scraping.");
@@ -58,6 +81,64 @@ public class GameService {
         }
     }
 
+    /**
+     * Upsert a season's games keyed by (week, home team, away team). Existing games are loaded with one query
+     * and everything that is new or changed is saved in one batch. Kickoff times follow the schedule; a
+     * winner from the schedule is only taken for games that have not been scored yet.
+     * Weeks beyond NFL_SEASON_WEEKS are ignored.
+     */
+    public ImportResult importSeason(Map<Integer, List<Game>> gamesByWeek) {
+        Map<Integer, List<Game>> regularSeason = new TreeMap<>(gamesByWeek);
+        regularSeason.keySet().removeIf(week -> week < 1 || week > nflSeasonWeeks);
+
+        Map<String, Game> existing = new HashMap<>();
+        for (Game game : gameRepository.findByWeekIn(regularSeason.keySet())) {
+            existing.put(importKey(game), game);
+        }
+
+        List<Game> toSave = new ArrayList<>();
+        Set<Game> queued = Collections.newSetFromMap(new IdentityHashMap<>());
+        int inserted = 0;
+        int updated = 0;
+        for (List<Game> games : regularSeason.values()) {
+            for (Game game : games) {
+                Game current = existing.get(importKey(game));
+                if (current == null) {
+                    existing.put(importKey(game), game); // Same game listed twice is only inserted once
+                    toSave.add(game);
+                    queued.add(game);
+                    inserted++;
+                    continue;
+                }
+                boolean changed = false;
+                if (game.getKickoffTime() != null && !game.getKickoffTime().equals(current.getKickoffTime())) {
+                    current.setKickoffTime(game.getKickoffTime());
+                    changed = true;
+                }
+                if (!current.isScored() && game.getWinningTeam() != null && !game.getWinningTeam().equals(current.getWinningTeam())) {
+                    current.setWinningTeam(game.getWinningTeam());
+                    current.setScored(game.isScored());
+                    changed = true;
+                }
+                if (changed && queued.add(current)) {
+                    toSave.add(current);
+                    updated++;
+                }
+            }
+        }
+        gameRepository.saveAll(toSave);
+        if (!toSave.isEmpty()) {
+            eventPublisher.publishEvent(new GameScheduleChangedEvent(
+                toSave.stream().map(Game::getId).collect(Collectors.toSet()),
+                toSave.stream().map(Game::getWeek).collect(Collectors.toSet())));
+        }
+        return new ImportResult(regularSeason.size(), inserted, updated);
+    }
+
+    private static String importKey(Game game) {
+        return game.getWeek() + "|" + game.getHomeTeam() + "|" + game.getAwayTeam();
+    }
+
     public List<Game> getAllGames() {
         return gameRepository.findAll();
     }
@@ -71,7 +152,9 @@ public class GameService {
     }
 
     public Game saveGame(Game game) {
-        return gameRepository.save(game);
+        Game saved = gameRepository.save(game);
+        eventPublisher.publishEvent(new GameScheduleChangedEvent(Set.of(saved.getId()), Set.of(saved.getWeek())));
+        return saved;
     }
 
     public Game updateGameScore(Long gameId, String winningTeam) {
@@ -90,11 +173,7 @@ public class GameService {
 
     private int calculateCurrentNflWeek(int year) {
         LocalDate today = LocalDate.now();
-        LocalDate septemberFirst = LocalDate.of(year, 9, 1);
-        LocalDate nflSeasonStart = septemberFirst.with(TemporalAdjusters.firstInMonth(DayOfWeek.THURSDAY));
-        if (septemberFirst.getDayOfWeek() == DayOfWeek.SUNDAY) {
-            nflSeasonStart = septemberFirst;
-        }
+        LocalDate nflSeasonStart = seasonCalendar.seasonStart(year);
         if (today.isBefore(nflSeasonStart)) {
             return 1;
         }
@@ -130,4 +209,10 @@ public class GameService {
         List<BettingOdds> odds = bettingOddsRepository.findByGameId(gameId);
         return odds.isEmpty() ? Optional.empty() : Optional.of(odds.get(0));
     }
-} 
\ No newline at end of file
+
+    /**
+     * @param weeks regular season weeks in the import
+     */
+    public record ImportResult(int weeks, int inserted, int updated) {
+    }
+}
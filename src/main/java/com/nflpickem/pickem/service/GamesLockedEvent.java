@@ -0,0 +1,9 @@
+package com.nflpickem.pickem.service;
+
+import java.util.List;
+
+/**
+ * Published by KickoffLockTable when games lock at kickoff. A game can be reported more than once.
+ */
+public record GamesLockedEvent(int week, List<Long> gameIds) {
+}
@@ -0,0 +1,217 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.repository.GameRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * What pick validation needs from the schedule, kept in memory: per week an immutable snapshot of each game's
+ * kickoff and teams, replaced as a whole when games change (GameScheduleChangedEvent) and loaded on first use.
+ * <p>
+ * Each snapshot also carries how far its week is locked. A timer moves the mark to each kickoff as it passes,
+ * and a submission that finds the clock past a kickoff moves it immediately, so the mark only ever goes
+ * forward: once any thread has seen a game locked, every thread does, even if the wall clock steps back.
+ * Games are announced with GamesLockedEvent as the mark passes their kickoff.
+ */
+@Service
+public class KickoffLockTable {
+
+    private final GameRepository gameRepository;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Map<Integer, WeekSchedule> weeks = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> weekByGame = new ConcurrentHashMap<>();
+    private final Map<Integer, ScheduledFuture<?>> lockTimers = new ConcurrentHashMap<>();
+
+    public KickoffLockTable(GameRepository gameRepository, TaskScheduler taskScheduler, Clock clock,
+                            ApplicationEventPublisher eventPublisher) {
+        this.gameRepository = gameRepository;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * The game's slot in the current snapshot, or null when there is no such game. Only reads the database
+     * for a week that is not loaded yet, or for a game its loaded week does not know about.
+     */
+    public GameSlot find(Long gameId) {
+        Integer indexed = weekByGame.get(gameId);
+        if (indexed != null) {
+            GameSlot slot = schedule(indexed).find(gameId);
+            if (slot != null) {
+                return slot;
+            }
+            // The game moved to another week since it was indexed
+            weekByGame.remove(gameId);
+        }
+        Integer week = gameRepository.findWeekById(gameId).orElse(null);
+        if (week == null) {
+            return null;
+        }
+        GameSlot slot = schedule(week).find(gameId);
+        if (slot == null) {
+            // Added to a loaded week without an event (bulk loads, direct repository writes)
+            evict(week);
+            slot = schedule(week).find(gameId);
+        }
+        return slot;
+    }
+
+    /**
+     * Whether picks for the game are closed: from kickoff on, by the lock mark or the clock, whichever is first
+     */
+    public boolean isLocked(GameSlot slot) {
+        if (slot.kickoff() == null) {
+            return false;
+        }
+        WeekSchedule schedule = weeks.get(slot.week());
+        if (schedule != null && !slot.kickoff().isAfter(schedule.lockedThrough())) {
+            return true;
+        }
+        Instant now = clock.instant();
+        if (slot.kickoff().isAfter(now)) {
+            return false;
+        }
+        lockThrough(slot.week(), now);
+        return true;
+    }
+
+    /**
+     * Drop the snapshots of changed games and weeks; the next submission reloads them
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onScheduleChanged(GameScheduleChangedEvent event) {
+        for (Long gameId : event.gameIds()) {
+            Integer week = weekByGame.remove(gameId);
+            if (week != null) {
+                evict(week);
+            }
+        }
+        event.weeks().forEach(this::evict);
+    }
+
+    private void evict(int week) {
+        weeks.remove(week);
+        ScheduledFuture<?> timer = lockTimers.remove(week);
+        if (timer != null) {
+            timer.cancel(false);
+        }
+    }
+
+    private WeekSchedule schedule(int week) {
+        WeekSchedule schedule = weeks.get(week);
+        if (schedule == null) {
+            // Loads under the map's lock for this week, so an eviction after a commit cannot be overtaken
+            schedule = weeks.computeIfAbsent(week, this::load);
+            scheduleNextLock(week);
+        }
+        return schedule;
+    }
+
+    private WeekSchedule load(int week) {
+        List<Game> games = gameRepository.findByWeek(week);
+        GameSlot[] slots = games.stream()
+            .map(game -> new GameSlot(game.getId(), week, game.getKickoffTime(), game.getHomeTeam(), game.getAwayTeam()))
+            .sorted(Comparator.comparing(GameSlot::kickoff, Comparator.nullsLast(Comparator.naturalOrder())))
+            .toArray(GameSlot[]::new);
+        for (GameSlot slot : slots) {
+            weekByGame.put(slot.gameId(), week);
+        }
+        return new WeekSchedule(slots, clock.instant());
+    }
+
+    private void lockThrough(int week, Instant instant) {
+        WeekSchedule before = weeks.get(week);
+        WeekSchedule after = weeks.computeIfPresent(week, (key, schedule) ->
+            instant.isAfter(schedule.lockedThrough()) ? new WeekSchedule(schedule.slots(), instant) : schedule);
+        if (before == null || after == null || after == before) {
+            return;
+        }
+        List<Long> locked = Arrays.stream(after.slots())
+            .filter(slot -> slot.kickoff() != null && slot.kickoff().isAfter(before.lockedThrough())
+                && !slot.kickoff().isAfter(after.lockedThrough()))
+            .map(GameSlot::gameId)
+            .toList();
+        if (!locked.isEmpty()) {
+            eventPublisher.publishEvent(new GamesLockedEvent(week, locked));
+        }
+    }
+
+    /**
+     * Arm a timer for the week's next unlocked kickoff. The timer runs on the wall clock, so when it fires
+     * the lock only moves up to what the application clock says has passed, and the timer is re-armed.
+     */
+    private void scheduleNextLock(int week) {
+        WeekSchedule schedule = weeks.get(week);
+        GameSlot next = schedule != null ? schedule.nextToLock() : null;
+        if (next == null) {
+            lockTimers.remove(week);
+            return;
+        }
+        Duration untilKickoff = Duration.between(clock.instant(), next.kickoff());
+        lockTimers.compute(week, (key, previous) -> {
+            if (previous != null && !previous.isDone()) {
+                return previous;
+            }
+            return taskScheduler.schedule(() -> onLockTimer(week), Instant.now().plus(untilKickoff));
+        });
+    }
+
+    private void onLockTimer(int week) {
+        WeekSchedule schedule = weeks.get(week);
+        GameSlot next = schedule != null ? schedule.nextToLock() : null;
+        if (next != null && !next.kickoff().isAfter(clock.instant())) {
+            lockThrough(week, next.kickoff());
+        }
+        lockTimers.remove(week);
+        scheduleNextLock(week);
+    }
+
+    /**
+     * A game as pick validation sees it
+     */
+    public record GameSlot(long gameId, int week, Instant kickoff, String homeTeam, String awayTeam) {
+
+        public boolean hasTeam(String team) {
+            return homeTeam.equals(team) || awayTeam.equals(team);
+        }
+    }
+
+    /**
+     * A week's games sorted by kickoff, and the instant up to which its kickoffs are locked
+     */
+    record WeekSchedule(GameSlot[] slots, Instant lockedThrough) {
+
+        GameSlot find(long gameId) {
+            // A week has at most 16 games, a scan beats hashing
+            for (GameSlot slot : slots) {
+                if (slot.gameId() == gameId) {
+                    return slot;
+                }
+            }
+            return null;
+        }
+
+        GameSlot nextToLock() {
+            return Arrays.stream(slots)
+                .filter(slot -> slot.kickoff() != null && slot.kickoff().isAfter(lockedThrough))
+                .findFirst()
+                .orElse(null);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.RevealedPickRow;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.repository.PickRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Picks of games that have kicked off, frozen per league. Once a game locks its picks cannot change, so each
+ * (game, league) is read once into an immutable LeaguePicks and served from memory to every viewer after that.
+ * Snapshots are taken a few seconds after kickoff (GamesLockedEvent), so a submission accepted just before
+ * kickoff has committed by then, and built on first read for games that locked before this instance started.
+ * Picks of the games still pending in the write-behind buffer are written first; when that fails the game is
+ * not snapshotted, as its stored picks are not final yet.
+ * Whether a pick was correct is worked out from the game's result when it is read, so scoring does not
+ * touch the snapshots; only a game whose kickoff moves drops them.
+ */
+@Service
+public class KickoffPickSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(KickoffPickSnapshots.class);
+
+    private final PickRepository pickRepository;
+    private final PickWriteBuffer writeBuffer;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final Duration delay;
+    private final Map<SnapshotKey, LeaguePicks> snapshots;
+
+    public KickoffPickSnapshots(PickRepository pickRepository, PickWriteBuffer writeBuffer, TaskScheduler taskScheduler,
+                                Clock clock, @Value("${PICK_SNAPSHOT_DELAY_SECONDS:5}") long delaySeconds,
+                                @Value("${PICK_SNAPSHOT_CACHE_SIZE:20000}") int maxSnapshots) {
+        this.pickRepository = pickRepository;
+        this.writeBuffer = writeBuffer;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        this.delay = Duration.ofSeconds(delaySeconds);
+        this.snapshots = Collections.synchronizedMap(new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SnapshotKey, LeaguePicks> eldest) {
+                return size() > maxSnapshots;
+            }
+        });
+    }
+
+    /**
+     * Whether the game's picks are final and can be served from a snapshot
+     */
+    public boolean isRevealed(Game game) {
+        return game.getKickoffTime() != null && !game.getKickoffTime().plus(delay).isAfter(clock.instant());
+    }
+
+    /**
+     * Snapshots of the league's picks for revealed games, keyed by game id. Games without a snapshot yet are
+     * read together in one query.
+     */
+    public Map<Long, LeaguePicks> forLeague(long leagueId, Collection<Game> revealedGames) {
+        Map<Long, LeaguePicks> result = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        for (Game game : revealedGames) {
+            LeaguePicks picks = snapshots.get(new SnapshotKey(game.getId(), leagueId));
+            if (picks != null) {
+                result.put(game.getId(), picks);
+            } else {
+                missing.add(game.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            // Without the pending picks written the rows are served for this read only
+            boolean complete = flushPending(missing);
+            Map<Long, List<RevealedPickRow>> rowsByGame = pickRepository.findRevealedRowsForLeague(leagueId, missing).stream()
+                .collect(Collectors.groupingBy(RevealedPickRow::gameId));
+            for (Game game : revealedGames) {
+                if (missing.contains(game.getId())) {
+                    LeaguePicks picks = LeaguePicks.of(rowsByGame.getOrDefault(game.getId(), List.of()));
+                    if (complete) {
+                        snapshots.put(new SnapshotKey(game.getId(), leagueId), picks);
+                    }
+                    result.put(game.getId(), picks);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Snapshot every league's picks of the locked games once the delay has passed
+     */
+    @EventListener
+    public void onGamesLocked(GamesLockedEvent event) {
+        taskScheduler.schedule(() -> snapshotGames(event.gameIds()), Instant.now().plus(delay));
+    }
+
+    void snapshotGames(Collection<Long> gameIds) {
+        if (!flushPending(gameIds)) {
+            // Built on first read instead
+            return;
+        }
+        Map<Long, Map<Long, List<RevealedPickRow>>> rows = pickRepository.findRevealedRows(gameIds).stream()
+            .collect(Collectors.groupingBy(RevealedPickRow::gameId, Collectors.groupingBy(RevealedPickRow::leagueId)));
+        rows.forEach((gameId, byLeague) -> byLeague.forEach((leagueId, leagueRows) ->
+            snapshots.put(new SnapshotKey(gameId, leagueId), LeaguePicks.of(leagueRows))));
+    }
+
+    /**
+     * Write the games' picks still pending in the write-behind buffer. False when that failed.
+     */
+    private boolean flushPending(Collection<Long> gameIds) {
+        if (!writeBuffer.hasPending(gameIds)) {
+            return true;
+        }
+        try {
+            writeBuffer.flush();
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Could not write pending picks of games {} before snapshotting them: {}", gameIds, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * A rescheduled game may take picks again, so its snapshots go
+     */
+    @EventListener
+    public void onScheduleChanged(GameScheduleChangedEvent event) {
+        synchronized (snapshots) {
+            snapshots.keySet().removeIf(key -> event.gameIds().contains(key.gameId()));
+        }
+    }
+
+    record SnapshotKey(long gameId, long leagueId) {
+    }
+
+    /**
+     * One league's picks of one game: members who picked, by user id, and a bitmap of who picked the home team
+     */
+    public record LeaguePicks(long[] userIds, String[] usernames, String[] names, long[] homePicks) {
+
+        private static final LeaguePicks EMPTY = new LeaguePicks(new long[0], new String[0], new String[0], new long[0]);
+
+        static LeaguePicks of(List<RevealedPickRow> rows) {
+            if (rows.isEmpty()) {
+                return EMPTY;
+            }
+            List<RevealedPickRow> sorted = new ArrayList<>(rows);
+            sorted.sort(Comparator.comparing(RevealedPickRow::userId));
+            int size = sorted.size();
+            long[] userIds = new long[size];
+            String[] usernames = new String[size];
+            String[] names = new String[size];
+            long[] homePicks = new long[(size + 63) >>> 6];
+            for (int i = 0; i < size; i++) {
+                RevealedPickRow row = sorted.get(i);
+                userIds[i] = row.userId();
+                usernames[i] = row.username();
+                names[i] = row.name();
+                if (row.pickedTeam().equals(row.homeTeam())) {
+                    homePicks[i >>> 6] |= 1L << i;
+                }
+            }
+            return new LeaguePicks(userIds, usernames, names, homePicks);
+        }
+
+        public int size() {
+            return userIds.length;
+        }
+
+        public boolean pickedHome(int index) {
+            return (homePicks[index >>> 6] & (1L << index)) != 0;
+        }
+
+        public String pickedTeam(int index, Game game) {
+            return pickedHome(index) ? game.getHomeTeam() : game.getAwayTeam();
+        }
+
+        /**
+         * Position of the user's pick, or a negative number when they did not pick
+         */
+        public int indexOf(long userId) {
+            return Arrays.binarySearch(userIds, userId);
+        }
+
+        public int homeCount() {
+            int count = 0;
+            for (long word : homePicks) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+    }
+}
@@ -2,12 +2,14 @@ package com.nflpickem.pickem.service;
 
 import com.nflpickem.pickem.model.Pick;
 import com.nflpickem.pickem.model.Game;
-import com.nflpickem.pickem.model.League;
 import com.nflpickem.pickem.dto.PlayerScore;
+import com.nflpickem.pickem.dto.ScoredPickRow;
 import com.nflpickem.pickem.dto.WeeklyWinsDto;
 import com.nflpickem.pickem.repository.PickRepository;
 import com.nflpickem.pickem.repository.GameRepository;
 import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.monitoring.LeaderboardEvent;
+import com.nflpickem.pickem.monitoring.PickemMetrics;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,17 +28,36 @@ public class LeaderboardService {
     private final PickRepository pickRepository;
     private final GameRepository gameRepository;
     private final LeagueRepository leagueRepository;
+    private final PickemMetrics metrics;
 
-    public LeaderboardService(PickRepository pickRepository, GameRepository gameRepository, LeagueRepository leagueRepository) {
+    public LeaderboardService(PickRepository pickRepository, GameRepository gameRepository, LeagueRepository leagueRepository, PickemMetrics metrics) {
         this.pickRepository = pickRepository;
         this.gameRepository = gameRepository;
         this.leagueRepository = leagueRepository;
+        this.metrics = metrics;
     }
 
     public List<PlayerScore> getWeeklyLeaderboard(Integer week, Long leagueId) {
+        return metrics.recordLeaderboard("weekly", leagueId, () -> weeklyLeaderboard(week, leagueId));
+    }
+
+    private List<PlayerScore> weeklyLeaderboard(Integer week, Long leagueId) {
         logger.info("Getting weekly leaderboard for week: {}, leagueId: {}", week, leagueId);
         
+        LeaderboardEvent event = startEvent("weekly", leagueId, week);
         try {
+            if (leagueId != null) {
+                // A league's week is scored in bits from its picks and their games' results
+                event.leagueMembers = requireLeague(leagueId);
+                List<ScoredPickRow> rows = pickRepository.findScoredRowsByLeagueAndWeek(leagueId, week);
+                logger.info("Found {} picks for league {} in week {}", rows.size(), leagueId, week);
+                List<PlayerScore> result = LeagueWeekBits.of(rows).leaderboard();
+                logger.info("Calculated leaderboard with {} players", result.size());
+                event.pickRows = rows.size();
+                event.players = result.size();
+                return result;
+            }
+
             List<Game> gamesInWeek = gameRepository.findByWeek(week);
             logger.info("Found {} games for week {}", gamesInWeek.size(), week);
             
@@ -44,60 +65,98 @@ public class LeaderboardService {
                     .map(Game::getId)
                     .collect(Collectors.toSet());
             
-            List<Pick> picksToScore;
-
-            if (leagueId != null) {
-                logger.info("Fetching picks for league: {}", leagueId);
-                League league = leagueRepository.findById(leagueId)
-                        .orElseThrow(() -> new RuntimeException("League not found with id: " + leagueId));
-                picksToScore = pickRepository.findByLeague(league).stream()
-                        .filter(pick -> gameIdsInWeek.contains(pick.getGame().getId()))
-                        .collect(Collectors.toList());
-                logger.info("Found {} picks for league {} in week {}", picksToScore.size(), leagueId, week);
-            } else {
-                logger.info("Fetching all picks for week {}", week);
-                picksToScore = pickRepository.findAll().stream()
-                        .filter(pick -> gameIdsInWeek.contains(pick.getGame().getId()))
-                        .collect(Collectors.toList());
-                logger.info("Found {} picks for week {}", picksToScore.size(), week);
-            }
+            logger.info("Fetching all picks for week {}", week);
+            List<Pick> picksToScore = pickRepository.findAllForLeaderboard().stream()
+                    .filter(pick -> gameIdsInWeek.contains(pick.getGame().getId()))
+                    .collect(Collectors.toList());
+            logger.info("Found {} picks for week {}", picksToScore.size(), week);
             
             List<PlayerScore> result = calculateLeaderboard(picksToScore);
             logger.info("Calculated leaderboard with {} players", result.size());
+            event.pickRows = picksToScore.size();
+            event.players = result.size();
             return result;
         } catch (Exception e) {
             logger.error("Error getting weekly leaderboard for week: {}, leagueId: {}", week, leagueId, e);
             throw e;
+        } finally {
+            event.commit();
         }
     }
 
     public List<PlayerScore> getSeasonLeaderboard(Long leagueId) {
+        return metrics.recordLeaderboard("season", leagueId, () -> seasonLeaderboard(leagueId));
+    }
+
+    private List<PlayerScore> seasonLeaderboard(Long leagueId) {
         logger.info("Getting season leaderboard for leagueId: {}", leagueId);
         
+        LeaderboardEvent event = startEvent("season", leagueId, null);
         try {
-            List<Pick> allPicks;
             if (leagueId != null) {
-                logger.info("Fetching picks for league: {}", leagueId);
-                League league = leagueRepository.findById(leagueId)
-                        .orElseThrow(() -> new RuntimeException("League not found with id: " + leagueId));
-                allPicks = pickRepository.findByLeague(league);
-                logger.info("Found {} picks for league {}", allPicks.size(), leagueId);
-            } else {
-                logger.info("Fetching all picks for season");
-                allPicks = pickRepository.findAll();
-                logger.info("Found {} picks for season", allPicks.size());
+                event.leagueMembers = requireLeague(leagueId);
+                List<ScoredPickRow> rows = pickRepository.findScoredRowsByLeague(leagueId);
+                logger.info("Found {} picks for league {}", rows.size(), leagueId);
+                List<PlayerScore> result = LeagueWeekBits.leaderboard(LeagueWeekBits.byWeek(rows).values());
+                logger.info("Calculated season leaderboard with {} players", result.size());
+                event.pickRows = rows.size();
+                event.players = result.size();
+                return result;
             }
+
+            logger.info("Fetching all picks for season");
+            List<Pick> allPicks = pickRepository.findAllForLeaderboard();
+            logger.info("Found {} picks for season", allPicks.size());
             
             List<PlayerScore> result = calculateLeaderboard(allPicks);
             logger.info("Calculated season leaderboard with {} players", result.size());
+            event.pickRows = allPicks.size();
+            event.players = result.size();
             return result;
         } catch (Exception e) {
             logger.error("Error getting season leaderboard for leagueId: {}", leagueId, e);
             throw e;
+        } finally {
+            event.commit();
         }
     }
 
-    private List<PlayerScore> calculateLeaderboard(List<Pick> picks) {
+    /**
+     * The league's standings for the week if the given games ended with the given winners, scored in bits
+     * from the week's picks without changing anything
+     */
+    public List<PlayerScore> getWhatIfLeaderboard(Integer week, Long leagueId, Map<Long, String> winners) {
+        return metrics.recordLeaderboard("what_if", leagueId, () -> {
+            requireLeague(leagueId);
+            LeagueWeekBits bits = LeagueWeekBits.of(pickRepository.findScoredRowsByLeagueAndWeek(leagueId, week));
+            for (Map.Entry<Long, String> winner : winners.entrySet()) {
+                bits = bits.withWinner(winner.getKey(), winner.getValue());
+            }
+            return bits.leaderboard();
+        });
+    }
+
+    /**
+     * The league's member count; the same single query that checks the league exists
+     */
+    private int requireLeague(Long leagueId) {
+        return leagueRepository.findMemberCount(leagueId)
+                .map(Long::intValue)
+                .orElseThrow(() -> new RuntimeException("League not found with id: " + leagueId));
+    }
+
+    private LeaderboardEvent startEvent(String method, Long leagueId, Integer week) {
+        LeaderboardEvent event = new LeaderboardEvent();
+        event.begin();
+        event.method = method;
+        event.leagueId = leagueId != null ? leagueId : -1;
+        event.leagueMembers = -1;
+        event.week = week != null ? week : -1;
+        return event;
+    }
+
+    // Package-private so the JMH benchmarks in src/jmh/java can call it directly
+    List<PlayerScore> calculateLeaderboard(List<Pick> picks) {
         Map<String, PlayerScore> userScores = new HashMap<>();
         
         for (Pick pick : picks) {
@@ -119,9 +178,21 @@ public class LeaderboardService {
     }
 
     public List<WeeklyWinsDto> getWeeklyWins(Long leagueId) {
+        return metrics.recordLeaderboard("weekly_wins", leagueId, () -> weeklyWins(leagueId));
+    }
+
+    private List<WeeklyWinsDto> weeklyWins(Long leagueId) {
         logger.info("Getting weekly wins for leagueId: {}", leagueId);
         
+        LeaderboardEvent event = startEvent("weekly_wins", leagueId, null);
         try {
+            if (leagueId != null) {
+                List<WeeklyWinsDto> result = leagueWeeklyWins(leagueId, event);
+                logger.info("Calculated weekly wins for {} players", result.size());
+                event.players = result.size();
+                return result;
+            }
+
             Map<String, Long> weeklyWinsMap = new HashMap<>();
             
             // Get all weeks that have games
@@ -147,7 +218,7 @@ public class LeaderboardService {
                 }
                 
                 // Get weekly leaderboard for this week
-                List<PlayerScore> weeklyLeaderboard = getWeeklyLeaderboard(week, leagueId);
+                List<PlayerScore> weeklyLeaderboard = weeklyLeaderboard(week, leagueId);
                 
                 if (!weeklyLeaderboard.isEmpty()) {
                     // Find the highest score for this week
@@ -167,47 +238,64 @@ public class LeaderboardService {
                 }
             }
             
-            // Convert to WeeklyWinsDto list
+            // Without a league there is no name to go by
             List<WeeklyWinsDto> result = weeklyWinsMap.entrySet().stream()
-                    .map(entry -> {
-                        String username = entry.getKey();
-                        Long wins = entry.getValue();
-                        
-                        // Get the name from any pick by this user
-                        String name = username; // Default to username
-                        if (leagueId != null) {
-                            League league = leagueRepository.findById(leagueId)
-                                    .orElseThrow(() -> new RuntimeException("League not found with id: " + leagueId));
-                            List<Pick> userPicks = pickRepository.findByLeague(league).stream()
-                                    .filter(pick -> pick.getUser().getUsername().equals(username))
-                                    .collect(Collectors.toList());
-                            if (!userPicks.isEmpty()) {
-                                name = userPicks.get(0).getUser().getName();
-                            }
-                        }
-                        
-                        return new WeeklyWinsDto(username, name, wins);
-                    })
+                    .map(entry -> new WeeklyWinsDto(entry.getKey(), entry.getKey(), entry.getValue()))
                     .sorted(Comparator.comparing(WeeklyWinsDto::getWeeklyWins).reversed()
                             .thenComparing(WeeklyWinsDto::getUsername))
                     .collect(Collectors.toList());
             
             logger.info("Calculated weekly wins for {} players", result.size());
+            event.players = result.size();
             return result;
         } catch (Exception e) {
             logger.error("Error getting weekly wins for leagueId: {}", leagueId, e);
             throw e;
+        } finally {
+            event.commit();
         }
     }
 
+    /**
+     * Weekly wins of a league from one read of its picks: each week whose games are all scored is scored in
+     * bits, and everyone tied for the most correct picks gets a win
+     */
+    private List<WeeklyWinsDto> leagueWeeklyWins(Long leagueId, LeaderboardEvent event) {
+        event.leagueMembers = requireLeague(leagueId);
+        Map<Integer, List<Game>> gamesByWeek = gameRepository.findAll().stream()
+                .collect(Collectors.groupingBy(Game::getWeek));
+        List<ScoredPickRow> rows = pickRepository.findScoredRowsByLeague(leagueId);
+        event.pickRows = rows.size();
+
+        Map<String, WeeklyWinsDto> wins = new HashMap<>();
+        LeagueWeekBits.byWeek(rows).forEach((week, bits) -> {
+            List<Game> weekGames = gamesByWeek.getOrDefault(week, List.of());
+            if (!weekGames.stream().allMatch(Game::isScored)) {
+                logger.info("Week {}: Not all games scored yet, skipping weekly wins calculation", week);
+                return;
+            }
+            for (PlayerScore winner : bits.winners()) {
+                WeeklyWinsDto winnerWins = wins.computeIfAbsent(winner.getUsername(),
+                        username -> new WeeklyWinsDto(username, winner.getName(), 0L));
+                winnerWins.setWeeklyWins(winnerWins.getWeeklyWins() + 1);
+            }
+        });
+        return wins.values().stream()
+                .sorted(Comparator.comparing(WeeklyWinsDto::getWeeklyWins).reversed()
+                        .thenComparing(WeeklyWinsDto::getUsername))
+                .collect(Collectors.toList());
+    }
+
     /**
      * Check if all games for a specific week have been scored
      */
     public boolean isWeekComplete(Integer week) {
-        List<Game> weekGames = gameRepository.findByWeek(week);
-        if (weekGames.isEmpty()) {
-            return false; // No games for this week
-        }
-        return weekGames.stream().allMatch(Game::isScored);
+        return metrics.recordLeaderboard("week_complete", null, () -> {
+            List<Game> weekGames = gameRepository.findByWeek(week);
+            if (weekGames.isEmpty()) {
+                return false; // No games for this week
+            }
+            return weekGames.stream().allMatch(Game::isScored);
+        });
     }
 } 
\ No newline at end of file
@@ -1,9 +1,11 @@
 package com.nflpickem.pickem.service;
 
+import com.nflpickem.pickem.dto.LeagueResponse;
 import com.nflpickem.pickem.model.League;
 import com.nflpickem.pickem.model.User;
 import com.nflpickem.pickem.repository.LeagueRepository;
 import com.nflpickem.pickem.repository.UserRepository;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -11,7 +13,6 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @Service
 public class LeagueService {
@@ -19,10 +20,12 @@ public class LeagueService {
     
     private final LeagueRepository leagueRepository;
     private final UserRepository userRepository;
+    private final MembershipService membershipService;
 
-    public LeagueService(LeagueRepository leagueRepository, UserRepository userRepository) {
+    public LeagueService(LeagueRepository leagueRepository, UserRepository userRepository, MembershipService membershipService) {
         this.leagueRepository = leagueRepository;
         this.userRepository = userRepository;
+        this.membershipService = membershipService;
     }
 
     public League createLeague(String leagueName, Long adminId) {
@@ -39,6 +42,7 @@ public class LeagueService {
         league.addMember(admin); // Admin is automatically a member
         
         League savedLeague = leagueRepository.save(league);
+        membershipService.invalidate(adminId);
         logger.info("Created league: {} with id: {}", leagueName, savedLeague.getId());
         return savedLeague;
     }
@@ -46,19 +50,45 @@ public class LeagueService {
     public League joinLeague(String joinCode, Long userId) {
         logger.info("Joining league with code: {} for user: {}", joinCode, userId);
         
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
+        }
         League league = leagueRepository.findByJoinCode(joinCode)
                 .orElseThrow(() -> new RuntimeException("Invalid join code: " + joinCode));
 
-        if (league.getMembers().contains(user)) {
+        if (membershipService.isMemberUncached(userId, league.getId())) {
             throw new RuntimeException("User is already a member of this league");
         }
 
-        league.addMember(user);
-        League savedLeague = leagueRepository.save(league);
+        try {
+            leagueRepository.insertMember(league.getId(), userId);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent join by the same user won the insert
+            throw new RuntimeException("User is already a member of this league");
+        } finally {
+            membershipService.invalidate(userId);
+        }
         logger.info("User {} joined league: {}", userId, league.getName());
-        return savedLeague;
+        return league;
+    }
+
+    public void leaveLeague(Long leagueId, Long userId) {
+        logger.info("User {} leaving league: {}", userId, leagueId);
+
+        League league = leagueRepository.findById(leagueId)
+                .orElseThrow(() -> new RuntimeException("League not found with id: " + leagueId));
+        if (league.getAdmin() != null && userId.equals(league.getAdmin().getId())) {
+            throw new RuntimeException("The league admin cannot leave the league");
+        }
+
+        try {
+            if (leagueRepository.deleteMember(leagueId, userId) == 0) {
+                throw new RuntimeException("User is not a member of this league");
+            }
+        } finally {
+            membershipService.invalidate(userId);
+        }
+        logger.info("User {} left league: {}", userId, league.getName());
     }
 
     public Optional<League> getLeagueById(Long id) {
@@ -66,26 +96,26 @@ public class LeagueService {
         return leagueRepository.findById(id);
     }
 
-    public List<League> getLeaguesByUserId(Long userId) {
+    /**
+     * The league with its admin and members, read as a projection so no entities are loaded
+     */
+    public Optional<LeagueResponse> getLeagueResponse(Long id) {
+        logger.info("Getting league details for id: {}", id);
+        return Optional.ofNullable(LeagueResponse.fromRows(leagueRepository.findMemberRows(id)));
+    }
+
+    /**
+     * Leagues the user belongs to, without member lists
+     */
+    public List<LeagueResponse> getLeaguesByUserId(Long userId) {
         logger.info("Getting leagues for user: {}", userId);
         
-        try {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
-            
-            List<League> allLeagues = leagueRepository.findAll();
-            logger.info("Found {} total leagues", allLeagues.size());
-            
-            List<League> userLeagues = allLeagues.stream()
-                    .filter(league -> league.getMembers().contains(user))
-                    .collect(Collectors.toList());
-            
-            logger.info("User {} is a member of {} leagues", userId, userLeagues.size());
-            return userLeagues;
-        } catch (Exception e) {
-            logger.error("Error getting leagues for user: {}", userId, e);
-            throw e;
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found with id: " + userId);
         }
+        List<LeagueResponse> userLeagues = leagueRepository.findSummariesByMember(userId);
+        logger.info("User {} is a member of {} leagues", userId, userLeagues.size());
+        return userLeagues;
     }
 
     private String generateUniqueJoinCode() {
@@ -0,0 +1,198 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.PlayerScore;
+import com.nflpickem.pickem.dto.ScoredPickRow;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * One league's picks for one week as bits, so a whole league is scored with a few instructions per member.
+ * Each game of the week has a bit (a week has at most 16 games, one long holds them all). Per member, picks has
+ * the bit set for each game they picked the home team in and made for each game they picked at all; results has
+ * the bit set for each game the home team won and scored for each game that has a winner. A member's correct
+ * picks are then bitCount(~(picks ^ results) & made & scored), the same as comparing each picked team with the
+ * winning team the way scoring does.
+ * <p>
+ * Immutable; withWinner gives a copy with another result for one game, for what-if standings.
+ */
+final class LeagueWeekBits {
+
+    private static final LeagueWeekBits EMPTY = new LeagueWeekBits(new long[0], new String[0], new String[0], 0, 0,
+        new long[0], new String[0], new String[0], new long[0], new long[0]);
+
+    private final long[] gameIds;
+    private final String[] homeTeams;
+    private final String[] awayTeams;
+    private final long results;
+    private final long scored;
+    private final long[] userIds;
+    private final String[] usernames;
+    private final String[] names;
+    private final long[] picks;
+    private final long[] made;
+
+    private LeagueWeekBits(long[] gameIds, String[] homeTeams, String[] awayTeams, long results, long scored,
+                           long[] userIds, String[] usernames, String[] names, long[] picks, long[] made) {
+        this.gameIds = gameIds;
+        this.homeTeams = homeTeams;
+        this.awayTeams = awayTeams;
+        this.results = results;
+        this.scored = scored;
+        this.userIds = userIds;
+        this.usernames = usernames;
+        this.names = names;
+        this.picks = picks;
+        this.made = made;
+    }
+
+    /**
+     * The bits of one week's picks. Games and members are numbered in the order they first appear.
+     */
+    static LeagueWeekBits of(List<ScoredPickRow> rows) {
+        if (rows.isEmpty()) {
+            return EMPTY;
+        }
+        Map<Long, ScoredPickRow> games = new LinkedHashMap<>();
+        Map<Long, Integer> members = new LinkedHashMap<>();
+        for (ScoredPickRow row : rows) {
+            games.putIfAbsent(row.gameId(), row);
+            members.putIfAbsent(row.userId(), members.size());
+        }
+        if (games.size() > Long.SIZE) {
+            throw new IllegalArgumentException("A week of " + games.size() + " games does not fit in " + Long.SIZE + " bits");
+        }
+
+        int gameCount = games.size();
+        long[] gameIds = new long[gameCount];
+        String[] homeTeams = new String[gameCount];
+        String[] awayTeams = new String[gameCount];
+        Map<Long, Integer> gameIndex = new LinkedHashMap<>();
+        long results = 0;
+        long scored = 0;
+        for (ScoredPickRow game : games.values()) {
+            int index = gameIndex.size();
+            gameIndex.put(game.gameId(), index);
+            gameIds[index] = game.gameId();
+            homeTeams[index] = game.homeTeam();
+            awayTeams[index] = game.awayTeam();
+            results |= homeWon(game.homeTeam(), game.winningTeam()) ? 1L << index : 0;
+            scored |= game.scored() && hasWinner(game.homeTeam(), game.awayTeam(), game.winningTeam()) ? 1L << index : 0;
+        }
+
+        int memberCount = members.size();
+        long[] userIds = new long[memberCount];
+        String[] usernames = new String[memberCount];
+        String[] names = new String[memberCount];
+        long[] picks = new long[memberCount];
+        long[] made = new long[memberCount];
+        for (ScoredPickRow row : rows) {
+            int member = members.get(row.userId());
+            userIds[member] = row.userId();
+            usernames[member] = row.username();
+            names[member] = row.name();
+            long bit = 1L << gameIndex.get(row.gameId());
+            if (row.pickedTeam().equals(row.homeTeam())) {
+                picks[member] |= bit;
+                made[member] |= bit;
+            } else if (row.pickedTeam().equals(row.awayTeam())) {
+                made[member] |= bit;
+            }
+        }
+        return new LeagueWeekBits(gameIds, homeTeams, awayTeams, results, scored, userIds, usernames, names, picks, made);
+    }
+
+    /**
+     * A season's picks split into weeks, in week order
+     */
+    static Map<Integer, LeagueWeekBits> byWeek(List<ScoredPickRow> rows) {
+        Map<Integer, LeagueWeekBits> weeks = new TreeMap<>();
+        rows.stream()
+            .collect(Collectors.groupingBy(ScoredPickRow::week))
+            .forEach((week, weekRows) -> weeks.put(week, of(weekRows)));
+        return weeks;
+    }
+
+    int size() {
+        return userIds.length;
+    }
+
+    int correct(int member) {
+        return Long.bitCount(~(picks[member] ^ results) & made[member] & scored);
+    }
+
+    /**
+     * The same picks scored as if the game had ended with the given winner
+     */
+    LeagueWeekBits withWinner(long gameId, String winningTeam) {
+        for (int index = 0; index < gameIds.length; index++) {
+            if (gameIds[index] == gameId) {
+                long bit = 1L << index;
+                long newResults = homeWon(homeTeams[index], winningTeam) ? results | bit : results & ~bit;
+                long newScored = hasWinner(homeTeams[index], awayTeams[index], winningTeam) ? scored | bit : scored & ~bit;
+                return new LeagueWeekBits(gameIds, homeTeams, awayTeams, newResults, newScored,
+                    userIds, usernames, names, picks, made);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Members with at least one correct pick, most correct first
+     */
+    List<PlayerScore> leaderboard() {
+        return leaderboard(List.of(this));
+    }
+
+    /**
+     * Members with at least one correct pick over the given weeks, most correct first
+     */
+    static List<PlayerScore> leaderboard(Collection<LeagueWeekBits> weeks) {
+        Map<Long, PlayerScore> scores = new LinkedHashMap<>();
+        for (LeagueWeekBits week : weeks) {
+            for (int member = 0; member < week.size(); member++) {
+                int correct = week.correct(member);
+                if (correct > 0) {
+                    PlayerScore score = scores.computeIfAbsent(week.userIds[member],
+                        userId -> new PlayerScore(null, null, 0L));
+                    score.setUsername(week.usernames[member]);
+                    score.setName(week.names[member]);
+                    score.setScore(score.getScore() + correct);
+                }
+            }
+        }
+        return sorted(scores.values());
+    }
+
+    /**
+     * The members with the most correct picks, if anyone picked correctly at all
+     */
+    List<PlayerScore> winners() {
+        List<PlayerScore> standings = leaderboard();
+        if (standings.isEmpty()) {
+            return standings;
+        }
+        long top = standings.get(0).getScore();
+        return standings.stream().filter(score -> score.getScore() == top).toList();
+    }
+
+    private static List<PlayerScore> sorted(Collection<PlayerScore> scores) {
+        List<PlayerScore> standings = new ArrayList<>(scores);
+        standings.sort(Comparator.comparing(PlayerScore::getScore).reversed().thenComparing(PlayerScore::getUsername));
+        return standings;
+    }
+
+    private static boolean homeWon(String homeTeam, String winningTeam) {
+        return homeTeam.equals(winningTeam);
+    }
+
+    private static boolean hasWinner(String homeTeam, String awayTeam, String winningTeam) {
+        return homeTeam.equals(winningTeam) || awayTeam.equals(winningTeam);
+    }
+}
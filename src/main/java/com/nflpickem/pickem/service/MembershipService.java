@@ -0,0 +1,87 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.repository.LeagueRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * League membership checks without loading member collections. Pick validation reads a bounded LRU cache
+ * of each user's league ids (one indexed query on a miss); joins and leaves check league_members with an
+ * EXISTS query and invalidate the user's entry. Entries also expire after a TTL so changes made by another
+ * instance or straight in the database are picked up.
+ */
+@Service
+public class MembershipService {
+
+    private final LeagueRepository leagueRepository;
+    private final Clock clock;
+    private final Duration ttl;
+    private final Map<Long, Entry> cache;
+    // Bumped on every invalidation so a load that raced with a join or leave is not cached
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public MembershipService(LeagueRepository leagueRepository, Clock clock,
+                             @Value("${MEMBERSHIP_CACHE_SIZE:10000}") int maxUsers,
+                             @Value("${MEMBERSHIP_CACHE_TTL_SECONDS:300}") long ttlSeconds) {
+        this.leagueRepository = leagueRepository;
+        this.clock = clock;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxUsers;
+            }
+        });
+    }
+
+    /**
+     * Whether the user belongs to the league, answered from the cache when possible
+     */
+    public boolean isMember(Long userId, Long leagueId) {
+        return leagueIds(userId).contains(leagueId);
+    }
+
+    /**
+     * Ids of the leagues the user belongs to
+     */
+    public Set<Long> leagueIds(Long userId) {
+        Instant now = clock.instant();
+        Entry entry = cache.get(userId);
+        if (entry != null && now.isBefore(entry.expiresAt())) {
+            return entry.leagueIds();
+        }
+        long generation = invalidations.get();
+        Set<Long> leagueIds = Set.copyOf(leagueRepository.findLeagueIdsByMemberId(userId));
+        if (invalidations.get() == generation) {
+            cache.put(userId, new Entry(leagueIds, now.plus(ttl)));
+        }
+        return leagueIds;
+    }
+
+    /**
+     * Membership straight from the database, for writes that must not act on a stale answer
+     */
+    public boolean isMemberUncached(Long userId, Long leagueId) {
+        return leagueRepository.existsMembership(leagueId, userId);
+    }
+
+    /**
+     * Forget the user's cached leagues after they joined or left one
+     */
+    public void invalidate(Long userId) {
+        invalidations.incrementAndGet();
+        cache.remove(userId);
+    }
+
+    private record Entry(Set<Long> leagueIds, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,82 @@
+package com.nflpickem.pickem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+
+/**
+ * Deletes stale odds with set-based statements in bounded chunks. Each chunk is its own short
+ * transaction with a statement timeout, so the nightly cleanup never holds locks for long or loads
+ * entities, however much odds history has built up.
+ */
+@Service
+public class OddsCleanupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(OddsCleanupService.class);
+
+    private static final String COUNT_STALE = "SELECT COUNT(*) FROM betting_odds WHERE last_updated < ?";
+
+    // The id subquery bounds each statement to one chunk on both PostgreSQL and H2
+    private static final String DELETE_STALE_CHUNK =
+        "DELETE FROM betting_odds WHERE id IN (SELECT id FROM betting_odds WHERE last_updated < ? ORDER BY id LIMIT ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+
+    @Value("${ODDS_CLEANUP_BATCH_SIZE:1000}")
+    private int batchSize;
+
+    @Value("${ODDS_CLEANUP_MAX_BATCHES:500}")
+    private int maxBatches;
+
+    public OddsCleanupService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                              @Value("${ODDS_CLEANUP_STATEMENT_TIMEOUT_SECONDS:30}") int statementTimeoutSeconds) {
+        // A copy, so the timeout does not leak into other users of the shared JdbcTemplate
+        this.jdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.jdbcTemplate.setQueryTimeout(statementTimeoutSeconds);
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        // Commit every chunk on its own, even when called from a transactional service
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Delete odds last updated before cutoff, batchSize rows per transaction and at most maxBatches
+     * chunks per run (the rest goes on the next run). With dryRun only counts what would be deleted.
+     */
+    public CleanupResult deleteStaleOdds(Instant cutoff, boolean dryRun) {
+        Timestamp cutoffTimestamp = Timestamp.from(cutoff);
+        long stale = jdbcTemplate.queryForObject(COUNT_STALE, Long.class, cutoffTimestamp);
+        if (dryRun || stale == 0) {
+            return new CleanupResult(cutoff, stale, 0, 0, dryRun);
+        }
+
+        long deleted = 0;
+        int batches = 0;
+        while (batches < maxBatches) {
+            Integer rows = chunkTransaction.execute(status ->
+                jdbcTemplate.update(DELETE_STALE_CHUNK, cutoffTimestamp, batchSize));
+            batches++;
+            deleted += rows != null ? rows : 0;
+            if (rows == null || rows < batchSize) {
+                break;
+            }
+        }
+        logger.info("Deleted {} of {} stale odds rows (before {}) in {} batches", deleted, stale, cutoff, batches);
+        return new CleanupResult(cutoff, stale, deleted, batches, false);
+    }
+
+    /**
+     * @param staleRows rows older than the cutoff when the run started
+     * @param deletedRows rows actually deleted (0 on a dry run)
+     */
+    public record CleanupResult(Instant cutoff, long staleRows, long deletedRows, int batches, boolean dryRun) {
+    }
+}
@@ -0,0 +1,190 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.monitoring.OddsApiQuota;
+import com.nflpickem.pickem.repository.BettingOddsRepository;
+import com.nflpickem.pickem.repository.GameRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decides when odds are refreshed. Lines move most close to kickoff, so the refresh interval shrinks as the
+ * next open game approaches, and nothing is refreshed for games that have kicked off (picks are locked).
+ * The schedule for the rest of the month is simulated against the known kickoffs; when it would spend more
+ * than the monthly budget allows (after a reserve for score fetches), every interval is stretched by the
+ * same factor so the budget lasts until the quota resets.
+ */
+@Service
+public class OddsRefreshPlanner {
+
+    public static final String PROJECTED_USAGE = "pickem.odds.api.quota.projected";
+
+    /**
+     * Refresh interval by time until the next kickoff: within 2 hours every 15 minutes, within 12 hours
+     * hourly, within 2 days every 4 hours, within a week twice a day, otherwise daily
+     */
+    private static final Duration[][] TIERS = {
+        {Duration.ofHours(2), Duration.ofMinutes(15)},
+        {Duration.ofHours(12), Duration.ofHours(1)},
+        {Duration.ofDays(2), Duration.ofHours(4)},
+        {Duration.ofDays(7), Duration.ofHours(12)},
+    };
+    private static final Duration IDLE_INTERVAL = Duration.ofHours(24);
+
+    // regions=us&markets=spreads costs one credit per refresh
+    private static final int CREDITS_PER_REFRESH = 1;
+
+    private final GameRepository gameRepository;
+    private final BettingOddsRepository bettingOddsRepository;
+    private final OddsApiQuota quota;
+    private final Clock clock;
+    private volatile Instant lastAttempt;
+    private volatile RefreshPlan lastPlan;
+
+    @Value("${ODDS_API_MONTHLY_BUDGET:500}")
+    private long monthlyBudget;
+
+    @Value("${ODDS_API_RESERVED_CREDITS:200}")
+    private long reservedCredits;
+
+    public OddsRefreshPlanner(GameRepository gameRepository, BettingOddsRepository bettingOddsRepository,
+                              OddsApiQuota quota, Clock clock, MeterRegistry registry) {
+        this.gameRepository = gameRepository;
+        this.bettingOddsRepository = bettingOddsRepository;
+        this.quota = quota;
+        this.clock = clock;
+        Gauge.builder(PROJECTED_USAGE, this, planner -> planner.lastPlan != null ? planner.lastPlan.projectedMonthEndUsage() : -1)
+            .description("Credits projected to be used by the end of the month under the current refresh plan")
+            .register(registry);
+    }
+
+    /**
+     * Work out the current plan: when the odds were last refreshed, the interval that applies now and
+     * how much of the monthly budget the plan will have used when the quota resets
+     */
+    public RefreshPlan plan() {
+        Instant now = clock.instant();
+        Instant monthEnd = YearMonth.from(now.atZone(ZoneOffset.UTC)).plusMonths(1).atDay(1)
+            .atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        Optional<Game> nextGame = gameRepository.findFirstByKickoffTimeAfterOrderByKickoffTimeAsc(now);
+        Integer week = nextGame.map(Game::getWeek).orElse(null);
+        Instant nextKickoff = nextGame.map(Game::getKickoffTime).orElse(null);
+        List<Instant> kickoffs = gameRepository.findKickoffTimesAfter(now);
+
+        // A refresh writes every game that has not kicked off, whatever its week
+        Instant lastRefresh = bettingOddsRepository.findLatestUpdateForOpenGames(now);
+        Instant attempt = lastAttempt;
+        if (attempt != null && (lastRefresh == null || attempt.isAfter(lastRefresh))) {
+            // A failed or empty refresh still counts, so failures do not turn into a retry every tick
+            lastRefresh = attempt;
+        }
+
+        long used = quota.getUsedThisMonth();
+        long remaining = monthlyBudget - used;
+        long reported = quota.getRemaining();
+        if (reported >= 0) {
+            remaining = Math.min(remaining, reported);
+        }
+        long spendable = remaining - reservedCredits;
+
+        Instant firstRefresh = lastRefresh == null ? now : max(now, lastRefresh.plus(interval(nextKickoff, now, 1.0)));
+        long planned = countRefreshes(firstRefresh, monthEnd, kickoffs, 1.0);
+        double stretch = 1.0;
+        if (spendable <= 0) {
+            stretch = Double.POSITIVE_INFINITY;
+        } else if (planned * CREDITS_PER_REFRESH > spendable) {
+            stretch = planned * CREDITS_PER_REFRESH / (double) spendable;
+        }
+
+        Duration interval;
+        Instant nextRefresh;
+        if (Double.isInfinite(stretch)) {
+            // Out of budget: hold off until the quota resets
+            interval = Duration.between(now, monthEnd);
+            nextRefresh = monthEnd;
+            planned = 0;
+        } else {
+            interval = interval(nextKickoff, now, stretch);
+            nextRefresh = lastRefresh == null ? now : max(now, lastRefresh.plus(interval));
+            planned = countRefreshes(nextRefresh, monthEnd, kickoffs, stretch);
+        }
+
+        RefreshPlan plan = new RefreshPlan(now, week, nextKickoff, lastRefresh, interval, nextRefresh,
+            !nextRefresh.isAfter(now), stretch, planned, used, remaining, monthlyBudget,
+            used + planned * CREDITS_PER_REFRESH);
+        lastPlan = plan;
+        return plan;
+    }
+
+    /**
+     * Whether a refresh is due now
+     */
+    public boolean isRefreshDue() {
+        return plan().due();
+    }
+
+    /**
+     * Note that a refresh was attempted, whether or not it stored anything
+     */
+    public void recordAttempt() {
+        lastAttempt = clock.instant();
+    }
+
+    /**
+     * Refreshes the tiers would run from start until end, given the upcoming kickoffs
+     */
+    static long countRefreshes(Instant start, Instant end, List<Instant> kickoffs, double stretch) {
+        long count = 0;
+        int next = 0;
+        Instant at = start;
+        while (at.isBefore(end)) {
+            count++;
+            while (next < kickoffs.size() && !kickoffs.get(next).isAfter(at)) {
+                next++;
+            }
+            Instant nextKickoff = next < kickoffs.size() ? kickoffs.get(next) : null;
+            at = at.plus(interval(nextKickoff, at, stretch));
+        }
+        return count;
+    }
+
+    static Duration interval(Instant nextKickoff, Instant at, double stretch) {
+        Duration base = IDLE_INTERVAL;
+        if (nextKickoff != null) {
+            Duration untilKickoff = Duration.between(at, nextKickoff);
+            for (Duration[] tier : TIERS) {
+                if (untilKickoff.compareTo(tier[0]) <= 0) {
+                    base = tier[1];
+                    break;
+                }
+            }
+        }
+        return stretch == 1.0 ? base : Duration.ofSeconds((long) Math.ceil(base.toSeconds() * stretch));
+    }
+
+    private static Instant max(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    /**
+     * @param stretch factor applied to every tier interval to stay within budget (1 = unconstrained)
+     * @param plannedRefreshes refreshes the plan will still make before the quota resets
+     * @param projectedMonthEndUsage credits used so far plus the planned refreshes; score fetches come out of the reserve
+     */
+    public record RefreshPlan(Instant now, Integer week, Instant nextKickoff, Instant lastRefresh,
+                              Duration interval, Instant nextRefresh, boolean due, double stretch,
+                              long plannedRefreshes, long usedThisMonth, long remaining, long monthlyBudget,
+                              long projectedMonthEndUsage) {
+    }
+}
@@ -1,10 +1,15 @@
 package com.nflpickem.pickem.service;
 
+import com.nflpickem.pickem.config.DatabasePlatform;
 import com.nflpickem.pickem.model.BettingOdds;
 import com.nflpickem.pickem.model.Game;
 import com.nflpickem.pickem.repository.BettingOddsRepository;
 import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.monitoring.OddsIngestionEvent;
+import com.nflpickem.pickem.resilience.OddsApiUnavailableException;
+import com.nflpickem.pickem.util.NflSeasonCalendar;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
@@ -14,12 +19,17 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.ResourceAccessException;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +42,14 @@ public class OddsService {
     private final BettingOddsRepository bettingOddsRepository;
     private final GameRepository gameRepository;
     private final RestTemplate restTemplate;
+    private final Clock clock;
+    private final DatabasePlatform databasePlatform;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OddsCleanupService oddsCleanupService;
+    private final NflSeasonCalendar seasonCalendar;
+    
+    // Last stored values per odds row, so refreshes can skip rows that did not change
+    private final Map<OddsKey, OddsValues> storedOdds = new ConcurrentHashMap<>();
     
     @Value("${ODDS_API_KEY:}")
     private String oddsApiKey;
@@ -42,13 +60,20 @@ public class OddsService {
     @Value("${ODDS_UPDATE_INTERVAL_HOURS}")
     private int updateIntervalHours;
     
-    @Value("${NFL_SEASON_START_DATE}")
-    private String nflSeasonStartDate;
+    @Value("${ODDS_HEARTBEAT_MINUTES:60}")
+    private long heartbeatMinutes;
     
-    public OddsService(BettingOddsRepository bettingOddsRepository, GameRepository gameRepository) {
+    public OddsService(BettingOddsRepository bettingOddsRepository, GameRepository gameRepository, RestTemplate oddsApiRestTemplate,
+                       Clock clock, DatabasePlatform databasePlatform, ApplicationEventPublisher eventPublisher,
+                       OddsCleanupService oddsCleanupService, NflSeasonCalendar seasonCalendar) {
         this.bettingOddsRepository = bettingOddsRepository;
         this.gameRepository = gameRepository;
-        this.restTemplate = new RestTemplate();
+        this.restTemplate = oddsApiRestTemplate;
+        this.clock = clock;
+        this.databasePlatform = databasePlatform;
+        this.eventPublisher = eventPublisher;
+        this.oddsCleanupService = oddsCleanupService;
+        this.seasonCalendar = seasonCalendar;
     }
     
     /**
@@ -79,6 +104,10 @@ public class OddsService {
         } catch (HttpClientErrorException e) {
             logger.error("Error fetching odds from API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Failed to fetch odds from API: " + e.getMessage());
+        } catch (OddsApiUnavailableException e) {
+            // Stored odds stay in place and keep being served until the API recovers
+            logger.warn("Skipping odds fetch: {}", e.getMessage());
+            throw e;
         } catch (ResourceAccessException e) {
             logger.error("Network error fetching odds: {}", e.getMessage());
             throw new RuntimeException("Network error fetching odds: " + e.getMessage());
@@ -118,6 +147,10 @@ public class OddsService {
         } catch (HttpClientErrorException e) {
             logger.error("Error fetching odds from API: {} - {}", e.getStatusCode(), e.getResponseBodyAsString());
             throw new RuntimeException("Failed to fetch odds from API: " + e.getMessage());
+        } catch (OddsApiUnavailableException e) {
+            // Stored odds stay in place and keep being served until the API recovers
+            logger.warn("Skipping odds fetch: {}", e.getMessage());
+            throw e;
         } catch (ResourceAccessException e) {
             logger.error("Network error fetching odds: {}", e.getMessage());
             throw new RuntimeException("Network error fetching odds: " + e.getMessage());
@@ -187,7 +220,7 @@ public class OddsService {
      * Determine the NFL week from a game's commence time
      * This is a complex calculation because NFL weeks don't follow a simple pattern
      */
-    private Integer determineWeekFromGameTime(String commenceTime) {
+    Integer determineWeekFromGameTime(String commenceTime) {
         try {
             Instant gameTime = Instant.parse(commenceTime);
             LocalDate gameDate = gameTime.atZone(java.time.ZoneId.of("America/New_York")).toLocalDate();
@@ -200,7 +233,7 @@ public class OddsService {
             }
             
             // NFL season typically starts the first Thursday after Labor Day (first Monday of September)
-            LocalDate nflSeasonStart = calculateNflSeasonStart(seasonYear);
+            LocalDate nflSeasonStart = seasonCalendar.seasonStart(seasonYear);
             
             if (gameDate.isBefore(nflSeasonStart)) {
                 // Before season start - could be preseason or previous season
@@ -220,43 +253,6 @@ public class OddsService {
         }
     }
     
-    /**
-     * Calculate the NFL season start date for a given year
-     * NFL season starts the first Thursday after Labor Day (first Monday of September)
-     * Can be overridden by configuration
-     */
-    private LocalDate calculateNflSeasonStart(int year) {
-        // Check if season start date is configured
-        if (nflSeasonStartDate != null && !nflSeasonStartDate.trim().isEmpty()) {
-            try {
-                // Remove quotes if present (common issue with environment variables)
-                String cleanDate = nflSeasonStartDate.trim().replaceAll("^\"|\"$", "");
-                LocalDate configuredStart = LocalDate.parse(cleanDate);
-                if (configuredStart.getYear() == year) {
-                    logger.debug("Using configured NFL season start date: {}", configuredStart);
-                    return configuredStart;
-                }
-            } catch (Exception e) {
-                logger.warn("Invalid NFL_SEASON_START_DATE format '{}', using calculated date: {}", nflSeasonStartDate, e.getMessage());
-            }
-        }
-        
-        // Default calculation: Labor Day is the first Monday of September
-        LocalDate septemberFirst = LocalDate.of(year, 9, 1);
-        LocalDate laborDay = septemberFirst.with(java.time.temporal.TemporalAdjusters.firstInMonth(java.time.DayOfWeek.MONDAY));
-        
-        // NFL season starts the first Thursday after Labor Day
-        LocalDate nflSeasonStart = laborDay.with(java.time.temporal.TemporalAdjusters.next(java.time.DayOfWeek.THURSDAY));
-        
-        // Special case: if Labor Day is already Thursday, season starts that day
-        if (laborDay.getDayOfWeek() == java.time.DayOfWeek.THURSDAY) {
-            nflSeasonStart = laborDay;
-        }
-        
-        logger.debug("Calculated NFL season start date for {}: {}", year, nflSeasonStart);
-        return nflSeasonStart;
-    }
-    
     /**
      * Calculate NFL week number based on game date and season start
      * NFL weeks run Thursday to Wednesday
@@ -301,7 +297,7 @@ public class OddsService {
         }
         
         // Check if it's from the previous season's playoffs
-        LocalDate previousYearSeasonStart = calculateNflSeasonStart(year - 1);
+        LocalDate previousYearSeasonStart = seasonCalendar.seasonStart(year - 1);
         LocalDate previousYearSeasonEnd = previousYearSeasonStart.plusDays(18 * 7); // Rough estimate
         
         if (gameDate.isAfter(previousYearSeasonEnd)) {
@@ -448,6 +444,7 @@ public class OddsService {
                     " from " + game.getKickoffTime() + " to " + newKickoffTime);
                 game.setKickoffTime(newKickoffTime);
                 gameRepository.save(game);
+                eventPublisher.publishEvent(new GameScheduleChangedEvent(Set.of(game.getId()), Set.of(game.getWeek())));
             }
         } catch (Exception e) {
             System.err.println("Error updating game time: " + e.getMessage());
@@ -482,6 +479,7 @@ public class OddsService {
             newGame.setWinningTeam("");
             
             Game savedGame = gameRepository.save(newGame);
+            eventPublisher.publishEvent(new GameScheduleChangedEvent(Set.of(savedGame.getId()), Set.of(week)));
             System.out.println("Created new game: " + savedGame.getAwayTeam() + " @ " + savedGame.getHomeTeam() + 
                 " for Week " + week + " at " + savedGame.getKickoffTime());
             
@@ -553,69 +551,154 @@ public class OddsService {
         }
         
         odds.setOddsType("american");
-        odds.setLastUpdated(Instant.now());
+        odds.setLastUpdated(Instant.now(clock));
         
         return odds;
     }
     
     /**
-     * Save or update odds for a week using upsert
+     * Save or update odds for a week, writing only rows whose values changed
      */
     public List<BettingOdds> updateOddsForWeek(Integer week) {
-        List<BettingOdds> fetchedOdds = fetchOddsForWeek(week);
-        List<BettingOdds> savedOdds = new ArrayList<>();
-        
-        for (BettingOdds odds : fetchedOdds) {
-            // Use upsert to atomically insert or update odds
-            bettingOddsRepository.upsertOdds(
-                odds.getGame().getId(),
-                odds.getSportsbook(),
-                odds.getOddsType(),
-                odds.getSpread(),
-                odds.getSpreadTeam(),
-                odds.getTotal(),
-                odds.getHomeTeamOdds(),
-                odds.getAwayTeamOdds(),
-                odds.getLastUpdated()
-            );
-            
-            // Fetch the saved odds to return
-            Optional<BettingOdds> savedOdd = bettingOddsRepository
-                .findByGameAndSportsbook(odds.getGame(), odds.getSportsbook());
-            savedOdd.ifPresent(savedOdds::add);
+        OddsIngestionEvent event = new OddsIngestionEvent();
+        event.begin();
+        event.week = week != null ? week : -1;
+        event.outcome = "error";
+        try {
+            List<BettingOdds> fetchedOdds = fetchOddsForWeek(week);
+            event.oddsRows = fetchedOdds.size();
+            List<BettingOdds> changedOdds = storeChangedOdds(fetchedOdds);
+            event.changedRows = changedOdds.size();
+            event.outcome = "success";
+            return changedOdds;
+        } finally {
+            event.commit();
         }
-        
-        return savedOdds;
     }
     
     /**
-     * Update all available odds and create/update games as needed using upsert
+     * Update all available odds and create/update games as needed, writing only rows whose values changed
      */
     public List<BettingOdds> updateAllAvailableOdds() {
-        List<BettingOdds> fetchedOdds = fetchAllAvailableOdds();
-        List<BettingOdds> savedOdds = new ArrayList<>();
-        
+        OddsIngestionEvent event = new OddsIngestionEvent();
+        event.begin();
+        event.week = -1;
+        event.outcome = "error";
+        try {
+            List<BettingOdds> fetchedOdds = fetchAllAvailableOdds();
+            event.oddsRows = fetchedOdds.size();
+            List<BettingOdds> changedOdds = storeChangedOdds(fetchedOdds);
+            event.changedRows = changedOdds.size();
+            event.outcome = "success";
+            return changedOdds;
+        } finally {
+            event.commit();
+        }
+    }
+    
+    /**
+     * Upsert the fetched odds whose values differ from what is stored and return the stored rows of the
+     * games that changed. Most refreshes return the same lines, so unchanged rows only get a heartbeat
+     * (lastUpdated, at most every ODDS_HEARTBEAT_MINUTES) and no churn. Stored values are remembered per
+     * (game, sportsbook, oddsType) row, which holds one market (spreads), so a refresh normally reads nothing.
+     */
+    private List<BettingOdds> storeChangedOdds(List<BettingOdds> fetchedOdds) {
+        Instant now = Instant.now(clock);
+        List<BettingOdds> openOdds = new ArrayList<>();
         for (BettingOdds odds : fetchedOdds) {
-            // Use upsert to atomically insert or update odds
-            bettingOddsRepository.upsertOdds(
-                odds.getGame().getId(),
-                odds.getSportsbook(),
-                odds.getOddsType(),
-                odds.getSpread(),
-                odds.getSpreadTeam(),
-                odds.getTotal(),
-                odds.getHomeTeamOdds(),
-                odds.getAwayTeamOdds(),
-                odds.getLastUpdated()
-            );
+            // Picks lock at kickoff, so the closing line is what they were made against; never overwrite it with live odds
+            Instant kickoff = odds.getGame().getKickoffTime();
+            if (kickoff == null || kickoff.isAfter(now)) {
+                openOdds.add(odds);
+            }
+        }
+        if (openOdds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        rememberStoredOdds(openOdds);
+        
+        Map<OddsKey, OddsValues> written = new HashMap<>();
+        Set<Long> refreshedGameIds = new HashSet<>();
+        Set<Long> changedGameIds = new HashSet<>();
+        for (BettingOdds odds : openOdds) {
+            OddsKey key = OddsKey.of(odds);
+            OddsValues values = OddsValues.of(odds);
+            refreshedGameIds.add(key.gameId());
+            if (values.equals(storedOdds.get(key)) || values.equals(written.get(key))) {
+                continue;
+            }
             
-            // Fetch the saved odds to return
-            Optional<BettingOdds> savedOdd = bettingOddsRepository
-                .findByGameAndSportsbook(odds.getGame(), odds.getSportsbook());
-            savedOdd.ifPresent(savedOdds::add);
+            // Upsert so concurrent refreshes cannot trip the unique constraint
+            if (databasePlatform.isH2()) {
+                bettingOddsRepository.mergeOdds(key.gameId(), key.sportsbook(), key.oddsType(), values.spread(),
+                    values.spreadTeam(), values.total(), values.homeTeamOdds(), values.awayTeamOdds(), now);
+            } else {
+                bettingOddsRepository.upsertOdds(key.gameId(), key.sportsbook(), key.oddsType(), values.spread(),
+                    values.spreadTeam(), values.total(), values.homeTeamOdds(), values.awayTeamOdds(), now);
+            }
+            written.put(key, values);
+            changedGameIds.add(key.gameId());
         }
         
-        return savedOdds;
+        int touched = bettingOddsRepository.touchOdds(refreshedGameIds, now, now.minus(Duration.ofMinutes(heartbeatMinutes)));
+        logger.info("Odds refresh: {} rows fetched, {} changed in {} games, {} heartbeats",
+            openOdds.size(), written.size(), changedGameIds.size(), touched);
+        
+        afterCommit(() -> storedOdds.putAll(written));
+        if (changedGameIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return bettingOddsRepository.findByGameIdIn(changedGameIds);
+    }
+    
+    /**
+     * Load the stored values of games not seen since startup, in one query
+     */
+    private void rememberStoredOdds(List<BettingOdds> odds) {
+        Set<Long> unknownGameIds = odds.stream()
+            .filter(o -> !storedOdds.containsKey(OddsKey.of(o)))
+            .map(o -> o.getGame().getId())
+            .collect(Collectors.toSet());
+        if (unknownGameIds.isEmpty()) {
+            return;
+        }
+        for (BettingOdds stored : bettingOddsRepository.findByGameIdIn(unknownGameIds)) {
+            storedOdds.putIfAbsent(OddsKey.of(stored), OddsValues.of(stored));
+        }
+    }
+    
+    /**
+     * Run once the surrounding transaction commits, so a rollback never leaves values remembered that
+     * were not stored; without a transaction run now
+     */
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+    
+    record OddsKey(Long gameId, String sportsbook, String oddsType) {
+        static OddsKey of(BettingOdds odds) {
+            return new OddsKey(odds.getGame().getId(), odds.getSportsbook(), odds.getOddsType());
+        }
+    }
+    
+    /**
+     * Fingerprint of a row: the values a refresh can change
+     */
+    record OddsValues(Double spread, String spreadTeam, Double total, Double homeTeamOdds, Double awayTeamOdds) {
+        static OddsValues of(BettingOdds odds) {
+            return new OddsValues(odds.getSpread(), odds.getSpreadTeam(), odds.getTotal(),
+                odds.getHomeTeamOdds(), odds.getAwayTeamOdds());
+        }
     }
     
     /**
@@ -636,23 +719,27 @@ public class OddsService {
      * Check if odds need updating
      */
     public boolean needsUpdate(Integer week) {
-        List<BettingOdds> existingOdds = bettingOddsRepository.findByWeek(week);
-        if (existingOdds.isEmpty()) {
+        // One aggregate instead of loading the week's rows; odds for locked games are frozen, so only
+        // the latest refresh says anything about freshness
+        Instant latestUpdate = bettingOddsRepository.findLatestUpdateForWeek(week);
+        if (latestUpdate == null) {
             return true;
         }
         
-        Instant cutoffTime = Instant.now().minusSeconds(updateIntervalHours * 3600);
-        return existingOdds.stream()
-            .anyMatch(odds -> odds.getLastUpdated().isBefore(cutoffTime));
+        Instant cutoffTime = Instant.now(clock).minusSeconds(updateIntervalHours * 3600L);
+        return latestUpdate.isBefore(cutoffTime);
     }
     
     /**
-     * Clean up stale odds
+     * Clean up stale odds in bounded set-based chunks; with dryRun only count them
      */
-    public void cleanupStaleOdds() {
-        Instant cutoffTime = Instant.now().minusSeconds(updateIntervalHours * 24 * 3600); // 24 hours older than update interval
-        List<BettingOdds> staleOdds = bettingOddsRepository.findStaleOdds(cutoffTime);
-        bettingOddsRepository.deleteAll(staleOdds);
+    public OddsCleanupService.CleanupResult cleanupStaleOdds(boolean dryRun) {
+        Instant cutoffTime = Instant.now(clock).minusSeconds(updateIntervalHours * 24L * 3600); // 24 hours older than update interval
+        OddsCleanupService.CleanupResult result = oddsCleanupService.deleteStaleOdds(cutoffTime, dryRun);
+        if (result.deletedRows() > 0) {
+            storedOdds.clear(); // Deleted rows must be written again if they come back
+        }
+        return result;
     }
     
     /**
@@ -0,0 +1,290 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.config.DatabasePlatform;
+import com.nflpickem.pickem.dto.PickCountRow;
+import com.nflpickem.pickem.dto.PickDistributionDto;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.PickDistribution;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.PickDistributionRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.service.KickoffLockTable.GameSlot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * How each league picked each game, as home and away counts in pick_distribution. Pick submissions do not
+ * touch those rows: they merge their change into an in-memory delta per (league, game), and a scheduled flush
+ * adds the deltas to the rows in one batch, so thousands of picks for the same game at kickoff become one
+ * update per flush instead of a queue of writers on one row.
+ * <p>
+ * A league's week is counted from its picks the first time it is read (or on request, see rebuild) and only
+ * kept up to date by deltas after that; a delta for a game that has no row yet is dropped, as the count from
+ * the picks will include it. Reads add the deltas not flushed yet.
+ * <p>
+ * Submissions write a pick and record its delta inside recording, which holds the league's read lock; a
+ * rebuild holds its write lock, so no pick is in its count and also in a delta still to be flushed.
+ */
+@Service
+public class PickDistributionCounters {
+
+    public static final String PENDING = "pickem.picks.distribution.pending";
+
+    private static final Logger logger = LoggerFactory.getLogger(PickDistributionCounters.class);
+
+    private static final String ADD_DELTA = """
+        UPDATE pick_distribution SET home_picks = home_picks + ?, away_picks = away_picks + ?
+        WHERE league_id = ? AND game_id = ?
+        """;
+    private static final String MERGE_COUNTS = """
+        MERGE INTO pick_distribution (league_id, game_id, home_picks, away_picks) KEY (league_id, game_id)
+        VALUES (?, ?, ?, ?)
+        """;
+    private static final String UPSERT_COUNTS = """
+        INSERT INTO pick_distribution (league_id, game_id, home_picks, away_picks) VALUES (?, ?, ?, ?)
+        ON CONFLICT (league_id, game_id) DO UPDATE SET home_picks = EXCLUDED.home_picks, away_picks = EXCLUDED.away_picks
+        """;
+    private static final int[] DELTA_TYPES = {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.BIGINT};
+
+    private final PickDistributionRepository distributionRepository;
+    private final PickRepository pickRepository;
+    private final GameRepository gameRepository;
+    private final PickWriteBuffer writeBuffer;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    private final Map<CounterKey, Delta> deltas = new ConcurrentHashMap<>();
+    private final Object flushLock = new Object();
+    // By league; see recording and rebuild
+    private final ReadWriteLock[] leagueLocks = new ReadWriteLock[64];
+
+    public PickDistributionCounters(PickDistributionRepository distributionRepository, PickRepository pickRepository,
+                                    GameRepository gameRepository, PickWriteBuffer writeBuffer, JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager, DatabasePlatform databasePlatform,
+                                    MeterRegistry registry) {
+        this.distributionRepository = distributionRepository;
+        this.pickRepository = pickRepository;
+        this.gameRepository = gameRepository;
+        this.writeBuffer = writeBuffer;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databasePlatform = databasePlatform;
+        for (int i = 0; i < leagueLocks.length; i++) {
+            leagueLocks[i] = new ReentrantReadWriteLock();
+        }
+        Gauge.builder(PENDING, deltas, Map::size)
+            .description("Games whose pick distribution changes are not yet written to the database")
+            .register(registry);
+    }
+
+    /**
+     * Run a submission that writes picks of the league and records them. Submissions run side by side; only
+     * a rebuild of the league waits for them, and they for it.
+     */
+    public <T> T recording(long leagueId, Supplier<T> submission) {
+        Lock lock = leagueLock(leagueId).readLock();
+        lock.lock();
+        try {
+            return submission.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Count a league pick that was just written (within recording): the team picked before (null for a new pick) loses one,
+     * the team picked now gains one
+     */
+    public void record(long leagueId, GameSlot game, String previousTeam, String pickedTeam) {
+        if (pickedTeam.equals(previousTeam)) {
+            return;
+        }
+        long home = 0;
+        long away = 0;
+        if (previousTeam != null) {
+            if (previousTeam.equals(game.homeTeam())) {
+                home--;
+            } else {
+                away--;
+            }
+        }
+        if (pickedTeam.equals(game.homeTeam())) {
+            home++;
+        } else {
+            away++;
+        }
+        // Merging locks only this key's bin for an instant; other games and leagues are not held up
+        deltas.merge(new CounterKey(leagueId, game.gameId()), new Delta(home, away), Delta::plus);
+    }
+
+    /**
+     * The league's distribution for every game of the week, in kickoff order
+     */
+    public List<PickDistributionDto> forWeek(long leagueId, int week) {
+        List<Game> games = new ArrayList<>(gameRepository.findByWeek(week));
+        games.sort(Comparator.comparing(Game::getKickoffTime, Comparator.nullsLast(Comparator.naturalOrder())));
+        if (games.isEmpty()) {
+            return List.of();
+        }
+        List<Long> gameIds = games.stream().map(Game::getId).toList();
+        Map<Long, PickDistribution> rows = distributionRepository.findByLeagueIdAndGameIdIn(leagueId, gameIds).stream()
+            .collect(Collectors.toMap(PickDistribution::getGameId, Function.identity()));
+        if (rows.size() < games.size()) {
+            countMissing(leagueId, week, games.size(), gameIds);
+            rows = distributionRepository.findByLeagueIdAndGameIdIn(leagueId, gameIds).stream()
+                .collect(Collectors.toMap(PickDistribution::getGameId, Function.identity()));
+        }
+
+        List<PickDistributionDto> distribution = new ArrayList<>(games.size());
+        for (Game game : games) {
+            PickDistribution row = rows.get(game.getId());
+            Delta pending = deltas.getOrDefault(new CounterKey(leagueId, game.getId()), Delta.NONE);
+            long home = (row != null ? row.getHomePicks() : 0) + pending.home();
+            long away = (row != null ? row.getAwayPicks() : 0) + pending.away();
+            distribution.add(new PickDistributionDto(game.getId(), game.getHomeTeam(), game.getAwayTeam(), home, away, home + away));
+        }
+        return distribution;
+    }
+
+    /**
+     * Count the league's week again from its picks and overwrite the stored counts. No submission of the
+     * league runs meanwhile; picks still pending in the write-behind buffer and unflushed deltas are written
+     * first, so neither is lost or counted twice.
+     */
+    public void rebuild(long leagueId, int week) {
+        withoutSubmissions(leagueId, () -> recount(leagueId, week));
+    }
+
+    /**
+     * The first count of a league's week, for a read that found rows missing. Readers that raced to it
+     * count once: the others find the rows when they get the lock.
+     */
+    private void countMissing(long leagueId, int week, int games, List<Long> gameIds) {
+        withoutSubmissions(leagueId, () -> {
+            if (distributionRepository.findByLeagueIdAndGameIdIn(leagueId, gameIds).size() < games) {
+                recount(leagueId, week);
+            }
+        });
+    }
+
+    private void withoutSubmissions(long leagueId, Runnable work) {
+        Lock lock = leagueLock(leagueId).writeLock();
+        lock.lock();
+        try {
+            work.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void recount(long leagueId, int week) {
+        if (writeBuffer.isEnabled()) {
+            writeBuffer.flush();
+        }
+        synchronized (flushLock) {
+            flush();
+            Map<Long, PickCountRow> counted = pickRepository.countPicksByGame(leagueId, week).stream()
+                .collect(Collectors.toMap(PickCountRow::gameId, Function.identity()));
+            List<Object[]> rows = new ArrayList<>();
+            for (Game game : gameRepository.findByWeek(week)) {
+                PickCountRow count = counted.get(game.getId());
+                long home = count != null ? count.homePicks() : 0;
+                long total = count != null ? count.totalPicks() : 0;
+                rows.add(new Object[]{leagueId, game.getId(), home, total - home});
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(databasePlatform.isH2() ? MERGE_COUNTS : UPSERT_COUNTS, rows, DELTA_TYPES));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${PICK_DISTRIBUTION_FLUSH_MS:5000}", timeUnit = TimeUnit.MILLISECONDS)
+    public void scheduledFlush() {
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            logger.warn("Pick distribution flush failed, {} games stay pending: {}", deltas.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Add every pending delta to its row in one batch. Returns how many games were written.
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            List<Map.Entry<CounterKey, Delta>> batch = new ArrayList<>();
+            for (CounterKey key : deltas.keySet()) {
+                // Taking the delta out is atomic with merges into it; later changes start a new one
+                Delta delta = deltas.remove(key);
+                if (delta != null && !delta.isZero()) {
+                    batch.add(Map.entry(key, delta));
+                }
+            }
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<Object[]> rows = batch.stream()
+                .map(entry -> new Object[]{entry.getValue().home(), entry.getValue().away(),
+                    entry.getKey().leagueId(), entry.getKey().gameId()})
+                .toList();
+            try {
+                transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(ADD_DELTA, rows, DELTA_TYPES));
+            } catch (RuntimeException e) {
+                // Put the deltas back for the next flush
+                batch.forEach(entry -> deltas.merge(entry.getKey(), entry.getValue(), Delta::plus));
+                throw e;
+            }
+            return batch.size();
+        }
+    }
+
+    private ReadWriteLock leagueLock(long leagueId) {
+        return leagueLocks[Math.floorMod(Long.hashCode(leagueId), leagueLocks.length)];
+    }
+
+    record CounterKey(long leagueId, long gameId) {
+    }
+
+    record Delta(long home, long away) {
+
+        static final Delta NONE = new Delta(0, 0);
+
+        Delta plus(Delta other) {
+            return new Delta(home + other.home, away + other.away);
+        }
+
+        boolean isZero() {
+            return home == 0 && away == 0;
+        }
+    }
+}
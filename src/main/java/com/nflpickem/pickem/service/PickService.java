@@ -1,5 +1,6 @@
 package com.nflpickem.pickem.service;
 
+import com.nflpickem.pickem.config.DatabasePlatform;
 import com.nflpickem.pickem.model.Game;
 import com.nflpickem.pickem.model.Pick;
 import com.nflpickem.pickem.model.User;
@@ -8,14 +9,24 @@ import com.nflpickem.pickem.repository.PickRepository;
 import com.nflpickem.pickem.repository.UserRepository;
 import com.nflpickem.pickem.repository.LeagueRepository;
 import com.nflpickem.pickem.dto.PickComparisonDto;
+import com.nflpickem.pickem.dto.PickSummary;
 import com.nflpickem.pickem.dto.BulkPickRequest;
 import com.nflpickem.pickem.dto.PickRequest;
+import com.nflpickem.pickem.dto.PickDistributionDto;
+import com.nflpickem.pickem.monitoring.BulkPickSubmissionEvent;
+import com.nflpickem.pickem.monitoring.PickemMetrics;
+import com.nflpickem.pickem.service.KickoffLockTable.GameSlot;
+import com.nflpickem.pickem.service.KickoffPickSnapshots.LeaguePicks;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.time.Instant; // Import Instant
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,82 +35,175 @@ public class PickService {
     private final GameService gameService;
     private final UserRepository userRepository;
     private final LeagueRepository leagueRepository;
+    private final MembershipService membershipService;
+    private final PickemMetrics metrics;
+    private final KickoffLockTable kickoffLocks;
+    private final PickWriteBuffer writeBuffer;
+    private final KickoffPickSnapshots pickSnapshots;
+    private final PickDistributionCounters distributionCounters;
+    private final DatabasePlatform databasePlatform;
+    // Serializes a user's submissions in a league, see writePicks
+    private final Object[] submissionLocks = new Object[256];
 
-    public PickService(PickRepository pickRepository, GameService gameService, UserRepository userRepository, LeagueRepository leagueRepository) {
+    public PickService(PickRepository pickRepository, GameService gameService, UserRepository userRepository, LeagueRepository leagueRepository, MembershipService membershipService, PickemMetrics metrics, KickoffLockTable kickoffLocks, PickWriteBuffer writeBuffer, KickoffPickSnapshots pickSnapshots, PickDistributionCounters distributionCounters, DatabasePlatform databasePlatform) {
         this.pickRepository = pickRepository;
         this.gameService = gameService;
         this.userRepository = userRepository;
         this.leagueRepository = leagueRepository;
+        this.membershipService = membershipService;
+        this.metrics = metrics;
+        this.kickoffLocks = kickoffLocks;
+        this.writeBuffer = writeBuffer;
+        this.pickSnapshots = pickSnapshots;
+        this.distributionCounters = distributionCounters;
+        this.databasePlatform = databasePlatform;
+        for (int i = 0; i < submissionLocks.length; i++) {
+            submissionLocks[i] = new Object();
+        }
     }
 
-    public Pick submitPick(Long userId, Long gameId, String pickedTeam, Long leagueId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        Game game = gameService.getGameById(gameId);
+    public PickSummary submitPick(Long userId, Long gameId, String pickedTeam, Long leagueId) {
+        return metrics.recordPickSubmission("single", leagueId, () -> doSubmitPick(userId, gameId, pickedTeam, leagueId));
+    }
+
+    private PickSummary doSubmitPick(Long userId, Long gameId, String pickedTeam, Long leagueId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
+        GameSlot game = kickoffLocks.find(gameId);
         if (game == null) {
             throw new RuntimeException("Game not found");
         }
 
-        League league = null;
         if (leagueId != null) {
-            league = leagueRepository.findById(leagueId)
-                    .orElseThrow(() -> new RuntimeException("League not found"));
-            if (!league.getMembers().contains(user)) {
+            if (!leagueRepository.existsById(leagueId)) {
+                throw new RuntimeException("League not found");
+            }
+            if (!membershipService.isMember(userId, leagueId)) {
                 throw new RuntimeException("User is not a member of this league");
             }
         }
 
-        if (game.getKickoffTime().isBefore(Instant.now())) { // Compare Instant with Instant.now()
+        if (kickoffLocks.isLocked(game)) {
             throw new RuntimeException("Cannot submit pick after kickoff time");
         }
 
-        // Find existing pick for this specific league (or no league)
-        Pick existingPick = null;
+        if (!game.hasTeam(pickedTeam)) {
+            throw new RuntimeException("Invalid team picked. Must be either home or away team.");
+        }
+
+        return writePicks(userId, leagueId, List.of(game), List.of(pickedTeam)).get(0);
+    }
+
+    /**
+     * Write the picks and move them in the league's distribution counters. The team a pick replaces is read
+     * and the pick written under one lock per (user, league), so two submissions of the same user cannot both
+     * read the same previous team and count its change twice. Different users never wait on each other
+     * beyond a shared stripe.
+     */
+    private List<PickSummary> writePicks(Long userId, Long leagueId, List<GameSlot> games, List<String> pickedTeams) {
+        if (leagueId == null) {
+            // Not counted, so there is no previous team to keep consistent
+            List<PickSummary> written = new ArrayList<>(games.size());
+            for (int i = 0; i < games.size(); i++) {
+                written.add(writePick(userId, games.get(i), null, pickedTeams.get(i), null));
+            }
+            return written;
+        }
+        synchronized (submissionLocks[Math.floorMod(Objects.hash(userId, leagueId), submissionLocks.length)]) {
+            return distributionCounters.recording(leagueId, () -> {
+                Map<Long, String> currentTeams = currentTeams(userId, leagueId, games.stream().map(GameSlot::gameId).toList());
+                List<PickSummary> written = new ArrayList<>(games.size());
+                for (int i = 0; i < games.size(); i++) {
+                    written.add(writePick(userId, games.get(i), leagueId, pickedTeams.get(i), currentTeams));
+                }
+                return written;
+            });
+        }
+    }
+
+    /**
+     * Write the pick and move it in the league's distribution counters. currentTeams holds the user's team
+     * for the game before this pick and is updated to it.
+     */
+    private PickSummary writePick(Long userId, GameSlot game, Long leagueId, String pickedTeam, Map<Long, String> currentTeams) {
+        PickSummary written = writeBuffer.isEnabled()
+                ? writeBuffer.submit(userId, game, leagueId, pickedTeam)
+                : upsertPick(userId, game, leagueId, pickedTeam);
         if (leagueId != null) {
-            // For league picks, only look for picks in the same league
-            existingPick = pickRepository.findByUserAndGameAndLeague(user, game, league);
-        } else {
-            // For non-league picks, only look for picks with no league
-            // We need to handle this differently since findByUserAndGame might include league picks
-            List<Pick> userPicksForGame = pickRepository.findByUserAndGame(user, game);
-            existingPick = userPicksForGame.stream()
-                .filter(pick -> pick.getLeague() == null)
-                .findFirst()
-                .orElse(null);
+            distributionCounters.record(leagueId, game, currentTeams.put(game.gameId(), pickedTeam), pickedTeam);
         }
-        
-        if (existingPick != null) {
-            // Update existing pick
-            if (!pickedTeam.equals(game.getHomeTeam()) && !pickedTeam.equals(game.getAwayTeam())) {
-                throw new RuntimeException("Invalid team picked. Must be either home or away team.");
+        return written;
+    }
+
+    /**
+     * The user's team for each of the games in the league before a submission, pending write-behind picks
+     * included. Pending picks are read first: a flush writes a pick before it stops being pending, so a game
+     * without one has its latest pick in the database by the time it is read.
+     */
+    private Map<Long, String> currentTeams(Long userId, Long leagueId, Collection<Long> gameIds) {
+        Map<Long, String> teams = new HashMap<>();
+        List<Long> stored = new ArrayList<>();
+        for (Long gameId : gameIds) {
+            String pendingTeam = writeBuffer.pendingTeam(userId, gameId, leagueId);
+            if (pendingTeam != null) {
+                teams.put(gameId, pendingTeam);
+            } else {
+                stored.add(gameId);
             }
-            existingPick.setPickedTeam(pickedTeam);
-            return pickRepository.save(existingPick);
-        } else {
-            // Create new pick
-            if (!pickedTeam.equals(game.getHomeTeam()) && !pickedTeam.equals(game.getAwayTeam())) {
-                throw new RuntimeException("Invalid team picked. Must be either home or away team.");
+        }
+        if (!stored.isEmpty()) {
+            for (PickSummary pick : pickRepository.findSummariesByUserAndLeagueAndGameIds(userId, leagueId, stored)) {
+                teams.put(pick.gameId(), pick.pickedTeam());
             }
-            Pick pick = new Pick();
-            pick.setUser(user);
-            pick.setGame(game);
-            pick.setLeague(league);
-            pick.setPickedTeam(pickedTeam);
-            pick.setCorrect(false);
-            return pickRepository.save(pick);
         }
+        return teams;
     }
 
-    public List<Pick> getPicksByUser(Long userId, Long leagueId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        if (leagueId != null) {
-            League league = leagueRepository.findById(leagueId)
-                    .orElseThrow(() -> new RuntimeException("League not found"));
-            return pickRepository.findByUserAndLeague(user, league);
-        } else {
-            return pickRepository.findByUser(user);
+    /**
+     * Create the pick or change the existing one for the same user, game and league (or no league) in one
+     * statement, so concurrent submissions end up as a single row holding the last team picked. On H2 two
+     * racing MERGEs can both try to insert; the loser hits the unique index and is retried as an update.
+     */
+    private PickSummary upsertPick(Long userId, GameSlot game, Long leagueId, String pickedTeam) {
+        Long id;
+        try {
+            id = upsert(userId, game.gameId(), leagueId, pickedTeam);
+        } catch (DataIntegrityViolationException e) {
+            id = upsert(userId, game.gameId(), leagueId, pickedTeam);
+        }
+        // A new or changed pick is unscored
+        return new PickSummary(id, game.gameId(), game.week(), leagueId, pickedTeam, false, null);
+    }
+
+    private Long upsert(Long userId, Long gameId, Long leagueId, String pickedTeam) {
+        if (databasePlatform.isH2()) {
+            return pickRepository.mergePick(userId, gameId, leagueId, pickedTeam);
+        }
+        return leagueId != null
+                ? pickRepository.upsertLeaguePick(userId, gameId, leagueId, pickedTeam)
+                : pickRepository.upsertPickWithoutLeague(userId, gameId, pickedTeam);
+    }
+
+    /**
+     * The user's picks as flat projections, read in one query without loading users, games or leagues.
+     * Includes the user's picks still pending in the write-behind buffer.
+     */
+    public List<PickSummary> getPicksByUser(Long userId, Long leagueId) {
+        List<PickSummary> stored = leagueId != null
+                ? pickRepository.findSummariesByUserAndLeague(userId, leagueId)
+                : pickRepository.findSummariesByUser(userId);
+        return writeBuffer.overlay(userId, leagueId, stored);
+    }
+
+    /**
+     * How the league picked each game of the week, from the distribution counters
+     */
+    public List<PickDistributionDto> getPickDistribution(Integer week, Long leagueId) {
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new RuntimeException("League not found");
         }
+        return distributionCounters.forWeek(leagueId, week);
     }
 
     public List<PickComparisonDto> getPickComparison(Long userId, Integer week, Long leagueId) {
@@ -114,6 +218,30 @@ public class PickService {
             return a.getKickoffTime().compareTo(b.getKickoffTime());
         });
         
+        League league = null;
+        if (leagueId != null) {
+            league = leagueRepository.findById(leagueId)
+                    .orElseThrow(() -> new RuntimeException("League not found"));
+        }
+
+        // Locked games of a league come from the kickoff snapshots; the rest of the week's picks are read in
+        // one query, with users and games fetched (Pick.comparison)
+        Map<Long, LeaguePicks> revealed = Map.of();
+        List<Pick> weekPicks;
+        if (league != null) {
+            List<Game> revealedGames = games.stream().filter(pickSnapshots::isRevealed).toList();
+            revealed = pickSnapshots.forLeague(leagueId, revealedGames);
+            List<Long> openGameIds = games.stream()
+                    .filter(game -> !revealedGames.contains(game))
+                    .map(Game::getId)
+                    .toList();
+            weekPicks = openGameIds.isEmpty() ? List.of() : pickRepository.findByLeagueIdAndGameIdIn(leagueId, openGameIds);
+        } else {
+            weekPicks = pickRepository.findByGameWeek(week);
+        }
+        Map<Long, List<Pick>> picksByGame = weekPicks.stream()
+                .collect(Collectors.groupingBy(pick -> pick.getGame().getId()));
+        
         List<PickComparisonDto> comparisonData = new ArrayList<>();
         
         for (Game game : games) {
@@ -124,36 +252,32 @@ public class PickService {
             comparison.setHomeTeam(game.getHomeTeam());
             comparison.setWinningTeam(game.getWinningTeam());
             comparison.setScored(game.isScored());
-            
-            // Get user's pick for this game
-            Pick userPick = null;
-            if (leagueId != null) {
-                League league = leagueRepository.findById(leagueId)
-                        .orElseThrow(() -> new RuntimeException("League not found"));
-                userPick = pickRepository.findByUserAndGameAndLeague(user, game, league);
-            } else {
-                // For non-league picks, filter to get only picks with no league
-                List<Pick> userPicksForGame = pickRepository.findByUserAndGame(user, game);
-                userPick = userPicksForGame.stream()
-                    .filter(pick -> pick.getLeague() == null)
-                    .findFirst()
-                    .orElse(null);
+
+            LeaguePicks snapshot = revealed.get(game.getId());
+            if (snapshot != null) {
+                fillFromSnapshot(comparison, game, snapshot, userId);
+                String pendingTeam = writeBuffer.pendingTeam(userId, game.getId(), leagueId);
+                if (pendingTeam != null) {
+                    comparison.setYourPick(pendingTeam);
+                }
+                comparisonData.add(comparison);
+                continue;
             }
             
-            comparison.setYourPick(userPick != null ? userPick.getPickedTeam() : null);
+            List<Pick> allPicksForGame = picksByGame.getOrDefault(game.getId(), List.of());
             
-            // Get all other picks for this game in the league
-            List<PickComparisonDto.UserPickDto> otherPicks = new ArrayList<>();
-            List<Pick> allPicksForGame;
+            // Get user's pick for this game; without a league only the user's non-league pick counts
+            Pick userPick = allPicksForGame.stream()
+                .filter(pick -> pick.getUser().getId().equals(userId))
+                .filter(pick -> leagueId != null || pick.getLeague() == null)
+                .findFirst()
+                .orElse(null);
             
-            if (leagueId != null) {
-                League league = leagueRepository.findById(leagueId)
-                        .orElseThrow(() -> new RuntimeException("League not found"));
-                allPicksForGame = pickRepository.findByGameAndLeague(game, league);
-            } else {
-                allPicksForGame = pickRepository.findByGame(game);
-            }
+            String pendingTeam = writeBuffer.pendingTeam(userId, game.getId(), leagueId);
+            comparison.setYourPick(pendingTeam != null ? pendingTeam : userPick != null ? userPick.getPickedTeam() : null);
             
+            // Get all other picks for this game in the league
+            List<PickComparisonDto.UserPickDto> otherPicks = new ArrayList<>();
             for (Pick pick : allPicksForGame) {
                 if (!pick.getUser().getId().equals(userId)) { // Exclude current user
                     PickComparisonDto.UserPickDto userPickDto = new PickComparisonDto.UserPickDto();
@@ -172,75 +296,89 @@ public class PickService {
         return comparisonData;
     }
 
-    public List<Pick> submitBulkPicks(BulkPickRequest bulkRequest) {
-        User user = userRepository.findById(bulkRequest.getUserId())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    /**
+     * The comparison of a locked game from its snapshot. Correctness follows the game's result, which is what
+     * scoring stores on each pick.
+     */
+    private static void fillFromSnapshot(PickComparisonDto comparison, Game game, LeaguePicks snapshot, Long userId) {
+        List<PickComparisonDto.UserPickDto> otherPicks = new ArrayList<>(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            String pickedTeam = snapshot.pickedTeam(i, game);
+            if (snapshot.userIds()[i] == userId) {
+                comparison.setYourPick(pickedTeam);
+                continue;
+            }
+            PickComparisonDto.UserPickDto userPickDto = new PickComparisonDto.UserPickDto();
+            userPickDto.setUsername(snapshot.usernames()[i]);
+            userPickDto.setName(snapshot.names()[i]);
+            userPickDto.setPickedTeam(pickedTeam);
+            userPickDto.setCorrect(game.isScored() && pickedTeam.equals(game.getWinningTeam()));
+            otherPicks.add(userPickDto);
+        }
+        comparison.setOtherPicks(otherPicks);
+    }
+
+    public List<PickSummary> submitBulkPicks(BulkPickRequest bulkRequest) {
+        return metrics.recordPickSubmission("bulk", bulkRequest.getLeagueId(), () -> doSubmitBulkPicks(bulkRequest));
+    }
+
+    private List<PickSummary> doSubmitBulkPicks(BulkPickRequest bulkRequest) {
+        BulkPickSubmissionEvent event = new BulkPickSubmissionEvent();
+        event.begin();
+        event.leagueId = bulkRequest.getLeagueId() != null ? bulkRequest.getLeagueId() : -1;
+        event.picks = bulkRequest.getPicks() != null ? bulkRequest.getPicks().size() : 0;
+        event.outcome = "error";
+        try {
+            List<PickSummary> submittedPicks = saveBulkPicks(bulkRequest, event);
+            event.outcome = "success";
+            return submittedPicks;
+        } finally {
+            event.commit();
+        }
+    }
+
+    private List<PickSummary> saveBulkPicks(BulkPickRequest bulkRequest, BulkPickSubmissionEvent event) {
+        Long userId = bulkRequest.getUserId();
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
         
-        League league = null;
-        if (bulkRequest.getLeagueId() != null) {
-            league = leagueRepository.findById(bulkRequest.getLeagueId())
-                    .orElseThrow(() -> new RuntimeException("League not found"));
-            if (!league.getMembers().contains(user)) {
+        Long leagueId = bulkRequest.getLeagueId();
+        if (leagueId != null) {
+            // Checks the league exists and sizes it for the event in one query
+            long leagueSize = leagueRepository.findMemberCount(leagueId)
+                .orElseThrow(() -> new RuntimeException("League not found"));
+            if (!membershipService.isMember(userId, leagueId)) {
                 throw new RuntimeException("User is not a member of this league");
             }
+            event.leagueSize = (int) leagueSize;
         }
         
-        List<Pick> submittedPicks = new ArrayList<>();
-        
+        List<GameSlot> games = new ArrayList<>();
+        List<String> pickedTeams = new ArrayList<>();
         for (PickRequest pickRequest : bulkRequest.getPicks()) {
             try {
-                Game game = gameService.getGameById(pickRequest.getGameId());
+                GameSlot game = kickoffLocks.find(pickRequest.getGameId());
                 if (game == null) {
                     throw new RuntimeException("Game not found: " + pickRequest.getGameId());
                 }
                 
-                if (game.getKickoffTime().isBefore(Instant.now())) {
-                    throw new RuntimeException("Cannot submit pick after kickoff time for game: " + game.getId());
-                }
-                
-                if (!pickRequest.getPickedTeam().equals(game.getHomeTeam()) && 
-                    !pickRequest.getPickedTeam().equals(game.getAwayTeam())) {
-                    throw new RuntimeException("Invalid team picked for game: " + game.getId());
-                }
-                
-                // Find existing pick for this specific league (or no league)
-                Pick existingPick = null;
-                if (league != null) {
-                    // For league picks, only look for picks in the same league
-                    existingPick = pickRepository.findByUserAndGameAndLeague(user, game, league);
-                } else {
-                    // For non-league picks, only look for picks with no league
-                    // We need to handle this differently since findByUserAndGame might include league picks
-                    List<Pick> userPicksForGame = pickRepository.findByUserAndGame(user, game);
-                    existingPick = userPicksForGame.stream()
-                        .filter(pick -> pick.getLeague() == null)
-                        .findFirst()
-                        .orElse(null);
+                if (kickoffLocks.isLocked(game)) {
+                    throw new RuntimeException("Cannot submit pick after kickoff time for game: " + game.gameId());
                 }
                 
-                Pick pick;
-                if (existingPick != null) {
-                    // Update existing pick
-                    existingPick.setPickedTeam(pickRequest.getPickedTeam());
-                    pick = pickRepository.save(existingPick);
-                } else {
-                    // Create new pick
-                    pick = new Pick();
-                    pick.setUser(user);
-                    pick.setGame(game);
-                    pick.setLeague(league);
-                    pick.setPickedTeam(pickRequest.getPickedTeam());
-                    pick.setCorrect(false);
-                    pick = pickRepository.save(pick);
+                if (!game.hasTeam(pickRequest.getPickedTeam())) {
+                    throw new RuntimeException("Invalid team picked for game: " + game.gameId());
                 }
                 
-                submittedPicks.add(pick);
+                games.add(game);
+                pickedTeams.add(pickRequest.getPickedTeam());
                 
             } catch (Exception e) {
                 throw new RuntimeException("Error processing pick for game " + pickRequest.getGameId() + ": " + e.getMessage());
             }
         }
         
-        return submittedPicks;
+        return writePicks(userId, leagueId, games, pickedTeams);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,511 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.config.DatabasePlatform;
+import com.nflpickem.pickem.dto.PickSummary;
+import com.nflpickem.pickem.service.KickoffLockTable.GameSlot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Types;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Optional write-behind for pick submissions (PICK_WRITE_BEHIND_ENABLED). A pick is acknowledged once it is
+ * appended to a local log and forced to disk; in memory only the latest pick per user, game and league is
+ * kept, and the pending picks are upserted in one JDBC batch every few seconds. Nothing is left pending when
+ * a game locks: every kickoff with pending picks has a flush scheduled the kickoff margin before it, and a
+ * pick for a game already within the margin skips the buffer and is written before it is acknowledged (the
+ * submission fails if it cannot be).
+ * <p>
+ * The log is a series of segments. A flush starts a new segment and deletes the older ones once the batch
+ * has committed; on startup the remaining segments are replayed and written, last pick wins, before the
+ * application reports ready. Reads of a user's own picks overlay the pending ones.
+ */
+@Service
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class PickWriteBuffer implements ApplicationRunner {
+
+    public static final String PENDING = "pickem.picks.write_behind.pending";
+
+    private static final Logger logger = LoggerFactory.getLogger(PickWriteBuffer.class);
+
+    private static final String SEGMENT_PREFIX = "picks-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    // Same statements as the PickRepository upserts, without returning the ids
+    private static final String MERGE_PICK = """
+        MERGE INTO pick p
+        USING (VALUES (CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS VARCHAR(255))))
+            s (user_id, game_id, league_id, picked_team)
+        ON p.user_id = s.user_id AND p.game_id = s.game_id AND p.league_id IS NOT DISTINCT FROM s.league_id
+        WHEN MATCHED THEN UPDATE SET picked_team = s.picked_team, correct = FALSE, scored_at = NULL
+        WHEN NOT MATCHED THEN INSERT (user_id, game_id, league_id, picked_team, correct)
+            VALUES (s.user_id, s.game_id, s.league_id, s.picked_team, FALSE)
+        """;
+    private static final String UPSERT_LEAGUE_PICK = """
+        INSERT INTO pick (user_id, game_id, league_id, picked_team, correct) VALUES (?, ?, ?, ?, false)
+        ON CONFLICT (user_id, game_id, league_id)
+        DO UPDATE SET picked_team = EXCLUDED.picked_team, correct = false, scored_at = NULL
+        """;
+    private static final String UPSERT_PICK_WITHOUT_LEAGUE = """
+        INSERT INTO pick (user_id, game_id, picked_team, correct) VALUES (?, ?, ?, false)
+        ON CONFLICT (user_id, game_id) WHERE league_id IS NULL
+        DO UPDATE SET picked_team = EXCLUDED.picked_team, correct = false, scored_at = NULL
+        """;
+    private static final int[] PICK_TYPES = {Types.BIGINT, Types.BIGINT, Types.BIGINT, Types.VARCHAR};
+    private static final int[] NO_LEAGUE_TYPES = {Types.BIGINT, Types.BIGINT, Types.VARCHAR};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabasePlatform databasePlatform;
+    private final TaskScheduler taskScheduler;
+    private final Clock clock;
+    private final boolean enabled;
+    private final Path directory;
+    private final Duration kickoffMargin;
+
+    // Pending picks by user, so reads of one user's picks do not scan everyone's
+    private final Map<Long, Map<PickKey, PendingPick>> pending = new ConcurrentHashMap<>();
+    // Flushes armed ahead of kickoffs, by the instant they run
+    private final Map<Instant, ScheduledFuture<?>> kickoffFlushes = new ConcurrentHashMap<>();
+    private final Object logLock = new Object();
+    private final Object flushLock = new Object();
+    private FileChannel segment;
+    private long segmentNumber;
+    private long sequence;
+
+    public PickWriteBuffer(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           DatabasePlatform databasePlatform, TaskScheduler taskScheduler, Clock clock,
+                           MeterRegistry registry,
+                           @Value("${PICK_WRITE_BEHIND_ENABLED:false}") boolean enabled,
+                           @Value("${PICK_WRITE_BEHIND_DIR:pick-write-log}") String directory,
+                           @Value("${PICK_WRITE_BEHIND_KICKOFF_MARGIN_SECONDS:60}") long kickoffMarginSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.databasePlatform = databasePlatform;
+        this.taskScheduler = taskScheduler;
+        this.clock = clock;
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.kickoffMargin = Duration.ofSeconds(kickoffMarginSeconds);
+        Gauge.builder(PENDING, this, PickWriteBuffer::pendingCount)
+            .description("Pick changes acknowledged but not yet written to the database")
+            .register(registry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Replay picks a previous run logged but did not write. Runs even with write-behind switched off,
+     * so turning it off after a crash does not lose picks.
+     */
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            return;
+        }
+        // Last pick per key across the segments, in the order they were logged
+        Map<PickKey, String> logged = new LinkedHashMap<>();
+        int replayed = 0;
+        for (Path path : segments) {
+            replayed += replay(path, logged);
+        }
+        dropInvalidTeams(logged);
+        synchronized (logLock) {
+            // Picks submitted since startup are newer than anything in the log
+            logged.forEach((key, pickedTeam) -> pending.compute(key.userId(), (id, picks) -> {
+                Map<PickKey, PendingPick> userPicks = picks != null ? picks : new ConcurrentHashMap<>();
+                userPicks.putIfAbsent(key, new PendingPick(++sequence, 0, pickedTeam));
+                return userPicks;
+            }));
+            segmentNumber = Math.max(segmentNumber, segmentNumber(segments.get(segments.size() - 1)));
+        }
+        int written = flush();
+        logger.info("Recovered {} logged pick changes from {} segments, wrote {} picks", replayed, segments.size(), written);
+    }
+
+    /**
+     * Log the pick and keep it pending. Picks for games within the kickoff margin are written before
+     * returning instead, and an error writing them fails the submission. The id is null until the pick
+     * has been written.
+     */
+    public PickSummary submit(Long userId, GameSlot game, Long leagueId, String pickedTeam) {
+        PickKey key = new PickKey(userId, game.gameId(), leagueId);
+        Instant flushAt = game.kickoff() != null ? game.kickoff().minus(kickoffMargin) : null;
+        if (flushAt != null && !flushAt.isAfter(clock.instant())) {
+            writeNow(key, new PendingPick(0, game.week(), pickedTeam));
+        } else {
+            buffer(key, game.week(), pickedTeam);
+            if (flushAt != null) {
+                scheduleFlushAt(flushAt);
+            }
+        }
+        return new PickSummary(null, game.gameId(), game.week(), leagueId, pickedTeam, false, null);
+    }
+
+    private void buffer(PickKey key, int week, String pickedTeam) {
+        synchronized (logLock) {
+            append(key, pickedTeam);
+            PendingPick pick = new PendingPick(++sequence, week, pickedTeam);
+            pending.compute(key.userId(), (id, picks) -> {
+                Map<PickKey, PendingPick> userPicks = picks != null ? picks : new ConcurrentHashMap<>();
+                userPicks.put(key, pick);
+                return userPicks;
+            });
+        }
+    }
+
+    /**
+     * Write one pick straight away. Everything pending is written first, so an older pick for the same key
+     * can neither overwrite this one nor be replayed over it after a crash.
+     */
+    private void writeNow(PickKey key, PendingPick pick) {
+        synchronized (flushLock) {
+            flush();
+            writeBatch(List.of(Map.entry(key, pick)));
+        }
+    }
+
+    /**
+     * Arm a flush for the instant, unless one is armed for it already. Kickoffs mostly share a few slots
+     * per week, so this is a handful of timers however many picks are submitted.
+     */
+    private void scheduleFlushAt(Instant flushAt) {
+        kickoffFlushes.computeIfAbsent(flushAt, at ->
+            // The timer runs on the wall clock, the kickoff is on the application clock
+            taskScheduler.schedule(() -> flushBeforeKickoff(at), Instant.now().plus(Duration.between(clock.instant(), at))));
+    }
+
+    private void flushBeforeKickoff(Instant flushAt) {
+        kickoffFlushes.remove(flushAt);
+        if (!pending.isEmpty()) {
+            tryFlush();
+        }
+    }
+
+    /**
+     * The user's picks with their pending changes applied; pending picks not yet in the database come
+     * after the stored picks of their week
+     */
+    public List<PickSummary> overlay(Long userId, Long leagueId, List<PickSummary> stored) {
+        Map<PickKey, PendingPick> userPicks = pending.get(userId);
+        if (userPicks == null || userPicks.isEmpty()) {
+            return stored;
+        }
+        Map<PickKey, PendingPick> changes = new LinkedHashMap<>();
+        userPicks.forEach((key, pick) -> {
+            if (leagueId == null || leagueId.equals(key.leagueId())) {
+                changes.put(key, pick);
+            }
+        });
+        if (changes.isEmpty()) {
+            return stored;
+        }
+        List<PickSummary> merged = new ArrayList<>(stored.size() + changes.size());
+        for (PickSummary summary : stored) {
+            PendingPick change = changes.remove(new PickKey(userId, summary.gameId(), summary.leagueId()));
+            merged.add(change == null ? summary : new PickSummary(summary.id(), summary.gameId(), summary.week(),
+                summary.leagueId(), change.pickedTeam(), false, null));
+        }
+        changes.forEach((key, pick) -> merged.add(
+            new PickSummary(null, key.gameId(), pick.week(), key.leagueId(), pick.pickedTeam(), false, null)));
+        merged.sort(Comparator.comparing(PickSummary::week));
+        return merged;
+    }
+
+    /**
+     * The team of the user's pending pick for the game in the league (or outside any league), if any
+     */
+    public String pendingTeam(Long userId, long gameId, Long leagueId) {
+        Map<PickKey, PendingPick> userPicks = pending.get(userId);
+        if (userPicks == null) {
+            return null;
+        }
+        PendingPick pick = userPicks.get(new PickKey(userId, gameId, leagueId));
+        return pick != null ? pick.pickedTeam() : null;
+    }
+
+    /**
+     * Whether any user has a pending pick for one of the games
+     */
+    public boolean hasPending(Collection<Long> gameIds) {
+        for (Map<PickKey, PendingPick> userPicks : pending.values()) {
+            for (PickKey key : userPicks.keySet()) {
+                if (gameIds.contains(key.gameId())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${PICK_WRITE_BEHIND_FLUSH_MS:2000}", timeUnit = TimeUnit.MILLISECONDS)
+    public void scheduledFlush() {
+        if (enabled && !pending.isEmpty()) {
+            tryFlush();
+        }
+    }
+
+    private void tryFlush() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Still pending and still logged; the next scheduled flush tries again
+            logger.warn("Pick write-behind flush failed, {} picks stay pending: {}", pendingCount(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    /**
+     * Write every pending pick in one batch and drop the log segments it covered. Returns how many picks
+     * were written.
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            long covered;
+            synchronized (logLock) {
+                // Later picks go to a new segment; those up to here are all in the pending map
+                covered = segmentNumber;
+                if (segment != null) {
+                    closeSegment();
+                }
+            }
+
+            List<Map.Entry<PickKey, PendingPick>> batch = new ArrayList<>();
+            pending.values().forEach(userPicks -> batch.addAll(userPicks.entrySet()));
+            if (!batch.isEmpty()) {
+                writeBatch(batch);
+                for (Map.Entry<PickKey, PendingPick> entry : batch) {
+                    // Keeps picks that changed again while the batch was written
+                    pending.computeIfPresent(entry.getKey().userId(), (userId, userPicks) -> {
+                        userPicks.remove(entry.getKey(), entry.getValue());
+                        return userPicks.isEmpty() ? null : userPicks;
+                    });
+                }
+            }
+            deleteSegmentsThrough(covered);
+            return batch.size();
+        }
+    }
+
+    int pendingCount() {
+        return pending.values().stream().mapToInt(Map::size).sum();
+    }
+
+    private void writeBatch(List<Map.Entry<PickKey, PendingPick>> batch) {
+        try {
+            write(batch);
+        } catch (DataIntegrityViolationException e) {
+            // Another instance inserted one of the picks between MERGE's check and insert
+            write(batch);
+        }
+    }
+
+    private void write(List<Map.Entry<PickKey, PendingPick>> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (databasePlatform.isH2()) {
+                jdbcTemplate.batchUpdate(MERGE_PICK, rows(batch, true), PICK_TYPES);
+                return;
+            }
+            List<Object[]> withLeague = rows(batch.stream().filter(entry -> entry.getKey().leagueId() != null).toList(), true);
+            List<Object[]> withoutLeague = rows(batch.stream().filter(entry -> entry.getKey().leagueId() == null).toList(), false);
+            if (!withLeague.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_LEAGUE_PICK, withLeague, PICK_TYPES);
+            }
+            if (!withoutLeague.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT_PICK_WITHOUT_LEAGUE, withoutLeague, NO_LEAGUE_TYPES);
+            }
+        });
+    }
+
+    private static List<Object[]> rows(List<Map.Entry<PickKey, PendingPick>> batch, boolean withLeague) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (Map.Entry<PickKey, PendingPick> entry : batch) {
+            PickKey key = entry.getKey();
+            String team = entry.getValue().pickedTeam();
+            rows.add(withLeague
+                ? new Object[]{key.userId(), key.gameId(), key.leagueId(), team}
+                : new Object[]{key.userId(), key.gameId(), team});
+        }
+        return rows;
+    }
+
+    private void append(PickKey key, String pickedTeam) {
+        String line = key.userId() + "\t" + key.gameId() + "\t" + (key.leagueId() != null ? key.leagueId() : "-")
+            + "\t" + pickedTeam + "\n";
+        try {
+            if (segment == null) {
+                Files.createDirectories(directory);
+                // Numbering continues after segments left by a previous run that recovery has not written yet
+                List<Path> existing = segments();
+                if (!existing.isEmpty()) {
+                    segmentNumber = Math.max(segmentNumber, segmentNumber(existing.get(existing.size() - 1)));
+                }
+                segment = FileChannel.open(segmentPath(++segmentNumber),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                segment.write(bytes);
+            }
+            segment.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not log pick", e);
+        }
+    }
+
+    private static int replay(Path path, Map<PickKey, String> logged) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        // A pick is acknowledged only once its whole line, newline included, is on disk; anything after the
+        // last newline is a write torn by the crash
+        int end = bytes.length;
+        while (end > 0 && bytes[end - 1] != '\n') {
+            end--;
+        }
+        if (end < bytes.length) {
+            logger.warn("Ignoring {} bytes of an unacknowledged pick at the end of {}", bytes.length - end, path);
+        }
+        if (end == 0) {
+            return 0;
+        }
+        int replayed = 0;
+        for (String line : new String(bytes, 0, end, StandardCharsets.UTF_8).split("\n")) {
+            String[] fields = line.split("\t", -1);
+            if (fields.length != 4) {
+                // Every complete line has four fields; this one was not written by append
+                logger.warn("Ignoring malformed line in {}: {}", path, line);
+                continue;
+            }
+            Long leagueId = fields[2].equals("-") ? null : Long.valueOf(fields[2]);
+            PickKey key = new PickKey(Long.valueOf(fields[0]), Long.parseLong(fields[1]), leagueId);
+            logged.remove(key);
+            logged.put(key, fields[3]);
+            replayed++;
+        }
+        return replayed;
+    }
+
+    /**
+     * Drop replayed picks whose team is not playing in the game (or whose game is gone), as submission would
+     * have rejected them
+     */
+    private void dropInvalidTeams(Map<PickKey, String> logged) {
+        Map<Long, List<String>> teams = new HashMap<>();
+        List<Long> gameIds = logged.keySet().stream().map(PickKey::gameId).distinct().toList();
+        for (int from = 0; from < gameIds.size(); from += 500) {
+            List<Long> chunk = gameIds.subList(from, Math.min(from + 500, gameIds.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            jdbcTemplate.query("SELECT id, home_team, away_team FROM game WHERE id IN (" + placeholders + ")",
+                row -> {
+                    teams.put(row.getLong("id"), List.of(row.getString("home_team"), row.getString("away_team")));
+                },
+                chunk.toArray());
+        }
+        int before = logged.size();
+        logged.entrySet().removeIf(entry -> {
+            List<String> gameTeams = teams.get(entry.getKey().gameId());
+            return gameTeams == null || !gameTeams.contains(entry.getValue());
+        });
+        if (logged.size() < before) {
+            logger.warn("Dropped {} logged picks for teams not playing in their game", before - logged.size());
+        }
+    }
+
+    private void closeSegment() {
+        try {
+            segment.close();
+        } catch (IOException e) {
+            logger.warn("Could not close pick log segment {}: {}", segmentNumber, e.getMessage());
+        }
+        segment = null;
+    }
+
+    private void deleteSegmentsThrough(long number) {
+        try {
+            for (Path path : segments()) {
+                if (segmentNumber(path) <= number) {
+                    Files.delete(path);
+                }
+            }
+        } catch (IOException e) {
+            // Left for the next flush; replaying an already written pick is harmless
+            logger.warn("Could not delete flushed pick log segments: {}", e.getMessage());
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith(SEGMENT_PREFIX)
+                    && path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                .sorted(Comparator.comparingLong(PickWriteBuffer::segmentNumber))
+                .toList();
+        }
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(SEGMENT_PREFIX + number + SEGMENT_SUFFIX);
+    }
+
+    private static long segmentNumber(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    record PickKey(Long userId, long gameId, Long leagueId) {
+    }
+
+    /**
+     * @param week 0 for picks replayed from the log, which are written before anything reads them
+     */
+    record PendingPick(long sequence, int week, String pickedTeam) {
+    }
+}
@@ -4,8 +4,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class ScheduledOddsService {
@@ -16,17 +18,29 @@ public class ScheduledOddsService {
     @Autowired
     private GameService gameService;
     
+    @Autowired
+    private OddsRefreshPlanner oddsRefreshPlanner;
+    
+    @Autowired
+    private Clock clock;
+    
     /**
-     * Update all available odds and games every 6 hours during NFL season
-     * Runs at 6 AM, 12 PM, 6 PM, and 12 AM UTC
+     * Check every few minutes whether the refresh planner wants fresh odds: the closer the next
+     * kickoff, the more often it does, within the monthly API budget
      */
-    @Scheduled(cron = "0 0 6,12,18,0 * * *")
+    @Scheduled(fixedDelayString = "${ODDS_REFRESH_CHECK_MINUTES:5}", initialDelayString = "${ODDS_REFRESH_CHECK_MINUTES:5}", timeUnit = TimeUnit.MINUTES)
     public void scheduledOddsUpdate() {
         try {
             // Only run during NFL season (September to January)
-            LocalDate now = LocalDate.now();
-            if (isNflSeason(now)) {
-                System.out.println("Scheduled comprehensive odds and games update");
+            LocalDate now = LocalDate.now(clock);
+            if (isNflSeason(now) && oddsService.isApiConfigured()) {
+                OddsRefreshPlanner.RefreshPlan plan = oddsRefreshPlanner.plan();
+                if (!plan.due()) {
+                    return;
+                }
+                System.out.println("Scheduled odds update (interval " + plan.interval() + ", next kickoff " + plan.nextKickoff()
+                    + ", projected month-end usage " + plan.projectedMonthEndUsage() + "/" + plan.monthlyBudget() + ")");
+                oddsRefreshPlanner.recordAttempt();
                 var updatedOdds = oddsService.updateAllAvailableOdds();
                 System.out.println("Updated " + updatedOdds.size() + " odds entries and created/updated games as needed");
             }
@@ -42,8 +56,8 @@ public class ScheduledOddsService {
     public void scheduledOddsCleanup() {
         try {
             System.out.println("Running scheduled odds cleanup");
-            oddsService.cleanupStaleOdds();
-            System.out.println("Odds cleanup completed");
+            var result = oddsService.cleanupStaleOdds(false);
+            System.out.println("Odds cleanup completed: deleted " + result.deletedRows() + " of " + result.staleRows() + " stale rows");
         } catch (Exception e) {
             System.err.println("Error in scheduled odds cleanup: " + e.getMessage());
         }
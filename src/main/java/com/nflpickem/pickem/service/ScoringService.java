@@ -4,9 +4,12 @@ import com.nflpickem.pickem.model.Game;
 import com.nflpickem.pickem.model.Pick;
 import com.nflpickem.pickem.repository.GameRepository;
 import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.monitoring.PickemMetrics;
+import com.nflpickem.pickem.monitoring.ScoringRunEvent;
 import org.springframework.stereotype.Service;
 import org.springframework.scheduling.annotation.Scheduled;
 
+import java.time.Clock;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -17,20 +20,28 @@ public class ScoringService {
     private final GameRepository gameRepository;
     private final PickRepository pickRepository;
     private final GameScoreService gameScoreService;
+    private final PickemMetrics metrics;
+    private final Clock clock;
 
-    public ScoringService(GameRepository gameRepository, PickRepository pickRepository, GameScoreService gameScoreService) {
+    public ScoringService(GameRepository gameRepository, PickRepository pickRepository, GameScoreService gameScoreService, PickemMetrics metrics, Clock clock) {
         this.gameRepository = gameRepository;
         this.pickRepository = pickRepository;
         this.gameScoreService = gameScoreService;
+        this.metrics = metrics;
+        this.clock = clock;
     }
 
     @Scheduled(fixedRate = 3600000) // Schedule to run every hour
     public void runScoring() {
-        System.out.println("Running scoring task at " + LocalDateTime.now());
+        System.out.println("Running scoring task at " + LocalDateTime.now(clock));
         
         // Only run on game days and after the first game starts
         if (gameScoreService.isGameDay() && gameScoreService.shouldStartFetchingScores()) {
-            scoreGamesWithRealData();
+            try {
+                scoreGamesWithRealData();
+            } catch (Exception e) {
+                System.err.println("Scheduled scoring failed: " + e.getMessage());
+            }
         } else {
             System.out.println("Not a game day or too early to fetch scores, skipping scoring task");
         }
@@ -40,9 +51,16 @@ public class ScoringService {
      * Score games using real data from The Odds API
      */
     public void scoreGamesWithRealData() {
+        metrics.recordScoringRun(this::doScoreGamesWithRealData);
+    }
+
+    private void doScoreGamesWithRealData() {
+        ScoringRunEvent event = new ScoringRunEvent();
+        event.begin();
         try {
             if (!gameScoreService.isApiConfigured()) {
                 System.out.println("Odds API not configured, falling back to legacy scoring");
+                event.outcome = "legacy";
                 scoreGames();
                 return;
             }
@@ -53,6 +71,7 @@ public class ScoringService {
             
             if (scoreResults.isEmpty()) {
                 System.out.println("No game results returned from API - nothing to update");
+                event.outcome = "no_results";
                 return;
             }
             
@@ -77,19 +96,25 @@ public class ScoringService {
                 for (Pick pick : picksForGame) {
                     boolean isCorrect = pick.getPickedTeam().equals(winningTeam);
                     pick.setCorrect(isCorrect);
-                    pick.setScoredAt(LocalDateTime.now());
+                    pick.setScoredAt(LocalDateTime.now(clock));
                     pickRepository.save(pick);
                 }
+                event.gamesScored++;
+                event.picksScored += picksForGame.size();
                 
                 System.out.println("✅ Updated " + picksForGame.size() + " picks for " + 
                     game.getAwayTeam() + " " + result.getAwayScore() + " @ " + 
                     game.getHomeTeam() + " " + result.getHomeScore() + " - Winner: " + winningTeam);
             }
+            event.outcome = "success";
             
         } catch (Exception e) {
-            System.err.println("Error scoring games with real data: " + e.getMessage());
-            System.out.println("Falling back to legacy scoring method");
-            scoreGames();
+            // Leave games unscored rather than guessing winners; the next run picks them up once the API recovers
+            System.err.println("Error scoring games with real data, remaining games stay unscored until the next run: " + e.getMessage());
+            event.outcome = "api_error";
+            throw new RuntimeException("Scoring run failed: " + e.getMessage(), e);
+        } finally {
+            event.commit();
         }
     }
     
@@ -97,7 +122,7 @@ public class ScoringService {
      * Legacy scoring method (fallback with random selection)
      */
     public void scoreGames() {
-        List<Game> unscoredGames = gameRepository.findByScoredFalseAndKickoffTimeBefore(Instant.now());
+        List<Game> unscoredGames = gameRepository.findByScoredFalseAndKickoffTimeBefore(Instant.now(clock));
 
         for (Game game : unscoredGames) {
             String winningTeam;
@@ -116,7 +141,7 @@ public class ScoringService {
             List<Pick> picksForGame = pickRepository.findByGame(game);
             for (Pick pick : picksForGame) {
                 pick.setCorrect(pick.getPickedTeam().equals(winningTeam));
-                pick.setScoredAt(LocalDateTime.now());
+                pick.setScoredAt(LocalDateTime.now(clock));
                 pickRepository.save(pick);
             }
             System.out.println("Game " + game.getId() + " scored. Winner: " + winningTeam);
@@ -0,0 +1,184 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.GameWithOddsDto;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the schedule import and warms the hot read paths (current week games and odds, league standings)
+ * on a background thread once the app has started, so the port opens right away. Readiness reports
+ * OUT_OF_SERVICE until the warmup has finished, failed or run past its timeout; liveness is unaffected.
+ * Nothing runs under the datagen profile, which writes its own schedule and exits without serving traffic.
+ */
+@Service
+public class StartupWarmupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupWarmupService.class);
+
+    private static final Duration SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+
+    public enum Phase { PENDING, RUNNING, READY, FAILED }
+
+    private final GameService gameService;
+    private final LeaderboardService leaderboardService;
+    private final LeagueRepository leagueRepository;
+    private final Clock clock;
+    private final Environment environment;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "startup-warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Long> stepMillis = new LinkedHashMap<>();
+    private volatile Phase phase = Phase.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    @Value("${STARTUP_WARMUP_ENABLED:true}")
+    private boolean enabled;
+
+    @Value("${STARTUP_WARMUP_TIMEOUT_SECONDS:300}")
+    private long timeoutSeconds;
+
+    @Value("${STARTUP_WARMUP_MAX_LEAGUES:50}")
+    private int maxLeagues;
+
+    public StartupWarmupService(GameService gameService, LeaderboardService leaderboardService,
+                                LeagueRepository leagueRepository, Clock clock, Environment environment) {
+        this.gameService = gameService;
+        this.leaderboardService = leaderboardService;
+        this.leagueRepository = leagueRepository;
+        this.clock = clock;
+        this.environment = environment;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        startedAt = clock.instant();
+        if (environment.acceptsProfiles(Profiles.of("datagen"))) {
+            // An import here would race the generator's own schedule
+            phase = Phase.READY;
+            finishedAt = startedAt;
+            return;
+        }
+        if (!enabled) {
+            // Still import the schedule, just without holding back readiness for it
+            phase = Phase.READY;
+            finishedAt = startedAt;
+            executor.submit(gameService::importScheduleIfEmpty);
+            return;
+        }
+        phase = Phase.RUNNING;
+        executor.submit(this::warmUp);
+    }
+
+    /**
+     * Interrupt the warmup and give it a bounded time to let go of its connection before the pool closes
+     */
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Startup warmup still running {} s after shutdown was requested", SHUTDOWN_TIMEOUT.toSeconds());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void warmUp() {
+        try {
+            step("scheduleImport", gameService::importScheduleIfEmpty);
+
+            Integer week = gameService.getCurrentWeek();
+            step("currentWeekGames", () -> {
+                // Same reads as GET /api/games/week/{week}
+                for (Game game : gameService.getGamesByWeek(week)) {
+                    new GameWithOddsDto(game, gameService.getOddsForGame(game.getId()));
+                }
+            });
+            step("currentWeekOdds", () -> gameService.getOddsForWeek(week));
+            step("leagueStandings", () -> {
+                List<League> leagues = leagueRepository.findAll(
+                    PageRequest.of(0, Math.max(1, maxLeagues), Sort.by(Sort.Direction.DESC, "id"))).getContent();
+                for (League league : leagues) {
+                    leaderboardService.getSeasonLeaderboard(league.getId());
+                }
+            });
+
+            phase = Phase.READY;
+        } catch (Exception e) {
+            // A failed warmup only costs the first requests some latency, so the app still goes ready
+            error = e.getMessage();
+            phase = Phase.FAILED;
+            logger.warn("Startup warmup failed, accepting traffic anyway", e);
+        } finally {
+            finishedAt = clock.instant();
+            logger.info("Startup warmup {} in {} ms: {}", phase,
+                Duration.between(startedAt, finishedAt).toMillis(), stepMillis);
+        }
+    }
+
+    private void step(String name, Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        synchronized (stepMillis) {
+            stepMillis.put(name, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Whether traffic should be routed here: the warmup is over, or has been running longer than its timeout
+     */
+    public boolean isReady() {
+        if (phase == Phase.READY || phase == Phase.FAILED) {
+            return true;
+        }
+        Instant started = startedAt;
+        return started != null && Duration.between(started, clock.instant()).getSeconds() >= timeoutSeconds;
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public Map<String, Object> details() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("phase", phase);
+        details.put("ready", isReady());
+        details.put("startedAt", startedAt);
+        details.put("finishedAt", finishedAt);
+        synchronized (stepMillis) {
+            details.put("stepMillis", new LinkedHashMap<>(stepMillis));
+        }
+        if (error != null) {
+            details.put("error", error);
+        }
+        return details;
+    }
+}
@@ -1,5 +1,9 @@
 package com.nflpickem.pickem.util;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.nflpickem.pickem.model.Game;
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.Document;
@@ -8,14 +12,23 @@ import org.jsoup.select.Elements;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 @Component
 public class NflScheduleScraper {
@@ -23,9 +36,22 @@ public class NflScheduleScraper {
     private static final String BASE_NFL_SCHEDULE_URL = "https://www.pro-football-reference.com/years/";
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("MMMM d, yyyy h:mm a", Locale.ENGLISH);
     private static final ZoneId EASTERN_TIME = ZoneId.of("America/New_York"); // Assuming ET for NFL game times
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final NflSeasonCalendar seasonCalendar;
+
+    public NflScheduleScraper(NflSeasonCalendar seasonCalendar) {
+        this.seasonCalendar = seasonCalendar;
+    }
 
     public List<Game> scrapeGames(Integer year, Integer targetWeekNum) throws IOException {
-        List<Game> games = new ArrayList<>();
+        return scrapeSeason(year).getOrDefault(targetWeekNum, List.of());
+    }
+
+    /**
+     * Fetch the season page once and return every regular season game, grouped by week
+     */
+    public Map<Integer, List<Game>> scrapeSeason(int year) throws IOException {
         String url = BASE_NFL_SCHEDULE_URL + year + "/games.htm";
         
         try {
@@ -33,91 +59,151 @@ public class NflScheduleScraper {
                 .userAgent("Mozilla/5.0 (Windows NT 10.0; Win64; x64) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/91.0.4472.124 Safari/537.36")
                 .timeout(30000) // 30 second timeout
                 .followRedirects(true)
+                .maxBodySize(0) // The full season table is larger than Jsoup's default limit
                 .get();
+            return parseSeason(doc, year);
+        } catch (IOException e) {
+            System.err.println("Failed to connect to " + url + ": " + e.getMessage());
+            System.err.println("This is expected in Railway deployment due to network restrictions.");
+            throw e;
+        }
+    }
 
-            Elements gameRows = doc.select("table#games tbody tr");
-
-            for (Element row : gameRows) {
-                try {
-                    String weekNumStr = row.select("th[data-stat=week_num]").text();
-                    if (weekNumStr.isEmpty()) {
-                        weekNumStr = row.select("td[data-stat=week_num]").text();
-                    }
+    /**
+     * Parse all rows of a season page in one pass into per-week batches
+     */
+    public Map<Integer, List<Game>> parseSeason(Document doc, int year) {
+        Map<Integer, List<Game>> gamesByWeek = new TreeMap<>();
+        Elements gameRows = doc.select("table#games tbody tr");
+
+        for (Element row : gameRows) {
+            try {
+                String weekNumStr = row.select("th[data-stat=week_num]").text();
+                if (weekNumStr.isEmpty()) {
+                    weekNumStr = row.select("td[data-stat=week_num]").text();
+                }
 
-                    // Skip header rows or rows that don't have a numeric week number for regular season
-                    if (row.hasClass("thead")) {
-                        System.err.println("Skipping header row (hasClass(\"thead\")): " + row.outerHtml());
-                        continue;
-                    }
+                // Skip header rows and preseason rows (week "Pre0", "Pre1", ...)
+                if (row.hasClass("thead") || weekNumStr.startsWith("Pre")) {
+                    continue;
+                }
 
-                    Integer week = null;
-                    try {
-                        week = Integer.parseInt(weekNumStr);
-                    } catch (NumberFormatException e) {
-                        System.err.println("Skipping row with non-numeric week number: '" + weekNumStr + "'. Full row: " + row.outerHtml());
-                        continue;
-                    }
+                Integer week = null;
+                try {
+                    week = Integer.parseInt(weekNumStr);
+                } catch (NumberFormatException e) {
+                    System.err.println("Skipping row with non-numeric week number: '" + weekNumStr + "'. Full row: " + row.outerHtml());
+                    continue;
+                }
 
-                    if (!week.equals(targetWeekNum)) {
-                        // This is intentional, as we only want games for targetWeekNum for this specific scrape call
-                        // System.err.println("Skipping game not for target week " + targetWeekNum + ": Week " + week + ". Full row: " + row.outerHtml());
-                        continue;
-                    }
+                String awayTeam = row.select("td[data-stat=visitor_team]").text();
+                String homeTeam = row.select("td[data-stat=home_team]").text();
+                String dateStr = row.select("td[data-stat=boxscore_word]").text().trim();
+                String timeStr = row.select("td[data-stat=gametime]").text().trim();
 
-                    String awayTeam = row.select("td[data-stat=visitor_team]").text();
-                    String homeTeam = row.select("td[data-stat=home_team]").text();
-                    String dateStr = row.select("td[data-stat=boxscore_word]").text().trim();
-                    String timeStr = row.select("td[data-stat=gametime]").text().trim();
+                if (dateStr.isEmpty() || timeStr.isEmpty()) {
+                    System.err.println("Skipping row due to empty date or time string. Full row: " + row.outerHtml());
+                    continue;
+                }
 
-                    if (dateStr.isEmpty() || timeStr.isEmpty()) {
-                        System.err.println("Skipping row due to empty date or time string. Full row: " + row.outerHtml());
-                        continue;
-                    }
+                String awayScoreStr = row.select("td[data-stat=pts_vis]").text();
+                String homeScoreStr = row.select("td[data-stat=pts_home]").text();
 
-                    String awayScoreStr = row.select("td[data-stat=pts_vis]").text();
-                    String homeScoreStr = row.select("td[data-stat=pts_home]").text();
-
-                    String winningTeam = null;
-                    if (!awayScoreStr.isEmpty() && !homeScoreStr.isEmpty()) {
-                        try {
-                            int awayScore = Integer.parseInt(awayScoreStr);
-                            int homeScore = Integer.parseInt(homeScoreStr);
-                            if (awayScore > homeScore) {
-                                winningTeam = awayTeam;
-                            } else if (homeScore > awayScore) {
-                                winningTeam = homeTeam;
-                            } else {
-                                winningTeam = "TIE";
-                            }
-                        } catch (NumberFormatException e) {
-                            winningTeam = null;
+                String winningTeam = null;
+                if (!awayScoreStr.isEmpty() && !homeScoreStr.isEmpty()) {
+                    try {
+                        int awayScore = Integer.parseInt(awayScoreStr);
+                        int homeScore = Integer.parseInt(homeScoreStr);
+                        if (awayScore > homeScore) {
+                            winningTeam = awayTeam;
+                        } else if (homeScore > awayScore) {
+                            winningTeam = homeTeam;
+                        } else {
+                            winningTeam = "TIE";
                         }
+                    } catch (NumberFormatException e) {
+                        winningTeam = null;
                     }
+                }
 
-                    String fullDateTimeStr = dateStr + ", " + year + " " + timeStr;
-                    Instant kickoffInstant = parseDateTime(fullDateTimeStr); // Now returns Instant
-
-                    if (kickoffInstant != null) {
-                        Game game = new Game();
-                        game.setWeek(targetWeekNum);
-                        game.setHomeTeam(homeTeam);
-                        game.setAwayTeam(awayTeam);
-                        game.setKickoffTime(kickoffInstant); // Set Instant
-                        game.setWinningTeam(winningTeam);
-                        games.add(game);
-                    } else {
-                        System.err.println("Skipping game due to parsing error: " + fullDateTimeStr);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing game row: " + row.outerHtml() + ", Error: " + e.getMessage());
+                // Games in January and February are played in the calendar year after the season's year
+                int calendarYear = dateStr.startsWith("January") || dateStr.startsWith("February") ? year + 1 : year;
+                String fullDateTimeStr = dateStr + ", " + calendarYear + " " + timeStr;
+                Instant kickoffInstant = parseDateTime(fullDateTimeStr); // Now returns Instant
+
+                if (kickoffInstant != null) {
+                    Game game = new Game();
+                    game.setWeek(week);
+                    game.setHomeTeam(homeTeam);
+                    game.setAwayTeam(awayTeam);
+                    game.setKickoffTime(kickoffInstant); // Set Instant
+                    game.setWinningTeam(winningTeam);
+                    gamesByWeek.computeIfAbsent(week, w -> new ArrayList<>()).add(game);
+                } else {
+                    System.err.println("Skipping game due to parsing error: " + fullDateTimeStr);
                 }
+            } catch (Exception e) {
+                System.err.println("Error parsing game row: " + row.outerHtml() + ", Error: " + e.getMessage());
             }
-        } catch (IOException e) {
-            System.err.println("Failed to connect to " + url + ": " + e.getMessage());
-            System.err.println("This is expected in Railway deployment due to network restrictions.");
-            throw e;
         }
-        return games;
+        return gamesByWeek;
+    }
+
+    /**
+     * Read a schedule exported by scripts/scrape-nfl-schedule.js (a JSON array of week, awayTeam, homeTeam,
+     * kickoffTime, winningTeam, scored), so games can be imported without network access.
+     * The export writes week 1 on every row and also picks up preseason games and the end of the previous
+     * season, so the season is taken from the bulk of the kickoffs and each game's week from its kickoff.
+     */
+    public Map<Integer, List<Game>> readScheduleFile(Path path) throws IOException {
+        List<ScheduleFileEntry> entries;
+        try (InputStream in = Files.newInputStream(path)) {
+            entries = OBJECT_MAPPER.readValue(in, new TypeReference<>() {
+            });
+        }
+
+        Map<Integer, Long> rowsBySeason = entries.stream()
+            .filter(entry -> entry.kickoffTime() != null)
+            .collect(Collectors.groupingBy(entry -> seasonOf(entry.kickoffTime()), Collectors.counting()));
+        if (rowsBySeason.isEmpty()) {
+            return new TreeMap<>();
+        }
+        int season = Collections.max(rowsBySeason.entrySet(), Map.Entry.comparingByValue()).getKey();
+        LocalDate opener = seasonCalendar.seasonStart(season);
+
+        Map<Integer, List<Game>> gamesByWeek = new TreeMap<>();
+        int skipped = 0;
+        for (ScheduleFileEntry entry : entries) {
+            if (entry.kickoffTime() == null || seasonOf(entry.kickoffTime()) != season) {
+                skipped++;
+                continue;
+            }
+            LocalDate kickoffDate = entry.kickoffTime().atZone(EASTERN_TIME).toLocalDate();
+            if (kickoffDate.isBefore(opener)) {
+                skipped++; // Preseason
+                continue;
+            }
+            int week = (int) (ChronoUnit.DAYS.between(opener, kickoffDate) / 7) + 1;
+
+            Game game = new Game();
+            game.setWeek(week);
+            game.setHomeTeam(entry.homeTeam());
+            game.setAwayTeam(entry.awayTeam());
+            game.setKickoffTime(entry.kickoffTime());
+            game.setWinningTeam(entry.winningTeam() == null || entry.winningTeam().isBlank() ? null : entry.winningTeam());
+            game.setScored(entry.scored() && game.getWinningTeam() != null);
+            gamesByWeek.computeIfAbsent(week, w -> new ArrayList<>()).add(game);
+        }
+        if (skipped > 0) {
+            System.out.println("Skipped " + skipped + " rows of " + path + " outside the " + season + " regular season");
+        }
+        return gamesByWeek;
+    }
+
+    // January and February games belong to the season that started the previous September
+    private static int seasonOf(Instant kickoff) {
+        LocalDate date = kickoff.atZone(EASTERN_TIME).toLocalDate();
+        return date.getMonthValue() <= 2 ? date.getYear() - 1 : date.getYear();
     }
 
     private Instant parseDateTime(String fullDateTimeStr) {
@@ -131,4 +217,9 @@ public class NflScheduleScraper {
             return null;
         }
     }
-} 
\ No newline at end of file
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record ScheduleFileEntry(Integer week, String awayTeam, String homeTeam, Instant kickoffTime,
+                                     String winningTeam, boolean scored) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.nflpickem.pickem.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * When an NFL season opens. The opener is the Thursday after Labor Day (the first Monday in September), unless
+ * NFL_SEASON_START_DATE names another date for that year. Schedule import, odds ingestion and the current week
+ * all count weeks from here.
+ */
+@Component
+public class NflSeasonCalendar {
+
+    private static final Logger logger = LoggerFactory.getLogger(NflSeasonCalendar.class);
+
+    private final LocalDate configuredStart;
+
+    public NflSeasonCalendar(@Value("${NFL_SEASON_START_DATE:}") String configuredStart) {
+        this.configuredStart = parse(configuredStart);
+    }
+
+    /**
+     * The configured start when it falls in the given year, otherwise the Thursday after Labor Day. That is not
+     * always the first Thursday: in 2026 Labor Day is September 7, so the season opens on the 10th, not the 3rd.
+     */
+    public LocalDate seasonStart(int year) {
+        if (configuredStart != null && configuredStart.getYear() == year) {
+            return configuredStart;
+        }
+        return LocalDate.of(year, 9, 1).with(TemporalAdjusters.firstInMonth(DayOfWeek.MONDAY)).plusDays(3);
+    }
+
+    private static LocalDate parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        // Remove quotes if present (common issue with environment variables)
+        String cleanDate = value.trim().replaceAll("^\"|\"$", "");
+        try {
+            return LocalDate.parse(cleanDate);
+        } catch (DateTimeParseException e) {
+            logger.warn("Invalid NFL_SEASON_START_DATE format '{}', using calculated dates: {}", value, e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.nflpickem.pickem.config;
+
+import com.nflpickem.pickem.dto.PickSummary;
+import com.nflpickem.pickem.model.BettingOdds;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.PickDistribution;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.service.GameScoreService;
+import com.nflpickem.pickem.service.OddsService;
+import com.nflpickem.pickem.monitoring.QueryTimingListener;
+import net.ttddyy.dsproxy.proxy.ProxyJdbcObject;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NativeHintsConfigTest {
+
+    @Test
+    void registersBindingsEntitiesAndStaticAssets() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.PickemRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onType(Game.class)
+            .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onField(OddsService.Market.Outcome.class.getField("point"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onField(GameScoreService.ScoreApiResponse.class.getField("scores"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PickSummary.class)
+            .withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection()
+            .onType(Class.forName("com.nflpickem.pickem.util.NflScheduleScraper$ScheduleFileEntry"))).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("static/index.html")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("fakeodds/odds.json")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, PreparedStatement.class)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(ProxyJdbcObject.class, Connection.class)).accepts(hints);
+    }
+
+    @Test
+    void everyEntityIsRegistered() {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.PickemRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(NativeHintsConfig.PickemRuntimeHints.entities(getClass().getClassLoader()))
+            .containsExactlyInAnyOrder(BettingOdds.class, Game.class, League.class, Pick.class, PickDistribution.class, User.class);
+        assertThat(RuntimeHintsPredicates.reflection().onType(PickDistribution.class)
+            .withMemberCategories(MemberCategory.DECLARED_FIELDS, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+    }
+
+    @Test
+    void registersTheProxiesQueryTimingCreates() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.PickemRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        DataSource dataSource = ProxyDataSourceBuilder.create(new DriverManagerDataSource("jdbc:h2:mem:native-hints"))
+            .listener(new QueryTimingListener())
+            .build();
+
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             PreparedStatement prepared = connection.prepareStatement("SELECT 1");
+             CallableStatement callable = connection.prepareCall("CALL 1")) {
+            for (Object proxy : List.of(connection, statement, prepared, callable)) {
+                // Proxy interfaces are matched in order
+                assertThat(RuntimeHintsPredicates.proxies().forInterfaces(proxy.getClass().getInterfaces())).accepts(hints);
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.nflpickem.pickem.controller;
+
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.monitoring.RequestTimings;
+import com.nflpickem.pickem.monitoring.ServerTimingFilter;
+import com.nflpickem.pickem.repository.GameRepository;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsProperties;
+import org.springframework.boot.actuate.autoconfigure.metrics.PropertiesMeterFilter;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class GameControllerQueryBudgetTest {
+
+    private static final int WEEK = 7;
+    private static final int GAMES = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private MetricsProperties metricsProperties;
+
+    @BeforeEach
+    void seedGames() {
+        for (int i = 0; i < GAMES; i++) {
+            Game game = new Game();
+            game.setWeek(WEEK);
+            game.setHomeTeam("Home " + i);
+            game.setAwayTeam("Away " + i);
+            game.setKickoffTime(Instant.now().plus(i + 1, ChronoUnit.DAYS));
+            gameRepository.save(game);
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        gameRepository.deleteAll(gameRepository.findByWeek(WEEK));
+    }
+
+    @Test
+    void weekEndpointStaysWithinQueryBudget() throws Exception {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            mockMvc.perform(get("/api/games/week/{week}", WEEK))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(ServerTimingFilter.HEADER));
+        } finally {
+            RequestTimings.end();
+        }
+
+        // One query for the games plus one odds lookup per game
+        assertThat(timings.getQueryCount()).isLessThanOrEqualTo(1 + GAMES);
+    }
+
+    @Test
+    void serverTimingHeaderReportsStatementCount() throws Exception {
+        String serverTiming = mockMvc.perform(get("/api/games/week/{week}", WEEK))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(ServerTimingFilter.HEADER);
+
+        assertThat(serverTiming).startsWith("db;dur=").contains("queries").contains("ext;dur=");
+    }
+
+    @Test
+    void timersGetHistogramsButStatementCountsDoNot() {
+        PropertiesMeterFilter filter = new PropertiesMeterFilter(metricsProperties);
+
+        DistributionStatisticConfig picks = filter.configure(
+            new Meter.Id("pickem.picks.submit", Tags.empty(), null, null, Meter.Type.TIMER), DistributionStatisticConfig.DEFAULT);
+        assertThat(picks.isPercentileHistogram()).isTrue();
+        assertThat(picks.getMinimumExpectedValueAsDouble()).isEqualTo(Duration.ofMillis(1).toNanos());
+        DistributionStatisticConfig queries = filter.configure(
+            new Meter.Id(ServerTimingFilter.QUERIES_PER_REQUEST, Tags.empty(), null, null, Meter.Type.DISTRIBUTION_SUMMARY),
+            DistributionStatisticConfig.DEFAULT);
+        assertThat(queries.isPercentileHistogram()).isFalse();
+    }
+}
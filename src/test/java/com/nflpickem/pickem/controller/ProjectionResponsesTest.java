@@ -0,0 +1,127 @@
+package com.nflpickem.pickem.controller;
+
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+import com.nflpickem.pickem.testsupport.LeagueFixture;
+import com.nflpickem.pickem.testsupport.TestWeeks;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nflpickem.pickem.testsupport.QueryCounts.countQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+@Transactional
+class ProjectionResponsesTest {
+
+    private static final int WEEK = TestWeeks.PROJECTIONS;
+    private static final int MEMBERS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LeagueFixture fixture;
+    private List<User> users;
+    private final List<Game> games = new ArrayList<>();
+    private League league;
+
+    @BeforeEach
+    void seed() {
+        fixture = new LeagueFixture(userRepository, leagueRepository, gameRepository, pickRepository, "Projection");
+        users = fixture.users(MEMBERS);
+        league = fixture.league("PROJ0001", users);
+        for (int i = 0; i < 2; i++) {
+            Game game = fixture.game(WEEK, i, Instant.now().plus(i + 1, ChronoUnit.DAYS));
+            games.add(game);
+            fixture.pick(users.get(0), game, league, game.getHomeTeam());
+        }
+        // Write the rows now and forget them, so the counted requests read everything from the database
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void userPicksAreFlatAndReadInOneQuery() throws Exception {
+        int queries = countQueries(() -> mockMvc.perform(get("/api/picks/user/{userId}", users.get(0).getId())
+                .param("leagueId", league.getId().toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(2)))
+            .andExpect(jsonPath("$[0].gameId").value(games.get(0).getId()))
+            .andExpect(jsonPath("$[0].pickedTeam").value("Projection Home 0"))
+            .andExpect(jsonPath("$[0].week").value(WEEK))
+            .andExpect(jsonPath("$[0].user").doesNotExist())
+            .andExpect(jsonPath("$[0].league").doesNotExist())
+            .andExpect(content().string(not(containsString("password"))))
+            .andExpect(content().string(not(containsString("$2a$")))));
+
+        assertThat(queries).isEqualTo(1);
+    }
+
+    @Test
+    void leagueDetailsListMembersWithoutCredentials() throws Exception {
+        int queries = countQueries(() -> mockMvc.perform(get("/api/leagues/{id}", league.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.joinCode").value("PROJ0001"))
+            .andExpect(jsonPath("$.admin.username").value("projection-user-0"))
+            .andExpect(jsonPath("$.members", hasSize(MEMBERS)))
+            .andExpect(jsonPath("$.members[1].name").value("Projection User 1"))
+            .andExpect(content().string(not(containsString("password"))))
+            .andExpect(content().string(not(containsString("$2a$")))));
+
+        assertThat(queries).isEqualTo(1);
+
+        mockMvc.perform(get("/api/leagues/{id}", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void leagueListLeavesOutMembers() throws Exception {
+        mockMvc.perform(get("/api/leagues/user/{userId}", users.get(2).getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].name").value("Projection League"))
+            .andExpect(jsonPath("$[0].admin.name").value("Projection User 0"))
+            .andExpect(jsonPath("$[0].members").doesNotExist());
+    }
+}
@@ -0,0 +1,81 @@
+package com.nflpickem.pickem.controller;
+
+import com.nflpickem.pickem.service.GameService;
+import com.nflpickem.pickem.service.StartupWarmupService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class StartupProbesTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StartupWarmupService startupWarmupService;
+
+    @MockitoSpyBean
+    private GameService gameService;
+
+    @Test
+    void readinessWaitsForWarmupWhileLivenessDoesNot() throws Exception {
+        awaitWarmup();
+
+        // Warm up again with the schedule import held until the latch opens
+        CountDownLatch importStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            importStarted.countDown();
+            assertThat(release.await(30, TimeUnit.SECONDS)).isTrue();
+            return invocation.callRealMethod();
+        }).when(gameService).importScheduleIfEmpty();
+        startupWarmupService.start();
+        assertThat(importStarted.await(30, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            assertThat(startupWarmupService.getPhase()).isEqualTo(StartupWarmupService.Phase.RUNNING);
+            mockMvc.perform(get("/health/readiness"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.status").value("OUT_OF_SERVICE"));
+            mockMvc.perform(get("/actuator/health/readiness")).andExpect(status().isServiceUnavailable());
+            mockMvc.perform(get("/health/liveness")).andExpect(status().isOk());
+            mockMvc.perform(get("/actuator/health/liveness")).andExpect(status().isOk());
+        } finally {
+            release.countDown();
+        }
+
+        awaitWarmup();
+        assertThat(startupWarmupService.getPhase()).isEqualTo(StartupWarmupService.Phase.READY);
+        mockMvc.perform(get("/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.startup.stepMillis.scheduleImport").exists())
+            .andExpect(jsonPath("$.startup.stepMillis.leagueStandings").exists());
+        mockMvc.perform(get("/actuator/health/readiness"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.components.warmup.status").value("UP"));
+    }
+
+    private void awaitWarmup() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!startupWarmupService.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(startupWarmupService.isReady()).isTrue();
+    }
+}
@@ -0,0 +1,98 @@
+package com.nflpickem.pickem.fakeodds;
+
+import com.nflpickem.pickem.testsupport.VirtualClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FakeOddsApiServerTest {
+
+    private static final String ODDS = "/sports/americanfootball_nfl/odds/?apiKey=test&regions=us&markets=spreads&bookmakers=fanduel";
+    private static final String SCORES = "/sports/americanfootball_nfl/scores/?apiKey=test&daysFrom=1";
+
+    private final VirtualClock clock = new VirtualClock(FakeOddsFixtures.DEFAULT_REPLAY_START, ZoneId.of("America/New_York"));
+    private final RestTemplate restTemplate = new RestTemplate();
+    private FakeOddsApiServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new FakeOddsApiServer(clock, FakeOddsFixtures.replay(clock, FakeOddsFixtures.DEFAULT_REPLAY_START),
+            new FakeOddsApiSettings()).start(0);
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+    }
+
+    @Test
+    void gamesProgressFromUpcomingToCompletedWithTheClock() {
+        // Thirty minutes before the Sunday early games: all but the Thursday and Friday games are upcoming
+        assertThat(get(ODDS)).hasSize(14);
+        assertThat(completed(get(SCORES))).isEqualTo(0);
+
+        clock.advance(Duration.ofMinutes(90));
+        List<Map<String, Object>> live = get(SCORES);
+        assertThat(completed(live)).isEqualTo(0);
+        assertThat(live).anySatisfy(game -> assertThat(game.get("scores")).isNotNull());
+
+        clock.advance(Duration.ofHours(3));
+        assertThat(completed(get(SCORES))).isEqualTo(8);
+        assertThat(get(ODDS)).hasSize(2);
+    }
+
+    @Test
+    void injectedFailuresAndQuotaExhaustionSurfaceAsApiErrors() {
+        server.getSettings().failNext(429, 1);
+        assertThatThrownBy(() -> get(ODDS))
+            .isInstanceOfSatisfying(HttpClientErrorException.class, e -> {
+                assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                assertThat(e.getResponseBodyAsString()).contains("EXCEEDED_FREQ_LIMIT");
+            });
+
+        server.getSettings().serverErrorRate(1.0);
+        assertThatThrownBy(() -> get(ODDS)).isInstanceOf(HttpServerErrorException.class);
+        server.getSettings().serverErrorRate(0);
+
+        server.getSettings().quota(3);
+        ResponseEntity<List> ok = restTemplate.getForEntity(server.getBaseUrl() + SCORES, List.class);
+        assertThat(ok.getHeaders().getFirst("x-requests-remaining")).isEqualTo("1");
+        assertThatThrownBy(() -> get(SCORES))
+            .isInstanceOfSatisfying(HttpClientErrorException.class,
+                e -> assertThat(e.getResponseBodyAsString()).contains("OUT_OF_USAGE_CREDITS"));
+    }
+
+    @Test
+    void payloadScaleMultipliesBookmakersWithoutDuplicatingEvents() {
+        Map<String, Object> first = get(ODDS).get(0);
+        assertThat((List<?>) first.get("bookmakers")).hasSize(1);
+
+        server.getSettings().payloadScale(20);
+        List<Map<String, Object>> scaled = get(ODDS);
+        assertThat(scaled).hasSize(14);
+        assertThat((List<?>) scaled.get(0).get("bookmakers")).hasSize(20);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> get(String path) {
+        return restTemplate.getForObject(server.getBaseUrl() + path, List.class);
+    }
+
+    private static long completed(List<Map<String, Object>> scores) {
+        return scores.stream().filter(game -> Boolean.TRUE.equals(game.get("completed"))).count();
+    }
+}
@@ -0,0 +1,100 @@
+package com.nflpickem.pickem.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint latency samples for one phase of the load test
+ */
+public class LatencyRecorder {
+
+    private final String phase;
+    private final Map<String, Samples> endpoints = new ConcurrentHashMap<>();
+    private final long startedNanos = System.nanoTime();
+    private volatile long finishedNanos;
+
+    public LatencyRecorder(String phase) {
+        this.phase = phase;
+    }
+
+    public void record(String endpoint, long nanos, boolean success) {
+        Samples samples = endpoints.computeIfAbsent(endpoint, e -> new Samples());
+        samples.add(nanos);
+        if (!success) {
+            samples.errors.incrementAndGet();
+        }
+    }
+
+    public void finish() {
+        finishedNanos = System.nanoTime();
+    }
+
+    public long getErrorCount() {
+        return endpoints.values().stream().mapToLong(s -> s.errors.get()).sum();
+    }
+
+    public long getRequestCount() {
+        return endpoints.values().stream().mapToLong(Samples::size).sum();
+    }
+
+    /**
+     * Fixed-width table of count, throughput and latency percentiles per endpoint
+     */
+    public String report() {
+        Duration wall = Duration.ofNanos((finishedNanos != 0 ? finishedNanos : System.nanoTime()) - startedNanos);
+        StringBuilder out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%n== %s (%.1fs wall) ==%n", phase, wall.toMillis() / 1000.0));
+        out.append(String.format(Locale.ROOT, "%-34s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+            "endpoint", "count", "errors", "req/s", "p50 ms", "p90 ms", "p95 ms", "p99 ms", "max ms"));
+        endpoints.entrySet().stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> {
+                long[] sorted = entry.getValue().sorted();
+                double seconds = Math.max(0.001, wall.toNanos() / 1e9);
+                out.append(String.format(Locale.ROOT, "%-34s %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    entry.getKey(), sorted.length, entry.getValue().errors.get(), sorted.length / seconds,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 90)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(sorted.length > 0 ? sorted[sorted.length - 1] : 0)));
+            });
+        return out.toString();
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static class Samples {
+        private long[] values = new long[1024];
+        private int size;
+        private final AtomicLong errors = new AtomicLong();
+
+        synchronized void add(long nanos) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = nanos;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        synchronized long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
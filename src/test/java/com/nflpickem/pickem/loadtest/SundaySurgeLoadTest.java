@@ -0,0 +1,305 @@
+package com.nflpickem.pickem.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.nflpickem.pickem.fakeodds.FakeOddsApiServer;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.testsupport.VirtualClock;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a scripted Sunday against the real controllers: the pick surge in the ten minutes before the
+ * 1pm kickoffs, scoring once the early games finish, then everyone refreshing leaderboards. Time is a
+ * VirtualClock shared by the application and the fake Odds API, and the database is filled by the
+ * datagen profile. Prints latency percentiles and throughput per endpoint and writes them to
+ * target/load-test/sunday-surge.txt.
+ *
+ * Excluded from the normal build; run with ./mvnw -Pload-test test (LOADTEST_* system properties
+ * or environment variables tune the size).
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "DATAGEN_USERS=${LOADTEST_USERS:2000}",
+    "DATAGEN_LEAGUES=${LOADTEST_LEAGUES:80}",
+    "DATAGEN_SEASON_START=" + SundaySurgeLoadTest.SEASON_START,
+    "DATAGEN_SCORED_WEEKS=" + (SundaySurgeLoadTest.WEEK - 1),
+    "ODDS_API_KEY=load-test",
+    "logging.level.root=WARN",
+    "spring.jpa.show-sql=false"
+})
+@ActiveProfiles({"h2", "datagen"})
+class SundaySurgeLoadTest {
+
+    static final String SEASON_START = "2025-09-04";
+    static final int WEEK = 6;
+
+    private static final ZoneId EASTERN = ZoneId.of("America/New_York");
+    // Sunday of week 6, ten minutes before the early kickoffs
+    private static final Instant SURGE_START = LocalDateTime.of(2025, 10, 12, 12, 50).atZone(EASTERN).toInstant();
+
+    private static final VirtualClock CLOCK = new VirtualClock(SURGE_START, ZoneId.systemDefault());
+    private static final AtomicReference<GameRepository> GAMES = new AtomicReference<>();
+    private static final FakeOddsApiServer ODDS_API = startOddsApi();
+
+    @TestConfiguration
+    static class VirtualClockConfig {
+        @Bean
+        @Primary
+        Clock virtualClock() {
+            return CLOCK;
+        }
+    }
+
+    @DynamicPropertySource
+    static void oddsApi(DynamicPropertyRegistry registry) {
+        registry.add("ODDS_API_BASE_URL", ODDS_API::getBaseUrl);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${LOADTEST_SESSIONS:2000}")
+    private int sessionCount;
+
+    @Value("${LOADTEST_CONCURRENCY:64}")
+    private int concurrency;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient http = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(5))
+        .build();
+
+    @AfterAll
+    static void stopOddsApi() {
+        ODDS_API.close();
+    }
+
+    @Test
+    void sundaySurge() throws Exception {
+        GAMES.set(gameRepository);
+        List<Session> sessions = jdbcTemplate.query(
+            "SELECT user_id, league_id FROM league_members ORDER BY league_id, user_id",
+            (rs, rowNum) -> new Session(rs.getLong("user_id"), rs.getLong("league_id")));
+        sessions = sessions.subList(0, Math.min(sessionCount, sessions.size()));
+        assertThat(sessions).isNotEmpty();
+
+        StringBuilder report = new StringBuilder(String.format("Sunday surge: %d sessions, concurrency %d, week %d%n",
+            sessions.size(), concurrency, WEEK));
+
+        CLOCK.set(SURGE_START);
+        LatencyRecorder preKickoff = runPhase("Pre-kickoff pick surge (12:50 ET)", sessions, this::submitPicks);
+        report.append(preKickoff.report());
+
+        // Early games end around 16:15; the late window starts at 16:05/16:25
+        CLOCK.set(LocalDateTime.of(2025, 10, 12, 16, 20).atZone(EASTERN).toInstant());
+        LatencyRecorder scoring = new LatencyRecorder("Scoring after the early games (16:20 ET)");
+        timed(scoring, "POST /api/games/update-scores", () -> post("/api/games/update-scores", ""));
+        scoring.finish();
+        report.append(scoring.report());
+
+        LatencyRecorder refresh = runPhase("Post-game leaderboard refresh (16:20 ET)", sessions, this::refreshLeaderboards);
+        report.append(refresh.report());
+
+        // Monday night is over; score the rest of the week and refresh once more
+        CLOCK.set(LocalDateTime.of(2025, 10, 14, 0, 30).atZone(EASTERN).toInstant());
+        LatencyRecorder finalScoring = new LatencyRecorder("Final scoring (Tuesday 00:30 ET)");
+        timed(finalScoring, "POST /api/games/update-scores", () -> post("/api/games/update-scores", ""));
+        finalScoring.finish();
+        report.append(finalScoring.report());
+
+        LatencyRecorder finalRefresh = runPhase("Final leaderboard refresh (Tuesday 00:30 ET)", sessions, this::refreshLeaderboards);
+        report.append(finalRefresh.report());
+        report.append(String.format("%nFake Odds API requests: %d%n", ODDS_API.getRequestCount()));
+
+        System.out.println(report);
+        Path output = Path.of("target", "load-test", "sunday-surge.txt");
+        Files.createDirectories(output.getParent());
+        Files.writeString(output, report);
+
+        assertThat(preKickoff.getErrorCount()).isZero();
+        assertThat(scoring.getErrorCount()).isZero();
+        assertThat(refresh.getErrorCount()).isZero();
+        assertThat(finalScoring.getErrorCount()).isZero();
+        assertThat(finalRefresh.getErrorCount()).isZero();
+        Integer unscored = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM game WHERE week = ? AND scored = FALSE", Integer.class, WEEK);
+        assertThat(unscored).isZero();
+    }
+
+    /**
+     * Load the week, submit picks for every game that has not kicked off, and sometimes change one pick
+     * or try to pick the Thursday game that is already locked
+     */
+    private void submitPicks(Session session, LatencyRecorder recorder, Random random) throws Exception {
+        JsonNode games = timed(recorder, "GET /api/games/week/{week}", () -> get("/api/games/week/" + WEEK));
+        Instant now = CLOCK.instant();
+
+        ArrayNode picks = objectMapper.createArrayNode();
+        JsonNode lockedGame = null;
+        for (JsonNode game : games) {
+            if (Instant.parse(game.get("kickoffTime").asText()).isAfter(now)) {
+                ObjectNode pick = picks.addObject();
+                pick.put("gameId", game.get("id").asLong());
+                pick.put("pickedTeam", game.get(random.nextBoolean() ? "homeTeam" : "awayTeam").asText());
+            } else {
+                lockedGame = game;
+            }
+        }
+        ObjectNode bulk = objectMapper.createObjectNode();
+        bulk.put("userId", session.userId);
+        bulk.put("leagueId", session.leagueId);
+        bulk.set("picks", picks);
+        timed(recorder, "POST /api/picks/submit-bulk", () -> post("/api/picks/submit-bulk", bulk.toString()));
+
+        if (random.nextDouble() < 0.2 && !picks.isEmpty()) {
+            JsonNode changed = picks.get(random.nextInt(picks.size()));
+            timed(recorder, "POST /api/picks/submit", () -> post("/api/picks/submit", singlePick(session, changed).toString()));
+        }
+
+        if (lockedGame != null && random.nextDouble() < 0.05) {
+            ObjectNode late = objectMapper.createObjectNode();
+            late.put("gameId", lockedGame.get("id").asLong());
+            late.put("pickedTeam", lockedGame.get("homeTeam").asText());
+            long started = System.nanoTime();
+            HttpResponse<String> response = send(HttpRequest.newBuilder(uri("/api/picks/submit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(singlePick(session, late).toString())));
+            // The kickoff lock must reject this, based on the virtual clock
+            recorder.record("POST /api/picks/submit (locked)", System.nanoTime() - started, response.statusCode() == 400);
+        }
+    }
+
+    private void refreshLeaderboards(Session session, LatencyRecorder recorder, Random random) throws Exception {
+        String league = "?leagueId=" + session.leagueId;
+        timed(recorder, "GET /api/leaderboard/weekly/{week}", () -> get("/api/leaderboard/weekly/" + WEEK + league));
+        timed(recorder, "GET /api/leaderboard/season", () -> get("/api/leaderboard/season" + league));
+        timed(recorder, "GET /api/leaderboard/weekly-wins", () -> get("/api/leaderboard/weekly-wins" + league));
+        timed(recorder, "GET /api/picks/comparison/{u}/{week}", () -> get("/api/picks/comparison/" + session.userId + "/" + WEEK + league));
+    }
+
+    private LatencyRecorder runPhase(String name, List<Session> sessions, SessionScript script) throws Exception {
+        LatencyRecorder recorder = new LatencyRecorder(name);
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Session session : sessions) {
+                Random random = new Random(session.userId * 31 + session.leagueId);
+                futures.add(executor.submit(() -> {
+                    script.run(session, recorder, random);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            recorder.finish();
+        }
+        return recorder;
+    }
+
+    private ObjectNode singlePick(Session session, JsonNode pick) {
+        ObjectNode request = objectMapper.createObjectNode();
+        request.put("userId", session.userId);
+        request.put("leagueId", session.leagueId);
+        request.put("gameId", pick.get("gameId").asLong());
+        request.put("pickedTeam", pick.get("pickedTeam").asText());
+        return request;
+    }
+
+    private JsonNode timed(LatencyRecorder recorder, String endpoint, Call call) throws Exception {
+        long started = System.nanoTime();
+        HttpResponse<String> response = call.execute();
+        boolean success = response.statusCode() < 400;
+        recorder.record(endpoint, System.nanoTime() - started, success);
+        if (!success || response.body().isEmpty() || !response.body().startsWith("[") && !response.body().startsWith("{")) {
+            return objectMapper.createArrayNode();
+        }
+        return objectMapper.readTree(response.body());
+    }
+
+    private HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path)).GET());
+    }
+
+    private HttpResponse<String> post(String path, String json) throws IOException, InterruptedException {
+        return send(HttpRequest.newBuilder(uri(path))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return http.send(request.timeout(Duration.ofSeconds(60)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static FakeOddsApiServer startOddsApi() {
+        try {
+            FakeOddsApiServer server = FakeOddsApiServer.forGames(CLOCK, () -> GAMES.get() != null ? GAMES.get().findAll() : List.of());
+            server.getSettings().quota(Long.MAX_VALUE);
+            return server.start(0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the fake Odds API", e);
+        }
+    }
+
+    private record Session(long userId, long leagueId) {
+    }
+
+    @FunctionalInterface
+    private interface SessionScript {
+        void run(Session session, LatencyRecorder recorder, Random random) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        HttpResponse<String> execute() throws Exception;
+    }
+}
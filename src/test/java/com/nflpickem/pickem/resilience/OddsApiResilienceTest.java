@@ -0,0 +1,159 @@
+package com.nflpickem.pickem.resilience;
+
+import com.nflpickem.pickem.fakeodds.FakeOddsApiServer;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.monitoring.PickemMetrics;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.service.GameScoreService;
+import com.nflpickem.pickem.service.ScoringService;
+import com.nflpickem.pickem.testsupport.VirtualClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OddsApiResilienceTest {
+
+    private final VirtualClock clock = new VirtualClock(Instant.parse("2025-10-12T22:00:00Z"), ZoneId.of("America/New_York"));
+    private final Game game = new Game();
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final PickRepository pickRepository = mock(PickRepository.class);
+    private CircuitBreaker circuitBreaker;
+    private FakeOddsApiServer server;
+    private RestTemplate restTemplate;
+    private GameScoreService gameScoreService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        game.setId(1L);
+        game.setWeek(6);
+        game.setHomeTeam("Buffalo Bills");
+        game.setAwayTeam("Miami Dolphins");
+        game.setKickoffTime(Instant.parse("2025-10-12T17:00:00Z"));
+        when(gameRepository.findByHomeTeamAndAwayTeam("Buffalo Bills", "Miami Dolphins")).thenReturn(Optional.of(game));
+        server = FakeOddsApiServer.forGames(clock, () -> List.of(game)).start(0);
+
+        circuitBreaker = new CircuitBreaker("oddsApi", clock, 10, 4, 0.5, Duration.ofSeconds(60));
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setReadTimeout(500);
+        restTemplate = new RestTemplate(requestFactory);
+        restTemplate.getInterceptors().add(new OddsApiGuardInterceptor(circuitBreaker, 1, Duration.ofMillis(100),
+            Duration.ofSeconds(1), new SimpleMeterRegistry()));
+
+        gameScoreService = new GameScoreService(gameRepository, restTemplate, clock);
+        ReflectionTestUtils.setField(gameScoreService, "oddsApiKey", "test");
+        ReflectionTestUtils.setField(gameScoreService, "oddsApiBaseUrl", server.getBaseUrl());
+        ReflectionTestUtils.setField(gameScoreService, "staleMaxAgeMinutes", 360L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void openBreakerServesLastGoodScoresAndHalfOpenProbeClosesIt() {
+        assertThat(gameScoreService.fetchLiveScores()).hasSize(1);
+        long requestsWhenHealthy = server.getRequestCount();
+
+        server.getSettings().serverErrorRate(1.0);
+        // One success and three failures in the window crosses the 50% threshold
+        for (int i = 0; i < 3; i++) {
+            assertThat(gameScoreService.fetchLiveScores()).hasSize(1);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        // While open, calls are short-circuited and the snapshot is served without touching the API
+        long requestsWhenOpened = server.getRequestCount();
+        assertThat(gameScoreService.fetchLiveScores()).extracting(GameScoreService.GameScoreResult::getGame).containsExactly(game);
+        assertThat(server.getRequestCount()).isEqualTo(requestsWhenOpened);
+        assertThat(requestsWhenOpened - requestsWhenHealthy).isEqualTo(3);
+
+        server.getSettings().reset();
+        clock.advance(Duration.ofSeconds(61));
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(gameScoreService.fetchLiveScores()).hasSize(1);
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedScoringRunLeavesGamesUnscoredInsteadOfGuessing() {
+        server.getSettings().serverErrorRate(1.0);
+        ScoringService scoringService = new ScoringService(gameRepository, pickRepository, gameScoreService,
+            new PickemMetrics(new SimpleMeterRegistry(), 8), clock);
+
+        assertThatThrownBy(scoringService::scoreGamesWithRealData).hasMessageContaining("Scoring run failed");
+        assertThat(game.isScored()).isFalse();
+        assertThat(game.getWinningTeam()).isNull();
+        verify(gameRepository, never()).save(any());
+    }
+
+    @Test
+    void aTricklingBodyHoldsItsSlotAndFailsAtTheCallDeadline() throws Exception {
+        // Every 64-byte chunk arrives well within the read timeout, but the whole body takes many seconds
+        clock.set(game.getKickoffTime().minus(Duration.ofHours(1)));
+        server.getSettings().bodyDelay(Duration.ofMillis(100)).payloadScale(20);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            long start = System.nanoTime();
+            Future<String> slow = executor.submit(this::fetchOdds);
+            Thread.sleep(300);
+
+            // The only slot stays taken while the body is read
+            assertThatThrownBy(this::fetchOdds).isInstanceOf(OddsApiUnavailableException.class)
+                .hasMessageContaining("bulkhead");
+            assertThatThrownBy(slow::get).hasRootCauseInstanceOf(SocketTimeoutException.class)
+                .hasStackTraceContaining("deadline");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(3));
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(circuitBreaker.failureRate()).isEqualTo(1.0);
+
+        // The slot is free again once the failed call has been closed
+        server.getSettings().reset();
+        assertThat(fetchOdds()).contains(game.getHomeTeam());
+    }
+
+    @Test
+    void aStalledBodyCountsAsAFailure() {
+        // Headers arrive at once, then the first chunk of the body outlasts the 500 ms read timeout
+        clock.set(game.getKickoffTime().minus(Duration.ofHours(1)));
+        server.getSettings().bodyDelay(Duration.ofMillis(800)).payloadScale(20);
+
+        assertThatThrownBy(this::fetchOdds).hasRootCauseInstanceOf(SocketTimeoutException.class);
+        assertThat(circuitBreaker.failureRate()).isEqualTo(1.0);
+    }
+
+    /**
+     * Odds for the game, which the fake API lists while it has not kicked off
+     */
+    private String fetchOdds() {
+        return restTemplate.getForObject(server.getBaseUrl() + "/sports/americanfootball_nfl/odds/?apiKey=test&regions=us",
+            String.class);
+    }
+}
@@ -0,0 +1,163 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.PickComparisonDto;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+import com.nflpickem.pickem.testsupport.LeagueFixture;
+import com.nflpickem.pickem.testsupport.TestWeeks;
+import jakarta.persistence.EntityManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordingFile;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nflpickem.pickem.testsupport.QueryCounts.countQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class FetchPlanQueryCountTest {
+
+    private static final int WEEK = TestWeeks.FETCH_PLAN;
+    private static final int USERS = 3;
+    private static final int GAMES = 4;
+    private static final int LEAGUES = 3;
+
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private PickService pickService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LeagueFixture fixture;
+    private List<User> users;
+    private final List<Game> games = new ArrayList<>();
+    private final List<League> leagues = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        fixture = new LeagueFixture(userRepository, leagueRepository, gameRepository, pickRepository, "Fetch Plan");
+        users = fixture.users(USERS);
+        for (int i = 0; i < LEAGUES; i++) {
+            leagues.add(fixture.league("FETCH00" + i, users));
+        }
+        for (int i = 0; i < GAMES; i++) {
+            // Home wins every game and only the first user picked home
+            Game game = fixture.game(WEEK, i, Instant.now().plus(i + 1, ChronoUnit.DAYS));
+            game.setWinningTeam(game.getHomeTeam());
+            game.setScored(true);
+            games.add(gameRepository.save(game));
+            for (User user : users) {
+                Pick pick = fixture.pick(user, game, leagues.get(0),
+                    user == users.get(0) ? game.getHomeTeam() : game.getAwayTeam());
+                pick.setCorrect(user == users.get(0));
+                pickRepository.save(pick);
+            }
+        }
+        // Write the rows now and forget them, so the counted work reads everything from the database
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void seasonLeaderboardFetchesPicksWithTheirUsers() throws Exception {
+        int queries = countQueries(() -> assertThat(leaderboardService.getSeasonLeaderboard(leagues.get(0).getId()))
+            .singleElement().satisfies(score -> assertThat(score.getScore()).isEqualTo(GAMES)));
+
+        // The league's member count, then the picks joined with their users and games as rows; no entities or member sets are loaded
+        assertThat(queries).isEqualTo(2);
+    }
+
+    @Test
+    void leaderboardEventsCarryTheLeagueSize(@TempDir Path dir) throws IOException {
+        Path dump = dir.resolve("leaderboard.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.nflpickem.Leaderboard");
+            recording.start();
+            leaderboardService.getSeasonLeaderboard(leagues.get(0).getId());
+            leaderboardService.getSeasonLeaderboard(null);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        assertThat(RecordingFile.readAllEvents(dump))
+            .extracting(event -> event.getLong("leagueId"), event -> event.getInt("leagueMembers"))
+            .containsExactly(tuple(leagues.get(0).getId(), USERS), tuple(-1L, -1));
+    }
+
+    @Test
+    void pickComparisonReadsTheWeekInOneQuery() throws Exception {
+        int queries = countQueries(() -> {
+            List<PickComparisonDto> comparison = pickService.getPickComparison(users.get(0).getId(), WEEK, leagues.get(0).getId());
+            assertThat(comparison).hasSize(GAMES)
+                .allSatisfy(game -> assertThat(game.getOtherPicks()).hasSize(USERS - 1));
+        });
+
+        // User, games, league and the week's picks, however many games the week has
+        assertThat(queries).isEqualTo(4);
+    }
+
+    @Test
+    void memberSetsAreBatchFetched() throws Exception {
+        int queries = countQueries(() -> transactionTemplate.executeWithoutResult(status -> {
+            for (League league : leagueRepository.findAllById(leagues.stream().map(League::getId).toList())) {
+                assertThat(league.getMembers()).hasSize(USERS);
+            }
+        }));
+
+        assertThat(queries).isEqualTo(2);
+    }
+
+    @Test
+    void associationsStayLazyAndProxiesEqualTheirEntities() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Pick pick = pickRepository.findByGame(games.get(0)).get(0);
+            assertThat(Hibernate.isInitialized(pick.getUser())).isFalse();
+            assertThat(Hibernate.isInitialized(pick.getLeague())).isFalse();
+
+            User detached = users.stream().filter(user -> user.getId().equals(pick.getUser().getId())).findFirst().orElseThrow();
+            assertThat(pick.getUser()).isEqualTo(detached).hasSameHashCodeAs(detached);
+            assertThat(detached).isEqualTo(pick.getUser());
+        });
+    }
+}
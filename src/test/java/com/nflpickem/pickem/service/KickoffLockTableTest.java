@@ -0,0 +1,107 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.service.KickoffLockTable.GameSlot;
+import com.nflpickem.pickem.testsupport.VirtualClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KickoffLockTableTest {
+
+    private static final Instant EARLY_KICKOFF = Instant.parse("2025-10-12T17:00:00Z");
+    private static final Instant LATE_KICKOFF = Instant.parse("2025-10-12T20:25:00Z");
+
+    private final VirtualClock clock = new VirtualClock(EARLY_KICKOFF.minus(Duration.ofMinutes(10)), ZoneId.of("UTC"));
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final TaskScheduler taskScheduler = mock(TaskScheduler.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private KickoffLockTable table;
+
+    @BeforeEach
+    void setUp() {
+        when(gameRepository.findWeekById(any())).thenAnswer(invocation -> {
+            long id = invocation.getArgument(0);
+            return id == 1L || id == 2L ? Optional.of(6) : Optional.empty();
+        });
+        when(gameRepository.findByWeek(6)).thenReturn(List.of(game(2L, LATE_KICKOFF), game(1L, EARLY_KICKOFF)));
+        table = new KickoffLockTable(gameRepository, taskScheduler, clock, eventPublisher);
+    }
+
+    @Test
+    void validatesFromTheLoadedWeek() {
+        GameSlot early = table.find(1L);
+        assertThat(early.kickoff()).isEqualTo(EARLY_KICKOFF);
+        assertThat(early.hasTeam("Home 1")).isTrue();
+        assertThat(early.hasTeam("Elsewhere")).isFalse();
+        assertThat(table.isLocked(early)).isFalse();
+        assertThat(table.find(2L).homeTeam()).isEqualTo("Home 2");
+        assertThat(table.find(3L)).isNull();
+
+        verify(gameRepository, times(1)).findByWeek(6);
+        verify(gameRepository, times(1)).findWeekById(1L);
+    }
+
+    @Test
+    void timerLocksAtKickoffAndTheLockNeverGoesBack() {
+        GameSlot early = table.find(1L);
+        ArgumentCaptor<Runnable> timer = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> firesAt = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(timer.capture(), firesAt.capture());
+        assertThat(Duration.between(Instant.now(), firesAt.getValue())).isBetween(Duration.ofMinutes(9), Duration.ofMinutes(10));
+
+        clock.set(EARLY_KICKOFF);
+        timer.getValue().run();
+        assertThat(table.isLocked(early)).isTrue();
+        assertThat(table.isLocked(table.find(2L))).isFalse();
+        verify(eventPublisher).publishEvent(new GamesLockedEvent(6, List.of(1L)));
+
+        // A clock stepping back does not reopen a locked game
+        clock.set(EARLY_KICKOFF.minus(Duration.ofMinutes(1)));
+        assertThat(table.isLocked(early)).isTrue();
+        // Re-armed for the late game
+        verify(taskScheduler, times(2)).schedule(any(Runnable.class), any(Instant.class));
+    }
+
+    @Test
+    void clockPastKickoffLocksBeforeTheTimerAndRescheduledGamesReload() {
+        GameSlot early = table.find(1L);
+        clock.set(EARLY_KICKOFF.plusSeconds(1));
+        assertThat(table.isLocked(early)).isTrue();
+
+        // Flexed to the late slot
+        when(gameRepository.findByWeek(6)).thenReturn(List.of(game(2L, LATE_KICKOFF), game(1L, LATE_KICKOFF)));
+        table.onScheduleChanged(new GameScheduleChangedEvent(Set.of(1L), Set.of(6)));
+        GameSlot flexed = table.find(1L);
+        assertThat(flexed.kickoff()).isEqualTo(LATE_KICKOFF);
+        assertThat(table.isLocked(flexed)).isFalse();
+        verify(gameRepository, times(2)).findByWeek(6);
+    }
+
+    private static Game game(Long id, Instant kickoff) {
+        Game game = new Game();
+        game.setId(id);
+        game.setWeek(6);
+        game.setHomeTeam("Home " + id);
+        game.setAwayTeam("Away " + id);
+        game.setKickoffTime(kickoff);
+        return game;
+    }
+}
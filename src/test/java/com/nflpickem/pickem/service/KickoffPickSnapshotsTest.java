@@ -0,0 +1,160 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.PickComparisonDto;
+import com.nflpickem.pickem.dto.RevealedPickRow;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+import com.nflpickem.pickem.service.KickoffPickSnapshots.LeaguePicks;
+import com.nflpickem.pickem.testsupport.LeagueFixture;
+import com.nflpickem.pickem.testsupport.TestWeeks;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.nflpickem.pickem.testsupport.QueryCounts.countQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class KickoffPickSnapshotsTest {
+
+    private static final int WEEK = TestWeeks.KICKOFF_SNAPSHOTS;
+    private static final int USERS = 3;
+
+    @Autowired
+    private PickService pickService;
+
+    @Autowired
+    private KickoffPickSnapshots snapshots;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LeagueFixture fixture;
+    private List<User> users;
+    private final List<Game> games = new ArrayList<>();
+    private League league;
+
+    @BeforeEach
+    void seed() {
+        fixture = new LeagueFixture(userRepository, leagueRepository, gameRepository, pickRepository, "Snapshot");
+        users = fixture.users(USERS);
+        league = fixture.league("SNAP0001", users);
+
+        // Two games that kicked off yesterday and one still open
+        for (int i = 0; i < 3; i++) {
+            games.add(fixture.game(WEEK, i, Instant.now().plus(i < 2 ? -1 : 1, ChronoUnit.DAYS).plusSeconds(i)));
+        }
+        // Even-numbered users pick the home team; the last user skips the open game
+        for (Game game : games) {
+            for (int u = 0; u < USERS; u++) {
+                if (game == games.get(2) && u == USERS - 1) {
+                    continue;
+                }
+                fixture.pick(users.get(u), game, league, u % 2 == 0 ? game.getHomeTeam() : game.getAwayTeam());
+            }
+        }
+        // Write the rows now and forget them, so the counted reads go to the database
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void lockedGamesAreReadOnceAndMatchTheStoredPicks() throws Exception {
+        Long viewer = users.get(0).getId();
+        List<PickComparisonDto> first = new ArrayList<>();
+        // User, games, league, the locked games' picks and the open game's picks
+        assertThat(countQueries(() -> first.addAll(pickService.getPickComparison(viewer, WEEK, league.getId())))).isEqualTo(5);
+
+        // Scoring writes to the games and picks but leaves the snapshots alone
+        Game scored = games.get(0);
+        scored.setWinningTeam(scored.getAwayTeam());
+        scored.setScored(true);
+        gameRepository.save(scored);
+        for (Pick pick : pickRepository.findByGame(scored)) {
+            pick.setCorrect(pick.getPickedTeam().equals(scored.getWinningTeam()));
+            pickRepository.save(pick);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PickComparisonDto> second = new ArrayList<>();
+        assertThat(countQueries(() -> second.addAll(pickService.getPickComparison(viewer, WEEK, league.getId())))).isEqualTo(4);
+        assertThat(second).extracting(PickComparisonDto::getYourPick).containsExactlyElementsOf(first.stream()
+            .map(PickComparisonDto::getYourPick).toList());
+
+        // Same picks and correctness as the entities the scoring run wrote
+        for (PickComparisonDto game : second) {
+            List<Pick> stored = pickRepository.findByGame(gameRepository.findById(game.getGameId()).orElseThrow()).stream()
+                .filter(pick -> !pick.getUser().getId().equals(viewer))
+                .toList();
+            assertThat(game.getOtherPicks())
+                .extracting(PickComparisonDto.UserPickDto::getPickedTeam, PickComparisonDto.UserPickDto::isCorrect)
+                .containsExactlyInAnyOrderElementsOf(stored.stream()
+                    .map(pick -> tuple(pick.getPickedTeam(), pick.isCorrect()))
+                    .toList());
+        }
+    }
+
+    @Test
+    void lockedGamesAreSnapshottedForEveryLeagueAndDroppedWhenRescheduled() throws Exception {
+        Game locked = games.get(1);
+        snapshots.snapshotGames(List.of(locked.getId()));
+
+        LeaguePicks picks = snapshots.forLeague(league.getId(), List.of(locked)).get(locked.getId());
+        assertThat(picks.size()).isEqualTo(USERS);
+        assertThat(picks.homeCount()).isEqualTo(2);
+        assertThat(picks.pickedTeam(picks.indexOf(users.get(1).getId()), locked)).isEqualTo(locked.getAwayTeam());
+        assertThat(picks.indexOf(-1L)).isNegative();
+        assertThat(countQueries(() -> snapshots.forLeague(league.getId(), List.of(locked)))).isZero();
+
+        snapshots.onScheduleChanged(new GameScheduleChangedEvent(Set.of(locked.getId()), Set.of(WEEK)));
+        assertThat(countQueries(() -> snapshots.forLeague(league.getId(), List.of(locked)))).isEqualTo(1);
+    }
+
+    @Test
+    void bitmapSpansSeveralWords() {
+        List<RevealedPickRow> rows = IntStream.range(0, 130)
+            .mapToObj(i -> new RevealedPickRow(1L, "Home", 1L, (long) (130 - i), "u" + i, "User " + i, i % 3 == 0 ? "Home" : "Away"))
+            .toList();
+
+        LeaguePicks picks = LeaguePicks.of(rows);
+        assertThat(picks.homePicks()).hasSize(3);
+        assertThat(picks.homeCount()).isEqualTo(44);
+        // User 130 was row 0, and sorts last
+        assertThat(picks.pickedHome(picks.indexOf(130L))).isTrue();
+        assertThat(picks.indexOf(130L)).isEqualTo(129);
+        assertThat(picks.pickedHome(picks.indexOf(129L))).isFalse();
+    }
+}
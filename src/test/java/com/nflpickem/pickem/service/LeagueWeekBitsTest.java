@@ -0,0 +1,176 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.PlayerScore;
+import com.nflpickem.pickem.dto.ScoredPickRow;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The bits must score exactly like the entities: scoring marks a pick correct when its team equals the
+ * winning team, and the leaderboard counts the correct picks per user
+ */
+class LeagueWeekBitsTest {
+
+    private static final int USERS = 70;
+    private static final int WEEKS = 3;
+    private static final int GAMES_PER_WEEK = 16;
+
+    private final LeaderboardService entityPath = new LeaderboardService(null, null, null, null);
+    private final List<Game> games = new ArrayList<>();
+    private final List<Pick> picks = new ArrayList<>();
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 7, 42})
+    void leaderboardsMatchTheEntityPath(long seed) {
+        season(new Random(seed));
+
+        for (int week = 1; week <= WEEKS; week++) {
+            int inWeek = week;
+            assertSameScores(LeagueWeekBits.of(rows(pick -> pick.getGame().getWeek() == inWeek)).leaderboard(),
+                entityPath.calculateLeaderboard(picksWhere(pick -> pick.getGame().getWeek() == inWeek)));
+        }
+        assertSameScores(LeagueWeekBits.leaderboard(LeagueWeekBits.byWeek(rows(pick -> true)).values()),
+            entityPath.calculateLeaderboard(picks));
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {3, 11})
+    void weeklyWinnersAreEveryoneTiedForTheTopScore(long seed) {
+        season(new Random(seed));
+
+        LeagueWeekBits.byWeek(rows(pick -> true)).forEach((week, bits) -> {
+            List<PlayerScore> standings = entityPath.calculateLeaderboard(picksWhere(pick -> pick.getGame().getWeek().equals(week)));
+            long top = standings.get(0).getScore();
+            assertThat(bits.winners()).extracting(PlayerScore::getUsername)
+                .containsExactlyInAnyOrderElementsOf(standings.stream()
+                    .filter(score -> score.getScore() == top)
+                    .map(PlayerScore::getUsername)
+                    .toList());
+        });
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {5, 13})
+    void whatIfMatchesRescoringTheEntities(long seed) {
+        season(new Random(seed));
+        LeagueWeekBits week = LeagueWeekBits.of(rows(pick -> pick.getGame().getWeek() == 1));
+
+        // Flip a scored game, decide an unscored one and tie a third
+        Game flipped = games.get(0);
+        Game decided = games.get(GAMES_PER_WEEK - 1);
+        Game tied = games.get(1);
+        LeagueWeekBits whatIf = week
+            .withWinner(flipped.getId(), whatIfWinner(flipped))
+            .withWinner(decided.getId(), decided.getAwayTeam())
+            .withWinner(tied.getId(), "TIE");
+
+        score(flipped, whatIfWinner(flipped));
+        score(decided, decided.getAwayTeam());
+        score(tied, "TIE");
+        assertSameScores(whatIf.leaderboard(), entityPath.calculateLeaderboard(picksWhere(pick -> pick.getGame().getWeek() == 1)));
+        // The original is untouched
+        assertThat(week.leaderboard()).isNotEqualTo(whatIf.leaderboard());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 62, 63})
+    void onlyTheLastOfNGamesIsCorrect(int position) {
+        List<ScoredPickRow> rows = new ArrayList<>();
+        for (int game = 0; game <= position; game++) {
+            boolean last = game == position;
+            rows.add(new ScoredPickRow((long) game, 1, "H" + game, "A" + game, last ? "H" + game : "A" + game, true,
+                1L, "user", "User", "H" + game));
+        }
+        assertThat(LeagueWeekBits.of(rows).leaderboard()).singleElement()
+            .satisfies(score -> assertThat(score.getScore()).isEqualTo(1L));
+    }
+
+    private static String whatIfWinner(Game game) {
+        return game.getWinningTeam().equals(game.getHomeTeam()) ? game.getAwayTeam() : game.getHomeTeam();
+    }
+
+    /**
+     * Random picks for a season with unscored games, a tie and members who skipped games
+     */
+    private void season(Random random) {
+        List<User> users = new ArrayList<>();
+        for (long id = 1; id <= USERS; id++) {
+            User user = new User();
+            user.setId(id);
+            user.setUsername("user-" + id);
+            user.setName("User " + id);
+            users.add(user);
+        }
+        long gameId = 1;
+        for (int week = 1; week <= WEEKS; week++) {
+            for (int slot = 0; slot < GAMES_PER_WEEK; slot++) {
+                Game game = new Game();
+                game.setId(gameId++);
+                game.setWeek(week);
+                game.setHomeTeam("Home " + game.getId());
+                game.setAwayTeam("Away " + game.getId());
+                games.add(game);
+                for (User user : users) {
+                    if (random.nextInt(10) == 0) {
+                        continue;
+                    }
+                    Pick pick = new Pick();
+                    pick.setUser(user);
+                    pick.setGame(game);
+                    pick.setPickedTeam(random.nextBoolean() ? game.getHomeTeam() : game.getAwayTeam());
+                    picks.add(pick);
+                }
+                if (slot == GAMES_PER_WEEK - 1) {
+                    continue; // Still to be played
+                }
+                score(game, slot == 2 ? "TIE" : random.nextBoolean() ? game.getHomeTeam() : game.getAwayTeam());
+            }
+        }
+    }
+
+    /**
+     * What ScoringService does with a result
+     */
+    private void score(Game game, String winningTeam) {
+        game.setWinningTeam(winningTeam);
+        game.setScored(true);
+        for (Pick pick : picksWhere(pick -> pick.getGame() == game)) {
+            pick.setCorrect(pick.getPickedTeam().equals(winningTeam));
+        }
+    }
+
+    private List<Pick> picksWhere(Predicate<Pick> filter) {
+        return picks.stream().filter(filter).toList();
+    }
+
+    private List<ScoredPickRow> rows(Predicate<Pick> filter) {
+        return picksWhere(filter).stream()
+            .map(pick -> {
+                Game game = pick.getGame();
+                return new ScoredPickRow(game.getId(), game.getWeek(), game.getHomeTeam(), game.getAwayTeam(), game.getWinningTeam(),
+                    game.isScored(), pick.getUser().getId(), pick.getUser().getUsername(), pick.getUser().getName(), pick.getPickedTeam());
+            })
+            .toList();
+    }
+
+    private static void assertSameScores(List<PlayerScore> bits, List<PlayerScore> entities) {
+        assertThat(bits).isSortedAccordingTo((a, b) -> Long.compare(b.getScore(), a.getScore()));
+        assertThat(toMap(bits)).isEqualTo(toMap(entities));
+    }
+
+    private static Map<String, Long> toMap(List<PlayerScore> scores) {
+        return scores.stream().collect(Collectors.toMap(score -> score.getUsername() + "/" + score.getName(), PlayerScore::getScore));
+    }
+}
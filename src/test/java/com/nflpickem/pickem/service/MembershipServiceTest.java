@@ -0,0 +1,95 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.nflpickem.pickem.testsupport.QueryCounts.countQueries;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+@Transactional
+class MembershipServiceTest {
+
+    private static final int MEMBERS = 40;
+
+    @Autowired
+    private MembershipService membershipService;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final List<User> users = new ArrayList<>();
+    private League league;
+    private User outsider;
+
+    @BeforeEach
+    void seed() {
+        for (int i = 0; i < MEMBERS; i++) {
+            users.add(saveUser("membership-user-" + i));
+        }
+        outsider = saveUser("membership-outsider");
+        league = leagueService.createLeague("Membership League", users.get(0).getId());
+        for (User user : users.subList(1, MEMBERS)) {
+            leagueService.joinLeague(league.getJoinCode(), user.getId());
+        }
+    }
+
+    @Test
+    void cachedChecksDoNotQueryAgain() throws Exception {
+        Long member = users.get(MEMBERS - 1).getId();
+        membershipService.invalidate(member);
+
+        assertThat(countQueries(() -> assertThat(membershipService.isMember(member, league.getId())).isTrue())).isEqualTo(1);
+        assertThat(countQueries(() -> {
+            assertThat(membershipService.isMember(member, league.getId())).isTrue();
+            assertThat(membershipService.isMember(member, league.getId() + 1000)).isFalse();
+        })).isZero();
+        assertThat(leagueRepository.findMemberCount(league.getId())).contains((long) MEMBERS);
+    }
+
+    @Test
+    void joinAndLeaveInvalidateTheCache() {
+        Long userId = outsider.getId();
+        assertThat(membershipService.isMember(userId, league.getId())).isFalse();
+
+        leagueService.joinLeague(league.getJoinCode(), userId);
+        assertThat(membershipService.isMember(userId, league.getId())).isTrue();
+        assertThatThrownBy(() -> leagueService.joinLeague(league.getJoinCode(), userId))
+            .hasMessageContaining("already a member");
+
+        leagueService.leaveLeague(league.getId(), userId);
+        assertThat(membershipService.isMember(userId, league.getId())).isFalse();
+        assertThat(membershipService.isMemberUncached(userId, league.getId())).isFalse();
+        assertThatThrownBy(() -> leagueService.leaveLeague(league.getId(), userId))
+            .hasMessageContaining("not a member");
+        assertThatThrownBy(() -> leagueService.leaveLeague(league.getId(), users.get(0).getId()))
+            .hasMessageContaining("admin");
+    }
+
+    private User saveUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setName(username);
+        user.setPassword("hash");
+        return userRepository.save(user);
+    }
+}
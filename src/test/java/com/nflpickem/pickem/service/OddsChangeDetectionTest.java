@@ -0,0 +1,122 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.fakeodds.FakeOddsApiServer;
+import com.nflpickem.pickem.fakeodds.FakeOddsApiSettings;
+import com.nflpickem.pickem.fakeodds.FakeOddsEvent;
+import com.nflpickem.pickem.model.BettingOdds;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.repository.BettingOddsRepository;
+import com.nflpickem.pickem.repository.GameRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "ODDS_API_KEY=test")
+@ActiveProfiles("h2")
+class OddsChangeDetectionTest {
+
+    private static final String HOME = "Change Detection Home";
+    private static final String AWAY = "Change Detection Away";
+    private static final String NEXT_HOME = "Change Detection Next Home";
+    private static final String NEXT_AWAY = "Change Detection Next Away";
+    private static final Instant KICKOFF = Instant.now().plus(3, ChronoUnit.DAYS).truncatedTo(ChronoUnit.HOURS);
+    private static final AtomicReference<Double> HOME_SPREAD = new AtomicReference<>(-3.5);
+    private static final FakeOddsApiServer ODDS_API = startOddsApi();
+
+    @Autowired
+    private OddsService oddsService;
+
+    @Autowired
+    private BettingOddsRepository bettingOddsRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private OddsRefreshPlanner oddsRefreshPlanner;
+
+    @DynamicPropertySource
+    static void oddsApi(DynamicPropertyRegistry registry) {
+        registry.add("ODDS_API_BASE_URL", ODDS_API::getBaseUrl);
+    }
+
+    @AfterAll
+    static void stopOddsApi() {
+        ODDS_API.close();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        gameRepository.findByHomeTeamAndAwayTeam(HOME, AWAY).ifPresent(game -> {
+            bettingOddsRepository.deleteAll(bettingOddsRepository.findByGameId(game.getId()));
+            gameRepository.delete(game);
+        });
+        gameRepository.findByHomeTeamAndAwayTeam(NEXT_HOME, NEXT_AWAY).ifPresent(gameRepository::delete);
+    }
+
+    @Test
+    void onlyChangedLinesAreWritten() {
+        List<BettingOdds> first = oddsService.updateAllAvailableOdds();
+        assertThat(first).hasSize(1);
+        Long gameId = first.get(0).getGame().getId();
+        Instant storedAt = first.get(0).getLastUpdated();
+
+        // Same line again: nothing written, lastUpdated untouched within the heartbeat interval
+        assertThat(oddsService.updateAllAvailableOdds()).isEmpty();
+        assertThat(bettingOddsRepository.findByGameId(gameId))
+            .singleElement().satisfies(odds -> assertThat(odds.getLastUpdated()).isEqualTo(storedAt));
+
+        HOME_SPREAD.set(-4.5);
+        List<BettingOdds> moved = oddsService.updateAllAvailableOdds();
+        assertThat(moved).singleElement().satisfies(odds -> assertThat(Math.abs(odds.getSpread())).isEqualTo(4.5));
+    }
+
+    @Test
+    void thePlanCountsTheRefreshForEveryOpenGame() {
+        // The next kickoff is in a week the API has no odds for
+        Game next = new Game();
+        next.setWeek(94);
+        next.setHomeTeam(NEXT_HOME);
+        next.setAwayTeam(NEXT_AWAY);
+        next.setKickoffTime(Instant.now().plus(1, ChronoUnit.HOURS));
+        gameRepository.save(next);
+
+        Instant storedAt = oddsService.updateAllAvailableOdds().get(0).getLastUpdated();
+
+        OddsRefreshPlanner.RefreshPlan plan = oddsRefreshPlanner.plan();
+        assertThat(plan.week()).isEqualTo(94);
+        assertThat(plan.lastRefresh()).isNotNull().isAfterOrEqualTo(storedAt);
+    }
+
+    private static FakeOddsApiServer startOddsApi() {
+        try {
+            return new FakeOddsApiServer(Clock.systemUTC(), () -> List.of(new FakeOddsEvent("change-detection", HOME, AWAY,
+                KICKOFF, 24, 17, List.of(Map.of(
+                    "key", "fanduel",
+                    "title", "FanDuel",
+                    "markets", List.of(Map.of(
+                        "key", "spreads",
+                        "outcomes", List.of(
+                            Map.of("name", HOME, "price", -110, "point", HOME_SPREAD.get()),
+                            Map.of("name", AWAY, "price", -110, "point", -HOME_SPREAD.get())))))))),
+                new FakeOddsApiSettings()).start(0);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start the fake Odds API", e);
+        }
+    }
+}
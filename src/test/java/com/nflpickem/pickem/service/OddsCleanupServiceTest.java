@@ -0,0 +1,77 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.model.BettingOdds;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.repository.BettingOddsRepository;
+import com.nflpickem.pickem.repository.GameRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"ODDS_CLEANUP_BATCH_SIZE=2", "ODDS_CLEANUP_MAX_BATCHES=10"})
+@ActiveProfiles("h2")
+class OddsCleanupServiceTest {
+
+    private static final String HOME = "Cleanup Home";
+    private static final String AWAY = "Cleanup Away";
+    private static final Instant CUTOFF = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Autowired
+    private OddsCleanupService oddsCleanupService;
+
+    @Autowired
+    private BettingOddsRepository bettingOddsRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @AfterEach
+    void cleanUp() {
+        gameRepository.findByHomeTeamAndAwayTeam(HOME, AWAY).ifPresent(game -> {
+            bettingOddsRepository.deleteAll(bettingOddsRepository.findByGameId(game.getId()));
+            gameRepository.delete(game);
+        });
+    }
+
+    @Test
+    void deletesOnlyStaleRowsInChunks() {
+        Game game = new Game();
+        game.setWeek(99);
+        game.setHomeTeam(HOME);
+        game.setAwayTeam(AWAY);
+        game.setKickoffTime(CUTOFF.minus(30, ChronoUnit.DAYS));
+        game = gameRepository.save(game);
+        for (int i = 0; i < 5; i++) {
+            save(game, "stale-" + i, CUTOFF.minus(1 + i, ChronoUnit.DAYS));
+        }
+        save(game, "fresh", CUTOFF.plus(1, ChronoUnit.DAYS));
+
+        OddsCleanupService.CleanupResult dryRun = oddsCleanupService.deleteStaleOdds(CUTOFF, true);
+        assertThat(dryRun.staleRows()).isEqualTo(5);
+        assertThat(dryRun.deletedRows()).isZero();
+        assertThat(bettingOddsRepository.findByGameId(game.getId())).hasSize(6);
+
+        OddsCleanupService.CleanupResult result = oddsCleanupService.deleteStaleOdds(CUTOFF, false);
+        assertThat(result.deletedRows()).isEqualTo(5);
+        assertThat(result.batches()).isEqualTo(3);
+        assertThat(bettingOddsRepository.findByGameId(game.getId()))
+            .extracting(BettingOdds::getSportsbook).containsExactly("fresh");
+    }
+
+    private void save(Game game, String sportsbook, Instant lastUpdated) {
+        BettingOdds odds = new BettingOdds();
+        odds.setGame(game);
+        odds.setSportsbook(sportsbook);
+        odds.setOddsType("american");
+        odds.setSpread(-3.5);
+        odds.setLastUpdated(lastUpdated);
+        bettingOddsRepository.save(odds);
+    }
+}
@@ -0,0 +1,78 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.monitoring.OddsApiQuota;
+import com.nflpickem.pickem.repository.BettingOddsRepository;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.testsupport.VirtualClock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OddsRefreshPlannerTest {
+
+    private static final Instant SUNDAY_KICKOFF = Instant.parse("2025-10-12T17:00:00Z");
+
+    private final VirtualClock clock = new VirtualClock(Instant.parse("2025-10-10T12:00:00Z"), ZoneId.of("UTC"));
+    private final GameRepository gameRepository = mock(GameRepository.class);
+    private final BettingOddsRepository bettingOddsRepository = mock(BettingOddsRepository.class);
+    private final OddsApiQuota quota = new OddsApiQuota(new SimpleMeterRegistry(), clock);
+    private OddsRefreshPlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        Game game = new Game();
+        game.setWeek(6);
+        game.setKickoffTime(SUNDAY_KICKOFF);
+        when(gameRepository.findFirstByKickoffTimeAfterOrderByKickoffTimeAsc(any())).thenReturn(Optional.of(game));
+        when(gameRepository.findKickoffTimesAfter(any())).thenReturn(List.of(SUNDAY_KICKOFF,
+            SUNDAY_KICKOFF.plus(Duration.ofDays(7)), SUNDAY_KICKOFF.plus(Duration.ofDays(14))));
+        when(bettingOddsRepository.findLatestUpdateForOpenGames(any())).thenReturn(Instant.parse("2025-10-10T06:00:00Z"));
+
+        planner = new OddsRefreshPlanner(gameRepository, bettingOddsRepository, quota, clock, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(planner, "monthlyBudget", 500L);
+        ReflectionTestUtils.setField(planner, "reservedCredits", 200L);
+    }
+
+    @Test
+    void intervalShrinksAsKickoffApproaches() {
+        OddsRefreshPlanner.RefreshPlan friday = planner.plan();
+        assertThat(friday.interval()).isEqualTo(Duration.ofHours(12));
+        assertThat(friday.nextRefresh()).isEqualTo(Instant.parse("2025-10-10T18:00:00Z"));
+        assertThat(friday.due()).isFalse();
+        assertThat(friday.stretch()).isEqualTo(1.0);
+
+        clock.set(SUNDAY_KICKOFF.minus(Duration.ofMinutes(90)));
+        OddsRefreshPlanner.RefreshPlan sunday = planner.plan();
+        assertThat(sunday.interval()).isEqualTo(Duration.ofMinutes(15));
+        assertThat(sunday.due()).isTrue();
+    }
+
+    @Test
+    void intervalsStretchToKeepProjectedUsageWithinBudget() {
+        quota.record("220", "280", "1");
+
+        OddsRefreshPlanner.RefreshPlan plan = planner.plan();
+        assertThat(plan.stretch()).isGreaterThan(1.0);
+        assertThat(plan.interval()).isGreaterThan(Duration.ofHours(12));
+        // Everything beyond the credits used so far must fit between the reserve and the budget
+        assertThat(plan.projectedMonthEndUsage()).isLessThanOrEqualTo(500 - 200);
+
+        quota.record("150", "350", "1");
+        OddsRefreshPlanner.RefreshPlan exhausted = planner.plan();
+        assertThat(exhausted.plannedRefreshes()).isZero();
+        assertThat(exhausted.nextRefresh()).isEqualTo(Instant.parse("2025-11-01T00:00:00Z"));
+    }
+}
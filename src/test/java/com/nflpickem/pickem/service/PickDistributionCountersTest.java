@@ -0,0 +1,233 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.BulkPickRequest;
+import com.nflpickem.pickem.dto.PickCountRow;
+import com.nflpickem.pickem.dto.PickDistributionDto;
+import com.nflpickem.pickem.dto.PickRequest;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickDistributionRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+import com.nflpickem.pickem.testsupport.LeagueFixture;
+import com.nflpickem.pickem.testsupport.TestWeeks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class PickDistributionCountersTest {
+
+    private static final int WEEK = TestWeeks.PICK_DISTRIBUTION;
+    private static final int USERS = 40;
+
+    @Autowired
+    private PickService pickService;
+
+    @Autowired
+    private PickDistributionCounters counters;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private PickDistributionRepository distributionRepository;
+
+    private LeagueFixture fixture;
+    private List<User> users;
+    private final List<Game> games = new ArrayList<>();
+    private League league;
+
+    @BeforeEach
+    void seed() {
+        fixture = new LeagueFixture(userRepository, leagueRepository, gameRepository, pickRepository, "Distribution");
+        users = fixture.users(USERS);
+        league = fixture.league("DIST0001", users);
+        for (int i = 0; i < 2; i++) {
+            games.add(fixture.game(WEEK, i, Instant.now().plus(i + 1, ChronoUnit.DAYS)));
+        }
+        // Picks made before the league's week was ever counted
+        for (int u = 0; u < 10; u++) {
+            fixture.pick(users.get(u), games.get(0), league, games.get(0).getHomeTeam());
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        counters.flush();
+        distributionRepository.deleteAll(distributionRepository.findByLeagueId(league.getId()));
+        fixture.cleanUp();
+    }
+
+    @Test
+    void concurrentChangesAddUpToThePicks() throws Exception {
+        Game game = games.get(0);
+        assertThat(counters.forWeek(league.getId(), WEEK)).first()
+            .satisfies(distribution -> assertThat(distribution.homePicks()).isEqualTo(10));
+
+        // Every member picks home, changes to away and half of them change back, all at once
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<?>> submissions = new ArrayList<>();
+            for (int u = 0; u < USERS; u++) {
+                Long userId = users.get(u).getId();
+                boolean backHome = u % 2 == 0;
+                submissions.add(executor.submit(() -> {
+                    pickService.submitPick(userId, game.getId(), game.getHomeTeam(), league.getId());
+                    pickService.submitPick(userId, game.getId(), game.getAwayTeam(), league.getId());
+                    if (backHome) {
+                        pickService.submitPick(userId, game.getId(), game.getHomeTeam(), league.getId());
+                    }
+                }));
+            }
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        // Unflushed changes are already in the counts
+        assertMatchesPicks(counters.forWeek(league.getId(), WEEK));
+        counters.flush();
+        assertThat(distributionRepository.findByLeagueIdAndGameIdIn(league.getId(), List.of(game.getId())))
+            .singleElement().satisfies(row -> {
+                assertThat(row.getHomePicks()).isEqualTo(USERS / 2);
+                assertThat(row.getAwayPicks()).isEqualTo(USERS / 2);
+            });
+        assertMatchesPicks(counters.forWeek(league.getId(), WEEK));
+    }
+
+    @Test
+    void aUserRacingThemselvesIsCountedOnce() throws Exception {
+        Game game = games.get(1);
+        Long userId = users.get(0).getId();
+        counters.forWeek(league.getId(), WEEK);
+
+        // The same user flips their pick from many threads; each change must read the team it replaces
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> submissions = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String team = i % 2 == 0 ? game.getHomeTeam() : game.getAwayTeam();
+                submissions.add(executor.submit(() -> pickService.submitPick(userId, game.getId(), team, league.getId())));
+            }
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertMatchesPicks(counters.forWeek(league.getId(), WEEK));
+        assertThat(counters.forWeek(league.getId(), WEEK)).last()
+            .satisfies(distribution -> assertThat(distribution.totalPicks()).isEqualTo(1));
+    }
+
+    @Test
+    void rebuildsDuringSubmissionsCountEachPickOnce() throws Exception {
+        Game game = games.get(1);
+        counters.forWeek(league.getId(), WEEK);
+
+        ExecutorService executor = Executors.newFixedThreadPool(9);
+        try {
+            List<Future<?>> submissions = new ArrayList<>();
+            for (int u = 0; u < USERS; u++) {
+                Long userId = users.get(u).getId();
+                submissions.add(executor.submit(() -> {
+                    pickService.submitPick(userId, game.getId(), game.getHomeTeam(), league.getId());
+                    pickService.submitPick(userId, game.getId(), game.getAwayTeam(), league.getId());
+                }));
+            }
+            Future<?> rebuilds = executor.submit(() -> {
+                while (submissions.stream().anyMatch(submission -> !submission.isDone())) {
+                    counters.rebuild(league.getId(), WEEK);
+                }
+            });
+            for (Future<?> submission : submissions) {
+                submission.get();
+            }
+            rebuilds.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        counters.flush();
+        assertMatchesPicks(counters.forWeek(league.getId(), WEEK));
+    }
+
+    @Test
+    void bulkSubmissionsMovePicksAndRebuildRecounts() {
+        counters.forWeek(league.getId(), WEEK);
+        BulkPickRequest bulk = new BulkPickRequest();
+        bulk.setUserId(users.get(0).getId());
+        bulk.setLeagueId(league.getId());
+        bulk.setPicks(List.of(
+            pickRequest(games.get(0), games.get(0).getAwayTeam()),
+            pickRequest(games.get(1), games.get(1).getHomeTeam())));
+        pickService.submitBulkPicks(bulk);
+        // Outside a league nothing is counted
+        pickService.submitPick(users.get(1).getId(), games.get(1).getId(), games.get(1).getAwayTeam(), null);
+
+        List<PickDistributionDto> distribution = pickService.getPickDistribution(WEEK, league.getId());
+        assertMatchesPicks(distribution);
+        assertThat(distribution).extracting(PickDistributionDto::homePicks, PickDistributionDto::awayPicks)
+            .containsExactly(tuple(9L, 1L), tuple(1L, 0L));
+
+        // A count that drifted (say another instance's deltas) is set straight by a rebuild
+        counters.flush();
+        PickDistributionDto drifted = distribution.get(0);
+        distributionRepository.findByLeagueIdAndGameIdIn(league.getId(), List.of(drifted.gameId())).forEach(row -> {
+            row.setHomePicks(100);
+            distributionRepository.save(row);
+        });
+        counters.rebuild(league.getId(), WEEK);
+        assertMatchesPicks(counters.forWeek(league.getId(), WEEK));
+    }
+
+    private void assertMatchesPicks(List<PickDistributionDto> distribution) {
+        List<PickCountRow> counted = pickRepository.countPicksByGame(league.getId(), WEEK);
+        assertThat(distribution).hasSize(games.size());
+        for (PickDistributionDto game : distribution) {
+            PickCountRow count = counted.stream().filter(row -> row.gameId().equals(game.gameId())).findFirst()
+                .orElse(new PickCountRow(game.gameId(), 0L, 0L));
+            assertThat(game.homePicks()).isEqualTo(count.homePicks());
+            assertThat(game.totalPicks()).isEqualTo(count.totalPicks());
+            assertThat(game.homePicks() + game.awayPicks()).isEqualTo(game.totalPicks());
+        }
+    }
+
+    private static PickRequest pickRequest(Game game, String team) {
+        PickRequest request = new PickRequest();
+        request.setGameId(game.getId());
+        request.setPickedTeam(team);
+        return request;
+    }
+}
@@ -0,0 +1,142 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.dto.PickSummary;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+import com.nflpickem.pickem.testsupport.TestWeeks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("h2")
+class PickUpsertConcurrencyTest {
+
+    private static final int SUBMISSIONS = 300;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private PickService pickService;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    private User user;
+    private Game game;
+    private League league;
+
+    @BeforeEach
+    void seed() {
+        User newUser = new User();
+        newUser.setUsername("upsert-user");
+        newUser.setName("Upsert User");
+        newUser.setPassword("hash");
+        user = userRepository.save(newUser);
+
+        Game newGame = new Game();
+        newGame.setWeek(TestWeeks.PICK_UPSERT);
+        newGame.setHomeTeam("Upsert Home");
+        newGame.setAwayTeam("Upsert Away");
+        newGame.setKickoffTime(Instant.now().plus(1, ChronoUnit.DAYS));
+        game = gameRepository.save(newGame);
+
+        league = leagueService.createLeague("Upsert League", user.getId());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        pickRepository.deleteAll(pickRepository.findByGame(game));
+        leagueRepository.deleteById(league.getId());
+        gameRepository.delete(game);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void concurrentLeagueSubmissionsLeaveOnePick() throws Exception {
+        List<PickSummary> results = submitConcurrently(league.getId());
+
+        List<Pick> picks = pickRepository.findByGame(game);
+        assertThat(picks).singleElement().satisfies(pick -> assertThat(pick.getLeague().getId()).isEqualTo(league.getId()));
+        assertThat(results).extracting(PickSummary::id).containsOnly(picks.get(0).getId());
+    }
+
+    @Test
+    void concurrentSubmissionsOutsideALeagueLeaveOnePick() throws Exception {
+        pickService.submitPick(user.getId(), game.getId(), "Upsert Home", league.getId());
+
+        List<PickSummary> results = submitConcurrently(null);
+
+        List<Pick> picks = pickRepository.findByGame(game);
+        assertThat(picks).hasSize(2);
+        Pick withoutLeague = picks.stream().filter(pick -> pick.getLeague() == null).findFirst().orElseThrow();
+        assertThat(results).extracting(PickSummary::id).containsOnly(withoutLeague.getId());
+    }
+
+    @Test
+    void duplicateRowsAreRejectedByTheIndex() {
+        pickService.submitPick(user.getId(), game.getId(), "Upsert Away", null);
+        Pick duplicate = new Pick();
+        duplicate.setUser(user);
+        duplicate.setGame(game);
+        duplicate.setPickedTeam("Upsert Home");
+
+        assertThatThrownBy(() -> pickRepository.save(duplicate)).isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    private List<PickSummary> submitConcurrently(Long leagueId) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<PickSummary>> futures = new ArrayList<>();
+            for (int i = 0; i < SUBMISSIONS; i++) {
+                String team = i % 2 == 0 ? "Upsert Home" : "Upsert Away";
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return pickService.submitPick(user.getId(), game.getId(), team, leagueId);
+                }));
+            }
+            start.countDown();
+            List<PickSummary> results = new ArrayList<>();
+            for (Future<PickSummary> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.config.DatabasePlatform;
+import com.nflpickem.pickem.dto.PickSummary;
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+import com.nflpickem.pickem.service.KickoffLockTable.GameSlot;
+import com.nflpickem.pickem.service.KickoffPickSnapshots.LeaguePicks;
+import com.nflpickem.pickem.testsupport.TestWeeks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest(properties = {"PICK_WRITE_BEHIND_ENABLED=true", "PICK_WRITE_BEHIND_FLUSH_MS=3600000"})
+@ActiveProfiles("h2")
+class PickWriteBufferTest {
+
+    private static final int WEEK = TestWeeks.WRITE_BUFFER;
+
+    private static final Path LOG_DIRECTORY = createLogDirectory();
+
+    @DynamicPropertySource
+    static void logDirectory(DynamicPropertyRegistry registry) {
+        registry.add("PICK_WRITE_BEHIND_DIR", LOG_DIRECTORY::toString);
+    }
+
+    @Autowired
+    private PickService pickService;
+
+    @Autowired
+    private PickWriteBuffer writeBuffer;
+
+    @Autowired
+    private KickoffPickSnapshots snapshots;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private PickRepository pickRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DatabasePlatform databasePlatform;
+
+    private final List<Game> games = new ArrayList<>();
+    private User user;
+    private League league;
+
+    @BeforeEach
+    void seed() {
+        User newUser = new User();
+        newUser.setUsername("write-behind-user");
+        newUser.setName("Write Behind User");
+        newUser.setPassword("hash");
+        user = userRepository.save(newUser);
+        league = leagueService.createLeague("Write Behind League", user.getId());
+
+        games.add(saveGame(0, Instant.now().plus(2, ChronoUnit.DAYS)));
+        games.add(saveGame(1, Instant.now().plus(3, ChronoUnit.DAYS)));
+        // Inside the default 60 second kickoff margin
+        games.add(saveGame(2, Instant.now().plus(30, ChronoUnit.SECONDS)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        writeBuffer.flush();
+        games.forEach(game -> pickRepository.deleteAll(pickRepository.findByGame(game)));
+        leagueRepository.deleteById(league.getId());
+        gameRepository.deleteAll(games);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void coalescesChangesAndReadsThemBeforeTheyAreWritten() throws IOException {
+        for (int i = 0; i < 50; i++) {
+            pickService.submitPick(user.getId(), games.get(0).getId(), i % 2 == 0 ? "Home 0" : "Away 0", league.getId());
+        }
+        pickService.submitPick(user.getId(), games.get(1).getId(), "Home 1", null);
+
+        assertThat(pickRepository.findByGame(games.get(0))).isEmpty();
+        assertThat(pickService.getPicksByUser(user.getId(), league.getId()))
+            .singleElement().satisfies(pick -> {
+                assertThat(pick.gameId()).isEqualTo(games.get(0).getId());
+                assertThat(pick.pickedTeam()).isEqualTo("Away 0");
+            });
+        assertThat(pickService.getPicksByUser(user.getId(), null)).hasSize(2);
+        assertThat(pickService.getPickComparison(user.getId(), WEEK, league.getId()))
+            .filteredOn(game -> game.getGameId().equals(games.get(0).getId()))
+            .singleElement().satisfies(game -> assertThat(game.getYourPick()).isEqualTo("Away 0"));
+
+        assertThat(writeBuffer.flush()).isEqualTo(2);
+        assertThat(pickRepository.findByGame(games.get(0))).singleElement()
+            .satisfies(pick -> assertThat(pick.getPickedTeam()).isEqualTo("Away 0"));
+        assertThat(pickRepository.findByGame(games.get(1))).singleElement()
+            .satisfies(pick -> assertThat(pick.getLeague()).isNull());
+        assertThat(pickService.getPicksByUser(user.getId(), null)).extracting(PickSummary::id).doesNotContainNull();
+        try (var files = Files.list(LOG_DIRECTORY)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void picksCloseToKickoffAreWrittenBeforeTheyAreAcknowledged() {
+        pickService.submitPick(user.getId(), games.get(2).getId(), "Away 2", league.getId());
+
+        assertThat(pickRepository.findByGame(games.get(2))).singleElement()
+            .satisfies(pick -> assertThat(pick.getPickedTeam()).isEqualTo("Away 2"));
+    }
+
+    @Test
+    void eachKickoffHasAFlushArmedAheadOfIt(@TempDir Path logs) {
+        TaskScheduler taskScheduler = mock(TaskScheduler.class);
+        doReturn(mock(ScheduledFuture.class)).when(taskScheduler).schedule(any(Runnable.class), any(Instant.class));
+        PickWriteBuffer buffer = new PickWriteBuffer(jdbcTemplate, transactionManager, databasePlatform,
+            taskScheduler, Clock.systemUTC(), new SimpleMeterRegistry(), true, logs.toString(), 60);
+        Game game = games.get(0);
+        GameSlot slot = new GameSlot(game.getId(), WEEK, game.getKickoffTime(), game.getHomeTeam(), game.getAwayTeam());
+
+        // One timer per kickoff, however many picks are pending for it
+        buffer.submit(user.getId(), slot, league.getId(), "Home 0");
+        buffer.submit(user.getId(), slot, null, "Away 0");
+        ArgumentCaptor<Runnable> flush = ArgumentCaptor.forClass(Runnable.class);
+        ArgumentCaptor<Instant> firesAt = ArgumentCaptor.forClass(Instant.class);
+        verify(taskScheduler).schedule(flush.capture(), firesAt.capture());
+        assertThat(firesAt.getValue()).isCloseTo(game.getKickoffTime().minusSeconds(60), within(5, ChronoUnit.SECONDS));
+        assertThat(pickRepository.findByGame(game)).isEmpty();
+
+        flush.getValue().run();
+        assertThat(pickRepository.findByGame(game)).extracting(Pick::getPickedTeam).containsExactlyInAnyOrder("Home 0", "Away 0");
+        assertThat(buffer.pendingCount()).isZero();
+    }
+
+    @Test
+    void aPickCloseToKickoffThatCannotBeWrittenFailsTheSubmission() {
+        GameSlot missingGame = new GameSlot(Long.MAX_VALUE, WEEK, Instant.now().plusSeconds(30), "Home 9", "Away 9");
+
+        assertThatThrownBy(() -> writeBuffer.submit(user.getId(), missingGame, league.getId(), "Home 9"))
+            .isInstanceOf(DataIntegrityViolationException.class);
+        // Neither pending nor logged, so it is not written later either
+        assertThat(writeBuffer.hasPending(List.of(Long.MAX_VALUE))).isFalse();
+    }
+
+    @Test
+    void snapshotsWriteThePendingPicksOfTheirGamesFirst() {
+        Game lockedByTimer = games.get(0);
+        Game readFirst = games.get(1);
+        pickService.submitPick(user.getId(), lockedByTimer.getId(), "Away 0", league.getId());
+        pickService.submitPick(user.getId(), readFirst.getId(), "Home 1", league.getId());
+        assertThat(writeBuffer.hasPending(List.of(lockedByTimer.getId(), readFirst.getId()))).isTrue();
+
+        snapshots.snapshotGames(List.of(lockedByTimer.getId()));
+        assertThat(writeBuffer.hasPending(List.of(lockedByTimer.getId(), readFirst.getId()))).isFalse();
+        pickService.submitPick(user.getId(), readFirst.getId(), "Away 1", league.getId());
+
+        Map<Long, LeaguePicks> picks = snapshots.forLeague(league.getId(), List.of(lockedByTimer, readFirst));
+        assertThat(picks.get(lockedByTimer.getId())).satisfies(game ->
+            assertThat(game.pickedTeam(game.indexOf(user.getId()), lockedByTimer)).isEqualTo("Away 0"));
+        assertThat(picks.get(readFirst.getId())).satisfies(game ->
+            assertThat(game.pickedTeam(game.indexOf(user.getId()), readFirst)).isEqualTo("Away 1"));
+    }
+
+    @Test
+    void replaysTheLogAfterACrash(@TempDir Path crashed) throws IOException {
+        long gameId = games.get(0).getId();
+        Files.writeString(crashed.resolve("picks-3.log"), user.getId() + "\t" + gameId + "\t" + league.getId() + "\tHome 0\n"
+            + user.getId() + "\t" + gameId + "\t-\tHome 0\n"
+            + user.getId() + "\t" + games.get(1).getId() + "\t-\tHome 0\n");
+        // The last pick was torn after its team's first letters, so it has all four fields but no newline
+        Files.writeString(crashed.resolve("picks-4.log"), user.getId() + "\t" + gameId + "\t" + league.getId() + "\tAway 0\n"
+            + user.getId() + "\t" + gameId + "\t-\tAw");
+
+        PickWriteBuffer restarted = new PickWriteBuffer(jdbcTemplate, transactionManager, databasePlatform,
+            mock(TaskScheduler.class), Clock.systemUTC(), new SimpleMeterRegistry(), true, crashed.toString(), 60);
+        restarted.run(null);
+
+        List<Pick> picks = pickRepository.findByGame(games.get(0));
+        assertThat(picks).extracting(pick -> pick.getLeague() != null, Pick::getPickedTeam)
+            .containsExactlyInAnyOrder(tuple(true, "Away 0"), tuple(false, "Home 0"));
+        // A team that is not playing in the game is not written
+        assertThat(pickRepository.findByGame(games.get(1))).isEmpty();
+        try (var files = Files.list(crashed)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private Game saveGame(int index, Instant kickoff) {
+        Game game = new Game();
+        game.setWeek(WEEK);
+        game.setHomeTeam("Home " + index);
+        game.setAwayTeam("Away " + index);
+        game.setKickoffTime(kickoff);
+        return gameRepository.save(game);
+    }
+
+    private static Path createLogDirectory() {
+        try {
+            return Files.createTempDirectory("pick-write-log");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.nflpickem.pickem.service;
+
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.testsupport.VirtualClock;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class StartupWarmupServiceTest {
+
+    private final VirtualClock clock = new VirtualClock(Instant.parse("2025-10-12T12:00:00Z"), ZoneId.of("UTC"));
+    private final GameService gameService = mock(GameService.class);
+    private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+    private final LeagueRepository leagueRepository = mock(LeagueRepository.class);
+
+    @Test
+    void theDatagenProfileSkipsImportAndWarmup() {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("datagen");
+        StartupWarmupService warmup = warmup(environment);
+
+        warmup.start();
+        warmup.stop();
+
+        assertThat(warmup.getPhase()).isEqualTo(StartupWarmupService.Phase.READY);
+        verifyNoInteractions(gameService, leaderboardService, leagueRepository);
+    }
+
+    @Test
+    void stopWaitsForTheInterruptedWarmupToEnd() throws InterruptedException {
+        CountDownLatch importStarted = new CountDownLatch(1);
+        CountDownLatch importEnded = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            importStarted.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } finally {
+                importEnded.countDown();
+            }
+            return null;
+        }).when(gameService).importScheduleIfEmpty();
+        StartupWarmupService warmup = warmup(new MockEnvironment());
+
+        warmup.start();
+        assertThat(importStarted.await(10, TimeUnit.SECONDS)).isTrue();
+        warmup.stop();
+
+        assertThat(importEnded.getCount()).isZero();
+        assertThat(warmup.getPhase()).isEqualTo(StartupWarmupService.Phase.FAILED);
+    }
+
+    private StartupWarmupService warmup(MockEnvironment environment) {
+        StartupWarmupService warmup = new StartupWarmupService(gameService, leaderboardService, leagueRepository,
+            clock, environment);
+        ReflectionTestUtils.setField(warmup, "enabled", true);
+        ReflectionTestUtils.setField(warmup, "timeoutSeconds", 300L);
+        return warmup;
+    }
+}
@@ -0,0 +1,118 @@
+package com.nflpickem.pickem.testsupport;
+
+import com.nflpickem.pickem.model.Game;
+import com.nflpickem.pickem.model.League;
+import com.nflpickem.pickem.model.Pick;
+import com.nflpickem.pickem.model.User;
+import com.nflpickem.pickem.repository.GameRepository;
+import com.nflpickem.pickem.repository.LeagueRepository;
+import com.nflpickem.pickem.repository.PickRepository;
+import com.nflpickem.pickem.repository.UserRepository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves users, leagues, games and picks for a Spring test and deletes them again in cleanUp. Names are built
+ * from a label ("Snapshot" gives snapshot-user-0, "Snapshot User 0" and "Snapshot Home 0") so each test's rows
+ * are easy to tell apart in the shared database.
+ */
+public class LeagueFixture {
+
+    // Looks like a BCrypt hash, so responses can be checked for leaked credentials
+    public static final String PASSWORD_HASH = "$2a$10$fixturefixturefixturefixturefixturefixturefixturefix";
+
+    private final UserRepository userRepository;
+    private final LeagueRepository leagueRepository;
+    private final GameRepository gameRepository;
+    private final PickRepository pickRepository;
+    private final String label;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<League> leagues = new ArrayList<>();
+    private final List<Game> games = new ArrayList<>();
+
+    public LeagueFixture(UserRepository userRepository, LeagueRepository leagueRepository, GameRepository gameRepository,
+                         PickRepository pickRepository, String label) {
+        this.userRepository = userRepository;
+        this.leagueRepository = leagueRepository;
+        this.gameRepository = gameRepository;
+        this.pickRepository = pickRepository;
+        this.label = label;
+    }
+
+    /**
+     * Users label-user-0 to label-user-(count - 1)
+     */
+    public List<User> users(int count) {
+        List<User> saved = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(label.toLowerCase().replace(' ', '-') + "-user-" + i);
+            user.setName(label + " User " + i);
+            user.setPassword(PASSWORD_HASH);
+            saved.add(userRepository.save(user));
+        }
+        users.addAll(saved);
+        return saved;
+    }
+
+    /**
+     * A league run by the first of the members
+     */
+    public League league(String joinCode, List<User> members) {
+        League league = new League();
+        league.setName(label + " League" + (leagues.isEmpty() ? "" : " " + leagues.size()));
+        league.setJoinCode(joinCode);
+        league.setAdmin(members.get(0));
+        members.forEach(league::addMember);
+        League saved = leagueRepository.save(league);
+        leagues.add(saved);
+        return saved;
+    }
+
+    /**
+     * Game number i of the week, between label Home i and label Away i
+     */
+    public Game game(int week, int i, Instant kickoff) {
+        Game game = new Game();
+        game.setWeek(week);
+        game.setHomeTeam(label + " Home " + i);
+        game.setAwayTeam(label + " Away " + i);
+        game.setKickoffTime(kickoff);
+        return saveGame(game);
+    }
+
+    /**
+     * Save a game set up by the test, so it is deleted with the rest
+     */
+    public Game saveGame(Game game) {
+        Game saved = gameRepository.save(game);
+        games.add(saved);
+        return saved;
+    }
+
+    public Pick pick(User user, Game game, League league, String pickedTeam) {
+        Pick pick = new Pick();
+        pick.setUser(user);
+        pick.setGame(game);
+        pick.setLeague(league);
+        pick.setPickedTeam(pickedTeam);
+        return pickRepository.save(pick);
+    }
+
+    /**
+     * Delete the picks of the fixture's games and leagues, then the leagues, games and users
+     */
+    public void cleanUp() {
+        games.forEach(game -> pickRepository.deleteAll(pickRepository.findByGame(game)));
+        leagues.forEach(league -> pickRepository.deleteAll(pickRepository.findByLeague(league)));
+        leagueRepository.deleteAll(leagues);
+        gameRepository.deleteAll(games);
+        userRepository.deleteAll(users);
+        leagues.clear();
+        games.clear();
+        users.clear();
+    }
+}
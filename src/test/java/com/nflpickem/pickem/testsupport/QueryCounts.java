@@ -0,0 +1,27 @@
+package com.nflpickem.pickem.testsupport;
+
+import com.nflpickem.pickem.monitoring.RequestTimings;
+
+/**
+ * Counts the JDBC statements some work runs on this thread, the same count the Server-Timing header reports
+ */
+public final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    public static int countQueries(Work work) throws Exception {
+        RequestTimings timings = RequestTimings.start();
+        try {
+            work.run();
+        } finally {
+            RequestTimings.end();
+        }
+        return timings.getQueryCount();
+    }
+
+    @FunctionalInterface
+    public interface Work {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,18 @@
+package com.nflpickem.pickem.testsupport;
+
+/**
+ * Weeks the Spring tests put their games in. The tests share one H2 database, and services read games by
+ * week, so each test class gets a week of its own, well past any real season.
+ */
+public final class TestWeeks {
+
+    public static final int PICK_DISTRIBUTION = 92;
+    public static final int KICKOFF_SNAPSHOTS = 93;
+    public static final int WRITE_BUFFER = 94;
+    public static final int PICK_UPSERT = 95;
+    public static final int FETCH_PLAN = 96;
+    public static final int PROJECTIONS = 97;
+
+    private TestWeeks() {
+    }
+}
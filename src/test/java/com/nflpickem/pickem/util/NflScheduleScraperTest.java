@@ -0,0 +1,83 @@
+package com.nflpickem.pickem.util;
+
+import com.nflpickem.pickem.model.Game;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NflScheduleScraperTest {
+
+    private final NflScheduleScraper scraper = new NflScheduleScraper(new NflSeasonCalendar(""));
+
+    @Test
+    void seasonPageIsParsedIntoWeeksInOnePass() throws IOException {
+        Map<Integer, List<Game>> season = scraper.parseSeason(
+            Jsoup.parse(new File("scripts/debug-2025-schedule.html"), "UTF-8"), 2025);
+
+        assertThat(season).hasSize(18);
+        assertThat(season.values().stream().mapToInt(List::size).sum()).isEqualTo(272);
+        assertThat(season.get(1)).allSatisfy(game -> assertThat(game.getWeek()).isEqualTo(1));
+        // Week 18 is played in January of the following year
+        assertThat(season.get(18)).allSatisfy(game ->
+            assertThat(game.getKickoffTime()).isAfter(Instant.parse("2026-01-01T00:00:00Z")));
+    }
+
+    @Test
+    void exportedScheduleFileIsGroupedByKickoffWeek() throws IOException {
+        Map<Integer, List<Game>> season = scraper.readScheduleFile(Path.of("scripts/nfl-schedule-2025.json"));
+
+        // The export labels every row week 1 and includes preseason games; only regular season games remain
+        assertThat(season.keySet()).contains(1, 2, 17);
+        assertThat(season.get(1)).hasSize(16)
+            .anySatisfy(game -> assertThat(game.getHomeTeam()).isEqualTo("Philadelphia Eagles"));
+        assertThat(season.values()).allSatisfy(games -> assertThat(games)
+            .allSatisfy(game -> assertThat(game.getKickoffTime()).isAfter(Instant.parse("2025-09-04T00:00:00Z"))));
+    }
+
+    @Test
+    void weeksOf2026CountFromTheTenth(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("nfl-schedule-2026.json");
+        Files.writeString(file, """
+            [
+              {"week": 1, "awayTeam": "Preseason Away", "homeTeam": "Preseason Home", "kickoffTime": "2026-09-04T00:20:00Z"},
+              {"week": 1, "awayTeam": "Opener Away", "homeTeam": "Opener Home", "kickoffTime": "2026-09-11T00:20:00Z"},
+              {"week": 1, "awayTeam": "Sunday Away", "homeTeam": "Sunday Home", "kickoffTime": "2026-09-13T17:00:00Z"},
+              {"week": 1, "awayTeam": "Monday Away", "homeTeam": "Monday Home", "kickoffTime": "2026-09-15T00:15:00Z"},
+              {"week": 1, "awayTeam": "Week Two Away", "homeTeam": "Week Two Home", "kickoffTime": "2026-09-18T00:15:00Z"}
+            ]
+            """);
+
+        Map<Integer, List<Game>> season = scraper.readScheduleFile(file);
+
+        // Kickoffs are in UTC; the opener is Thursday evening, September 10, Eastern time
+        assertThat(season.keySet()).containsExactly(1, 2);
+        assertThat(season.get(1)).extracting(Game::getHomeTeam)
+            .containsExactly("Opener Home", "Sunday Home", "Monday Home");
+        assertThat(season.get(2)).extracting(Game::getHomeTeam).containsExactly("Week Two Home");
+    }
+
+    @Test
+    void aConfiguredSeasonStartMovesTheWeeks(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("nfl-schedule-2026.json");
+        Files.writeString(file, """
+            [
+              {"week": 1, "awayTeam": "Opener Away", "homeTeam": "Opener Home", "kickoffTime": "2026-09-11T00:20:00Z"},
+              {"week": 1, "awayTeam": "Week Two Away", "homeTeam": "Week Two Home", "kickoffTime": "2026-09-18T00:15:00Z"}
+            ]
+            """);
+
+        NflScheduleScraper openingLate = new NflScheduleScraper(new NflSeasonCalendar("\"2026-09-17\""));
+
+        assertThat(openingLate.readScheduleFile(file).keySet()).containsExactly(1);
+    }
+}
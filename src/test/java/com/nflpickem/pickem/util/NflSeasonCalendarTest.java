@@ -0,0 +1,34 @@
+package com.nflpickem.pickem.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NflSeasonCalendarTest {
+
+    @Test
+    void seasonOpensTheThursdayAfterLaborDay() {
+        NflSeasonCalendar calendar = new NflSeasonCalendar("");
+
+        assertThat(calendar.seasonStart(2025)).isEqualTo(LocalDate.of(2025, 9, 4));
+        // Labor Day 2026 is September 7; the first Thursday of the month (the 3rd) comes before it
+        assertThat(calendar.seasonStart(2026)).isEqualTo(LocalDate.of(2026, 9, 10));
+        // September 1 is a Monday, so Labor Day itself is the 1st
+        assertThat(calendar.seasonStart(2031)).isEqualTo(LocalDate.of(2031, 9, 4));
+    }
+
+    @Test
+    void theConfiguredStartOnlyOverridesItsOwnYear() {
+        NflSeasonCalendar calendar = new NflSeasonCalendar("\"2025-09-05\"");
+
+        assertThat(calendar.seasonStart(2025)).isEqualTo(LocalDate.of(2025, 9, 5));
+        assertThat(calendar.seasonStart(2026)).isEqualTo(LocalDate.of(2026, 9, 10));
+    }
+
+    @Test
+    void anInvalidConfiguredStartFallsBackToLaborDay() {
+        assertThat(new NflSeasonCalendar("next thursday").seasonStart(2025)).isEqualTo(LocalDate.of(2025, 9, 4));
+    }
+}
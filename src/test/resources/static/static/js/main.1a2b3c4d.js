@@ -0,0 +1,121 @@
+/*! test fixture for the fingerprinted React bundle */
+function pick0(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick1(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick2(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick3(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick4(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick5(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick6(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick7(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick8(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick9(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick10(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick11(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick12(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick13(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick14(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick15(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick16(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick17(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick18(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick19(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick20(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick21(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick22(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick23(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick24(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick25(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick26(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick27(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick28(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick29(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick30(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick31(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick32(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick33(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick34(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick35(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick36(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick37(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick38(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick39(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick40(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick41(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick42(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick43(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick44(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick45(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick46(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick47(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick48(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick49(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick50(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick51(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick52(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick53(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick54(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick55(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick56(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick57(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick58(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick59(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick60(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick61(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick62(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick63(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick64(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick65(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick66(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick67(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick68(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick69(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick70(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick71(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick72(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick73(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick74(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick75(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick76(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick77(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick78(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick79(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick80(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick81(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick82(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick83(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick84(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick85(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick86(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick87(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick88(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick89(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick90(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick91(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick92(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick93(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick94(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick95(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick96(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick97(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick98(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick99(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick100(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick101(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick102(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick103(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick104(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick105(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick106(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick107(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick108(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick109(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick110(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick111(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick112(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick113(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick114(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick115(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick116(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick117(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick118(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}
+function pick119(game){return game.homeTeam+' vs '+game.awayTeam+' week '+game.week;}